@@ -0,0 +1,98 @@
+/**
+ * Copyright (c) 2016-2020, Mihai Emil Andronache
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ *  modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ *  list of conditions and the following disclaimer.
+ *  Redistributions in binary form must reproduce the above copyright notice,
+ *  this list of conditions and the following disclaimer in the documentation
+ *  and/or other materials provided with the distribution.
+ * Neither the name of the copyright holder nor the names of its
+ *  contributors may be used to endorse or promote products derived from
+ *  this software without specific prior written permission.
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT
+ * LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY
+ * OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF
+ * SUCH DAMAGE.
+ */
+package com.amihaiemil.eoyaml.benchmarks;
+
+import com.amihaiemil.eoyaml.Yaml;
+import com.amihaiemil.eoyaml.YamlMapping;
+import com.amihaiemil.eoyaml.YamlMappingBuilder;
+import com.amihaiemil.eoyaml.YamlSequence;
+import com.amihaiemil.eoyaml.YamlSequenceBuilder;
+import org.openjdk.jmh.annotations.Benchmark;
+
+/**
+ * Building documents with the immutable builders, which share the
+ * nodes added so far with the builders they return.
+ * @author Mihai Andronache (amihaiemil@gmail.com)
+ * @version $Id$
+ * @since 4.2.0
+ */
+public class BuildBenchmark {
+
+    /**
+     * Build the document with {@link Yaml#createYamlMappingBuilder()}.
+     * @param shape Shape of the document.
+     * @return Built YamlMapping.
+     */
+    @Benchmark
+    public final YamlMapping mapping(final Shape shape) {
+        YamlMappingBuilder builder = Yaml.createYamlMappingBuilder();
+        for(int idx = 0; idx < shape.size; ++idx) {
+            builder = builder.add(
+                "key" + idx, BuildBenchmark.tree(shape.depth, shape.width)
+            );
+        }
+        return builder.build();
+    }
+
+    /**
+     * Build a sequence of trees with
+     * {@link Yaml#createYamlSequenceBuilder()}.
+     * @param shape Shape of the sequence.
+     * @return Built YamlSequence.
+     */
+    @Benchmark
+    public final YamlSequence sequence(final Shape shape) {
+        YamlSequenceBuilder builder = Yaml.createYamlSequenceBuilder();
+        for(int idx = 0; idx < shape.size; ++idx) {
+            builder = builder.add(
+                BuildBenchmark.tree(shape.depth, shape.width)
+            );
+        }
+        return builder.build();
+    }
+
+    /**
+     * Build a tree of nested mappings.
+     * @param depth Number of levels.
+     * @param width Number of keys on each level.
+     * @return YamlMapping.
+     */
+    private static YamlMapping tree(final int depth, final int width) {
+        YamlMappingBuilder builder = Yaml.createYamlMappingBuilder();
+        for(int idx = 0; idx < width; ++idx) {
+            if(depth > 1) {
+                builder = builder.add(
+                    "field" + idx, BuildBenchmark.tree(depth - 1, width)
+                );
+            } else {
+                builder = builder.add("field" + idx, "value" + idx);
+            }
+        }
+        return builder.build();
+    }
+}
@@ -0,0 +1,203 @@
+/**
+ * Copyright (c) 2016-2020, Mihai Emil Andronache
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ *  modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ *  list of conditions and the following disclaimer.
+ *  Redistributions in binary form must reproduce the above copyright notice,
+ *  this list of conditions and the following disclaimer in the documentation
+ *  and/or other materials provided with the distribution.
+ * Neither the name of the copyright holder nor the names of its
+ *  contributors may be used to endorse or promote products derived from
+ *  this software without specific prior written permission.
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT
+ * LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY
+ * OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF
+ * SUCH DAMAGE.
+ */
+package com.amihaiemil.eoyaml.benchmarks;
+
+import com.amihaiemil.eoyaml.Yaml;
+import com.amihaiemil.eoyaml.YamlMapping;
+import com.amihaiemil.eoyaml.YamlMappingBuilder;
+import com.amihaiemil.eoyaml.YamlNode;
+import com.amihaiemil.eoyaml.YamlSequence;
+import com.amihaiemil.eoyaml.YamlSequenceBuilder;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Generators of the benchmarked documents, see {@link Shape}.
+ * @author Mihai Andronache (amihaiemil@gmail.com)
+ * @version $Id$
+ * @since 4.2.0
+ */
+final class Documents {
+
+    /**
+     * Hidden ctor.
+     */
+    private Documents() {
+    }
+
+    /**
+     * Mapping of size keys, each with a tree of the given depth and width.
+     * @param size Number of keys.
+     * @param depth Depth of each tree.
+     * @param width Width of each tree.
+     * @return YamlMapping.
+     */
+    static YamlMapping mapping(
+        final int size, final int depth, final int width
+    ) {
+        final YamlMappingBuilder builder = Yaml
+            .createMutableYamlMappingBuilder(size);
+        final YamlMapping tree = Documents.tree(depth, width);
+        for(int idx = 0; idx < size; ++idx) {
+            builder.add("key" + idx, tree);
+        }
+        return builder.build();
+    }
+
+    /**
+     * Sequence of size trees of the given depth and width.
+     * @param size Number of trees.
+     * @param depth Depth of each tree.
+     * @param width Width of each tree.
+     * @return YamlSequence.
+     */
+    static YamlSequence sequence(
+        final int size, final int depth, final int width
+    ) {
+        final YamlSequenceBuilder builder = Yaml
+            .createMutableYamlSequenceBuilder(size);
+        final YamlMapping tree = Documents.tree(depth, width);
+        for(int idx = 0; idx < size; ++idx) {
+            builder.add(tree);
+        }
+        return builder.build();
+    }
+
+    /**
+     * Same document as {@link #mapping(int, int, int)}, as a Map.
+     * @param size Number of keys.
+     * @param depth Depth of each tree.
+     * @param width Width of each tree.
+     * @return Map.
+     */
+    static Map<Object, Object> map(
+        final int size, final int depth, final int width
+    ) {
+        final Map<Object, Object> map = new LinkedHashMap<>();
+        for(int idx = 0; idx < size; ++idx) {
+            map.put("key" + idx, Documents.treeMap(depth, width));
+        }
+        return map;
+    }
+
+    /**
+     * Same document as {@link #mapping(int, int, int)}, as beans.
+     * @param size Number of top-level branches.
+     * @param depth Depth of each branch.
+     * @param width Number of sub-branches on each level.
+     * @return Branch.
+     */
+    static Branch branch(final int size, final int depth, final int width) {
+        final List<Branch> children = new ArrayList<>(size);
+        for(int idx = 0; idx < size; ++idx) {
+            children.add(Documents.treeBranch("key" + idx, depth, width));
+        }
+        return new Branch("root", children);
+    }
+
+    /**
+     * Walk the whole node, so all of it is read.
+     * @param node YamlNode to walk.
+     * @return Number of walked nodes.
+     */
+    static int walk(final YamlNode node) {
+        int walked = 1;
+        if(node instanceof YamlMapping) {
+            final YamlMapping map = (YamlMapping) node;
+            for(final YamlNode key : map.keys()) {
+                walked = walked + Documents.walk(map.value(key));
+            }
+        } else if(node instanceof YamlSequence) {
+            for(final YamlNode value : (YamlSequence) node) {
+                walked = walked + Documents.walk(value);
+            }
+        }
+        return walked;
+    }
+
+    /**
+     * Tree of nested mappings.
+     * @param depth Number of levels.
+     * @param width Number of keys on each level.
+     * @return YamlMapping.
+     */
+    private static YamlMapping tree(final int depth, final int width) {
+        final YamlMappingBuilder builder = Yaml
+            .createMutableYamlMappingBuilder(width);
+        for(int idx = 0; idx < width; ++idx) {
+            if(depth > 1) {
+                builder.add("field" + idx, Documents.tree(depth - 1, width));
+            } else {
+                builder.add("field" + idx, "value" + idx);
+            }
+        }
+        return builder.build();
+    }
+
+    /**
+     * Tree of nested Maps.
+     * @param depth Number of levels.
+     * @param width Number of keys on each level.
+     * @return Map.
+     */
+    private static Map<Object, Object> treeMap(
+        final int depth, final int width
+    ) {
+        final Map<Object, Object> map = new LinkedHashMap<>();
+        for(int idx = 0; idx < width; ++idx) {
+            if(depth > 1) {
+                map.put("field" + idx, Documents.treeMap(depth - 1, width));
+            } else {
+                map.put("field" + idx, "value" + idx);
+            }
+        }
+        return map;
+    }
+
+    /**
+     * Tree of nested beans.
+     * @param name Name of the branch.
+     * @param depth Number of levels.
+     * @param width Number of sub-branches on each level.
+     * @return Branch.
+     */
+    private static Branch treeBranch(
+        final String name, final int depth, final int width
+    ) {
+        final List<Branch> children = new ArrayList<>(width);
+        for(int idx = 0; idx < width && depth > 0; ++idx) {
+            children.add(
+                Documents.treeBranch("field" + idx, depth - 1, width)
+            );
+        }
+        return new Branch(name, Collections.unmodifiableList(children));
+    }
+}
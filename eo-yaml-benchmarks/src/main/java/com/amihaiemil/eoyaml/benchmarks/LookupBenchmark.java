@@ -0,0 +1,69 @@
+/**
+ * Copyright (c) 2016-2020, Mihai Emil Andronache
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ *  modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ *  list of conditions and the following disclaimer.
+ *  Redistributions in binary form must reproduce the above copyright notice,
+ *  this list of conditions and the following disclaimer in the documentation
+ *  and/or other materials provided with the distribution.
+ * Neither the name of the copyright holder nor the names of its
+ *  contributors may be used to endorse or promote products derived from
+ *  this software without specific prior written permission.
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT
+ * LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY
+ * OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF
+ * SUCH DAMAGE.
+ */
+package com.amihaiemil.eoyaml.benchmarks;
+
+import com.amihaiemil.eoyaml.YamlMapping;
+import com.amihaiemil.eoyaml.YamlNode;
+import org.openjdk.jmh.annotations.Benchmark;
+
+/**
+ * Key lookups on a read YamlMapping. The document is read only once per
+ * trial (see {@link Read}), so only the lookups are measured.
+ * @author Mihai Andronache (amihaiemil@gmail.com)
+ * @version $Id$
+ * @since 4.2.0
+ */
+public class LookupBenchmark {
+
+    /**
+     * Look up the last top-level key.
+     * @param shape Shape of the document.
+     * @param read The read document.
+     * @return The found node.
+     */
+    @Benchmark
+    public final YamlNode wide(final Shape shape, final Read read) {
+        return read.mapping().value(shape.lastKey());
+    }
+
+    /**
+     * Look up the last field on every level, down to the deepest leaf
+     * under the last top-level key.
+     * @param shape Shape of the document.
+     * @param read The read document.
+     * @return The found leaf.
+     */
+    @Benchmark
+    public final String deep(final Shape shape, final Read read) {
+        YamlMapping level = read.mapping().yamlMapping(shape.lastKey());
+        for(int idx = 1; idx < shape.depth; ++idx) {
+            level = level.yamlMapping(shape.lastField());
+        }
+        return level.string(shape.lastField());
+    }
+}
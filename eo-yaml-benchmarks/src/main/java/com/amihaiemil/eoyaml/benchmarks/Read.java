@@ -0,0 +1,89 @@
+/**
+ * Copyright (c) 2016-2020, Mihai Emil Andronache
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ *  modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ *  list of conditions and the following disclaimer.
+ *  Redistributions in binary form must reproduce the above copyright notice,
+ *  this list of conditions and the following disclaimer in the documentation
+ *  and/or other materials provided with the distribution.
+ * Neither the name of the copyright holder nor the names of its
+ *  contributors may be used to endorse or promote products derived from
+ *  this software without specific prior written permission.
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT
+ * LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY
+ * OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF
+ * SUCH DAMAGE.
+ */
+package com.amihaiemil.eoyaml.benchmarks;
+
+import com.amihaiemil.eoyaml.Yaml;
+import com.amihaiemil.eoyaml.YamlMapping;
+import com.amihaiemil.eoyaml.YamlSequence;
+import java.io.IOException;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * The documents of the {@link Shape}, read once per trial, so the
+ * benchmarks which take it measure only what they do with the read nodes.
+ * The read nodes build their indexes lazily, during the warmup, so the
+ * measured lookups are the ones of a document which is read once and
+ * looked up many times.
+ * @author Mihai Andronache (amihaiemil@gmail.com)
+ * @version $Id$
+ * @since 4.2.0
+ */
+@State(Scope.Benchmark)
+public class Read {
+
+    /**
+     * The read document.
+     */
+    private YamlMapping mapping;
+
+    /**
+     * The read sequence of trees.
+     */
+    private YamlSequence sequence;
+
+    /**
+     * Read the documents.
+     * @param shape Shape of the documents.
+     * @throws IOException If the documents cannot be read.
+     */
+    @Setup(Level.Trial)
+    public final void read(final Shape shape) throws IOException {
+        this.mapping = Yaml.createYamlInput(shape.mapping()).readYamlMapping();
+        this.sequence = Yaml.createYamlInput(shape.sequence())
+            .readYamlSequence();
+    }
+
+    /**
+     * The read document.
+     * @return YamlMapping.
+     */
+    final YamlMapping mapping() {
+        return this.mapping;
+    }
+
+    /**
+     * The read sequence of trees.
+     * @return YamlSequence.
+     */
+    final YamlSequence sequence() {
+        return this.sequence;
+    }
+}
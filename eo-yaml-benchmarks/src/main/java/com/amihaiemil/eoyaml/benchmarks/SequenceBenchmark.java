@@ -0,0 +1,70 @@
+/**
+ * Copyright (c) 2016-2020, Mihai Emil Andronache
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ *  modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ *  list of conditions and the following disclaimer.
+ *  Redistributions in binary form must reproduce the above copyright notice,
+ *  this list of conditions and the following disclaimer in the documentation
+ *  and/or other materials provided with the distribution.
+ * Neither the name of the copyright holder nor the names of its
+ *  contributors may be used to endorse or promote products derived from
+ *  this software without specific prior written permission.
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT
+ * LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY
+ * OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF
+ * SUCH DAMAGE.
+ */
+package com.amihaiemil.eoyaml.benchmarks;
+
+import com.amihaiemil.eoyaml.YamlMapping;
+import com.amihaiemil.eoyaml.YamlSequence;
+import org.openjdk.jmh.annotations.Benchmark;
+
+/**
+ * Indexed access on a read YamlSequence. The sequence is read only once
+ * per trial (see {@link Read}), so only the accesses are measured.
+ * @author Mihai Andronache (amihaiemil@gmail.com)
+ * @version $Id$
+ * @since 4.2.0
+ */
+public class SequenceBenchmark {
+
+    /**
+     * Access the last item.
+     * @param shape Shape of the sequence.
+     * @param read The read sequence.
+     * @return The last item.
+     */
+    @Benchmark
+    public final YamlMapping last(final Shape shape, final Read read) {
+        return read.sequence().yamlMapping(shape.size - 1);
+    }
+
+    /**
+     * Access every item by its index, as a for loop over the sequence
+     * would.
+     * @param shape Shape of the sequence.
+     * @param read The read sequence.
+     * @return Number of keys of the accessed items.
+     */
+    @Benchmark
+    public final int indexed(final Shape shape, final Read read) {
+        final YamlSequence sequence = read.sequence();
+        int keys = 0;
+        for(int idx = 0; idx < shape.size; ++idx) {
+            keys = keys + sequence.yamlMapping(idx).keys().size();
+        }
+        return keys;
+    }
+}
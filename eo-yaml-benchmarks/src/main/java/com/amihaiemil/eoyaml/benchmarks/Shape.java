@@ -0,0 +1,191 @@
+/**
+ * Copyright (c) 2016-2020, Mihai Emil Andronache
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ *  modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ *  list of conditions and the following disclaimer.
+ *  Redistributions in binary form must reproduce the above copyright notice,
+ *  this list of conditions and the following disclaimer in the documentation
+ *  and/or other materials provided with the distribution.
+ * Neither the name of the copyright holder nor the names of its
+ *  contributors may be used to endorse or promote products derived from
+ *  this software without specific prior written permission.
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT
+ * LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY
+ * OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF
+ * SUCH DAMAGE.
+ */
+package com.amihaiemil.eoyaml.benchmarks;
+
+import com.amihaiemil.eoyaml.YamlCorpus;
+import com.amihaiemil.eoyaml.YamlMapping;
+import java.io.IOException;
+import java.util.Map;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+
+/**
+ * Shape of the benchmarked documents and the documents themselves,
+ * generated once per trial. Every benchmark takes it as a parameter, so
+ * all of them run over the same combinations of size, depth and width.
+ * The document is a mapping of {@code size} keys (key0, key1...), each of
+ * them holding a tree of nested mappings which is {@code depth} levels
+ * deep and has {@code width} keys (field0, field1...) on every level.
+ * @author Mihai Andronache (amihaiemil@gmail.com)
+ * @version $Id$
+ * @since 4.2.0
+ */
+@State(Scope.Benchmark)
+public class Shape {
+
+    /**
+     * Number of top-level keys, sequence items or stream documents.
+     * @checkstyle VisibilityModifier (20 lines)
+     */
+    @Param({"10", "100", "1000"})
+    int size;
+
+    /**
+     * Depth of the tree under each top-level key.
+     */
+    @Param({"1", "3"})
+    int depth;
+
+    /**
+     * Number of keys on each level of the tree.
+     */
+    @Param({"2", "5"})
+    int width;
+
+    /**
+     * The document, printed.
+     */
+    private String mapping;
+
+    /**
+     * The trees, printed as a sequence.
+     */
+    private String sequence;
+
+    /**
+     * Stream of generated documents, with comments, block scalars and
+     * sequences, of the same depth and width as the trees.
+     */
+    private String stream;
+
+    /**
+     * The document, built.
+     */
+    private YamlMapping built;
+
+    /**
+     * The document, as a Map.
+     */
+    private Map<Object, Object> map;
+
+    /**
+     * The document, as a graph of beans.
+     */
+    private Branch branch;
+
+    /**
+     * Generate the documents.
+     * @throws IOException If the stream cannot be generated.
+     */
+    @Setup(Level.Trial)
+    public final void generate() throws IOException {
+        this.built = Documents.mapping(this.size, this.depth, this.width);
+        this.mapping = this.built.toString();
+        this.sequence = Documents.sequence(
+            this.size, this.depth, this.width
+        ).toString();
+        final StringBuilder documents = new StringBuilder();
+        new YamlCorpus(42L)
+            .depth(this.depth)
+            .fanout(this.width)
+            .comments(0.1)
+            .blockScalars(0.1)
+            .sequences(0.3)
+            .stream(this.size, documents);
+        this.stream = documents.toString();
+        this.map = Documents.map(this.size, this.depth, this.width);
+        this.branch = Documents.branch(this.size, this.depth, this.width);
+    }
+
+    /**
+     * The key of the last top-level entry.
+     * @return String key.
+     */
+    final String lastKey() {
+        return "key" + (this.size - 1);
+    }
+
+    /**
+     * The key of the last field on each level.
+     * @return String key.
+     */
+    final String lastField() {
+        return "field" + (this.width - 1);
+    }
+
+    /**
+     * The document, as YAML text.
+     * @return String.
+     */
+    final String mapping() {
+        return this.mapping;
+    }
+
+    /**
+     * The trees, as a YAML sequence.
+     * @return String.
+     */
+    final String sequence() {
+        return this.sequence;
+    }
+
+    /**
+     * The generated documents, as a YAML stream.
+     * @return String.
+     */
+    final String stream() {
+        return this.stream;
+    }
+
+    /**
+     * The document, built in memory.
+     * @return YamlMapping.
+     */
+    final YamlMapping built() {
+        return this.built;
+    }
+
+    /**
+     * The document, as a Map to dump.
+     * @return Map.
+     */
+    final Map<Object, Object> map() {
+        return this.map;
+    }
+
+    /**
+     * The document, as a bean to dump.
+     * @return Branch.
+     */
+    final Branch branch() {
+        return this.branch;
+    }
+}
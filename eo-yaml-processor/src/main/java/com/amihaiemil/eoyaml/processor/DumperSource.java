@@ -0,0 +1,127 @@
+/**
+ * Copyright (c) 2016-2020, Mihai Emil Andronache
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ *  modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ *  list of conditions and the following disclaimer.
+ *  Redistributions in binary form must reproduce the above copyright notice,
+ *  this list of conditions and the following disclaimer in the documentation
+ *  and/or other materials provided with the distribution.
+ * Neither the name of the copyright holder nor the names of its
+ *  contributors may be used to endorse or promote products derived from
+ *  this software without specific prior written permission.
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT
+ * LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY
+ * OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF
+ * SUCH DAMAGE.
+ */
+package com.amihaiemil.eoyaml.processor;
+
+import java.util.Map;
+import javax.lang.model.element.ExecutableElement;
+
+/**
+ * Source code of a generated YamlDumper.
+ * @author Mihai Andronache (amihaiemil@gmail.com)
+ * @version $Id$
+ * @since 4.2.0
+ */
+final class DumperSource {
+
+    /**
+     * Package of the dumper.
+     */
+    private final String pkg;
+
+    /**
+     * Simple name of the dumper.
+     */
+    private final String name;
+
+    /**
+     * Type of the dumped objects, as it appears in source code.
+     */
+    private final String type;
+
+    /**
+     * Property getters, sorted by property name.
+     */
+    private final Map<String, ExecutableElement> getters;
+
+    /**
+     * Constructor.
+     * @param pkg Package of the dumper, may be empty.
+     * @param name Simple name of the dumper.
+     * @param type Type of the dumped objects, as it appears in source code.
+     * @param getters Property getters, sorted by property name.
+     * @checkstyle ParameterNumber (5 lines)
+     */
+    DumperSource(
+        final String pkg, final String name,
+        final String type, final Map<String, ExecutableElement> getters
+    ) {
+        this.pkg = pkg;
+        this.name = name;
+        this.type = type;
+        this.getters = getters;
+    }
+
+    @Override
+    public String toString() {
+        final StringBuilder source = new StringBuilder();
+        if (!this.pkg.isEmpty()) {
+            source.append("package ").append(this.pkg).append(";\n\n");
+        }
+        source
+            .append("/**\n * YamlDumper of ").append(this.type)
+            .append(", generated by YamlDumpableProcessor.\n */\n")
+            .append("public final class ").append(this.name)
+            .append("\n    implements com.amihaiemil.eoyaml.YamlDumper<")
+            .append(this.type).append("> {\n\n")
+            .append("    @Override\n")
+            .append("    public com.amihaiemil.eoyaml.YamlMapping dump(final ")
+            .append(this.type).append(" object) {\n")
+            .append("        return com.amihaiemil.eoyaml.Yaml")
+            .append(".createMutableYamlMappingBuilder(")
+            .append(this.getters.size()).append(")\n");
+        for (final Map.Entry<String, ExecutableElement> getter
+            : this.getters.entrySet()) {
+            source.append("            .add(\"").append(getter.getKey())
+                .append("\", ").append(value(getter.getValue()))
+                .append(")\n");
+        }
+        return source
+            .append("            .build();\n")
+            .append("    }\n}\n")
+            .toString();
+    }
+
+    /**
+     * Expression which gives the value of a property. Primitives are
+     * printed with String.valueOf, everything else is represented by
+     * YamlDumper.represent, just like the reflection-based dump does it.
+     * @param getter Getter of the property.
+     * @return Java expression.
+     */
+    private static String value(final ExecutableElement getter) {
+        final String call = "object." + getter.getSimpleName() + "()";
+        final String value;
+        if (getter.getReturnType().getKind().isPrimitive()) {
+            value = "String.valueOf(" + call + ")";
+        } else {
+            value = "com.amihaiemil.eoyaml.YamlDumper.represent("
+                + call + ")";
+        }
+        return value;
+    }
+}
@@ -0,0 +1,226 @@
+/**
+ * Copyright (c) 2016-2020, Mihai Emil Andronache
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ *  modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ *  list of conditions and the following disclaimer.
+ *  Redistributions in binary form must reproduce the above copyright notice,
+ *  this list of conditions and the following disclaimer in the documentation
+ *  and/or other materials provided with the distribution.
+ * Neither the name of the copyright holder nor the names of its
+ *  contributors may be used to endorse or promote products derived from
+ *  this software without specific prior written permission.
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT
+ * LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY
+ * OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF
+ * SUCH DAMAGE.
+ */
+package com.amihaiemil.eoyaml.processor;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.Element;
+import javax.lang.model.element.ElementKind;
+import javax.lang.model.element.ExecutableElement;
+import javax.lang.model.element.Modifier;
+import javax.lang.model.element.TypeElement;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.util.ElementFilter;
+import javax.tools.Diagnostic;
+
+/**
+ * Annotation processor which generates a
+ * {@link com.amihaiemil.eoyaml.YamlDumper} for every class annotated with
+ * {@link com.amihaiemil.eoyaml.YamlDumpable}. The generated dumper calls
+ * the getters directly, so {@link com.amihaiemil.eoyaml.YamlObjectDump}
+ * does not have to introspect the class at runtime.
+ * @author Mihai Andronache (amihaiemil@gmail.com)
+ * @version $Id$
+ * @since 4.2.0
+ */
+@SupportedAnnotationTypes("com.amihaiemil.eoyaml.YamlDumpable")
+public final class YamlDumpableProcessor extends AbstractProcessor {
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(
+        final Set<? extends TypeElement> annotations,
+        final RoundEnvironment round
+    ) {
+        for (final TypeElement annotation : annotations) {
+            for (final Element element
+                : round.getElementsAnnotatedWith(annotation)) {
+                this.generate(element);
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Generate the dumper of an annotated element.
+     * @param element Annotated element.
+     */
+    private void generate(final Element element) {
+        if (element.getKind() != ElementKind.CLASS
+            || element.getModifiers().contains(Modifier.PRIVATE)) {
+            this.processingEnv.getMessager().printMessage(
+                Diagnostic.Kind.ERROR,
+                "@YamlDumpable can only be used on non-private classes.",
+                element
+            );
+        } else {
+            final TypeElement type = (TypeElement) element;
+            final String pkg = this.processingEnv.getElementUtils()
+                .getPackageOf(type).getQualifiedName().toString();
+            final String name = this.dumperName(type, pkg);
+            try (Writer writer = this.processingEnv.getFiler()
+                .createSourceFile(qualified(pkg, name), type)
+                .openWriter()) {
+                writer.write(
+                    new DumperSource(
+                        pkg, name, this.erasure(type), this.getters(type)
+                    ).toString()
+                );
+            } catch (final IOException ex) {
+                this.processingEnv.getMessager().printMessage(
+                    Diagnostic.Kind.ERROR,
+                    "Could not generate the YamlDumper: " + ex.getMessage(),
+                    element
+                );
+            }
+        }
+    }
+
+    /**
+     * Simple name of the generated dumper: the binary name of the class,
+     * relative to its package, with '$' replaced by '_', and the suffix
+     * "YamlDumper".
+     * @param type Annotated class.
+     * @param pkg Package of the class.
+     * @return String.
+     */
+    private String dumperName(final TypeElement type, final String pkg) {
+        String binary = this.processingEnv.getElementUtils()
+            .getBinaryName(type).toString();
+        if (!pkg.isEmpty()) {
+            binary = binary.substring(pkg.length() + 1);
+        }
+        return binary.replace('$', '_') + "YamlDumper";
+    }
+
+    /**
+     * Name of the annotated type, as it should appear in source code,
+     * without type parameters.
+     * @param type Annotated class.
+     * @return String.
+     */
+    private String erasure(final TypeElement type) {
+        return this.processingEnv.getTypeUtils()
+            .erasure(type.asType()).toString();
+    }
+
+    /**
+     * The properties of the class, sorted by name, mapped to the getters
+     * which read them. Like with java.beans.Introspector, "isX" is preferred
+     * over "getX" for a boolean property.
+     * @param type Annotated class.
+     * @return Map of property name to getter.
+     */
+    private Map<String, ExecutableElement> getters(final TypeElement type) {
+        final Map<String, ExecutableElement> getters = new TreeMap<>();
+        for (final ExecutableElement method : ElementFilter.methodsIn(
+            this.processingEnv.getElementUtils().getAllMembers(type)
+        )) {
+            final String methodName = method.getSimpleName().toString();
+            if (isGetter(method)) {
+                if (methodName.startsWith("is")) {
+                    getters.put(decapitalize(methodName.substring(2)), method);
+                } else {
+                    getters.putIfAbsent(
+                        decapitalize(methodName.substring(3)), method
+                    );
+                }
+            }
+        }
+        return getters;
+    }
+
+    /**
+     * Is this method a property getter?
+     * @param method Method.
+     * @return True or false.
+     */
+    private static boolean isGetter(final ExecutableElement method) {
+        final Set<Modifier> modifiers = method.getModifiers();
+        final String name = method.getSimpleName().toString();
+        final TypeKind kind = method.getReturnType().getKind();
+        final boolean getter;
+        if (!modifiers.contains(Modifier.PUBLIC)
+            || modifiers.contains(Modifier.STATIC)
+            || !method.getParameters().isEmpty()
+            || kind == TypeKind.VOID) {
+            getter = false;
+        } else if (name.startsWith("is") && name.length() > 2) {
+            getter = kind == TypeKind.BOOLEAN;
+        } else {
+            getter = name.startsWith("get") && name.length() > 3
+                && !"getClass".equals(name);
+        }
+        return getter;
+    }
+
+    /**
+     * Decapitalize a property name, the same way
+     * java.beans.Introspector.decapitalize does it.
+     * @param name Name.
+     * @return Decapitalized name.
+     */
+    private static String decapitalize(final String name) {
+        final String decapitalized;
+        if (name.length() > 1 && Character.isUpperCase(name.charAt(1))
+            && Character.isUpperCase(name.charAt(0))) {
+            decapitalized = name;
+        } else {
+            decapitalized = Character.toLowerCase(name.charAt(0))
+                + name.substring(1);
+        }
+        return decapitalized;
+    }
+
+    /**
+     * Qualified name.
+     * @param pkg Package, may be empty.
+     * @param name Simple name.
+     * @return String.
+     */
+    private static String qualified(final String pkg, final String name) {
+        final String qualified;
+        if (pkg.isEmpty()) {
+            qualified = name;
+        } else {
+            qualified = pkg + '.' + name;
+        }
+        return qualified;
+    }
+}
@@ -0,0 +1,182 @@
+/**
+ * Copyright (c) 2016-2020, Mihai Emil Andronache
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ *  modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ *  list of conditions and the following disclaimer.
+ *  Redistributions in binary form must reproduce the above copyright notice,
+ *  this list of conditions and the following disclaimer in the documentation
+ *  and/or other materials provided with the distribution.
+ * Neither the name of the copyright holder nor the names of its
+ *  contributors may be used to endorse or promote products derived from
+ *  this software without specific prior written permission.
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT
+ * LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY
+ * OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF
+ * SUCH DAMAGE.
+ */
+package com.amihaiemil.eoyaml.processor;
+
+import com.amihaiemil.eoyaml.YamlDumper;
+import com.amihaiemil.eoyaml.YamlObjectDump;
+import java.io.File;
+import java.io.IOException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.Collections;
+import javax.tools.JavaCompiler;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.ToolProvider;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * Unit tests for {@link YamlDumpableProcessor}.
+ * @author Mihai Andronache (amihaiemil@gmail.com)
+ * @version $Id$
+ * @since 4.2.0
+ */
+public final class YamlDumpableProcessorTest {
+
+    /**
+     * Folder for the compiled sources.
+     */
+    @Rule
+    public final TemporaryFolder folder = new TemporaryFolder();
+
+    /**
+     * The processor generates a dumper which is then used by
+     * YamlObjectDump, giving the same output as the reflection.
+     * @throws Exception If something goes wrong.
+     */
+    @Test
+    public void generatesDumper() throws Exception {
+        final ClassLoader loader = this.compile(
+            "package beans;",
+            "@com.amihaiemil.eoyaml.YamlDumpable",
+            "public class Student {",
+            "  public String getName() { return \"John\"; }",
+            "  public int getAge() { return 20; }",
+            "  public boolean isEnrolled() { return true; }",
+            "  public java.util.List<String> getGrades() {",
+            "    return java.util.Arrays.asList(\"A\", \"B\");",
+            "  }",
+            "  public String getAddress() { return null; }",
+            "}"
+        );
+        final Class<?> student = loader.loadClass("beans.Student");
+        MatcherAssert.assertThat(
+            YamlDumper.class.isAssignableFrom(
+                loader.loadClass("beans.StudentYamlDumper")
+            ),
+            Matchers.is(true)
+        );
+        MatcherAssert.assertThat(
+            new YamlObjectDump(
+                student.getDeclaredConstructor().newInstance()
+            ).represent().toString(),
+            Matchers.equalTo(
+                String.join(
+                    System.lineSeparator(),
+                    "address: null",
+                    "age: 20",
+                    "enrolled: true",
+                    "grades:",
+                    "  - A",
+                    "  - B",
+                    "name: John"
+                )
+            )
+        );
+    }
+
+    /**
+     * Nested classes get a dumper named after their binary name.
+     * @throws Exception If something goes wrong.
+     */
+    @Test
+    public void generatesDumperForNestedClass() throws Exception {
+        final ClassLoader loader = this.compile(
+            "package beans;",
+            "public class Outer {",
+            "  @com.amihaiemil.eoyaml.YamlDumpable",
+            "  public static class Inner {",
+            "    public String getValue() { return \"inner\"; }",
+            "  }",
+            "}"
+        );
+        MatcherAssert.assertThat(
+            new YamlObjectDump(
+                loader.loadClass("beans.Outer$Inner")
+                    .getDeclaredConstructor().newInstance()
+            ).represent().toString(),
+            Matchers.equalTo("value: inner")
+        );
+        MatcherAssert.assertThat(
+            loader.loadClass("beans.Outer_InnerYamlDumper"),
+            Matchers.notNullValue()
+        );
+    }
+
+    /**
+     * Compile the given source lines, running the processor.
+     * @param lines Source lines of one class.
+     * @return ClassLoader of the compiled classes.
+     * @throws IOException If something goes wrong.
+     */
+    private ClassLoader compile(final String... lines) throws IOException {
+        final String source = String.join("\n", lines);
+        final String name = source.substring(
+            source.indexOf("class ") + "class ".length(),
+            source.indexOf(' ', source.indexOf("class ") + "class ".length())
+        );
+        final File src = this.folder.newFolder("src");
+        final File out = this.folder.newFolder("out");
+        final File file = new File(src, name + ".java");
+        Files.write(file.toPath(), source.getBytes(StandardCharsets.UTF_8));
+        final JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        try (StandardJavaFileManager files = compiler.getStandardFileManager(
+            null, null, StandardCharsets.UTF_8
+        )) {
+            final JavaCompiler.CompilationTask task = compiler.getTask(
+                null, files, null,
+                Arrays.asList(
+                    "-classpath", this.core(), "-d", out.getAbsolutePath()
+                ),
+                null, files.getJavaFileObjects(file)
+            );
+            task.setProcessors(
+                Collections.singletonList(new YamlDumpableProcessor())
+            );
+            MatcherAssert.assertThat(task.call(), Matchers.is(true));
+        }
+        return new URLClassLoader(
+            new URL[] {out.toURI().toURL()}, this.getClass().getClassLoader()
+        );
+    }
+
+    /**
+     * Location of the eo-yaml classes.
+     * @return Path, as String.
+     */
+    private String core() {
+        return YamlDumper.class.getProtectionDomain()
+            .getCodeSource().getLocation().getPath();
+    }
+}
@@ -34,9 +34,11 @@ echo $NEXT_VERSION
 #Right after the project's <version> tag there has to be the comment <!--rrv-sed-flag--> which simplifies the sed regex bellow. 
 #If the flag comment wouldn't be there, we'd have to write a more complicated regex to catch the artifactif from a row up.
 #This is because only a regex for version tag would change all the matching version tags in the file.
-sed -i "s/<version>${CURRENT_VERSION}<\/version><\!--rrv-sed-flag-->/<version>${tag}<\/version><\!--rrv-sed-flag-->/" pom.xml
+#The modules built after eo-yaml (see MODULES) depend on its version, so their versions are changed too.
+MODULES="eo-yaml-processor/pom.xml eo-yaml-benchmarks/pom.xml"
+sed -i "s/<version>${CURRENT_VERSION}<\/version><\!--rrv-sed-flag-->/<version>${tag}<\/version><\!--rrv-sed-flag-->/" pom.xml $MODULES
 mvn clean deploy -PgenDocs,signArtifactsGpg,releaseToMavenCentral,releaseToGithubPackages --settings /home/r/settings.xml
-sed -i "s/<version>${tag}<\/version><\!--rrv-sed-flag-->/<version>${NEXT_VERSION}<\/version><\!--rrv-sed-flag-->/" pom.xml
+sed -i "s/<version>${tag}<\/version><\!--rrv-sed-flag-->/<version>${NEXT_VERSION}<\/version><\!--rrv-sed-flag-->/" pom.xml $MODULES
 sed -i "s/<version>.*<\/version>/<version>${tag}<\/version>/" README.md
 sed -i "s/<a.*>fat<\/a>/<a href=\"https:\/\/oss\.sonatype\.org\/service\/local\/repositories\/releases\/content\/com\/amihaiemil\/web\/eo-yaml\/${tag}\/eo-yaml-${tag}-jar-with-dependencies\.jar\">fat<\/a>/" README.md
 
@@ -38,6 +38,18 @@ package com.amihaiemil.eoyaml;
  */
 public abstract class AbstractYamlDump {
 
+    /**
+     * Classification of the classes: is an object of the class a 'leaf'?
+     * It is computed only once per class.
+     */
+    private static final ClassValue<Boolean> LEAVES =
+        new ClassValue<Boolean>() {
+            @Override
+            protected Boolean computeValue(final Class<?> type) {
+                return AbstractYamlDump.leaf(type);
+            }
+        };
+
     /**
      * Turn it into Yaml.
      * @return Yaml node
@@ -52,21 +64,34 @@ public abstract class AbstractYamlDump {
      * @return Boolean
      */
     protected final boolean leafProperty(final Object property) {
+        return AbstractYamlDump.leafValue(property);
+    }
+
+    /**
+     * Check if the given value is a 'leaf'.
+     * @param value Tested value, not null.
+     * @return Boolean.
+     */
+    static boolean leafValue(final Object value) {
+        return LEAVES.get(value.getClass());
+    }
+
+    /**
+     * Check if the objects of the given class are leaves: the class is
+     * from java.lang or java.util and it declares its own toString().
+     * @param type Tested class.
+     * @return Boolean.
+     */
+    private static boolean leaf(final Class<?> type) {
         boolean leaf = false;
-        Class<?> clazz = property.getClass();
-        try {
-            if(clazz.getName().startsWith("java.lang.")
-                || clazz.getName().startsWith("java.util.")){
-                if(clazz.getMethod("toString").getDeclaringClass()
-                        .equals(clazz)
-                ) {
-                    leaf = true;
-                }
+        if(type.getName().startsWith("java.lang.")
+            || type.getName().startsWith("java.util.")) {
+            try {
+                leaf = type.getMethod("toString").getDeclaringClass()
+                    .equals(type);
+            } catch (final NoSuchMethodException ex) {
+                leaf = false;
             }
-        } catch (final NoSuchMethodException nsme) {
-            nsme.printStackTrace();
-        } catch (final SecurityException ex) {
-            ex.printStackTrace();
         }
         return leaf;
     }
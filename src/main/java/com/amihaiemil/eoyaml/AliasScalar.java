@@ -0,0 +1,77 @@
+/**
+ * Copyright (c) 2016-2020, Mihai Emil Andronache
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ *  modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ *  list of conditions and the following disclaimer.
+ *  Redistributions in binary form must reproduce the above copyright notice,
+ *  this list of conditions and the following disclaimer in the documentation
+ *  and/or other materials provided with the distribution.
+ * Neither the name of the copyright holder nor the names of its
+ *  contributors may be used to endorse or promote products derived from
+ *  this software without specific prior written permission.
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT
+ * LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY
+ * OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF
+ * SUCH DAMAGE.
+ */
+package com.amihaiemil.eoyaml;
+
+/**
+ * Alias (e.g. {@code *id1}) of an anchored node which is still being
+ * dumped, when a cycle refers back to it.
+ * @author Mihai Andronache (amihaiemil@gmail.com)
+ * @version $Id$
+ * @since 4.2.0
+ */
+final class AliasScalar extends BaseScalar {
+
+    /**
+     * Anchor of the aliased node.
+     */
+    private final Anchor anchor;
+
+    /**
+     * Comment referring to this alias.
+     */
+    private final Comment comment;
+
+    /**
+     * Ctor.
+     * @param anchor Anchor of the aliased node.
+     */
+    AliasScalar(final Anchor anchor) {
+        this.anchor = anchor;
+        this.comment = new BuiltComment(this, "");
+    }
+
+    @Override
+    public String value() {
+        return "*" + this.anchor.name();
+    }
+
+    @Override
+    public Comment comment() {
+        return this.comment;
+    }
+
+    @Override
+    public String toString() {
+        final StringBuilder string = new StringBuilder();
+        string
+            .append("---").append(System.lineSeparator())
+            .append(this.indent(0)).append(System.lineSeparator())
+            .append("...");
+        return string.toString();
+    }
+}
@@ -28,14 +28,30 @@
 package com.amihaiemil.eoyaml;
 
 import com.amihaiemil.eoyaml.exceptions.YamlReadingException;
+import java.util.ArrayList;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.ListIterator;
+import java.util.Map;
+import java.util.RandomAccess;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
 
 /**
  * YamlLines default implementation. "All" refers to the fact that
  * we iterate over all of them, irrespective of indentation. There
  * are cases where we need to iterate only over the lines which are
  * at the same indentation level and for that we use the decorator
- * {@link SameIndentationLevel}.
+ * {@link SameIndentationLevel}.<br><br>
+ * These lines also hold the anchored nodes of the document: each of them
+ * is created only once and aliases are resolved to the same instance.
+ * <br><br>
+ * The lines are usually ordered by their numbers, so the lines below or
+ * above a given line are found with a binary search: a node iterates
+ * only over its own lines, not over the whole document.
  * @checkstyle ExecutableStatementCount (400 lines)
  * @checkstyle CyclomaticComplexity (400 lines)
  * @author Mihai Andronache (amihaiemil@gmail.com)
@@ -47,14 +63,196 @@ final class AllYamlLines implements YamlLines {
     /**
      * Yaml lines.
      */
-    private Collection<YamlLine> lines;
+    private final Collection<YamlLine> lines;
+
+    /**
+     * The same lines, with random access.
+     */
+    private final List<YamlLine> indexed;
+
+    /**
+     * Are the lines ordered by their numbers?
+     */
+    private final boolean ordered;
+
+    /**
+     * Maximum number of lines added by expanding the aliases.
+     */
+    private final long limit;
+
+    /**
+     * Metrics of the nodes read from these lines.
+     */
+    private final YamlMetrics metrics;
+
+    /**
+     * Anchors of the document, found when the first alias is resolved.
+     */
+    private volatile Anchors anchors;
+
+    /**
+     * Anchored nodes, by the number of the anchor's line.
+     */
+    private final Map<Integer, YamlNode> anchored;
 
     /**
      * Ctor.
      * @param lines Yaml lines collection.
      */
     AllYamlLines(final Collection<YamlLine> lines) {
+        this(lines, Anchors.EXPANSION_LIMIT);
+    }
+
+    /**
+     * Ctor.
+     * @param lines Yaml lines collection.
+     * @param limit Maximum number of lines added by expanding the aliases.
+     */
+    AllYamlLines(final Collection<YamlLine> lines, final long limit) {
+        this(lines, limit, Yaml.metrics());
+    }
+
+    /**
+     * Ctor.
+     * @param lines Yaml lines collection.
+     * @param limit Maximum number of lines added by expanding the aliases.
+     * @param metrics Metrics of the nodes read from these lines.
+     */
+    AllYamlLines(
+        final Collection<YamlLine> lines,
+        final long limit,
+        final YamlMetrics metrics
+    ) {
         this.lines = lines;
+        this.limit = limit;
+        this.metrics = metrics;
+        this.anchored = new ConcurrentHashMap<>();
+        if(lines instanceof List && lines instanceof RandomAccess) {
+            this.indexed = (List<YamlLine>) lines;
+        } else {
+            this.indexed = new ArrayList<>(lines);
+        }
+        this.ordered = AllYamlLines.ordered(this.indexed);
+    }
+
+    /**
+     * Lines of a document from these lines (e.g. a document of a stream),
+     * with the same alias expansion limit and metrics.
+     * @param document Lines of the document.
+     * @return AllYamlLines.
+     */
+    AllYamlLines document(final Collection<YamlLine> document) {
+        return new AllYamlLines(document, this.limit, this.metrics);
+    }
+
+    /**
+     * Metrics of the nodes read from these lines.
+     * @return YamlMetrics.
+     */
+    YamlMetrics metrics() {
+        return this.metrics;
+    }
+
+    /**
+     * Report a node read from these lines to the metrics.
+     * @param node The read node.
+     * @param <T> Type of the node.
+     * @return The same node.
+     */
+    <T extends YamlNode> T materialized(final T node) {
+        this.metrics.materialized();
+        return node;
+    }
+
+    /**
+     * The lines below the given one, in order.
+     * @param previous The line.
+     * @return YamlLines.
+     */
+    YamlLines below(final YamlLine previous) {
+        final int number = previous.number();
+        final Supplier<Iterator<YamlLine>> below;
+        if(this.ordered) {
+            below = () -> this.indexed.listIterator(this.after(number));
+        } else {
+            below = () -> this.indexed.stream()
+                .filter(line -> line.number() > number)
+                .iterator();
+        }
+        return new Part(below);
+    }
+
+    /**
+     * The lines above the given line number, the nearest first.
+     * @param number The line number.
+     * @return YamlLines.
+     */
+    YamlLines above(final int number) {
+        final Supplier<Iterator<YamlLine>> above;
+        if(this.ordered) {
+            above = () -> new Reversed(
+                this.indexed.listIterator(this.after(number - 1))
+            );
+        } else {
+            above = () -> {
+                final List<YamlLine> found = this.indexed.stream()
+                    .filter(line -> line.number() < number)
+                    .collect(Collectors.toList());
+                Collections.reverse(found);
+                return found.iterator();
+            };
+        }
+        return new Part(above);
+    }
+
+    /**
+     * The lines above a node, the nearest first, where its comment is
+     * looked for: above the line before it or, if it is the document
+     * itself, above its first line.
+     * @param previous The line before the node.
+     * @param significant The lines of the node.
+     * @return YamlLines.
+     */
+    YamlLines above(final YamlLine previous, final YamlLines significant) {
+        int number = previous.number();
+        if(number < 0) {
+            final Iterator<YamlLine> first = significant.iterator();
+            if(first.hasNext()) {
+                number = first.next().number();
+            } else {
+                number = Integer.MAX_VALUE;
+            }
+        }
+        return this.above(number);
+    }
+
+    /**
+     * The node nested below the given line (e.g. after "key:" or "-").
+     * @param line YamlLine.
+     * @return YamlNode.
+     */
+    YamlNode nestedNode(final YamlLine line) {
+        return this.anchoredOr(line, () -> this.toYamlNode(line));
+    }
+
+    /**
+     * The plain scalar on the given line (e.g. after "key:" or "-"), or
+     * the node its alias refers to.
+     * @param line YamlLine.
+     * @return YamlNode.
+     */
+    YamlNode inlineNode(final YamlLine line) {
+        final YamlNode node;
+        if(line instanceof AliasYamlLine) {
+            node = this.aliased(
+                this.anchors().definition((AliasYamlLine) line)
+            );
+        } else {
+            node = this.anchoredOr(
+                line, () -> this.materialized(new ReadPlainScalar(this, line))
+            );
+        }
+        return node;
     }
 
     @Override
@@ -81,11 +279,15 @@ final class AllYamlLines implements YamlLines {
             final String lastChar = prevLine.substring(prevLine.length() - 1);
 
             if (lastChar.equals(Follows.LITERAL_BLOCK_SCALAR)) {
-                node = new ReadLiteralBlockScalar(prev, this);
+                node = this.materialized(
+                    new ReadLiteralBlockScalar(prev, this)
+                );
             } else if (lastChar.equals(Follows.FOLDED_BLOCK_SCALAR)) {
-                node = new ReadFoldedBlockScalar(prev, this);
+                node = this.materialized(
+                    new ReadFoldedBlockScalar(prev, this)
+                );
             } else if (prevLine.matches(Follows.FOLDED_SEQUENCE)) {
-                node = new ReadYamlSequence(prev, this);
+                node = this.materialized(new ReadYamlSequence(prev, this));
             } else {
                 node = this.mappingSequenceOrPlainScalar(prev);
             }
@@ -93,6 +295,62 @@ final class AllYamlLines implements YamlLines {
         return node;
     }
 
+    /**
+     * The node an anchor refers to.
+     * @param anchor Line with the anchor.
+     * @return YamlNode.
+     */
+    private YamlNode aliased(final AnchoredYamlLine anchor) {
+        final YamlNode node;
+        if(anchor.leading()) {
+            node = this.anchored.computeIfAbsent(
+                anchor.number(),
+                number -> this.toYamlNode(new YamlLine.NullYamlLine())
+            );
+        } else if(Anchors.nested(anchor)) {
+            node = this.nestedNode(anchor);
+        } else {
+            node = this.inlineNode(anchor);
+        }
+        return node;
+    }
+
+    /**
+     * The anchored node of the line, created only once, or a new node if
+     * the line has no anchor.
+     * @param line YamlLine.
+     * @param node Node of the line.
+     * @return YamlNode.
+     */
+    private YamlNode anchoredOr(
+        final YamlLine line, final Supplier<YamlNode> node
+    ) {
+        final YamlNode found;
+        if(line instanceof AnchoredYamlLine
+            && !((AnchoredYamlLine) line).leading()) {
+            found = this.anchored.computeIfAbsent(
+                line.number(), number -> node.get()
+            );
+        } else {
+            found = node.get();
+        }
+        return found;
+    }
+
+    /**
+     * The anchors of these lines. They are the same every time, so
+     * threads racing to find them first is harmless.
+     * @return Anchors.
+     */
+    private Anchors anchors() {
+        Anchors found = this.anchors;
+        if(found == null) {
+            found = new Anchors(this.lines, this.limit);
+            this.anchors = found;
+        }
+        return found;
+    }
+
     /**
      * Try to figure out what YAML node (mapping, sequence or scalar) do these
      * lines represent.
@@ -102,8 +360,7 @@ final class AllYamlLines implements YamlLines {
     private YamlNode mappingSequenceOrPlainScalar(final YamlLine prev) {
         final YamlNode node;
         final YamlLine first = new Skip(
-            this,
-            line -> line.number() <= prev.number(),
+            this.below(prev),
             line -> line.trimmed().startsWith("#"),
             line -> line.trimmed().startsWith("---"),
             line -> line.trimmed().startsWith("..."),
@@ -111,11 +368,11 @@ final class AllYamlLines implements YamlLines {
             line -> line.trimmed().startsWith("!!")
         ).iterator().next();
         if(first.trimmed().startsWith("-")) {
-            node = new ReadYamlSequence(prev, this);
+            node = this.materialized(new ReadYamlSequence(prev, this));
         } else if (first.trimmed().contains(":")){
-            node = new ReadYamlMapping(prev, this);
+            node = this.materialized(new ReadYamlMapping(prev, this));
         } else if(this.original().size() == 1) {
-            node = new ReadPlainScalar(this, first);
+            node = this.inlineNode(first);
         } else {
             throw new YamlReadingException(
                 "Could not parse YAML starting at line " + (first.number() + 1)
@@ -128,4 +385,152 @@ final class AllYamlLines implements YamlLines {
         return node;
     }
 
+    /**
+     * Index of the first line with a greater number than the given one.
+     * @param number Line number.
+     * @return Index in the ordered lines.
+     */
+    private int after(final int number) {
+        int low = 0;
+        int high = this.indexed.size();
+        while(low < high) {
+            final int middle = (low + high) >>> 1;
+            if(this.indexed.get(middle).number() <= number) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Are the lines ordered by their numbers?
+     * @param lines Lines.
+     * @return True or false.
+     */
+    private static boolean ordered(final List<YamlLine> lines) {
+        boolean ordered = true;
+        for(int idx = 1; idx < lines.size() && ordered; ++idx) {
+            ordered = lines.get(idx - 1).number() <= lines.get(idx).number();
+        }
+        return ordered;
+    }
+
+    /**
+     * Part of these lines.
+     * @author Mihai Andronache (amihaiemil@gmail.com)
+     * @version $Id$
+     * @since 4.2.0
+     */
+    private final class Part implements YamlLines {
+
+        /**
+         * Iterator over the lines of this part.
+         */
+        private final Supplier<Iterator<YamlLine>> part;
+
+        /**
+         * Ctor.
+         * @param part Iterator over the lines of this part.
+         */
+        Part(final Supplier<Iterator<YamlLine>> part) {
+            this.part = part;
+        }
+
+        @Override
+        public Iterator<YamlLine> iterator() {
+            final Iterator<YamlLine> iterator;
+            final YamlMetrics listener = AllYamlLines.this.metrics;
+            if(listener == YamlMetrics.NONE) {
+                iterator = this.part.get();
+            } else {
+                iterator = new Iterated(this.part.get(), listener);
+            }
+            return iterator;
+        }
+
+        @Override
+        public Collection<YamlLine> original() {
+            return AllYamlLines.this.original();
+        }
+
+        @Override
+        public YamlNode toYamlNode(final YamlLine prev) {
+            return AllYamlLines.this.toYamlNode(prev);
+        }
+    }
+
+    /**
+     * Lines iterated backwards.
+     * @author Mihai Andronache (amihaiemil@gmail.com)
+     * @version $Id$
+     * @since 4.2.0
+     */
+    private static final class Reversed implements Iterator<YamlLine> {
+
+        /**
+         * Lines, positioned after the first one to return.
+         */
+        private final ListIterator<YamlLine> lines;
+
+        /**
+         * Ctor.
+         * @param lines Lines, positioned after the first one to return.
+         */
+        Reversed(final ListIterator<YamlLine> lines) {
+            this.lines = lines;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return this.lines.hasPrevious();
+        }
+
+        @Override
+        public YamlLine next() {
+            return this.lines.previous();
+        }
+    }
+
+    /**
+     * Lines iterated over, reported to the metrics one by one.
+     * @author Mihai Andronache (amihaiemil@gmail.com)
+     * @version $Id$
+     * @since 4.2.0
+     */
+    private static final class Iterated implements Iterator<YamlLine> {
+
+        /**
+         * Iterated lines.
+         */
+        private final Iterator<YamlLine> lines;
+
+        /**
+         * Metrics.
+         */
+        private final YamlMetrics metrics;
+
+        /**
+         * Ctor.
+         * @param lines Iterated lines.
+         * @param metrics Metrics.
+         */
+        Iterated(final Iterator<YamlLine> lines, final YamlMetrics metrics) {
+            this.lines = lines;
+            this.metrics = metrics;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return this.lines.hasNext();
+        }
+
+        @Override
+        public YamlLine next() {
+            final YamlLine next = this.lines.next();
+            this.metrics.iterated();
+            return next;
+        }
+    }
 }
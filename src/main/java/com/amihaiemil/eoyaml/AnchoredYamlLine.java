@@ -0,0 +1,136 @@
+/**
+ * Copyright (c) 2016-2020, Mihai Emil Andronache
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ *  modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ *  list of conditions and the following disclaimer.
+ *  Redistributions in binary form must reproduce the above copyright notice,
+ *  this list of conditions and the following disclaimer in the documentation
+ *  and/or other materials provided with the distribution.
+ * Neither the name of the copyright holder nor the names of its
+ *  contributors may be used to endorse or promote products derived from
+ *  this software without specific prior written permission.
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT
+ * LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY
+ * OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF
+ * SUCH DAMAGE.
+ */
+package com.amihaiemil.eoyaml;
+
+/**
+ * A YamlLine which defines an anchor (e.g. {@code key: &name}). The anchor
+ * is removed from the line's content, so the line is read just like any
+ * other one, and it is kept aside, so aliases can refer to the node.
+ * <br><br>
+ * Usually, the anchored node is the value of the line. If the anchor was
+ * on a line of its own at the beginning of a document, the line is
+ * "leading" and the anchored node is the whole document.
+ * @author Mihai Andronache (amihaiemil@gmail.com)
+ * @version $Id$
+ * @since 4.2.0
+ */
+final class AnchoredYamlLine implements YamlLine {
+
+    /**
+     * Original line.
+     */
+    private final YamlLine line;
+
+    /**
+     * Name of the anchor.
+     */
+    private final String anchor;
+
+    /**
+     * Content of the line, without the anchor.
+     */
+    private final String content;
+
+    /**
+     * Does the anchor refer to the whole document?
+     */
+    private final boolean leading;
+
+    /**
+     * Ctor.
+     * @param line Original line.
+     * @param anchor Name of the anchor.
+     * @param content Content of the line, without the anchor.
+     * @param leading Does the anchor refer to the whole document?
+     * @checkstyle ParameterNumber (5 lines)
+     */
+    AnchoredYamlLine(
+        final YamlLine line, final String anchor,
+        final String content, final boolean leading
+    ) {
+        this.line = line;
+        this.anchor = anchor;
+        this.content = content;
+        this.leading = leading;
+    }
+
+    /**
+     * Name of the anchor.
+     * @return String.
+     */
+    String anchor() {
+        return this.anchor;
+    }
+
+    /**
+     * Does the anchor refer to the whole document, rather than
+     * to the value of this line?
+     * @return True or false.
+     */
+    boolean leading() {
+        return this.leading;
+    }
+
+    @Override
+    public String trimmed() {
+        return this.content.trim();
+    }
+
+    @Override
+    public int number() {
+        return this.line.number();
+    }
+
+    @Override
+    public int indentation() {
+        return this.line.indentation();
+    }
+
+    @Override
+    public boolean requireNestedIndentation() {
+        return new RtYamlLine(this.content, 0).requireNestedIndentation();
+    }
+
+    @Override
+    public int compareTo(final YamlLine other) {
+        int result = -1;
+        if (this == other) {
+            result = 0;
+        } else if (other == null) {
+            result = 1;
+        } else {
+            result = this.trimmed().compareTo(other.trimmed());
+        }
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        return this.content;
+    }
+}
@@ -0,0 +1,111 @@
+/**
+ * Copyright (c) 2016-2020, Mihai Emil Andronache
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ *  modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ *  list of conditions and the following disclaimer.
+ *  Redistributions in binary form must reproduce the above copyright notice,
+ *  this list of conditions and the following disclaimer in the documentation
+ *  and/or other materials provided with the distribution.
+ * Neither the name of the copyright holder nor the names of its
+ *  contributors may be used to endorse or promote products derived from
+ *  this software without specific prior written permission.
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT
+ * LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY
+ * OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF
+ * SUCH DAMAGE.
+ */
+package com.amihaiemil.eoyaml;
+
+import java.util.Collection;
+import java.util.Set;
+
+/**
+ * Decorator for a {@link YamlMapping} which may have an anchor.
+ * @author Mihai Andronache (amihaiemil@gmail.com)
+ * @version $Id$
+ * @since 4.2.0
+ */
+final class AnchoredYamlMapping extends BaseYamlMapping implements Anchored {
+
+    /**
+     * Original YamlMapping.
+     */
+    private final YamlMapping decorated;
+
+    /**
+     * Anchor of this mapping.
+     */
+    private final Anchor anchor;
+
+    /**
+     * Ctor.
+     * @param decorated Original YamlMapping.
+     * @param anchor Anchor of the mapping.
+     */
+    AnchoredYamlMapping(final YamlMapping decorated, final Anchor anchor) {
+        super(decorated.comments());
+        this.decorated = decorated;
+        this.anchor = anchor;
+    }
+
+    @Override
+    public String anchor() {
+        return this.anchor.name();
+    }
+
+    @Override
+    public Set<YamlNode> keys() {
+        return this.decorated.keys();
+    }
+
+    @Override
+    public Collection<YamlNode> values() {
+        return this.decorated.values();
+    }
+
+    @Override
+    public YamlMapping yamlMapping(final YamlNode key) {
+        return this.decorated.yamlMapping(key);
+    }
+
+    @Override
+    public YamlSequence yamlSequence(final YamlNode key) {
+        return this.decorated.yamlSequence(key);
+    }
+
+    @Override
+    public String string(final YamlNode key) {
+        return this.decorated.string(key);
+    }
+
+    @Override
+    public String foldedBlockScalar(final YamlNode key) {
+        return this.decorated.foldedBlockScalar(key);
+    }
+
+    @Override
+    public Collection<String> literalBlockScalar(final YamlNode key) {
+        return this.decorated.literalBlockScalar(key);
+    }
+
+    @Override
+    public YamlNode value(final YamlNode key) {
+        return this.decorated.value(key);
+    }
+
+    @Override
+    public Comment comment() {
+        return this.decorated.comment();
+    }
+}
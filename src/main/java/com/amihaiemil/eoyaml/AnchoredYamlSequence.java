@@ -0,0 +1,112 @@
+/**
+ * Copyright (c) 2016-2020, Mihai Emil Andronache
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ *  modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ *  list of conditions and the following disclaimer.
+ *  Redistributions in binary form must reproduce the above copyright notice,
+ *  this list of conditions and the following disclaimer in the documentation
+ *  and/or other materials provided with the distribution.
+ * Neither the name of the copyright holder nor the names of its
+ *  contributors may be used to endorse or promote products derived from
+ *  this software without specific prior written permission.
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT
+ * LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY
+ * OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF
+ * SUCH DAMAGE.
+ */
+package com.amihaiemil.eoyaml;
+
+import java.util.Collection;
+import java.util.Iterator;
+
+/**
+ * Decorator for a {@link YamlSequence} which may have an anchor.
+ * @author Mihai Andronache (amihaiemil@gmail.com)
+ * @version $Id$
+ * @since 4.2.0
+ */
+final class AnchoredYamlSequence extends BaseYamlSequence
+    implements Anchored {
+
+    /**
+     * Original YamlSequence.
+     */
+    private final YamlSequence decorated;
+
+    /**
+     * Anchor of this sequence.
+     */
+    private final Anchor anchor;
+
+    /**
+     * Ctor.
+     * @param decorated Original YamlSequence.
+     * @param anchor Anchor of the sequence.
+     */
+    AnchoredYamlSequence(final YamlSequence decorated, final Anchor anchor) {
+        super(decorated.comments());
+        this.decorated = decorated;
+        this.anchor = anchor;
+    }
+
+    @Override
+    public String anchor() {
+        return this.anchor.name();
+    }
+
+    @Override
+    public int size() {
+        return this.decorated.size();
+    }
+
+    @Override
+    public Collection<YamlNode> values() {
+        return this.decorated.values();
+    }
+
+    @Override
+    public YamlMapping yamlMapping(final int index) {
+        return this.decorated.yamlMapping(index);
+    }
+
+    @Override
+    public YamlSequence yamlSequence(final int index) {
+        return this.decorated.yamlSequence(index);
+    }
+
+    @Override
+    public String string(final int index) {
+        return this.decorated.string(index);
+    }
+
+    @Override
+    public String foldedBlockScalar(final int index) {
+        return this.decorated.foldedBlockScalar(index);
+    }
+
+    @Override
+    public Collection<String> literalBlockScalar(final int index) {
+        return this.decorated.literalBlockScalar(index);
+    }
+
+    @Override
+    public Iterator<YamlNode> iterator() {
+        return this.decorated.iterator();
+    }
+
+    @Override
+    public Comment comment() {
+        return this.decorated.comment();
+    }
+}
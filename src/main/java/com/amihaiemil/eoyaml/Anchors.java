@@ -0,0 +1,395 @@
+/**
+ * Copyright (c) 2016-2020, Mihai Emil Andronache
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ *  modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ *  list of conditions and the following disclaimer.
+ *  Redistributions in binary form must reproduce the above copyright notice,
+ *  this list of conditions and the following disclaimer in the documentation
+ *  and/or other materials provided with the distribution.
+ * Neither the name of the copyright holder nor the names of its
+ *  contributors may be used to endorse or promote products derived from
+ *  this software without specific prior written permission.
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT
+ * LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY
+ * OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF
+ * SUCH DAMAGE.
+ */
+package com.amihaiemil.eoyaml;
+
+import com.amihaiemil.eoyaml.exceptions.YamlReadingException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * The anchors of a YAML document. An alias refers to the closest anchor
+ * with the same name, defined before it.<br><br>
+ * Aliases are resolved to shared nodes, so they cost nothing in memory,
+ * but whoever walks the document (e.g. printing it) walks the aliased nodes
+ * again and again. To protect against inputs which would expand to huge
+ * documents ("alias bombs"), the number of lines added by all the aliases
+ * of a document, if they were expanded, is limited.
+ * @author Mihai Andronache (amihaiemil@gmail.com)
+ * @version $Id$
+ * @since 4.2.0
+ */
+final class Anchors {
+
+    /**
+     * Default maximum number of lines added by expanding the aliases
+     * of a document.
+     */
+    static final long EXPANSION_LIMIT = 1_000_000L;
+
+    /**
+     * Anchor after a key or a dash: "key: &name [value]", "- &name [value]".
+     */
+    private static final Pattern ANCHOR = Pattern.compile(
+        "^(\\s*(?:-|.*?:))\\s+&([^\\s#]+)(?:\\s+(.*))?$"
+    );
+
+    /**
+     * Anchor on a line of its own.
+     */
+    private static final Pattern LONE_ANCHOR = Pattern.compile(
+        "^&([^\\s#]+)(?:\\s+#.*)?$"
+    );
+
+    /**
+     * Alias as a value: "key: *name", "- *name".
+     */
+    private static final Pattern ALIAS = Pattern.compile(
+        "^(?:(?:-|.*?:)\\s+)?\\*([^\\s#]+)(?:\\s+#.*)?$"
+    );
+
+    /**
+     * Anchor definitions, by name and line number.
+     */
+    private final Map<String, NavigableMap<Integer, AnchoredYamlLine>> defs;
+
+    /**
+     * Number of lines of each anchored node, with its aliases expanded.
+     */
+    private final Map<Integer, Long> sizes;
+
+    /**
+     * Ctor.
+     * @param lines Lines of the document.
+     * @param limit Maximum number of lines added by expanding the aliases.
+     * @throws YamlReadingException If an alias refers to an unknown anchor
+     *  or to the node which contains it, or if the limit is exceeded.
+     */
+    Anchors(final Collection<YamlLine> lines, final long limit) {
+        this.defs = new HashMap<>();
+        this.sizes = new HashMap<>();
+        final Deque<Block> open = new ArrayDeque<>();
+        long expansion = 0;
+        for(final YamlLine line : lines) {
+            while(!open.isEmpty()
+                && open.peek().indentation >= line.indentation()) {
+                this.close(open.pop());
+            }
+            long size = 1;
+            if(line instanceof AliasYamlLine) {
+                size = this.size(this.definition((AliasYamlLine) line));
+                expansion = expansion + size;
+                if(expansion > limit) {
+                    throw new YamlReadingException(
+                        "The aliases of this document expand to more than "
+                        + limit + " lines (alias on line "
+                        + (line.number() + 1) + ")."
+                    );
+                }
+            }
+            for(final Block block : open) {
+                block.size = block.size + size;
+            }
+            if(line instanceof AnchoredYamlLine) {
+                this.define((AnchoredYamlLine) line, open);
+            }
+        }
+        while(!open.isEmpty()) {
+            this.close(open.pop());
+        }
+    }
+
+    /**
+     * Recognize the anchors and the aliases, as the lines are read.
+     * The content of block scalars, comments and quoted scalars is
+     * left untouched.
+     * @param lines Read lines.
+     * @return Lines, with anchors and aliases decorated.
+     */
+    static List<YamlLine> decorate(final List<YamlLine> lines) {
+        final List<YamlLine> decorated = new ArrayList<>(lines.size());
+        String leading = "";
+        int scalar = Integer.MAX_VALUE;
+        for(final YamlLine line : lines) {
+            final String significant = Anchors.significant(line.toString());
+            final Matcher lone = LONE_ANCHOR.matcher(significant.trim());
+            if(line.indentation() > scalar) {
+                decorated.add(line);
+            } else if(significant.trim().isEmpty()) {
+                scalar = Integer.MAX_VALUE;
+                decorated.add(line);
+            } else if(lone.matches()) {
+                scalar = Integer.MAX_VALUE;
+                if(!Anchors.anchorLast(decorated, lone.group(1))) {
+                    leading = lone.group(1);
+                }
+            } else {
+                final YamlLine current = Anchors.decorate(
+                    line, significant, leading
+                );
+                leading = "";
+                decorated.add(current);
+                if(significant.matches(".*[|>][-+]?$")) {
+                    scalar = current.indentation();
+                } else {
+                    scalar = Integer.MAX_VALUE;
+                }
+            }
+        }
+        return decorated;
+    }
+
+    /**
+     * Is the value of this line nested below it (as opposed to being a
+     * plain scalar on the same line)?
+     * @param line YamlLine.
+     * @return True or false.
+     */
+    static boolean nested(final YamlLine line) {
+        final String trimmed = line.trimmed();
+        final boolean block = trimmed.endsWith(Follows.LITERAL_BLOCK_SCALAR)
+            || trimmed.endsWith(Follows.FOLDED_BLOCK_SCALAR);
+        return block || trimmed.endsWith(":") || "-".equals(trimmed)
+            || trimmed.matches(Follows.FOLDED_SEQUENCE);
+    }
+
+    /**
+     * The anchor an alias refers to: the closest one with the same name,
+     * defined before it.
+     * @param alias Line with the alias.
+     * @return Line with the anchor.
+     * @throws YamlReadingException If there is no such anchor.
+     */
+    AnchoredYamlLine definition(final AliasYamlLine alias) {
+        final NavigableMap<Integer, AnchoredYamlLine> named = this.defs.get(
+            alias.alias()
+        );
+        Map.Entry<Integer, AnchoredYamlLine> found = null;
+        if(named != null) {
+            found = named.lowerEntry(alias.number());
+        }
+        if(found == null) {
+            throw new YamlReadingException(
+                "Alias *" + alias.alias() + " on line " + (alias.number() + 1)
+                + " refers to an anchor which is not defined before it."
+            );
+        }
+        return found.getValue();
+    }
+
+    /**
+     * The text of a line in which anchors and aliases are looked for:
+     * without its trailing comment and with the content of its quoted
+     * scalars masked. The other characters keep their positions.
+     * @param text Text of the line.
+     * @return Significant text.
+     */
+    static String significant(final String text) {
+        final StringBuilder significant = new StringBuilder(text.length());
+        char quote = ' ';
+        boolean comment = false;
+        for(int idx = 0; idx < text.length() && !comment; ++idx) {
+            final char current = text.charAt(idx);
+            if(quote != ' ') {
+                if(current == quote) {
+                    quote = ' ';
+                    significant.append(current);
+                } else {
+                    significant.append('_');
+                }
+            } else if(current == '#' && Anchors.separated(text, idx)) {
+                comment = true;
+            } else {
+                if("\"'".indexOf(current) >= 0
+                    && Anchors.separated(text, idx)) {
+                    quote = current;
+                }
+                significant.append(current);
+            }
+        }
+        return significant.toString().replaceAll("\\s+$", "");
+    }
+
+    /**
+     * Does the character at the given position start a new token (it is
+     * the first one or it follows a whitespace)?
+     * @param text Text of the line.
+     * @param idx Position of the character.
+     * @return True or false.
+     */
+    private static boolean separated(final String text, final int idx) {
+        return idx == 0 || Character.isWhitespace(text.charAt(idx - 1));
+    }
+
+    /**
+     * Decorate a line, if it has an anchor or an alias.
+     * @param line Read line.
+     * @param significant Significant text of the line.
+     * @param leading Anchor from the line before, if it was on a line of
+     *  its own at the beginning of the document.
+     * @return Decorated line.
+     */
+    private static YamlLine decorate(
+        final YamlLine line, final String significant, final String leading
+    ) {
+        final YamlLine decorated;
+        final Matcher anchor = ANCHOR.matcher(significant);
+        final Matcher alias = ALIAS.matcher(significant.trim());
+        if(anchor.matches()) {
+            final String text = line.toString();
+            final StringBuilder content = new StringBuilder(
+                text.substring(0, anchor.end(1))
+            );
+            if(anchor.group(3) != null) {
+                content.append(' ').append(text.substring(anchor.start(3)));
+            }
+            decorated = new AnchoredYamlLine(
+                line, anchor.group(2), content.toString(), false
+            );
+        } else if(!leading.isEmpty()) {
+            decorated = new AnchoredYamlLine(
+                line, leading, line.toString(), true
+            );
+        } else if(alias.matches()) {
+            decorated = new AliasYamlLine(line, alias.group(1));
+        } else {
+            decorated = line;
+        }
+        return decorated;
+    }
+
+    /**
+     * Put an anchor, which is on a line of its own, on the last line,
+     * if the anchored node is nested below it.
+     * @param decorated Lines decorated so far.
+     * @param anchor Name of the anchor.
+     * @return True if the last line got the anchor, false otherwise.
+     */
+    private static boolean anchorLast(
+        final List<YamlLine> decorated, final String anchor
+    ) {
+        final int last = decorated.size() - 1;
+        boolean anchored = false;
+        if(last >= 0 && Anchors.nested(decorated.get(last))) {
+            final YamlLine line = decorated.get(last);
+            decorated.set(
+                last,
+                new AnchoredYamlLine(line, anchor, line.toString(), false)
+            );
+            anchored = true;
+        }
+        return anchored;
+    }
+
+    /**
+     * Register an anchor.
+     * @param line Line with the anchor.
+     * @param open Anchored nodes which are still being read.
+     */
+    private void define(final AnchoredYamlLine line, final Deque<Block> open) {
+        this.defs.computeIfAbsent(line.anchor(), name -> new TreeMap<>())
+            .put(line.number(), line);
+        if(line.leading()) {
+            open.push(new Block(-1, line.number()));
+        } else if(Anchors.nested(line)) {
+            open.push(new Block(line.indentation(), line.number()));
+        } else {
+            this.sizes.put(line.number(), 1L);
+        }
+    }
+
+    /**
+     * An anchored node was read entirely.
+     * @param block The node's block.
+     */
+    private void close(final Block block) {
+        this.sizes.put(block.line, Math.max(1L, block.size));
+    }
+
+    /**
+     * Number of lines of an anchored node, with its aliases expanded.
+     * @param anchor Line with the anchor.
+     * @return Number of lines.
+     * @throws YamlReadingException If the node is not read entirely yet,
+     *  which means the alias is inside the node it refers to.
+     */
+    private long size(final AnchoredYamlLine anchor) {
+        final Long size = this.sizes.get(anchor.number());
+        if(size == null) {
+            throw new YamlReadingException(
+                "Anchor &" + anchor.anchor() + " on line "
+                + (anchor.number() + 1) + " is referred to from inside"
+                + " its own node. Recursive aliases are not supported."
+            );
+        }
+        return size;
+    }
+
+    /**
+     * Block of lines of an anchored node, which is being read.
+     * @author Mihai Andronache (amihaiemil@gmail.com)
+     * @version $Id$
+     * @since 4.2.0
+     */
+    private static final class Block {
+
+        /**
+         * Indentation of the anchor's line. The lines which are
+         * indented more belong to the node.
+         */
+        private final int indentation;
+
+        /**
+         * Number of the anchor's line.
+         */
+        private final int line;
+
+        /**
+         * Number of lines so far, with aliases expanded.
+         */
+        private long size;
+
+        /**
+         * Ctor.
+         * @param indentation Indentation of the anchor's line.
+         * @param line Number of the anchor's line.
+         */
+        Block(final int indentation, final int line) {
+            this.indentation = indentation;
+            this.line = line;
+        }
+    }
+}
@@ -27,6 +27,8 @@
  */
 package com.amihaiemil.eoyaml;
 
+import java.io.IOException;
+
 /**
  * Base Yaml Scalar which all implementations of Scalar should extend.
  * It implementing toString(), equals, hashcode and compareTo methods.
@@ -120,14 +122,32 @@ abstract class BaseScalar extends BaseYamlNode implements Scalar {
      * @param indentation Number of preceding spaces of each line.
      * @return Indented Scalar.
      */
-    String indent(final int indentation) {
-        int spaces = indentation;
-        StringBuilder printed = new StringBuilder();
-        while (spaces > 0) {
-            printed.append(" ");
-            spaces--;
+    final String indent(final int indentation) {
+        final StringBuilder printed = new StringBuilder();
+        try {
+            this.indent(indentation, printed);
+        } catch (final IOException ex) {
+            throw new IllegalStateException(
+                "Could not print the Scalar to a StringBuilder", ex
+            );
+        }
+        return printed.toString();
+    }
+
+    /**
+     * Write this scalar, indented, to the given destination, line by
+     * line. Block scalars override this method, so the printer writes
+     * their lines directly, without building the whole scalar first.
+     * @param indentation Number of preceding spaces of each line.
+     * @param destination Where to write the lines.
+     * @throws IOException If the lines cannot be written.
+     */
+    void indent(final int indentation, final Appendable destination)
+        throws IOException {
+        for(int spaces = 0; spaces < indentation; ++spaces) {
+            destination.append(' ');
         }
-        return printed.append(this.value()).toString();
+        destination.append(this.value());
     }
 
 }
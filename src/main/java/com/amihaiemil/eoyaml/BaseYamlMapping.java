@@ -50,7 +50,7 @@ public abstract class BaseYamlMapping
     /**
      * Comments referring the key:value pairs.
      */
-    private Comments comments;
+    private final Comments comments;
 
     /**
      * Default ctor.
@@ -174,131 +174,7 @@ public abstract class BaseYamlMapping
      * @return String indented YamlMapping, by the specified indentation.
      */
     final String indent(final int indentation) {
-        if(indentation < 0) {
-            throw new IllegalArgumentException(
-                "Indentation level has to be >=0"
-            );
-        }
-        final String newLine = System.lineSeparator();
-        final StringBuilder print = new StringBuilder();
-        int spaces = indentation;
-        final StringBuilder alignment = new StringBuilder();
-        while (spaces > 0) {
-            alignment.append(" ");
-            spaces--;
-        }
-        this.printPossibleComment(this.comment(), print, alignment.toString());
-        for(final YamlNode key : this.keys()) {
-            this.printPossibleComment(
-                this.comments().referringTo(key), print, alignment.toString()
-            );
-            print.append(alignment);
-            final BaseYamlNode indKey = (BaseYamlNode) key;
-            final BaseYamlNode value = (BaseYamlNode) this.value(key);
-            if(indKey instanceof Scalar) {
-                print
-                    .append(indKey.indent(0))
-                    .append(":");
-                if (value instanceof Scalar) {
-                    print.append(" ");
-                    this.printScalar((Scalar) value, print, indentation);
-                } else  {
-                    print
-                        .append(newLine)
-                        .append(value.indent(indentation + 2))
-                        .append(newLine);
-                }
-            } else {
-                print
-                    .append("?")
-                    .append(newLine)
-                    .append(indKey.indent(indentation + 2))
-                    .append(newLine)
-                    .append(alignment)
-                    .append(":");
-                if(value instanceof Scalar) {
-                    print.append(" ");
-                    this.printScalar((Scalar) value, print, indentation);
-                } else {
-                    print
-                        .append(newLine)
-                        .append(value.indent(indentation + 2))
-                        .append(newLine);
-                }
-            }
-        }
-        String printed = print.toString();
-        if(printed.length() > 0) {
-            printed = printed.substring(0, printed.length() - 1);
-        }
-        return printed;
-    }
-
-    /**
-     * Print a comment. Make sure to split the lines if there are more
-     * lines separated by NewLine and also add a '# ' in front of each
-     * line.
-     * @param comment Comment.
-     * @param print Printer StringBuilder.
-     * @param alignment Indentation.
-     */
-    private void printPossibleComment(
-        final Comment comment,
-        final StringBuilder print,
-        final String alignment
-    ) {
-        final String com = comment.value();
-        if(com.trim().length()!=0) {
-            String[] lines = com.split(System.lineSeparator());
-            for(final String line : lines) {
-                print
-                    .append(alignment)
-                    .append("# ")
-                    .append(line)
-                    .append(System.lineSeparator());
-            }
-        }
-    }
-
-    /**
-     * Print a Scalar. We need to check what kind of Scalar is it.
-     * If it's a plain scalar, we print it on the same line. If it's
-     * a folded or literal scalar, we must first print a line containing
-     * '>' or '|', then print the Scalar's lines bellow, with a +2 indentation.
-     * @checkstyle LineLength (50 lines)
-     * @param scalar YamlNode scalar.
-     * @param print Printer to add it to.
-     * @param indentation How much to indent it?
-     */
-    private void printScalar(
-        final Scalar scalar,
-        final StringBuilder print,
-        final int indentation
-    ) {
-        final BaseScalar indentable = (BaseScalar) scalar;
-        if (indentable instanceof PlainStringScalar
-            || indentable instanceof ReadPlainScalar
-        ) {
-            print.append(indentable.indent(0)).append(System.lineSeparator());
-        } else if (indentable instanceof RtYamlScalarBuilder.BuiltFoldedBlockScalar
-            || indentable instanceof ReadFoldedBlockScalar
-        ) {
-            print
-                .append(">")
-                .append(System.lineSeparator())
-                .append(
-                    indentable.indent(indentation + 2)
-                ).append(System.lineSeparator());
-        } else if (indentable instanceof RtYamlScalarBuilder.BuiltLiteralBlockScalar
-            || indentable instanceof ReadLiteralBlockScalar
-        ) {
-            print
-                .append("|")
-                .append(System.lineSeparator())
-                .append(
-                    indentable.indent(indentation + 2)
-                ).append(System.lineSeparator());
-        }
+        return this.printed(indentation);
     }
 
     /**
@@ -27,6 +27,8 @@
  */
 package com.amihaiemil.eoyaml;
 
+import java.io.IOException;
+
 /**
  * Base YAML Node. This is the first class in the hierarchy
  * for any kind of YAML node.
@@ -56,4 +58,24 @@ abstract class BaseYamlNode implements YamlNode {
      */
     abstract String indent(final int indentation);
 
+
+    /**
+     * Print this YAML node with the given indentation, using the
+     * {@link RtYamlPrinter}. Use it when implementing indent(...) for
+     * mappings, sequences and streams.
+     * @param indentation Indentation. Has to be >=0.
+     * @throws IllegalStateException If the given indentation is < 0.
+     * @return Printed YAML.
+     */
+    final String printed(final int indentation) {
+        final StringBuilder print = new StringBuilder();
+        try {
+            new RtYamlPrinter(print).print(this, indentation);
+        } catch (final IOException ex) {
+            throw new IllegalStateException(
+                "Could not print the YAML to a StringBuilder", ex
+            );
+        }
+        return print.toString();
+    }
 }
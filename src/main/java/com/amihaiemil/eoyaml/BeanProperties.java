@@ -0,0 +1,178 @@
+/**
+ * Copyright (c) 2016-2020, Mihai Emil Andronache
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ *  modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ *  list of conditions and the following disclaimer.
+ *  Redistributions in binary form must reproduce the above copyright notice,
+ *  this list of conditions and the following disclaimer in the documentation
+ *  and/or other materials provided with the distribution.
+ * Neither the name of the copyright holder nor the names of its
+ *  contributors may be used to endorse or promote products derived from
+ *  this software without specific prior written permission.
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT
+ * LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY
+ * OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF
+ * SUCH DAMAGE.
+ */
+package com.amihaiemil.eoyaml;
+
+import java.beans.IntrospectionException;
+import java.beans.Introspector;
+import java.beans.PropertyDescriptor;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * The readable properties of a Java Bean class, with their getters
+ * already looked up as MethodHandles. They are introspected only once
+ * per class and cached, so dumping many objects of the same class pays
+ * the reflection cost only once. The "class" property is left out.
+ * @author Mihai Andronache (amihaiemil@gmail.com)
+ * @version $Id$
+ * @since 4.2.0
+ */
+final class BeanProperties implements Iterable<BeanProperties.Property> {
+
+    /**
+     * Properties of each class, computed once.
+     */
+    private static final ClassValue<BeanProperties> CACHE =
+        new ClassValue<BeanProperties>() {
+            @Override
+            protected BeanProperties computeValue(final Class<?> type) {
+                return new BeanProperties(type);
+            }
+        };
+
+    /**
+     * Properties, sorted by name.
+     */
+    private final List<Property> properties;
+
+    /**
+     * Constructor.
+     * @param type Class of the bean.
+     */
+    private BeanProperties(final Class<?> type) {
+        final PropertyDescriptor[] descriptors;
+        try {
+            descriptors = Introspector.getBeanInfo(type)
+                .getPropertyDescriptors();
+        } catch (final IntrospectionException ex) {
+            throw new IllegalStateException(
+                "Could not introspect " + type.getName(), ex
+            );
+        }
+        final List<Property> readable = new ArrayList<>(descriptors.length);
+        for(final PropertyDescriptor descriptor : descriptors) {
+            final Method getter = descriptor.getReadMethod();
+            if(getter != null && !"class".equals(descriptor.getName())) {
+                readable.add(new Property(descriptor.getName(), getter));
+            }
+        }
+        this.properties = Collections.unmodifiableList(readable);
+    }
+
+    /**
+     * The properties of the given class.
+     * @param type Class of the bean.
+     * @return BeanProperties, cached.
+     */
+    static BeanProperties forClass(final Class<?> type) {
+        return CACHE.get(type);
+    }
+
+    /**
+     * Number of properties.
+     * @return Integer.
+     */
+    int size() {
+        return this.properties.size();
+    }
+
+    @Override
+    public Iterator<Property> iterator() {
+        return this.properties.iterator();
+    }
+
+    /**
+     * A readable property.
+     * @author Mihai Andronache (amihaiemil@gmail.com)
+     * @version $Id$
+     * @since 4.2.0
+     */
+    static final class Property {
+
+        /**
+         * Name of the property.
+         */
+        private final String name;
+
+        /**
+         * Getter of the property, as (Object)Object.
+         */
+        private final MethodHandle getter;
+
+        /**
+         * Constructor.
+         * @param name Name of the property.
+         * @param method Getter method.
+         */
+        Property(final String name, final Method method) {
+            this.name = name;
+            if(!Modifier.isPublic(method.getDeclaringClass().getModifiers())) {
+                method.setAccessible(true);
+            }
+            try {
+                this.getter = MethodHandles.lookup().unreflect(method)
+                    .asType(MethodType.methodType(Object.class, Object.class));
+            } catch (final IllegalAccessException ex) {
+                throw new IllegalStateException(
+                    "Could not access the getter of " + name, ex
+                );
+            }
+        }
+
+        /**
+         * Name of this property.
+         * @return String.
+         */
+        String name() {
+            return this.name;
+        }
+
+        /**
+         * Value of this property.
+         * @param bean Bean to read the property from.
+         * @return The value, may be null.
+         * @checkstyle IllegalCatch (20 lines)
+         */
+        Object value(final Object bean) {
+            try {
+                return this.getter.invokeExact(bean);
+            } catch (final Throwable ex) {
+                throw new IllegalStateException(
+                    "Could not read the property " + this.name, ex
+                );
+            }
+        }
+    }
+}
@@ -0,0 +1,379 @@
+/**
+ * Copyright (c) 2016-2020, Mihai Emil Andronache
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ *  modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ *  list of conditions and the following disclaimer.
+ *  Redistributions in binary form must reproduce the above copyright notice,
+ *  this list of conditions and the following disclaimer in the documentation
+ *  and/or other materials provided with the distribution.
+ * Neither the name of the copyright holder nor the names of its
+ *  contributors may be used to endorse or promote products derived from
+ *  this software without specific prior written permission.
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT
+ * LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY
+ * OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF
+ * SUCH DAMAGE.
+ */
+package com.amihaiemil.eoyaml;
+
+import java.beans.ConstructorProperties;
+import java.beans.IntrospectionException;
+import java.beans.Introspector;
+import java.beans.PropertyDescriptor;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Array;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Executable;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.lang.reflect.Parameter;
+import java.lang.reflect.Type;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * How to bind a YamlMapping to an object of a certain class. The plan
+ * is made only once per class and cached: the constructor and the setters
+ * are looked up as MethodHandles and every property gets its converter and
+ * its key, so binding many mappings only reads the values and calls the
+ * handles.<br><br>
+ * The object is created with the canonical constructor, if the class is
+ * a record, with the public constructor annotated with
+ * {@link ConstructorProperties}, with the only public constructor, if it
+ * was compiled with parameter names, or with the public no-args
+ * constructor. Then, the remaining writable properties are set.
+ * Properties missing from the mapping are left to their defaults.
+ * @author Mihai Andronache (amihaiemil@gmail.com)
+ * @version $Id$
+ * @since 4.2.0
+ */
+final class BindingPlan {
+
+    /**
+     * Plan of each class, made once.
+     */
+    private static final ClassValue<BindingPlan> CACHE =
+        new ClassValue<BindingPlan>() {
+            @Override
+            protected BindingPlan computeValue(final Class<?> type) {
+                return new BindingPlan(type);
+            }
+        };
+
+    /**
+     * Constructor, as (Object[])Object.
+     */
+    private final MethodHandle creator;
+
+    /**
+     * Properties given to the constructor, in order.
+     */
+    private final List<Slot> arguments;
+
+    /**
+     * Properties given to the setters.
+     */
+    private final List<Slot> setters;
+
+    /**
+     * Constructor.
+     * @param type Class of the bound objects.
+     */
+    private BindingPlan(final Class<?> type) {
+        final Constructor<?> constructor = BindingPlan.constructor(type);
+        final String[] names = BindingPlan.names(constructor);
+        final Type[] types = constructor.getGenericParameterTypes();
+        final List<Slot> args = new ArrayList<>(names.length);
+        for(int idx = 0; idx < names.length; ++idx) {
+            args.add(new Slot(names[idx], types[idx], null));
+        }
+        this.arguments = Collections.unmodifiableList(args);
+        this.setters = Collections.unmodifiableList(
+            BindingPlan.setters(type, new HashSet<>(Arrays.asList(names)))
+        );
+        try {
+            this.creator = MethodHandles.lookup()
+                .unreflectConstructor(BindingPlan.accessible(constructor))
+                .asSpreader(Object[].class, names.length)
+                .asType(MethodType.methodType(Object.class, Object[].class));
+        } catch (final IllegalAccessException ex) {
+            throw new IllegalStateException(
+                "Could not access the constructor of " + type.getName(), ex
+            );
+        }
+    }
+
+    /**
+     * The plan of the given class.
+     * @param type Class of the bound objects.
+     * @return BindingPlan, cached.
+     */
+    static BindingPlan forClass(final Class<?> type) {
+        return CACHE.get(type);
+    }
+
+    /**
+     * Bind the given mapping to a new object.
+     * @param mapping YamlMapping.
+     * @return The created object.
+     * @checkstyle IllegalCatch (20 lines)
+     */
+    Object bind(final YamlMapping mapping) {
+        final Object[] args = new Object[this.arguments.size()];
+        for(int idx = 0; idx < args.length; ++idx) {
+            args[idx] = this.arguments.get(idx).read(mapping);
+        }
+        final Object bound;
+        try {
+            bound = this.creator.invokeExact(args);
+        } catch (final Throwable ex) {
+            throw new IllegalStateException("Could not create the object", ex);
+        }
+        for(final Slot setter : this.setters) {
+            setter.write(bound, mapping);
+        }
+        return bound;
+    }
+
+    /**
+     * Find the constructor to use.
+     * @param type Class of the bound objects.
+     * @return Constructor.
+     * @throws IllegalArgumentException If there is no usable constructor.
+     */
+    private static Constructor<?> constructor(final Class<?> type) {
+        Constructor<?> found = Records.canonicalConstructor(type);
+        final Constructor<?>[] constructors = type.getConstructors();
+        for(final Constructor<?> constructor : constructors) {
+            if(found == null && constructor.isAnnotationPresent(
+                ConstructorProperties.class
+            )) {
+                found = constructor;
+            }
+        }
+        if(found == null && constructors.length == 1
+            && BindingPlan.named(constructors[0])) {
+            found = constructors[0];
+        }
+        if(found == null) {
+            try {
+                found = type.getConstructor();
+            } catch (final NoSuchMethodException ex) {
+                throw new IllegalArgumentException(
+                    "Cannot bind YAML to " + type.getName() + ". It should"
+                    + " be a record or have a public no-args constructor"
+                    + " or a constructor with @ConstructorProperties.",
+                    ex
+                );
+            }
+        }
+        return found;
+    }
+
+    /**
+     * Names of the properties given to the constructor.
+     * @param constructor Constructor.
+     * @return Names, in order.
+     */
+    private static String[] names(final Constructor<?> constructor) {
+        String[] names = Records.componentNames(
+            constructor.getDeclaringClass()
+        );
+        final ConstructorProperties properties = constructor.getAnnotation(
+            ConstructorProperties.class
+        );
+        if(names == null && properties != null) {
+            names = properties.value();
+        } else if(names == null) {
+            final Parameter[] parameters = constructor.getParameters();
+            names = new String[parameters.length];
+            for(int idx = 0; idx < names.length; ++idx) {
+                names[idx] = parameters[idx].getName();
+            }
+        }
+        return names;
+    }
+
+    /**
+     * Does this executable have parameters with real names?
+     * @param executable Constructor or method.
+     * @return True or false.
+     */
+    private static boolean named(final Executable executable) {
+        boolean named = executable.getParameterCount() > 0;
+        for(final Parameter parameter : executable.getParameters()) {
+            named = named && parameter.isNamePresent();
+        }
+        return named;
+    }
+
+    /**
+     * The writable properties of a class, which are not given to
+     * the constructor.
+     * @param type Class.
+     * @param excluded Properties given to the constructor.
+     * @return Slots of the setters.
+     */
+    private static List<Slot> setters(
+        final Class<?> type, final Set<String> excluded
+    ) {
+        final PropertyDescriptor[] descriptors;
+        try {
+            descriptors = Introspector.getBeanInfo(type)
+                .getPropertyDescriptors();
+        } catch (final IntrospectionException ex) {
+            throw new IllegalStateException(
+                "Could not introspect " + type.getName(), ex
+            );
+        }
+        final List<Slot> setters = new ArrayList<>(descriptors.length);
+        for(final PropertyDescriptor descriptor : descriptors) {
+            final Method setter = descriptor.getWriteMethod();
+            if(setter != null && !excluded.contains(descriptor.getName())) {
+                setters.add(
+                    new Slot(
+                        descriptor.getName(),
+                        setter.getGenericParameterTypes()[0],
+                        setter
+                    )
+                );
+            }
+        }
+        return setters;
+    }
+
+    /**
+     * Make the constructor or method accessible, if its class is not public.
+     * @param member Constructor or method.
+     * @param <T> Type of the member.
+     * @return The same member.
+     */
+    private static <T extends Executable> T accessible(final T member) {
+        if(!Modifier.isPublic(member.getDeclaringClass().getModifiers())
+            || !Modifier.isPublic(member.getModifiers())) {
+            member.setAccessible(true);
+        }
+        return member;
+    }
+
+    /**
+     * A property to bind: its key, its converter and, if it is given
+     * to a setter, its setter.
+     * @author Mihai Andronache (amihaiemil@gmail.com)
+     * @version $Id$
+     * @since 4.2.0
+     */
+    private static final class Slot {
+
+        /**
+         * Key of the property, built only once.
+         */
+        private final YamlNode key;
+
+        /**
+         * Converter of the value.
+         */
+        private final Function<YamlNode, Object> converter;
+
+        /**
+         * Value used if the key is missing or the value is null:
+         * zero, for primitives, null otherwise.
+         */
+        private final Object fallback;
+
+        /**
+         * Setter, as (Object, Object)void, or null if the property is
+         * given to the constructor.
+         */
+        private final MethodHandle setter;
+
+        /**
+         * Constructor.
+         * @param name Name of the property.
+         * @param type Type of the property.
+         * @param method Setter method, or null.
+         */
+        Slot(final String name, final Type type, final Method method) {
+            this.key = Yaml.createYamlScalarBuilder()
+                .addLine(name)
+                .buildPlainScalar();
+            this.converter = Converters.forType(type);
+            final Class<?> raw = Converters.raw(type);
+            if(raw.isPrimitive()) {
+                this.fallback = Array.get(Array.newInstance(raw, 1), 0);
+            } else {
+                this.fallback = null;
+            }
+            if(method == null) {
+                this.setter = null;
+            } else {
+                try {
+                    this.setter = MethodHandles.lookup()
+                        .unreflect(BindingPlan.accessible(method))
+                        .asType(
+                            MethodType.methodType(
+                                void.class, Object.class, Object.class
+                            )
+                        );
+                } catch (final IllegalAccessException ex) {
+                    throw new IllegalStateException(
+                        "Could not access the setter of " + name, ex
+                    );
+                }
+            }
+        }
+
+        /**
+         * Read the value of this property from the mapping.
+         * @param mapping YamlMapping.
+         * @return Converted value or the fallback.
+         */
+        Object read(final YamlMapping mapping) {
+            Object value = this.converter.apply(mapping.value(this.key));
+            if(value == null) {
+                value = this.fallback;
+            }
+            return value;
+        }
+
+        /**
+         * Set the value of this property, if it is in the mapping.
+         * @param bound Object to set the value on.
+         * @param mapping YamlMapping.
+         * @checkstyle IllegalCatch (20 lines)
+         */
+        void write(final Object bound, final YamlMapping mapping) {
+            final YamlNode node = mapping.value(this.key);
+            if(node != null) {
+                final Object value = this.converter.apply(node);
+                try {
+                    if(value != null || this.fallback == null) {
+                        this.setter.invokeExact(bound, value);
+                    }
+                } catch (final Throwable ex) {
+                    throw new IllegalStateException(
+                        "Could not set the property " + this.key, ex
+                    );
+                }
+            }
+        }
+    }
+}
@@ -27,15 +27,24 @@
  */
 package com.amihaiemil.eoyaml;
 
+import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
 
 /**
  * Built Comments. These are comments within a YamlNode which
  * have been added by the user when building it!
  *
  * Use this class when building YAML. For reading YAML, there
- * should be an analogue implementation working with YamlLines.
+ * should be an analogue implementation working with YamlLines.<br><br>
+ * The comments are indexed by the identity of the node they refer to,
+ * since printing looks them up with the very same nodes that were given
+ * when building. Only if a node is not found by identity, a second index
+ * based on equals/hashCode is built and used. Both indexes are built
+ * lazily, the first time they are needed. If more comments refer to the
+ * same node, the first one is returned.
  * @author Mihai Andronache (amihaiemil@gmail.com)
  * @version $Id$
  * @since 4.2.0
@@ -45,7 +54,17 @@ final class BuiltComments implements Comments {
     /**
      * The list of comments.
      */
-    private List<Comment> comments;
+    private final List<Comment> comments;
+
+    /**
+     * Comments indexed by the identity of the node they refer to.
+     */
+    private volatile Map<YamlNode, Comment> byIdentity;
+
+    /**
+     * Comments indexed by the node they refer to (equals/hashCode).
+     */
+    private volatile Map<YamlNode, Comment> byEquality;
 
     /**
      * Constructor.
@@ -62,16 +81,52 @@ final class BuiltComments implements Comments {
 
     @Override
     public Comment referringTo(final YamlNode node) {
-        Comment found = null;
-        for(final Comment comment : this.comments) {
-            if(comment.yamlNode().equals(node)) {
-                found = comment;
-                break;
-            }
+        Comment found = this.identityIndex().get(node);
+        if(found == null) {
+            found = this.equalityIndex().get(node);
         }
         if(found == null) {
             found = new BuiltComment(node, "");
         }
         return found;
     }
+
+    /**
+     * Index of the comments by the identity of their nodes.
+     * @return Map, built once.
+     */
+    private Map<YamlNode, Comment> identityIndex() {
+        Map<YamlNode, Comment> index = this.byIdentity;
+        if(index == null) {
+            index = new IdentityHashMap<>(this.comments.size());
+            this.fill(index);
+            this.byIdentity = index;
+        }
+        return index;
+    }
+
+    /**
+     * Index of the comments by their nodes (equals/hashCode).
+     * @return Map, built once.
+     */
+    private Map<YamlNode, Comment> equalityIndex() {
+        Map<YamlNode, Comment> index = this.byEquality;
+        if(index == null) {
+            index = new HashMap<>(this.comments.size() * 4 / 3 + 1);
+            this.fill(index);
+            this.byEquality = index;
+        }
+        return index;
+    }
+
+    /**
+     * Put the comments in the given index. The first comment referring
+     * to a node wins.
+     * @param index Index to fill.
+     */
+    private void fill(final Map<YamlNode, Comment> index) {
+        for(final Comment comment : this.comments) {
+            index.putIfAbsent(comment.yamlNode(), comment);
+        }
+    }
 }
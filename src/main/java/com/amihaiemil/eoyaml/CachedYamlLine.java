@@ -29,7 +29,10 @@ package com.amihaiemil.eoyaml;
 
 /**
  * Decorator class to cache values of trimmed() and indentation() method for
- * a YamlLine.
+ * a YamlLine.<br><br>
+ * It is safe to share between threads, without locks: each cached value is
+ * immutable and read only once per call (racy single-check), so a thread
+ * sees either nothing, and computes the same value again, or the value.
  * @author Sherif Waly (sherifwaly95@gmail.com)
  * @version $Id$
  * @since 1.0.0
@@ -40,7 +43,12 @@ final class CachedYamlLine implements YamlLine {
     /**
      * Content line.
      */
-    private YamlLine line;
+    private final YamlLine line;
+
+    /**
+     * Not computed yet.
+     */
+    private static final int UNKNOWN = -1;
 
     /**
      * Cached trimmed line.
@@ -50,12 +58,12 @@ final class CachedYamlLine implements YamlLine {
     /**
      * Cached indentation.
      */
-    private int indentation = -1;
+    private int indentation = UNKNOWN;
 
     /**
-     * Cached value.
+     * Cached value of requireNestedIndentation(): 1 for true, 0 for false.
      */
-    private Boolean hasNestedNode;
+    private int hasNestedNode = UNKNOWN;
 
     /**
      * Ctor.
@@ -72,10 +80,12 @@ final class CachedYamlLine implements YamlLine {
 
     @Override
     public String trimmed() {
-        if(this.trimmed == null) {
-            this.trimmed = this.line.trimmed();
+        String found = this.trimmed;
+        if(found == null) {
+            found = this.line.trimmed();
+            this.trimmed = found;
         }
-        return this.trimmed;
+        return found;
     }
 
     @Override
@@ -85,18 +95,25 @@ final class CachedYamlLine implements YamlLine {
 
     @Override
     public int indentation() {
-        if(this.indentation == -1) {
-            this.indentation = this.line.indentation();
+        int found = this.indentation;
+        if(found == UNKNOWN) {
+            found = this.line.indentation();
+            this.indentation = found;
         }
-        return this.indentation;
+        return found;
     }
 
     @Override
     public boolean requireNestedIndentation() {
-        if (this.hasNestedNode == null) {
-            this.hasNestedNode = this.line.requireNestedIndentation();
+        int found = this.hasNestedNode;
+        if (found == UNKNOWN) {
+            found = 0;
+            if(this.line.requireNestedIndentation()) {
+                found = 1;
+            }
+            this.hasNestedNode = found;
         }
-        return this.hasNestedNode;
+        return found == 1;
     }
 
     @Override
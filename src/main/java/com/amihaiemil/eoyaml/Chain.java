@@ -0,0 +1,118 @@
+/**
+ * Copyright (c) 2016-2020, Mihai Emil Andronache
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ *  modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ *  list of conditions and the following disclaimer.
+ *  Redistributions in binary form must reproduce the above copyright notice,
+ *  this list of conditions and the following disclaimer in the documentation
+ *  and/or other materials provided with the distribution.
+ * Neither the name of the copyright holder nor the names of its
+ *  contributors may be used to endorse or promote products derived from
+ *  this software without specific prior written permission.
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT
+ * LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY
+ * OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF
+ * SUCH DAMAGE.
+ */
+package com.amihaiemil.eoyaml;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+
+/**
+ * Persistent chain of items, to which we can only append. Appending
+ * is O(1) and does not change this chain: it returns a new one, which
+ * shares all the previous items with this one. This is what our immutable
+ * builders use to keep the added items, instead of copying a whole
+ * collection on every add.
+ * @param <T> Type of the items.
+ * @author Mihai Andronache (amihaiemil@gmail.com)
+ * @version $Id$
+ * @since 4.2.0
+ */
+final class Chain<T> implements Iterable<T> {
+
+    /**
+     * The chain before the last item.
+     */
+    private final Chain<T> previous;
+
+    /**
+     * Last added item.
+     */
+    private final T last;
+
+    /**
+     * Number of items in the chain.
+     */
+    private final int size;
+
+    /**
+     * Constructor. An empty chain.
+     */
+    Chain() {
+        this(null, null, 0);
+    }
+
+    /**
+     * Constructor.
+     * @param previous Chain before the last item.
+     * @param last Last item.
+     * @param size Number of items.
+     */
+    private Chain(final Chain<T> previous, final T last, final int size) {
+        this.previous = previous;
+        this.last = last;
+        this.size = size;
+    }
+
+    /**
+     * Append an item.
+     * @param item Item to append.
+     * @return New chain, ending with the given item.
+     */
+    Chain<T> with(final T item) {
+        return new Chain<>(this, item, this.size + 1);
+    }
+
+    /**
+     * Number of items in this chain.
+     * @return Integer.
+     */
+    int size() {
+        return this.size;
+    }
+
+    /**
+     * The items of this chain, in the order in which they were appended.
+     * @return Unmodifiable List, backed by an array.
+     */
+    @SuppressWarnings("unchecked")
+    List<T> toList() {
+        final Object[] items = new Object[this.size];
+        Chain<T> current = this;
+        for(int idx = this.size - 1; idx >= 0; --idx) {
+            items[idx] = current.last;
+            current = current.previous;
+        }
+        return Collections.unmodifiableList(Arrays.asList((T[]) items));
+    }
+
+    @Override
+    public Iterator<T> iterator() {
+        return this.toList().iterator();
+    }
+}
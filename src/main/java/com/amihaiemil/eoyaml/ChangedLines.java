@@ -0,0 +1,136 @@
+/**
+ * Copyright (c) 2016-2020, Mihai Emil Andronache
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ *  modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ *  list of conditions and the following disclaimer.
+ *  Redistributions in binary form must reproduce the above copyright notice,
+ *  this list of conditions and the following disclaimer in the documentation
+ *  and/or other materials provided with the distribution.
+ * Neither the name of the copyright holder nor the names of its
+ *  contributors may be used to endorse or promote products derived from
+ *  this software without specific prior written permission.
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT
+ * LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY
+ * OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF
+ * SUCH DAMAGE.
+ */
+package com.amihaiemil.eoyaml;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * The lines changed between two revisions of a document: everything
+ * between the longest common prefix and the longest common suffix.
+ * @author Mihai Andronache (amihaiemil@gmail.com)
+ * @version $Id$
+ * @since 4.2.0
+ */
+final class ChangedLines {
+
+    /**
+     * Number of lines at the beginning, which did not change.
+     */
+    private final int prefix;
+
+    /**
+     * Index, in the new revision, of the first line of the unchanged
+     * suffix.
+     */
+    private final int suffix;
+
+    /**
+     * Difference between the number of lines of the new revision and
+     * of the previous one.
+     */
+    private final int shift;
+
+    /**
+     * Ctor. Every line of the given revision is new.
+     * @param lines Lines of the revision.
+     */
+    ChangedLines(final List<YamlLine> lines) {
+        this(Collections.emptyList(), lines);
+    }
+
+    /**
+     * Ctor.
+     * @param before Lines of the previous revision.
+     * @param after Lines of the new revision.
+     */
+    ChangedLines(final List<YamlLine> before, final List<YamlLine> after) {
+        final int common = Math.min(before.size(), after.size());
+        int start = 0;
+        while (start < common && ChangedLines.same(
+            before.get(start), after.get(start)
+        )) {
+            start = start + 1;
+        }
+        int end = 0;
+        while (end < common - start && ChangedLines.same(
+            before.get(before.size() - 1 - end),
+            after.get(after.size() - 1 - end)
+        )) {
+            end = end + 1;
+        }
+        this.prefix = start;
+        this.suffix = after.size() - end;
+        this.shift = after.size() - before.size();
+    }
+
+    /**
+     * Did nothing change?
+     * @return True or false.
+     */
+    boolean none() {
+        return this.prefix == this.suffix && this.shift == 0;
+    }
+
+    /**
+     * Did the lines between the given indexes of the new revision
+     * not change?
+     * @param from Index of the first line.
+     * @param upto Index after the last line.
+     * @return True or false.
+     */
+    boolean unchanged(final int from, final int upto) {
+        return upto <= this.prefix || from >= this.suffix;
+    }
+
+    /**
+     * Index, in the previous revision, of an unchanged line of the new
+     * revision.
+     * @param index Index in the new revision.
+     * @return Index in the previous revision, -1 if the line changed.
+     */
+    int old(final int index) {
+        int old = -1;
+        if(index < this.prefix) {
+            old = index;
+        } else if(index >= this.suffix) {
+            old = index - this.shift;
+        }
+        return old;
+    }
+
+    /**
+     * Do the two lines have the same text?
+     * @param first First line.
+     * @param second Second line.
+     * @return True or false.
+     */
+    private static boolean same(final YamlLine first, final YamlLine second) {
+        return first.toString().equals(second.toString());
+    }
+}
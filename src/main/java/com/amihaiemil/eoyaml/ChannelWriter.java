@@ -0,0 +1,296 @@
+/**
+ * Copyright (c) 2016-2020, Mihai Emil Andronache
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ *  modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ *  list of conditions and the following disclaimer.
+ *  Redistributions in binary form must reproduce the above copyright notice,
+ *  this list of conditions and the following disclaimer in the documentation
+ *  and/or other materials provided with the distribution.
+ * Neither the name of the copyright holder nor the names of its
+ *  contributors may be used to endorse or promote products derived from
+ *  this software without specific prior written permission.
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT
+ * LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY
+ * OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF
+ * SUCH DAMAGE.
+ */
+package com.amihaiemil.eoyaml;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Writer which encodes the characters into a direct ByteBuffer and
+ * writes it to a WritableByteChannel whenever it is full.<br><br>
+ * The ByteBuffer is reused by all the ChannelWriters of a Thread, one
+ * after another. If the charset is ASCII-compatible (UTF-8, ISO-8859-1
+ * or US-ASCII), the ASCII characters are put in the buffer directly,
+ * without going through the CharsetEncoder.<br><br>
+ * Closing this writer writes everything to the channel, but it does not
+ * close the channel. This class is NOT thread-safe.
+ * @author Mihai Andronache (amihaiemil@gmail.com)
+ * @version $Id$
+ * @since 4.2.0
+ */
+final class ChannelWriter extends Writer {
+
+    /**
+     * Direct buffers, reused per Thread. It is null while a ChannelWriter
+     * of the Thread is using it.
+     */
+    private static final ThreadLocal<ByteBuffer> BUFFERS =
+        new ThreadLocal<>();
+
+    /**
+     * Capacity of the buffers.
+     */
+    private static final int CAPACITY = 8192;
+
+    /**
+     * Where the bytes are written.
+     */
+    private final WritableByteChannel channel;
+
+    /**
+     * Encoder of the non-ASCII characters.
+     */
+    private final CharsetEncoder encoder;
+
+    /**
+     * Can ASCII characters be written as they are?
+     */
+    private final boolean ascii;
+
+    /**
+     * Buffer of encoded bytes. It is null after closing.
+     */
+    private ByteBuffer buffer;
+
+    /**
+     * High surrogate which waits for its low pair, from the next write.
+     */
+    private char high;
+
+    /**
+     * Is there a high surrogate waiting?
+     */
+    private boolean waiting;
+
+    /**
+     * Constructor.
+     * @param channel Where to write the bytes.
+     * @param charset Charset used to encode the characters.
+     */
+    ChannelWriter(final WritableByteChannel channel, final Charset charset) {
+        this.channel = channel;
+        this.encoder = charset.newEncoder()
+            .onMalformedInput(CodingErrorAction.REPLACE)
+            .onUnmappableCharacter(CodingErrorAction.REPLACE);
+        this.ascii = StandardCharsets.UTF_8.equals(charset)
+            || StandardCharsets.ISO_8859_1.equals(charset)
+            || StandardCharsets.US_ASCII.equals(charset);
+        final ByteBuffer reused = BUFFERS.get();
+        if(reused == null) {
+            this.buffer = ByteBuffer.allocateDirect(CAPACITY);
+        } else {
+            BUFFERS.set(null);
+            this.buffer = reused;
+        }
+    }
+
+    @Override
+    public void write(final char[] chars, final int off, final int len)
+        throws IOException {
+        this.append(CharBuffer.wrap(chars), off, off + len);
+    }
+
+    @Override
+    public void write(final String str, final int off, final int len)
+        throws IOException {
+        this.append(str, off, off + len);
+    }
+
+    @Override
+    public void write(final int chr) throws IOException {
+        this.append((char) chr);
+    }
+
+    @Override
+    public Writer append(final char chr) throws IOException {
+        if(this.ascii && chr < 0x80 && !this.waiting) {
+            this.room().put((byte) chr);
+        } else {
+            this.encode(CharBuffer.wrap(new char[] {chr}));
+        }
+        return this;
+    }
+
+    @Override
+    public Writer append(final CharSequence csq) throws IOException {
+        return this.append(csq, 0, csq.length());
+    }
+
+    @Override
+    public Writer append(
+        final CharSequence csq, final int start, final int end
+    ) throws IOException {
+        int idx = start;
+        while(idx < end) {
+            idx = this.encoded(csq, this.plain(csq, idx, end), end);
+        }
+        return this;
+    }
+
+    @Override
+    public void flush() throws IOException {
+        this.open().flip();
+        while(this.buffer.hasRemaining()) {
+            this.channel.write(this.buffer);
+        }
+        this.buffer.clear();
+    }
+
+    @Override
+    public void close() throws IOException {
+        if(this.buffer != null) {
+            final CharBuffer rest;
+            if(this.waiting) {
+                rest = CharBuffer.wrap(new char[] {this.high});
+            } else {
+                rest = CharBuffer.allocate(0);
+            }
+            this.waiting = false;
+            this.encode(rest, true);
+            while(this.encoder.flush(this.buffer).isOverflow()) {
+                this.flush();
+            }
+            this.flush();
+            BUFFERS.set(this.buffer);
+            this.buffer = null;
+        }
+    }
+
+    /**
+     * Put the ASCII characters from the start of the given range
+     * directly in the buffer, if the charset allows it.
+     * @param csq Characters.
+     * @param start Start of the range.
+     * @param end End of the range.
+     * @return Index of the first character which was not written.
+     * @throws IOException If the full buffer cannot be written.
+     */
+    private int plain(final CharSequence csq, final int start, final int end)
+        throws IOException {
+        int idx = start;
+        if(this.ascii && !this.waiting) {
+            while(idx < end && csq.charAt(idx) < 0x80) {
+                this.room().put((byte) csq.charAt(idx));
+                ++idx;
+            }
+        }
+        return idx;
+    }
+
+    /**
+     * Encode at least one character from the start of the given range,
+     * up to the next ASCII character, if the charset is ASCII-compatible,
+     * or up to the end of the range otherwise.
+     * @param csq Characters.
+     * @param start Start of the range.
+     * @param end End of the range.
+     * @return Index of the first character which was not written.
+     * @throws IOException If the bytes cannot be written.
+     */
+    private int encoded(
+        final CharSequence csq, final int start, final int end
+    ) throws IOException {
+        int idx = start;
+        if(idx < end) {
+            ++idx;
+            while(idx < end && (!this.ascii || csq.charAt(idx) >= 0x80)) {
+                ++idx;
+            }
+            this.encode(CharBuffer.wrap(csq, start, idx));
+        }
+        return idx;
+    }
+
+    /**
+     * Encode the given characters. A trailing high surrogate is kept
+     * until the next write, which should start with its low pair.
+     * @param chars Characters to encode.
+     * @throws IOException If the bytes cannot be written.
+     */
+    private void encode(final CharBuffer chars) throws IOException {
+        final CharBuffer input;
+        if(this.waiting) {
+            input = CharBuffer.allocate(1 + chars.remaining());
+            input.put(this.high).put(chars).flip();
+            this.waiting = false;
+        } else {
+            input = chars;
+        }
+        this.encode(input, false);
+        if(input.hasRemaining()) {
+            this.high = input.get();
+            this.waiting = true;
+        }
+    }
+
+    /**
+     * Encode the given characters, flushing the buffer whenever it
+     * is full.
+     * @param chars Characters to encode.
+     * @param last Are these the last characters?
+     * @throws IOException If the bytes cannot be written.
+     */
+    private void encode(final CharBuffer chars, final boolean last)
+        throws IOException {
+        this.open();
+        while(this.encoder.encode(chars, this.buffer, last).isOverflow()) {
+            this.flush();
+        }
+    }
+
+    /**
+     * The buffer, with room for at least one more byte.
+     * @return ByteBuffer.
+     * @throws IOException If the full buffer cannot be written.
+     */
+    private ByteBuffer room() throws IOException {
+        if(!this.open().hasRemaining()) {
+            this.flush();
+        }
+        return this.buffer;
+    }
+
+    /**
+     * The buffer, as long as this writer is open.
+     * @return ByteBuffer.
+     * @throws IOException If this writer was closed.
+     */
+    private ByteBuffer open() throws IOException {
+        if(this.buffer == null) {
+            throw new IOException("The writer is closed.");
+        }
+        return this.buffer;
+    }
+}
@@ -0,0 +1,278 @@
+/**
+ * Copyright (c) 2016-2020, Mihai Emil Andronache
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ *  modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ *  list of conditions and the following disclaimer.
+ *  Redistributions in binary form must reproduce the above copyright notice,
+ *  this list of conditions and the following disclaimer in the documentation
+ *  and/or other materials provided with the distribution.
+ * Neither the name of the copyright holder nor the names of its
+ *  contributors may be used to endorse or promote products derived from
+ *  this software without specific prior written permission.
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT
+ * LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY
+ * OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF
+ * SUCH DAMAGE.
+ */
+package com.amihaiemil.eoyaml;
+
+import com.amihaiemil.eoyaml.exceptions.YamlReadingException;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Converters of YamlNodes to Java values, chosen once per target type.
+ * A plain scalar "null" (which is how {@link YamlObjectDump} represents
+ * null properties) always converts to null.
+ * @author Mihai Andronache (amihaiemil@gmail.com)
+ * @version $Id$
+ * @since 4.2.0
+ */
+final class Converters {
+
+    /**
+     * Parsers of the scalar values, per type.
+     */
+    private static final Map<Class<?>, Function<String, Object>> SCALARS =
+        new HashMap<>();
+
+    /**
+     * Fill the parsers of the scalar values.
+     * @checkstyle ExecutableStatementCount (30 lines)
+     */
+    static {
+        SCALARS.put(String.class, value -> value);
+        SCALARS.put(int.class, Integer::valueOf);
+        SCALARS.put(Integer.class, Integer::valueOf);
+        SCALARS.put(long.class, Long::valueOf);
+        SCALARS.put(Long.class, Long::valueOf);
+        SCALARS.put(float.class, Float::valueOf);
+        SCALARS.put(Float.class, Float::valueOf);
+        SCALARS.put(double.class, Double::valueOf);
+        SCALARS.put(Double.class, Double::valueOf);
+        SCALARS.put(boolean.class, Boolean::valueOf);
+        SCALARS.put(Boolean.class, Boolean::valueOf);
+        SCALARS.put(short.class, Short::valueOf);
+        SCALARS.put(Short.class, Short::valueOf);
+        SCALARS.put(byte.class, Byte::valueOf);
+        SCALARS.put(Byte.class, Byte::valueOf);
+        SCALARS.put(char.class, value -> value.charAt(0));
+        SCALARS.put(Character.class, value -> value.charAt(0));
+        SCALARS.put(BigInteger.class, BigInteger::new);
+        SCALARS.put(BigDecimal.class, BigDecimal::new);
+        SCALARS.put(LocalDate.class, LocalDate::parse);
+        SCALARS.put(LocalDateTime.class, LocalDateTime::parse);
+    }
+
+    /**
+     * Hidden ctor.
+     */
+    private Converters() { }
+
+    /**
+     * Converter of YamlNodes to the given type. Scalars are parsed, enums
+     * are looked up by name, sequences become Lists or Sets, mappings
+     * become Maps with String keys or are bound to objects, using their
+     * {@link BindingPlan}. YamlNodes (and Object) are left as they are.
+     * @param type Target type.
+     * @return Converter, which may return null.
+     */
+    @SuppressWarnings("unchecked")
+    static Function<YamlNode, Object> forType(final Type type) {
+        final Class<?> raw = Converters.raw(type);
+        final Function<YamlNode, Object> converter;
+        if(SCALARS.containsKey(raw)) {
+            converter = Converters.scalar(raw, SCALARS.get(raw));
+        } else if(raw.isEnum()) {
+            converter = Converters.scalar(
+                raw, value -> Enum.valueOf((Class) raw, value)
+            );
+        } else if(raw == Object.class || YamlNode.class.isAssignableFrom(raw)) {
+            converter = node -> node;
+        } else if(Collection.class.isAssignableFrom(raw)) {
+            converter = Converters.sequence(raw, Converters.argument(type, 0));
+        } else if(Map.class.isAssignableFrom(raw)) {
+            converter = Converters.mapping(Converters.argument(type, 1));
+        } else {
+            converter = node -> BindingPlan.forClass(raw).bind(
+                Converters.expected(node, YamlMapping.class, raw)
+            );
+        }
+        return node -> {
+            final Object value;
+            if(node == null || node instanceof Scalar
+                && "null".equals(((Scalar) node).value())) {
+                value = null;
+            } else {
+                value = converter.apply(node);
+            }
+            return value;
+        };
+    }
+
+    /**
+     * The Class of a type.
+     * @param type Type.
+     * @return Class, Object.class if the type is a variable or a wildcard.
+     */
+    static Class<?> raw(final Type type) {
+        final Class<?> raw;
+        if(type instanceof Class) {
+            raw = (Class<?>) type;
+        } else if(type instanceof ParameterizedType) {
+            raw = (Class<?>) ((ParameterizedType) type).getRawType();
+        } else {
+            raw = Object.class;
+        }
+        return raw;
+    }
+
+    /**
+     * Type argument of a parameterized type.
+     * @param type Type.
+     * @param index Index of the argument.
+     * @return Type, Object.class if the type is not parameterized.
+     */
+    private static Type argument(final Type type, final int index) {
+        final Type argument;
+        if(type instanceof ParameterizedType) {
+            argument = ((ParameterizedType) type)
+                .getActualTypeArguments()[index];
+        } else {
+            argument = Object.class;
+        }
+        return argument;
+    }
+
+    /**
+     * Converter of scalars. A value which cannot be parsed (e.g. a bad
+     * number, date or enum constant) fails with YamlReadingException.
+     * @param type Target type.
+     * @param parser Parser of the scalar's value.
+     * @return Converter.
+     */
+    private static Function<YamlNode, Object> scalar(
+        final Class<?> type, final Function<String, Object> parser
+    ) {
+        return node -> {
+            final String value = Converters.expected(
+                node, Scalar.class, type
+            ).value();
+            final Object parsed;
+            try {
+                parsed = parser.apply(value);
+            } catch (final IllegalArgumentException
+                | IndexOutOfBoundsException | DateTimeException ex) {
+                throw new YamlReadingException(
+                    "Cannot bind \"" + value + "\" to " + type.getName(),
+                    ex
+                );
+            }
+            return parsed;
+        };
+    }
+
+    /**
+     * Converter of sequences to Collections: Sets become LinkedHashSets,
+     * any other Collection an ArrayList.
+     * @param type Target type.
+     * @param element Type of the elements.
+     * @return Converter.
+     */
+    private static Function<YamlNode, Object> sequence(
+        final Class<?> type, final Type element
+    ) {
+        if(!type.isAssignableFrom(ArrayList.class)
+            && !type.isAssignableFrom(LinkedHashSet.class)) {
+            throw new IllegalArgumentException(
+                "Cannot bind a YAML sequence to " + type.getName()
+                + ", use List, Set or Collection instead."
+            );
+        }
+        final boolean set = Set.class.isAssignableFrom(type);
+        final Function<YamlNode, Object> elements = Converters.forType(
+            element
+        );
+        return node -> {
+            final Collection<Object> values;
+            if(set) {
+                values = new LinkedHashSet<>();
+            } else {
+                values = new ArrayList<>();
+            }
+            for(final YamlNode value
+                : Converters.expected(node, YamlSequence.class, type)) {
+                values.add(elements.apply(value));
+            }
+            return values;
+        };
+    }
+
+    /**
+     * Converter of mappings to Maps with String keys.
+     * @param value Type of the values.
+     * @return Converter.
+     */
+    private static Function<YamlNode, Object> mapping(final Type value) {
+        final Function<YamlNode, Object> values = Converters.forType(value);
+        return node -> {
+            final YamlMapping mapping = Converters.expected(
+                node, YamlMapping.class, Map.class
+            );
+            final Map<String, Object> map = new LinkedHashMap<>();
+            for(final YamlNode key : mapping.keys()) {
+                map.put(
+                    Converters.expected(key, Scalar.class, String.class)
+                        .value(),
+                    values.apply(mapping.value(key))
+                );
+            }
+            return map;
+        };
+    }
+
+    /**
+     * Make sure the node is of the expected kind.
+     * @param node YamlNode.
+     * @param kind Expected kind of node.
+     * @param type Type the node is bound to, for the error message.
+     * @param <T> Expected kind of node.
+     * @return The node, cast.
+     * @throws YamlReadingException If the node is of another kind.
+     */
+    private static <T extends YamlNode> T expected(
+        final YamlNode node, final Class<T> kind, final Class<?> type
+    ) {
+        if(!kind.isInstance(node)) {
+            throw new YamlReadingException(
+                "Cannot bind to " + type.getName() + ": expected a "
+                + kind.getSimpleName() + " but found: " + node
+            );
+        }
+        return kind.cast(node);
+    }
+}
@@ -0,0 +1,209 @@
+/**
+ * Copyright (c) 2016-2020, Mihai Emil Andronache
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ *  modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ *  list of conditions and the following disclaimer.
+ *  Redistributions in binary form must reproduce the above copyright notice,
+ *  this list of conditions and the following disclaimer in the documentation
+ *  and/or other materials provided with the distribution.
+ * Neither the name of the copyright holder nor the names of its
+ *  contributors may be used to endorse or promote products derived from
+ *  this software without specific prior written permission.
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT
+ * LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY
+ * OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF
+ * SUCH DAMAGE.
+ */
+package com.amihaiemil.eoyaml;
+
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Supplier;
+
+/**
+ * The objects met while dumping an object graph, by identity. Every object
+ * is dumped only once: the next times it is met, the same node is used
+ * and its anchor gets a name, so the printer writes an alias instead of
+ * repeating the node. An object met again while it is still being dumped
+ * (a cycle) has no node yet, so it is represented by an alias to its
+ * anchor. This way, shared objects are not repeated and cycles do not
+ * cause infinite recursion (unless asked to, cycles can also be refused
+ * with an exception).<br><br>
+ * The dump which is in progress on the current thread is kept in
+ * a ThreadLocal, so the nested dumps (including the ones done by the
+ * generated {@link YamlDumper}s) see the same objects.
+ * @author Mihai Andronache (amihaiemil@gmail.com)
+ * @version $Id$
+ * @since 4.2.0
+ */
+final class DumpedObjects {
+
+    /**
+     * Dump in progress on the current thread.
+     */
+    private static final ThreadLocal<DumpedObjects> CURRENT =
+        new ThreadLocal<>();
+
+    /**
+     * Anchor of each met object.
+     */
+    private final Map<Object, Anchor> anchors;
+
+    /**
+     * Node of each dumped object.
+     */
+    private final Map<Object, YamlNode> nodes;
+
+    /**
+     * Objects which are still being dumped.
+     */
+    private final Set<Object> open;
+
+    /**
+     * Should cycles be refused?
+     */
+    private final boolean refuseCycles;
+
+    /**
+     * Number of named anchors.
+     */
+    private int named;
+
+    /**
+     * Constructor.
+     * @param refuseCycles Should cycles be refused?
+     */
+    private DumpedObjects(final boolean refuseCycles) {
+        this.anchors = new IdentityHashMap<>();
+        this.nodes = new IdentityHashMap<>();
+        this.open = Collections.newSetFromMap(new IdentityHashMap<>());
+        this.refuseCycles = refuseCycles;
+    }
+
+    /**
+     * Dump an object, starting a new object graph.
+     * @param value Dumped object.
+     * @param refuseCycles Should cycles be refused?
+     * @param representation How to represent the object.
+     * @return The representation, which may have an anchor.
+     * @throws IllegalStateException If cycles are refused and the object
+     *  graph has one.
+     */
+    static YamlNode root(
+        final Object value, final boolean refuseCycles,
+        final Supplier<? extends YamlNode> representation
+    ) {
+        final DumpedObjects previous = CURRENT.get();
+        final DumpedObjects dumped = new DumpedObjects(refuseCycles);
+        CURRENT.set(dumped);
+        try {
+            return dumped.node(value, representation);
+        } finally {
+            if(previous == null) {
+                CURRENT.remove();
+            } else {
+                CURRENT.set(previous);
+            }
+        }
+    }
+
+    /**
+     * Dump an object, as part of the object graph which is being dumped.
+     * @param value Dumped object.
+     * @param representation How to represent the object.
+     * @return The representation, which may have an anchor, the same
+     *  node, if the object was met before, or an alias, if it is still
+     *  being dumped.
+     */
+    static YamlNode nested(
+        final Object value, final Supplier<? extends YamlNode> representation
+    ) {
+        final DumpedObjects current = CURRENT.get();
+        final YamlNode node;
+        if(current == null) {
+            node = DumpedObjects.root(value, false, representation);
+        } else {
+            node = current.node(value, representation);
+        }
+        return node;
+    }
+
+    /**
+     * Represent the object or refer to it, if it was met before.
+     * @param value Dumped object.
+     * @param representation How to represent the object.
+     * @return YamlNode.
+     */
+    private YamlNode node(
+        final Object value, final Supplier<? extends YamlNode> representation
+    ) {
+        final Anchor met = this.anchors.get(value);
+        final YamlNode node;
+        if(met == null) {
+            final Anchor anchor = new Anchor();
+            this.anchors.put(value, anchor);
+            this.open.add(value);
+            try {
+                node = DumpedObjects.anchored(representation.get(), anchor);
+            } finally {
+                this.open.remove(value);
+            }
+            this.nodes.put(value, node);
+        } else if(this.open.contains(value)) {
+            if(this.refuseCycles) {
+                throw new IllegalStateException(
+                    "Cycle detected: the " + value.getClass().getName()
+                    + " being dumped refers to itself, directly or indirectly."
+                );
+            }
+            this.name(met);
+            node = new AliasScalar(met);
+        } else {
+            this.name(met);
+            node = this.nodes.get(value);
+        }
+        return node;
+    }
+
+    /**
+     * Name the anchor of an object which is met again, if it has no name.
+     * @param met Anchor of the object.
+     */
+    private void name(final Anchor met) {
+        if(met.name().isEmpty()) {
+            this.named = this.named + 1;
+            met.named("id" + this.named);
+        }
+    }
+
+    /**
+     * Put the anchor on the node.
+     * @param node Mapping or sequence.
+     * @param anchor Anchor.
+     * @return Anchored node.
+     */
+    private static YamlNode anchored(final YamlNode node, final Anchor anchor) {
+        final YamlNode anchored;
+        if(node instanceof YamlMapping) {
+            anchored = new AnchoredYamlMapping((YamlMapping) node, anchor);
+        } else if(node instanceof YamlSequence) {
+            anchored = new AnchoredYamlSequence((YamlSequence) node, anchor);
+        } else {
+            anchored = node;
+        }
+        return anchored;
+    }
+}
@@ -27,10 +27,9 @@
  */
 package com.amihaiemil.eoyaml;
 
-import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Iterator;
-import java.util.List;
+import java.util.NoSuchElementException;
 
 /**
  * YamlLines implementation that looks for the lines which have
@@ -45,7 +44,7 @@ final class GreaterIndentation implements YamlLines {
     /**
      * Reference YAML line.
      */
-    private YamlLine reference;
+    private final YamlLine reference;
 
     /**
      * YamlLines.
@@ -67,27 +66,14 @@ final class GreaterIndentation implements YamlLines {
      * It <b>only</b> iterates over the lines which have a greater
      * indentation than the reference line. It breaks iteration when
      * a line with a lesser or equal indentation is met, since that should
-     * be the beginning of another YAML object.
+     * be the beginning of another YAML object, without reading any further.
      * @return Iterator over these yaml lines.
      */
     @Override
     public Iterator<YamlLine> iterator() {
-        Iterator<YamlLine> iterator = this.yamlLines.iterator();
-        if (iterator.hasNext()) {
-            final List<YamlLine> greater = new ArrayList<>();
-            while (iterator.hasNext()) {
-                YamlLine current = iterator.next();
-                if(current.indentation() > this.reference.indentation()) {
-                    greater.add(current);
-                } else if (
-                    current.indentation() <= this.reference.indentation()
-                ) {
-                    break;
-                }
-            }
-            iterator = greater.iterator();
-        }
-        return iterator;
+        return new Greater(
+            this.yamlLines.iterator(), this.reference.indentation()
+        );
     }
 
     @Override
@@ -99,4 +85,71 @@ final class GreaterIndentation implements YamlLines {
     public YamlNode toYamlNode(final YamlLine prev) {
         return this.yamlLines.toYamlNode(prev);
     }
+
+    /**
+     * Iterator over the lines with a greater indentation than the reference.
+     * It looks only one line ahead, so an iteration does not go past the
+     * first line with a lesser or equal indentation.
+     * @author Mihai Andronache (amihaiemil@gmail.com)
+     * @version $Id$
+     * @since 4.2.0
+     */
+    private static final class Greater implements Iterator<YamlLine> {
+
+        /**
+         * All the lines.
+         */
+        private final Iterator<YamlLine> lines;
+
+        /**
+         * Indentation of the reference line.
+         */
+        private final int indentation;
+
+        /**
+         * Next line to return, null if there is none.
+         */
+        private YamlLine ahead;
+
+        /**
+         * Ctor.
+         * @param lines All the lines.
+         * @param indentation Indentation of the reference line.
+         */
+        Greater(final Iterator<YamlLine> lines, final int indentation) {
+            this.lines = lines;
+            this.indentation = indentation;
+            this.ahead = this.following();
+        }
+
+        @Override
+        public boolean hasNext() {
+            return this.ahead != null;
+        }
+
+        @Override
+        public YamlLine next() {
+            final YamlLine next = this.ahead;
+            if(next == null) {
+                throw new NoSuchElementException();
+            }
+            this.ahead = this.following();
+            return next;
+        }
+
+        /**
+         * The following line, if it is nested after the reference line.
+         * @return YamlLine or null.
+         */
+        private YamlLine following() {
+            YamlLine following = null;
+            if(this.lines.hasNext()) {
+                final YamlLine current = this.lines.next();
+                if(current.indentation() > this.indentation) {
+                    following = current;
+                }
+            }
+            return following;
+        }
+    }
 }
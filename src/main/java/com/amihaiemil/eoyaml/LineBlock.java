@@ -0,0 +1,360 @@
+/**
+ * Copyright (c) 2016-2020, Mihai Emil Andronache
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ *  modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ *  list of conditions and the following disclaimer.
+ *  Redistributions in binary form must reproduce the above copyright notice,
+ *  this list of conditions and the following disclaimer in the documentation
+ *  and/or other materials provided with the distribution.
+ * Neither the name of the copyright holder nor the names of its
+ *  contributors may be used to endorse or promote products derived from
+ *  this software without specific prior written permission.
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT
+ * LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY
+ * OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF
+ * SUCH DAMAGE.
+ */
+package com.amihaiemil.eoyaml;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The lines of a key:value pair of a block mapping, together with the
+ * comment lines just above it. It only knows where the pair starts and
+ * ends; its value is read only when it is needed, from these lines alone.
+ * The comment lines are those which are not indented more than the key,
+ * since the others may belong to the value of the pair before (e.g. to
+ * a block scalar). Like {@link ReadYamlMapping}, the comment belongs to
+ * the value, not to the key.<br><br>
+ * Used by {@link YamlRevision} to find the smallest blocks touched by an
+ * edit: the blocks which are not touched keep the value they had in the
+ * previous revision. The blocks are found with their nested blocks, all
+ * at once, and get their values as new blocks, so they are immutable.
+ * @author Mihai Andronache (amihaiemil@gmail.com)
+ * @version $Id$
+ * @since 4.2.0
+ */
+final class LineBlock {
+
+    /**
+     * All the lines of the document.
+     */
+    private final List<YamlLine> lines;
+
+    /**
+     * Index of the first line (first comment line or the key line).
+     */
+    private final int start;
+
+    /**
+     * Index of the key line.
+     */
+    private final int key;
+
+    /**
+     * Index after the last line.
+     */
+    private final int end;
+
+    /**
+     * Value, null if it was not given yet.
+     */
+    private final YamlNode value;
+
+    /**
+     * Pairs of the nested mapping, null if the value is not a plain
+     * block mapping.
+     */
+    private final List<LineBlock> nested;
+
+    /**
+     * Ctor.
+     * @param lines All the lines of the document.
+     * @param range Indexes of the first line, key line and after the
+     *  last line.
+     * @param nested Pairs of the nested mapping, null if the value is not
+     *  a plain block mapping.
+     */
+    private LineBlock(
+        final List<YamlLine> lines, final int[] range,
+        final List<LineBlock> nested
+    ) {
+        this.lines = lines;
+        this.start = range[0];
+        this.key = range[1];
+        this.end = range[2];
+        this.value = null;
+        this.nested = nested;
+    }
+
+    /**
+     * Ctor.
+     * @param block Block without value.
+     * @param value Value of the block.
+     * @param nested Pairs of the nested mapping, with their values, null
+     *  if the value is not a plain block mapping.
+     */
+    private LineBlock(
+        final LineBlock block, final YamlNode value,
+        final List<LineBlock> nested
+    ) {
+        this.lines = block.lines;
+        this.start = block.start;
+        this.key = block.key;
+        this.end = block.end;
+        this.value = value;
+        this.nested = nested;
+    }
+
+    /**
+     * The blocks of the mapping found between the given lines, with
+     * their nested blocks, without values.
+     * @param lines All the lines of the document.
+     * @param from Index of the first line of the mapping.
+     * @param upto Index after the last line of the mapping.
+     * @return Blocks, or null if the lines are not a plain block mapping.
+     * @checkstyle CyclomaticComplexity (50 lines)
+     * @checkstyle ExecutableStatementCount (50 lines)
+     */
+    static List<LineBlock> blocks(
+        final List<YamlLine> lines, final int from, final int upto
+    ) {
+        List<LineBlock> blocks = new ArrayList<>();
+        final int indentation = LineBlock.indentation(lines, from, upto);
+        int comments = -1;
+        int first = -1;
+        int previous = -1;
+        for(int idx = from; idx < upto && blocks != null; ++idx) {
+            final YamlLine line = lines.get(idx);
+            if(line.trimmed().startsWith("#")) {
+                if(previous >= 0 && line.indentation() > indentation) {
+                    comments = -1;
+                } else if(comments < 0) {
+                    comments = idx;
+                }
+            } else if(line.indentation() > indentation) {
+                comments = -1;
+            } else if(line.indentation() < indentation
+                || !LineBlock.keyLine(line)) {
+                blocks = null;
+            } else {
+                if(previous >= 0) {
+                    blocks.add(LineBlock.block(lines, first, previous, idx));
+                }
+                first = idx;
+                if(comments >= 0) {
+                    first = comments;
+                }
+                previous = idx;
+                comments = -1;
+            }
+        }
+        if(blocks != null && previous >= 0) {
+            blocks.add(LineBlock.block(lines, first, previous, upto));
+        }
+        return blocks;
+    }
+
+    /**
+     * Index of the first line.
+     * @return Integer.
+     */
+    int start() {
+        return this.start;
+    }
+
+    /**
+     * Index of the key line.
+     * @return Integer.
+     */
+    int keyLine() {
+        return this.key;
+    }
+
+    /**
+     * Index after the last line.
+     * @return Integer.
+     */
+    int end() {
+        return this.end;
+    }
+
+    /**
+     * The key of this pair.
+     * @return Plain scalar key.
+     */
+    YamlNode key() {
+        final String trimmed = this.lines.get(this.key).trimmed();
+        return new PlainStringScalar(
+            trimmed.substring(0, trimmed.indexOf(':')).trim()
+        );
+    }
+
+    /**
+     * The comment lines above the key, without the '#'.
+     * @return Comment, empty if there is none.
+     */
+    String comment() {
+        return LineBlock.comment(this.lines, this.start);
+    }
+
+    /**
+     * The comment lines starting at the given line, without the '#'.
+     * @param lines All the lines of the document.
+     * @param from Index of the first line.
+     * @return Comment, empty if the line is not a comment.
+     */
+    static String comment(final List<YamlLine> lines, final int from) {
+        final List<String> comment = new ArrayList<>();
+        for(int idx = from; idx < lines.size()
+            && lines.get(idx).trimmed().startsWith("#"); ++idx) {
+            comment.add(lines.get(idx).trimmed().substring(1).trim());
+        }
+        return String.join(System.lineSeparator(), comment);
+    }
+
+    /**
+     * The blocks of the mapping nested in this one.
+     * @return Blocks, or null if the value is not a plain block mapping.
+     */
+    List<LineBlock> children() {
+        return this.nested;
+    }
+
+    /**
+     * The value of this pair.
+     * @return YamlNode, null if it was not given yet.
+     */
+    YamlNode value() {
+        return this.value;
+    }
+
+    /**
+     * This pair, with the given value (e.g. the value it had in the
+     * previous revision of the document).
+     * @param node Value.
+     * @param children Nested blocks, with their values, null if the value
+     *  is not a plain block mapping.
+     * @return New block.
+     */
+    LineBlock with(final YamlNode node, final List<LineBlock> children) {
+        return new LineBlock(this, node, children);
+    }
+
+    /**
+     * This pair, with its value read from the lines of this block alone,
+     * comment included. The nested blocks get the nested values.
+     * @return New block.
+     */
+    LineBlock read() {
+        return this.given(
+            new ReadYamlMapping(
+                new AllYamlLines(this.lines.subList(this.start, this.end))
+            ).value(this.key())
+        );
+    }
+
+    /**
+     * This pair, with the given value, which was read. The nested blocks
+     * get the nested values.
+     * @param node Read value.
+     * @return New block.
+     */
+    private LineBlock given(final YamlNode node) {
+        List<LineBlock> children = null;
+        if(this.nested != null && node instanceof YamlMapping) {
+            children = new ArrayList<>(this.nested.size());
+            for(final LineBlock child : this.nested) {
+                children.add(
+                    child.given(((YamlMapping) node).value(child.key()))
+                );
+            }
+        }
+        return this.with(node, children);
+    }
+
+    /**
+     * Index blocks by their first line.
+     * @param blocks Blocks.
+     * @return Map of blocks.
+     */
+    static Map<Integer, LineBlock> byStart(final List<LineBlock> blocks) {
+        final Map<Integer, LineBlock> indexed;
+        if(blocks == null) {
+            indexed = Collections.emptyMap();
+        } else {
+            indexed = new HashMap<>();
+            for(final LineBlock block : blocks) {
+                indexed.put(block.start, block);
+            }
+        }
+        return indexed;
+    }
+
+    /**
+     * A block without value, with its nested blocks.
+     * @param lines All the lines of the document.
+     * @param range Indexes of the first line, key line and after the
+     *  last line.
+     * @return LineBlock.
+     */
+    private static LineBlock block(
+        final List<YamlLine> lines, final int... range
+    ) {
+        List<LineBlock> nested = null;
+        if(lines.get(range[1]).trimmed().endsWith(":")
+            && range[1] + 1 < range[2]) {
+            nested = LineBlock.blocks(lines, range[1] + 1, range[2]);
+        }
+        return new LineBlock(lines, range, nested);
+    }
+
+    /**
+     * Indentation of the first line which is not a comment.
+     * @param lines Lines.
+     * @param from Index of the first line.
+     * @param upto Index after the last line.
+     * @return Indentation.
+     */
+    private static int indentation(
+        final List<YamlLine> lines, final int from, final int upto
+    ) {
+        int indentation = 0;
+        for(int idx = from; idx < upto; ++idx) {
+            if(!lines.get(idx).trimmed().startsWith("#")) {
+                indentation = lines.get(idx).indentation();
+                break;
+            }
+        }
+        return indentation;
+    }
+
+    /**
+     * Is this the line of a plain "key: [value]" pair?
+     * @param line Line.
+     * @return True or false.
+     */
+    private static boolean keyLine(final YamlLine line) {
+        final String trimmed = line.trimmed();
+        final int colon = trimmed.indexOf(':');
+        final boolean separated = colon == trimmed.length() - 1
+            || trimmed.charAt(colon + 1) == ' ';
+        return colon > 0 && separated
+            && "-?:%!&*<\"'".indexOf(trimmed.charAt(0)) < 0;
+    }
+}
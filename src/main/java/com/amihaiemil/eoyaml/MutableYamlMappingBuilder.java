@@ -0,0 +1,129 @@
+/**
+ * Copyright (c) 2016-2020, Mihai Emil Andronache
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ *  modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ *  list of conditions and the following disclaimer.
+ *  Redistributions in binary form must reproduce the above copyright notice,
+ *  this list of conditions and the following disclaimer in the documentation
+ *  and/or other materials provided with the distribution.
+ * Neither the name of the copyright holder nor the names of its
+ *  contributors may be used to endorse or promote products derived from
+ *  this software without specific prior written permission.
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT
+ * LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY
+ * OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF
+ * SUCH DAMAGE.
+ */
+package com.amihaiemil.eoyaml;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Mutable YamlMappingBuilder. The pairs are added in place and the
+ * underlying storage is handed over to the built YamlMapping, without
+ * copying. After {@link #build(String)} is called, the builder refuses
+ * any further modification.<br><br>
+ * This class is NOT thread-safe, it is meant for building big mappings
+ * on a single thread. Use {@link RtYamlMappingBuilder} otherwise.
+ * @author Mihai Andronache (amihaiemil@gmail.com)
+ * @version $Id$
+ * @since 4.2.0
+ */
+final class MutableYamlMappingBuilder implements YamlMappingBuilder {
+
+    /**
+     * Added pairs. It is null after the mapping has been built.
+     */
+    private Map<YamlNode, YamlNode> pairs;
+
+    /**
+     * Comments referring to the key:value pairs.
+     */
+    private List<Comment> comments;
+
+    /**
+     * Default ctor.
+     */
+    MutableYamlMappingBuilder() {
+        this(16);
+    }
+
+    /**
+     * Constructor.
+     * @param expected Expected number of pairs.
+     */
+    MutableYamlMappingBuilder(final int expected) {
+        this.pairs = new LinkedHashMap<>(expected * 4 / 3 + 1);
+        this.comments = new ArrayList<>(expected);
+    }
+
+    @Override
+    public YamlMappingBuilder add(
+        final YamlNode key,
+        final YamlNode value,
+        final String comment
+    ) {
+        this.unbuilt().put(key, value);
+        this.comments.add(new BuiltComment(key, comment));
+        return this;
+    }
+
+    /**
+     * Build the YamlMapping. If the same key was added more than once,
+     * it keeps its first position and its last value. This builder cannot
+     * be used anymore afterwards.
+     * @param comment Comment on top of the YamlMapping.
+     * @return Built YamlMapping.
+     */
+    @Override
+    public YamlMapping build(final String comment) {
+        final YamlMapping built = new RtYamlMapping(
+            this.unbuilt(), this.comments, comment
+        );
+        this.pairs = null;
+        this.comments = null;
+        return built;
+    }
+
+    /**
+     * Add all the pairs of another mutable builder to this one.
+     * @param other Other builder, which cannot be used anymore afterwards.
+     * @return This builder.
+     */
+    MutableYamlMappingBuilder addAll(final MutableYamlMappingBuilder other) {
+        this.unbuilt().putAll(other.unbuilt());
+        this.comments.addAll(other.comments);
+        other.pairs = null;
+        other.comments = null;
+        return this;
+    }
+
+    /**
+     * The pairs, as long as the YamlMapping has not been built yet.
+     * @return Pairs.
+     * @throws IllegalStateException If the YamlMapping was already built.
+     */
+    private Map<YamlNode, YamlNode> unbuilt() {
+        if(this.pairs == null) {
+            throw new IllegalStateException(
+                "The YamlMapping was already built, "
+                + "this builder cannot be used anymore."
+            );
+        }
+        return this.pairs;
+    }
+}
@@ -0,0 +1,122 @@
+/**
+ * Copyright (c) 2016-2020, Mihai Emil Andronache
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ *  modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ *  list of conditions and the following disclaimer.
+ *  Redistributions in binary form must reproduce the above copyright notice,
+ *  this list of conditions and the following disclaimer in the documentation
+ *  and/or other materials provided with the distribution.
+ * Neither the name of the copyright holder nor the names of its
+ *  contributors may be used to endorse or promote products derived from
+ *  this software without specific prior written permission.
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT
+ * LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY
+ * OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF
+ * SUCH DAMAGE.
+ */
+package com.amihaiemil.eoyaml;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Mutable YamlSequenceBuilder. The nodes are added in place and the
+ * underlying storage is handed over to the built YamlSequence, without
+ * copying. After {@link #build(String)} is called, the builder refuses
+ * any further modification.<br><br>
+ * This class is NOT thread-safe, it is meant for building big sequences
+ * on a single thread. Use {@link RtYamlSequenceBuilder} otherwise.
+ * @author Mihai Andronache (amihaiemil@gmail.com)
+ * @version $Id$
+ * @since 4.2.0
+ */
+final class MutableYamlSequenceBuilder implements YamlSequenceBuilder {
+
+    /**
+     * Added nodes. It is null after the sequence has been built.
+     */
+    private List<YamlNode> nodes;
+
+    /**
+     * Comments referring to the elements of the YamlSequence.
+     */
+    private List<Comment> comments;
+
+    /**
+     * Default ctor.
+     */
+    MutableYamlSequenceBuilder() {
+        this(16);
+    }
+
+    /**
+     * Constructor.
+     * @param expected Expected number of nodes.
+     */
+    MutableYamlSequenceBuilder(final int expected) {
+        this.nodes = new ArrayList<>(expected);
+        this.comments = new ArrayList<>(expected);
+    }
+
+    @Override
+    public YamlSequenceBuilder add(final YamlNode node, final String comment) {
+        this.unbuilt().add(node);
+        this.comments.add(new BuiltComment(node, comment));
+        return this;
+    }
+
+    /**
+     * Build the YamlSequence. This builder cannot be used anymore
+     * afterwards.
+     * @param comment Comment referring to the built YamlSequence.
+     * @return Built YamlSequence.
+     */
+    @Override
+    public YamlSequence build(final String comment) {
+        final YamlSequence built = new RtYamlSequence(
+            this.unbuilt(), this.comments, comment
+        );
+        this.nodes = null;
+        this.comments = null;
+        return built;
+    }
+
+    /**
+     * Add all the nodes of another mutable builder to this one.
+     * @param other Other builder, which cannot be used anymore afterwards.
+     * @return This builder.
+     */
+    MutableYamlSequenceBuilder addAll(final MutableYamlSequenceBuilder other) {
+        this.unbuilt().addAll(other.unbuilt());
+        this.comments.addAll(other.comments);
+        other.nodes = null;
+        other.comments = null;
+        return this;
+    }
+
+    /**
+     * The nodes, as long as the YamlSequence has not been built yet.
+     * @return Nodes.
+     * @throws IllegalStateException If the YamlSequence was already built.
+     */
+    private List<YamlNode> unbuilt() {
+        if(this.nodes == null) {
+            throw new IllegalStateException(
+                "The YamlSequence was already built, "
+                + "this builder cannot be used anymore."
+            );
+        }
+        return this.nodes;
+    }
+}
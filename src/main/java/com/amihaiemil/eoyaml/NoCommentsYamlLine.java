@@ -39,7 +39,7 @@ final class NoCommentsYamlLine implements YamlLine {
     /**
      * Original line.
      */
-    private YamlLine line;
+    private final YamlLine line;
 
     /**
      * Ctor.
@@ -27,6 +27,8 @@
  */
 package com.amihaiemil.eoyaml;
 
+import java.io.IOException;
+
 /**
  * Read Yaml literal block Scalar. This is a Scalar spanning multiple lines.
  * This Scalar's lines will be treated as separate lines and won't be folded
@@ -85,8 +87,7 @@ final class ReadLiteralBlockScalar extends BaseScalar {
         this.significant = new GreaterIndentation(
             previous,
             new Skip(
-                lines,
-                line -> line.number() <= previous.number(),
+                lines.below(previous),
                 line -> line.trimmed().endsWith("|"),
                 line -> line.trimmed().startsWith("---"),
                 line -> line.trimmed().startsWith("..."),
@@ -97,21 +98,20 @@ final class ReadLiteralBlockScalar extends BaseScalar {
     }
 
     @Override
-    String indent(final int indentation) {
-        StringBuilder alignment = new StringBuilder();
-        int spaces = indentation;
-        while (spaces > 0) {
-            alignment.append(" ");
-            spaces--;
+    void indent(final int indentation, final Appendable destination)
+        throws IOException {
+        final StringBuilder alignment = new StringBuilder(indentation);
+        for(int spaces = 0; spaces < indentation; ++spaces) {
+            alignment.append(' ');
         }
-        StringBuilder printed = new StringBuilder();
+        boolean first = true;
         for(final YamlLine line: this.significant) {
-            printed.append(alignment);
-            printed.append(line.trimmed());
-            printed.append(System.lineSeparator());
+            if(!first) {
+                destination.append(System.lineSeparator());
+            }
+            first = false;
+            destination.append(alignment).append(line.trimmed());
         }
-        printed.delete(printed.length()-1, printed.length());
-        return printed.toString();
     }
 
     /**
@@ -134,28 +134,12 @@ final class ReadLiteralBlockScalar extends BaseScalar {
     public Comment comment() {
         return new ReadComment(
             new FirstCommentFound(
-                new Backwards(
-                    new Skip(
-                        this.all,
-                        line -> {
-                            final boolean skip;
-                            if(this.previous.number() < 0) {
-                                if(this.significant.iterator().hasNext()) {
-                                    skip = line.number() >= this.significant
-                                            .iterator().next().number();
-                                } else {
-                                    skip = false;
-                                }
-                            } else {
-                                skip = line.number() >= this.previous.number();
-                            }
-                            return skip;
-                        },
-                        line -> line.trimmed().startsWith("---"),
-                        line -> line.trimmed().startsWith("..."),
-                        line -> line.trimmed().startsWith("%"),
-                        line -> line.trimmed().startsWith("!!")
-                    )
+                new Skip(
+                    this.all.above(this.previous, this.significant),
+                    line -> line.trimmed().startsWith("---"),
+                    line -> line.trimmed().startsWith("..."),
+                    line -> line.trimmed().startsWith("%"),
+                    line -> line.trimmed().startsWith("!!")
                 )
             ),
             this
@@ -33,14 +33,24 @@ import java.util.*;
 /**
  * YamlMapping read from somewhere. YAML directives and
  * document start/end markers are ignored. This is assumed
- * to be a plain YAML mapping.
- * @checkstyle CyclomaticComplexity (300 lines)
+ * to be a plain YAML mapping.<br><br>
+ * The merge key ("&lt;&lt;") is supported: its value is a mapping or
+ * a sequence of mappings (usually aliases), whose keys are added to
+ * this mapping's, unless it has them already. The merged mappings are
+ * not copied: a key which is not found here is looked up in them, in their
+ * order.
+ * @checkstyle CyclomaticComplexity (400 lines)
  * @author Mihai Andronache (amihaiemil@gmail.com)
  * @version $Id$
  * @since 1.0.0
  */
 final class ReadYamlMapping extends BaseYamlMapping {
 
+    /**
+     * The merge key.
+     */
+    private static final String MERGE = "<<";
+
     /**
      * Yaml line just previous to the one where this mapping starts. E.g.
      * <pre>
@@ -56,7 +66,7 @@ final class ReadYamlMapping extends BaseYamlMapping {
      * 1  key2: elem2
      * </pre>
      */
-    private YamlLine previous;
+    private final YamlLine previous;
 
     /**
      * All the lines of this YAML document.
@@ -68,6 +78,16 @@ final class ReadYamlMapping extends BaseYamlMapping {
      */
     private final YamlLines significant;
 
+    /**
+     * Mappings merged into this one, found when they are first needed.
+     */
+    private volatile List<YamlMapping> merged;
+
+    /**
+     * Line of each plain key, indexed when the first value is looked up.
+     */
+    private volatile Map<String, YamlLine> pairs;
+
     /**
      * Ctor.
      * @param lines Given lines.
@@ -87,8 +107,7 @@ final class ReadYamlMapping extends BaseYamlMapping {
         this.significant = new SameIndentationLevel(
             new WellIndented(
                 new Skip(
-                    lines,
-                    line -> line.number() <= previous.number(),
+                    lines.below(previous),
                     line -> line.trimmed().startsWith("#"),
                     line -> line.trimmed().startsWith("---"),
                     line -> line.trimmed().startsWith("..."),
@@ -121,11 +140,14 @@ final class ReadYamlMapping extends BaseYamlMapping {
                 }
                 final String key = trimmed.substring(
                         0, trimmed.indexOf(":")).trim();
-                if(!key.isEmpty()) {
+                if(!key.isEmpty() && !MERGE.equals(key)) {
                     keys.add(new PlainStringScalar(key));
                 }
             }
         }
+        for(final YamlMapping source : this.merged()) {
+            keys.addAll(source.keys());
+        }
         return keys;
     }
 
@@ -140,12 +162,19 @@ final class ReadYamlMapping extends BaseYamlMapping {
 
     @Override
     public YamlNode value(final YamlNode key) {
-        final YamlNode value;
+        final YamlMetrics metrics = this.all.metrics();
+        final long start = metrics.time();
+        YamlNode value;
         if(key instanceof Scalar) {
-            value = this.valueOfStringKey(((Scalar) key).value());
+            final String name = ((Scalar) key).value();
+            value = this.valueOfStringKey(name);
+            if(value == null && !MERGE.equals(name)) {
+                value = this.valueOfMergedKey(key);
+            }
         } else {
             value = this.valueOfNodeKey(key);
         }
+        metrics.lookedUp(value != null, metrics.time() - start);
         return value;
     }
 
@@ -160,28 +189,12 @@ final class ReadYamlMapping extends BaseYamlMapping {
     public Comment comment() {
         return new ReadComment(
             new FirstCommentFound(
-                new Backwards(
-                    new Skip(
-                        this.all,
-                        line -> {
-                            final boolean skip;
-                            if(this.previous.number() < 0) {
-                                if(this.significant.iterator().hasNext()) {
-                                    skip = line.number() >= this.significant
-                                            .iterator().next().number();
-                                } else {
-                                    skip = false;
-                                }
-                            } else {
-                                skip = line.number() >= this.previous.number();
-                            }
-                            return skip;
-                        },
-                        line -> line.trimmed().startsWith("---"),
-                        line -> line.trimmed().startsWith("..."),
-                        line -> line.trimmed().startsWith("%"),
-                        line -> line.trimmed().startsWith("!!")
-                    )
+                new Skip(
+                    this.all.above(this.previous, this.significant),
+                    line -> line.trimmed().startsWith("---"),
+                    line -> line.trimmed().startsWith("..."),
+                    line -> line.trimmed().startsWith("%"),
+                    line -> line.trimmed().startsWith("!!")
                 )
             ),
             this
@@ -253,28 +266,149 @@ final class ReadYamlMapping extends BaseYamlMapping {
     }
 
     /**
-     * The YamlNode value associated with a String (scalar) key.
+     * The YamlNode value associated with a String (scalar) key. The key's
+     * line is found in the index; only keys which cannot be indexed (e.g.
+     * keys containing ':' or quotes) are looked for through all the lines.
+     * A key which can be indexed, but is not in the index, is absent.
      * @param key String key.
-     * @return YamlNode.
+     * @return YamlNode or null, if the key is absent.
      */
     private YamlNode valueOfStringKey(final String key) {
         YamlNode value = null;
-        for (final YamlLine line : this.significant) {
-            final String trimmed = line.trimmed();
-            if(trimmed.endsWith(key + ":")
-                || trimmed.matches("^" + key + "\\:[ ]*\\>$")
-                || trimmed.matches("^" + key + "\\:[ ]*\\|$")
-            ) {
-                value = this.significant.toYamlNode(line);
-            } else if(trimmed.startsWith(key + ":")
-                && trimmed.length() > 1
-            ) {
-                value = new ReadPlainScalar(this.all, line);
+        if(ReadYamlMapping.indexable(key)) {
+            final YamlLine indexed = this.pairs().get(key);
+            if(indexed != null) {
+                value = this.valueOfLine(indexed, key);
+            }
+        } else {
+            for (final YamlLine line : this.significant) {
+                final YamlNode found = this.valueOfLine(line, key);
+                if(found != null) {
+                    value = found;
+                }
+            }
+        }
+        return value;
+    }
+
+    /**
+     * Can the key be found in the index of the lines?
+     * @param key String key.
+     * @return True if the key contains no ':' and no quotes.
+     */
+    private static boolean indexable(final String key) {
+        return key.indexOf(':') < 0
+            && key.indexOf('"') < 0
+            && key.indexOf('\'') < 0;
+    }
+
+    /**
+     * The value on (or nested after) a line, if it is the line of the
+     * given key.
+     * @param line YamlLine.
+     * @param key String key.
+     * @return YamlNode or null, if the line is not the key's.
+     */
+    private YamlNode valueOfLine(final YamlLine line, final String key) {
+        YamlNode value = null;
+        final String trimmed = line.trimmed();
+        if(trimmed.endsWith(key + ":")
+            || trimmed.matches("^" + key + "\\:[ ]*\\>$")
+            || trimmed.matches("^" + key + "\\:[ ]*\\|$")
+        ) {
+            value = this.all.nestedNode(line);
+        } else if(trimmed.startsWith(key + ":")
+            && trimmed.length() > 1
+        ) {
+            value = this.all.inlineNode(line);
+        }
+        return value;
+    }
+
+    /**
+     * Index of the lines of the plain keys. If a key appears more than
+     * once, the last line wins.
+     * @return Map of keys to lines.
+     */
+    private Map<String, YamlLine> pairs() {
+        Map<String, YamlLine> index = this.pairs;
+        this.all.metrics().cached(index != null);
+        if(index == null) {
+            index = new HashMap<>();
+            for (final YamlLine line : this.significant) {
+                final String trimmed = line.trimmed();
+                final int colon = trimmed.indexOf(':');
+                if(colon > 0) {
+                    index.put(trimmed.substring(0, colon).trim(), line);
+                }
+            }
+            this.pairs = index;
+        }
+        return index;
+    }
+
+    /**
+     * The YamlNode value associated with a key in the merged mappings.
+     * @param key Key.
+     * @return YamlNode or null if none of them has the key.
+     */
+    private YamlNode valueOfMergedKey(final YamlNode key) {
+        YamlNode value = null;
+        for(final YamlMapping source : this.merged()) {
+            value = source.value(key);
+            if(value != null) {
+                break;
             }
         }
         return value;
     }
 
+    /**
+     * The mappings merged into this one, with the merge key.
+     * @return List of YamlMapping, empty if there is no merge key.
+     * @throws YamlReadingException If the value of the merge key is not
+     *  a mapping or a sequence of mappings.
+     */
+    private List<YamlMapping> merged() {
+        List<YamlMapping> sources = this.merged;
+        if(sources == null) {
+            final YamlNode merge = this.valueOfStringKey(MERGE);
+            if(merge == null) {
+                sources = Collections.emptyList();
+            } else if(merge instanceof YamlMapping) {
+                sources = Collections.singletonList((YamlMapping) merge);
+            } else if(merge instanceof YamlSequence) {
+                sources = new ArrayList<>();
+                for(final YamlNode node : (YamlSequence) merge) {
+                    sources.add(ReadYamlMapping.mergeable(node));
+                }
+            } else {
+                sources = Collections.singletonList(
+                    ReadYamlMapping.mergeable(merge)
+                );
+            }
+            this.merged = sources;
+        }
+        return sources;
+    }
+
+    /**
+     * A node which can be merged, with the merge key.
+     * @param node YamlNode.
+     * @return YamlMapping.
+     * @throws YamlReadingException If the node is not a mapping.
+     */
+    private static YamlMapping mergeable(final YamlNode node) {
+        if(!(node instanceof YamlMapping)) {
+            throw new YamlReadingException(
+                "The merge key (<<) expects a mapping or a sequence of "
+                + "mappings. Instead, it has: "
+                + System.lineSeparator() + node
+            );
+        }
+        return (YamlMapping) node;
+    }
+
     /**
      * The YamlNode value associated with a YamlNode key
      * (a "complex" key starting with '?').
@@ -295,11 +429,11 @@ final class ReadYamlMapping extends BaseYamlMapping {
                         || colonLine.trimmed().matches("^\\:[ ]*\\>$")
                         || colonLine.trimmed().matches("^\\:[ ]*\\|$")
                     ) {
-                        value = this.significant.toYamlNode(colonLine);
+                        value = this.all.nestedNode(colonLine);
                     } else if(colonLine.trimmed().startsWith(":")
                         && (colonLine.trimmed().length() > 1)
                     ){
-                        value = new ReadPlainScalar(this.all, colonLine);
+                        value = this.all.inlineNode(colonLine);
                     } else {
                         throw new YamlReadingException(
                             "No value found for existing complex key: "
@@ -64,6 +64,12 @@ final class ReadYamlSequence extends BaseYamlSequence {
      */
     private final YamlLines significant;
 
+    /**
+     * Items of this sequence, read when they are first needed, so the
+     * access by index is not a lookup through all the lines.
+     */
+    private volatile List<YamlNode> items;
+
     /**
      * Ctor.
      * @param lines Given lines.
@@ -83,8 +89,7 @@ final class ReadYamlSequence extends BaseYamlSequence {
         this.significant = new SameIndentationLevel(
             new WellIndented(
                 new Skip(
-                    lines,
-                    line -> line.number() <= previous.number(),
+                    lines.below(previous),
                     line -> line.trimmed().startsWith("#"),
                     line -> line.trimmed().startsWith("---"),
                     line -> line.trimmed().startsWith("..."),
@@ -97,30 +102,15 @@ final class ReadYamlSequence extends BaseYamlSequence {
 
     @Override
     public Collection<YamlNode> values() {
-        final List<YamlNode> kids = new LinkedList<>();
-        for(final YamlLine line : this.significant) {
-            final String trimmed = line.trimmed();
-            if("-".equals(trimmed)
-                || trimmed.endsWith("|")
-                || trimmed.endsWith(">")
-            ) {
-                kids.add(this.significant.toYamlNode(line));
-            } else {
-                kids.add(new ReadPlainScalar(this.all, line));
-            }
-        }
-        return kids;
+        return new LinkedList<>(this.items());
     }
 
     @Override
     public YamlMapping yamlMapping(final int index) {
         YamlMapping mapping = null;
-        int count = 0;
-        for (final YamlNode node : this.values()) {
-            if (count == index && node instanceof YamlMapping) {
-                mapping = (YamlMapping) node;
-            }
-            count = count + 1;
+        final YamlNode node = this.item(index);
+        if (node instanceof YamlMapping) {
+            mapping = (YamlMapping) node;
         }
         return mapping;
     }
@@ -128,12 +118,9 @@ final class ReadYamlSequence extends BaseYamlSequence {
     @Override
     public YamlSequence yamlSequence(final int index) {
         YamlSequence sequence = null;
-        int count = 0;
-        for (final YamlNode node : this.values()) {
-            if (count == index && node instanceof YamlSequence) {
-                sequence = (YamlSequence) node;
-            }
-            count = count + 1;
+        final YamlNode node = this.item(index);
+        if (node instanceof YamlSequence) {
+            sequence = (YamlSequence) node;
         }
         return sequence;
     }
@@ -141,13 +128,9 @@ final class ReadYamlSequence extends BaseYamlSequence {
     @Override
     public String string(final int index) {
         String value = null;
-        int count = 0;
-        for (final YamlNode node : this.values()) {
-            if(count == index && (node instanceof ReadPlainScalar)) {
-                value = ((Scalar) node).value();
-                break;
-            }
-            count++;
+        final YamlNode node = this.item(index);
+        if(node instanceof ReadPlainScalar) {
+            value = ((Scalar) node).value();
         }
         return value;
     }
@@ -155,13 +138,9 @@ final class ReadYamlSequence extends BaseYamlSequence {
     @Override
     public String foldedBlockScalar(final int index) {
         String value = null;
-        int count = 0;
-        for (final YamlNode node : this.values()) {
-            if(count == index && (node instanceof ReadFoldedBlockScalar)) {
-                value = ((Scalar) node).value();
-                break;
-            }
-            count++;
+        final YamlNode node = this.item(index);
+        if(node instanceof ReadFoldedBlockScalar) {
+            value = ((Scalar) node).value();
         }
         return value;
     }
@@ -169,72 +148,79 @@ final class ReadYamlSequence extends BaseYamlSequence {
     @Override
     public Collection<String> literalBlockScalar(final int index) {
         Collection<String> value = null;
-        int count = 0;
-        for (final YamlNode node : this.values()) {
-            if(count == index && (node instanceof ReadLiteralBlockScalar)) {
-                value = Arrays.asList(
-                    ((ReadLiteralBlockScalar) node)
-                        .value().split(System.lineSeparator())
-                );
-                break;
-            }
-            count++;
+        final YamlNode node = this.item(index);
+        if(node instanceof ReadLiteralBlockScalar) {
+            value = Arrays.asList(
+                ((ReadLiteralBlockScalar) node)
+                    .value().split(System.lineSeparator())
+            );
         }
         return value;
     }
 
     @Override
-    @SuppressWarnings("unused")
     public int size() {
-        int size = 0;
-        for(final YamlLine line : this.significant) {
-            size = size + 1;
-        }
-        return size;
+        return this.items().size();
     }
 
     @Override
     public Iterator<YamlNode> iterator() {
-        return this.values().iterator();
+        return this.items().iterator();
     }
 
-    /**
-     * Return the comment referring to this YamlSequence.
-     * @todo #276:30min Continue implementing support for Comments into the
-     *  read version of YamlMapping. Comments for the elements of a sequence
-     *  are already implemented in BaseYamlSequence.
-     * @return Comment.
-     */
     @Override
     public Comment comment() {
         return new ReadComment(
             new FirstCommentFound(
-                new Backwards(
-                    new Skip(
-                        this.all,
-                        line -> {
-                            final boolean skip;
-                            if(this.previous.number() < 0) {
-                                if(this.significant.iterator().hasNext()) {
-                                    skip = line.number() >= this.significant
-                                            .iterator().next().number();
-                                } else {
-                                    skip = false;
-                                }
-                            } else {
-                                skip = line.number() >= this.previous.number();
-                            }
-                            return skip;
-                        },
-                        line -> line.trimmed().startsWith("---"),
-                        line -> line.trimmed().startsWith("..."),
-                        line -> line.trimmed().startsWith("%"),
-                        line -> line.trimmed().startsWith("!!")
-                    )
+                new Skip(
+                    this.all.above(this.previous, this.significant),
+                    line -> line.trimmed().startsWith("---"),
+                    line -> line.trimmed().startsWith("..."),
+                    line -> line.trimmed().startsWith("%"),
+                    line -> line.trimmed().startsWith("!!")
                 )
             ),
             this
         );
     }
 
+    /**
+     * The item at the given index.
+     * @param index Index.
+     * @return YamlNode or null, if there is no such item.
+     */
+    private YamlNode item(final int index) {
+        final List<YamlNode> nodes = this.items();
+        YamlNode item = null;
+        if(index >= 0 && index < nodes.size()) {
+            item = nodes.get(index);
+        }
+        return item;
+    }
+
+    /**
+     * The items of this sequence, read once.
+     * @return Unmodifiable list of YamlNode.
+     */
+    private List<YamlNode> items() {
+        List<YamlNode> kids = this.items;
+        this.all.metrics().cached(kids != null);
+        if(kids == null) {
+            kids = new ArrayList<>();
+            for(final YamlLine line : this.significant) {
+                final String trimmed = line.trimmed();
+                if("-".equals(trimmed)
+                    || trimmed.endsWith("|")
+                    || trimmed.endsWith(">")
+                ) {
+                    kids.add(this.all.nestedNode(line));
+                } else {
+                    kids.add(this.all.inlineNode(line));
+                }
+            }
+            kids = Collections.unmodifiableList(kids);
+            this.items = kids;
+        }
+        return kids;
+    }
 }
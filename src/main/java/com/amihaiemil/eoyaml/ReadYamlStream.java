@@ -39,6 +39,11 @@ import java.util.List;
  */
 final class ReadYamlStream extends BaseYamlStream {
 
+    /**
+     * The lines of this YamlStream, as they are read from the input.
+     */
+    private final AllYamlLines lines;
+
     /**
      * All the lines of this YamlStream.
      */
@@ -54,6 +59,7 @@ final class ReadYamlStream extends BaseYamlStream {
      * @param lines All YAML lines as they are read from the input.
      */
     ReadYamlStream(final AllYamlLines lines) {
+        this.lines = lines;
         this.startMarkers = new WellIndented(
             new StartMarkers(
                 new Skip(
@@ -73,8 +79,16 @@ final class ReadYamlStream extends BaseYamlStream {
     @Override
     public Collection<YamlNode> values() {
         final List<YamlNode> values = new ArrayList<>();
+        final List<YamlLine> original = new ArrayList<>(this.all.original());
+        int position = 0;
         for(final YamlLine startDoc : this.startMarkers) {
-            final YamlLines document = this.readDocument(startDoc);
+            while(position < original.size()
+                && original.get(position).number() <= startDoc.number()) {
+                position = position + 1;
+            }
+            final YamlLines document = this.readDocument(
+                startDoc, original, position
+            );
             if(!document.original().isEmpty()) {
                 values.add(document.toYamlNode(startDoc));
             }
@@ -83,27 +97,32 @@ final class ReadYamlStream extends BaseYamlStream {
     }
 
     /**
-     * Read a document from this Stream.
+     * Read a document from this Stream. The start markers are in order,
+     * so each document is read from where the previous one started,
+     * not from the first line of the Stream.
      * @param start Start marker of the document.
+     * @param original All the lines of this Stream.
+     * @param first Index of the first line after the start marker.
      * @return YamlLines of the read document.
      */
-    private YamlLines readDocument(final YamlLine start) {
+    private YamlLines readDocument(
+        final YamlLine start, final List<YamlLine> original, final int first
+    ) {
         final List<YamlLine> yamlDocLines = new ArrayList<>();
-        final YamlLine startLine = this.all.line(start.number());
-        if(!"---".equals(startLine.trimmed())) {
-            yamlDocLines.add(startLine);
+        if(start.number() < 0 && !original.isEmpty()
+            && !"---".equals(original.get(0).trimmed())) {
+            yamlDocLines.add(original.get(0));
         }
-        for(final YamlLine line : this.all.original()) {
-            if(line.number() > start.number()) {
-                final String current = line.trimmed();
-                if("---".equals(current) || "...".equals(current)) {
-                    break;
-                } else {
-                    yamlDocLines.add(line);
-                }
+        for(int idx = first; idx < original.size(); ++idx) {
+            final YamlLine line = original.get(idx);
+            final String current = line.trimmed();
+            if("---".equals(current) || "...".equals(current)) {
+                break;
+            } else {
+                yamlDocLines.add(line);
             }
         }
-        return new AllYamlLines(yamlDocLines);
+        return this.lines.document(yamlDocLines);
     }
 
 }
@@ -0,0 +1,126 @@
+/**
+ * Copyright (c) 2016-2020, Mihai Emil Andronache
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ *  modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ *  list of conditions and the following disclaimer.
+ *  Redistributions in binary form must reproduce the above copyright notice,
+ *  this list of conditions and the following disclaimer in the documentation
+ *  and/or other materials provided with the distribution.
+ * Neither the name of the copyright holder nor the names of its
+ *  contributors may be used to endorse or promote products derived from
+ *  this software without specific prior written permission.
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT
+ * LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY
+ * OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF
+ * SUCH DAMAGE.
+ */
+package com.amihaiemil.eoyaml;
+
+import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+
+/**
+ * Java records, seen through reflection, since this library is built
+ * for Java 8. On older JVMs no class is a record.
+ * @author Mihai Andronache (amihaiemil@gmail.com)
+ * @version $Id$
+ * @since 4.2.0
+ */
+final class Records {
+
+    /**
+     * Hidden ctor.
+     */
+    private Records() { }
+
+    /**
+     * Names of the record's components, in order.
+     * @param type Class.
+     * @return Names or null, if the class is not a record.
+     */
+    static String[] componentNames(final Class<?> type) {
+        final Object[] components = Records.components(type);
+        String[] names = null;
+        if(components != null) {
+            names = new String[components.length];
+            for(int idx = 0; idx < names.length; ++idx) {
+                names[idx] = (String) Records.call(components[idx], "getName");
+            }
+        }
+        return names;
+    }
+
+    /**
+     * The canonical constructor of the record.
+     * @param type Class.
+     * @return Constructor or null, if the class is not a record.
+     */
+    static Constructor<?> canonicalConstructor(final Class<?> type) {
+        final Object[] components = Records.components(type);
+        Constructor<?> canonical = null;
+        if(components != null) {
+            final Class<?>[] types = new Class<?>[components.length];
+            for(int idx = 0; idx < types.length; ++idx) {
+                types[idx] = (Class<?>) Records.call(
+                    components[idx], "getType"
+                );
+            }
+            try {
+                canonical = type.getDeclaredConstructor(types);
+            } catch (final NoSuchMethodException ex) {
+                throw new IllegalStateException(
+                    "Record without canonical constructor: " + type, ex
+                );
+            }
+        }
+        return canonical;
+    }
+
+    /**
+     * The record components (Class.getRecordComponents()).
+     * @param type Class.
+     * @return Components or null, if the class is not a record.
+     */
+    private static Object[] components(final Class<?> type) {
+        Object[] components;
+        try {
+            components = (Object[]) Class.class
+                .getMethod("getRecordComponents")
+                .invoke(type);
+        } catch (final NoSuchMethodException ex) {
+            components = null;
+        } catch (final IllegalAccessException
+            | InvocationTargetException ex) {
+            throw new IllegalStateException(ex);
+        }
+        return components;
+    }
+
+    /**
+     * Call a public no-args method reflectively.
+     * @param target Target object.
+     * @param name Name of the method.
+     * @return Result.
+     */
+    private static Object call(final Object target, final String name) {
+        try {
+            final Method method = target.getClass().getMethod(name);
+            return method.invoke(target);
+        } catch (final NoSuchMethodException | IllegalAccessException
+            | InvocationTargetException ex) {
+            throw new IllegalStateException(ex);
+        }
+    }
+}
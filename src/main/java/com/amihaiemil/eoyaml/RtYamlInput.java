@@ -28,6 +28,7 @@
 package com.amihaiemil.eoyaml;
 
 import java.io.BufferedReader;
+import java.io.FilterInputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.InputStreamReader;
@@ -46,29 +47,70 @@ final class RtYamlInput implements YamlInput {
     /**
      * Source of the input.
      */
-    private InputStream source;
+    private final InputStream source;
+
+    /**
+     * Maximum number of lines added by expanding the aliases
+     * of a document.
+     */
+    private final long expansion;
+
+    /**
+     * Metrics of reading and of the read nodes.
+     */
+    private final YamlMetrics metrics;
 
     /**
      * Ctor.
      * @param source Given source.
      */
     RtYamlInput(final InputStream source) {
+        this(source, Anchors.EXPANSION_LIMIT);
+    }
+
+    /**
+     * Ctor.
+     * @param source Given source.
+     * @param expansion Maximum number of lines added by expanding the
+     *  aliases of a document.
+     */
+    RtYamlInput(final InputStream source, final long expansion) {
+        this(source, expansion, Yaml.metrics());
+    }
+
+    /**
+     * Ctor.
+     * @param source Given source.
+     * @param expansion Maximum number of lines added by expanding the
+     *  aliases of a document.
+     * @param metrics Metrics of reading and of the read nodes.
+     */
+    RtYamlInput(
+        final InputStream source,
+        final long expansion,
+        final YamlMetrics metrics
+    ) {
         this.source = source;
+        this.expansion = expansion;
+        this.metrics = metrics;
     }
 
     @Override
     public YamlMapping readYamlMapping() throws IOException {
-        return new ReadYamlMapping(this.readInput());
+        final AllYamlLines all = this.readInput();
+        return all.materialized(new ReadYamlMapping(all));
     }
 
     @Override
     public YamlSequence readYamlSequence() throws IOException {
-        return new ReadYamlSequence(this.readInput());
+        final AllYamlLines all = this.readInput();
+        return all.materialized(new ReadYamlSequence(all));
     }
 
     @Override
     public YamlStream readYamlStream() throws IOException {
-        return new ReadYamlStream(this.readInput());
+        final AllYamlLines all = this.readInput();
+        return all.materialized(new ReadYamlStream(all));
     }
 
     @Override
@@ -88,17 +130,19 @@ final class RtYamlInput implements YamlInput {
         } else {
             read = new ReadPlainScalar(all, iterator.next());
         }
-        return read;
+        return all.materialized(read);
     }
 
     @Override
     public Scalar readFoldedBlockScalar() throws IOException {
-        return new ReadFoldedBlockScalar(this.readInput());
+        final AllYamlLines all = this.readInput();
+        return all.materialized(new ReadFoldedBlockScalar(all));
     }
 
     @Override
     public Scalar readLiteralBlockScalar() throws IOException {
-        return new ReadLiteralBlockScalar(this.readInput());
+        final AllYamlLines all = this.readInput();
+        return all.materialized(new ReadLiteralBlockScalar(all));
     }
 
     /**
@@ -107,14 +151,16 @@ final class RtYamlInput implements YamlInput {
      * @throws IOException If something goes wrong while reading the input.
      */
     private AllYamlLines readInput() throws IOException {
+        final long start = this.metrics.time();
         final List<YamlLine> lines = new ArrayList<>();
+        final Decoded decoded = new Decoded(this.source);
+        int number = 0;
         try (
             BufferedReader reader = new BufferedReader(
-                new InputStreamReader(this.source)
+                new InputStreamReader(decoded)
             )
         ) {
             String line;
-            int number = 0;
             while ((line = reader.readLine()) != null) {
                 final YamlLine current = new RtYamlLine(line, number);
                 if(!current.trimmed().isEmpty()) {
@@ -123,6 +169,59 @@ final class RtYamlInput implements YamlInput {
                 number++;
             }
         }
-        return new AllYamlLines(lines);
+        this.metrics.read(
+            number, decoded.bytes, this.metrics.time() - start
+        );
+        return new AllYamlLines(
+            Anchors.decorate(lines), this.expansion, this.metrics
+        );
+    }
+
+    /**
+     * InputStream which counts the bytes read from it.
+     * @author Mihai Andronache (amihaiemil@gmail.com)
+     * @version $Id$
+     * @since 4.2.0
+     */
+    private static final class Decoded extends FilterInputStream {
+
+        /**
+         * Number of read bytes.
+         */
+        private long bytes;
+
+        /**
+         * Ctor.
+         * @param source Source of the bytes.
+         */
+        Decoded(final InputStream source) {
+            super(source);
+        }
+
+        @Override
+        public int read() throws IOException {
+            final int read = super.read();
+            if(read >= 0) {
+                this.bytes = this.bytes + 1;
+            }
+            return read;
+        }
+
+        @Override
+        public int read(final byte[] buffer, final int off, final int len)
+            throws IOException {
+            final int read = super.read(buffer, off, len);
+            if(read > 0) {
+                this.bytes = this.bytes + read;
+            }
+            return read;
+        }
+
+        @Override
+        public long skip(final long count) throws IOException {
+            final long skipped = super.skip(count);
+            this.bytes = this.bytes + skipped;
+            return skipped;
+        }
     }
 }
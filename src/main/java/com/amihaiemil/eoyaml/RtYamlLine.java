@@ -39,12 +39,12 @@ final class RtYamlLine implements YamlLine {
     /**
      * Content.
      */
-    private String value;
+    private final String value;
 
     /**
      * Line nr.
      */
-    private int number;
+    private final int number;
 
     /**
      * Ctor.
@@ -41,24 +41,24 @@ final class RtYamlMapping extends BaseYamlMapping {
     /**
      * Comments referring to this mapping.
      */
-    private Comment comment;
+    private final Comment comment;
 
     /**
      * Key:value linked map (maintains the order of insertion).
      */
-    private final Map<YamlNode, YamlNode> mappings =
-        new LinkedHashMap<>();
+    private final Map<YamlNode, YamlNode> mappings;
 
     /**
      * Ctor.
      * @param entries Entries contained in this mapping.
      */
     RtYamlMapping(final Map<YamlNode, YamlNode> entries) {
-        this(entries, new ArrayList<>(), "");
+        this(new LinkedHashMap<>(entries), new ArrayList<>(), "");
     }
 
     /**
-     * Ctor.
+     * Ctor. The given entries are not copied, this mapping owns them
+     * from now on, so they must not be modified afterwards.
      * @param entries Entries contained in this mapping.
      * @param keyComments Comments on top of the key: value pairs.
      * @param comment Comment on top of this YamlMapping.
@@ -69,7 +69,7 @@ final class RtYamlMapping extends BaseYamlMapping {
         final String comment
     ) {
         super(new BuiltComments(keyComments));
-        this.mappings.putAll(entries);
+        this.mappings = entries;
         this.comment = new BuiltComment(this, comment);
     }
 
@@ -123,7 +123,9 @@ final class RtYamlMapping extends BaseYamlMapping {
     public String string(final YamlNode key) {
         final YamlNode value = this.mappings.get(key);
         final String found;
-        if (value != null && value instanceof PlainStringScalar) {
+        if (value instanceof PlainStringScalar
+            || value instanceof ReadPlainScalar
+        ) {
             found = ((Scalar) value).value();
         } else {
             found = null;
@@ -135,8 +137,8 @@ final class RtYamlMapping extends BaseYamlMapping {
     public String foldedBlockScalar(final YamlNode key) {
         final YamlNode value = this.mappings.get(key);
         final String found;
-        if (value != null
-            && value instanceof RtYamlScalarBuilder.BuiltFoldedBlockScalar
+        if (value instanceof RtYamlScalarBuilder.BuiltFoldedBlockScalar
+            || value instanceof ReadFoldedBlockScalar
         ) {
             found = ((Scalar) value).value();
         } else {
@@ -149,11 +151,11 @@ final class RtYamlMapping extends BaseYamlMapping {
     public Collection<String> literalBlockScalar(final YamlNode key) {
         final YamlNode value = this.mappings.get(key);
         final Collection<String> found;
-        if (value != null
-            && value instanceof RtYamlScalarBuilder.BuiltLiteralBlockScalar
+        if (value instanceof RtYamlScalarBuilder.BuiltLiteralBlockScalar
+            || value instanceof ReadLiteralBlockScalar
         ) {
             found = Arrays.asList(
-                ((RtYamlScalarBuilder.BuiltLiteralBlockScalar) value)
+                ((Scalar) value)
                     .value()
                     .split(System.lineSeparator())
             );
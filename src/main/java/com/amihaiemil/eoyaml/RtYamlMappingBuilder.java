@@ -27,14 +27,17 @@
  */
 package com.amihaiemil.eoyaml;
 
+import java.util.AbstractMap;
 import java.util.LinkedHashMap;
-import java.util.LinkedList;
-import java.util.List;
 import java.util.Map;
 
 /**
  * YamlMappingBuilder implementation. "Rt" stands for "Runtime".
- * This class is immutable and thread-safe.
+ * This class is immutable and thread-safe.<br><br>
+ * The added pairs and comments are kept in persistent {@link Chain}s,
+ * so adding a pair is O(1) and shares everything that was added before
+ * with the previous builder. The pairs are put together only once,
+ * when the YamlMapping is built.
  * @author Mihai Andronache (amihaiemil@gmail.com)
  * @version $Id$
  * @since 1.0.0
@@ -43,20 +46,20 @@ import java.util.Map;
 final class RtYamlMappingBuilder implements YamlMappingBuilder {
 
     /**
-     * Added pairs.
+     * Added pairs, in the order of adding.
      */
-    private final Map<YamlNode, YamlNode> pairs;
+    private final Chain<Map.Entry<YamlNode, YamlNode>> pairs;
 
     /**
      * Comments referring to the key:value pairs.
      */
-    private final List<Comment> comments;
+    private final Chain<Comment> comments;
 
     /**
      * Default ctor.
      */
     RtYamlMappingBuilder() {
-        this(new LinkedHashMap<>(), new LinkedList<>());
+        this(new Chain<>(), new Chain<>());
     }
 
     /**
@@ -65,8 +68,8 @@ final class RtYamlMappingBuilder implements YamlMappingBuilder {
      * @param comments Comments referring to the key:value pairs.
      */
     RtYamlMappingBuilder(
-        final Map<YamlNode, YamlNode> pairs,
-        final List<Comment> comments
+        final Chain<Map.Entry<YamlNode, YamlNode>> pairs,
+        final Chain<Comment> comments
     ) {
         this.pairs = pairs;
         this.comments = comments;
@@ -78,19 +81,28 @@ final class RtYamlMappingBuilder implements YamlMappingBuilder {
         final YamlNode value,
         final String comment
     ) {
-        final Map<YamlNode, YamlNode> withAddedPair = new LinkedHashMap<>();
-        withAddedPair.putAll(this.pairs);
-        withAddedPair.put(key, value);
-
-        final List<Comment> withAddedComment = new LinkedList<>();
-        withAddedComment.addAll(this.comments);
-        withAddedComment.add(new BuiltComment(key, comment));
-        return new RtYamlMappingBuilder(withAddedPair, withAddedComment);
+        return new RtYamlMappingBuilder(
+            this.pairs.with(new AbstractMap.SimpleImmutableEntry<>(key, value)),
+            this.comments.with(new BuiltComment(key, comment))
+        );
     }
 
+    /**
+     * Build the YamlMapping. If the same key was added more than once,
+     * it keeps its first position and its last value, just like in a
+     * {@link LinkedHashMap}.
+     * @param comment Comment on top of the YamlMapping.
+     * @return Built YamlMapping.
+     */
     @Override
     public YamlMapping build(final String comment) {
-        return new RtYamlMapping(this.pairs, this.comments, comment);
+        final Map<YamlNode, YamlNode> built = new LinkedHashMap<>(
+            this.pairs.size() * 4 / 3 + 1
+        );
+        for(final Map.Entry<YamlNode, YamlNode> pair : this.pairs) {
+            built.put(pair.getKey(), pair.getValue());
+        }
+        return new RtYamlMapping(built, this.comments.toList(), comment);
     }
 
 }
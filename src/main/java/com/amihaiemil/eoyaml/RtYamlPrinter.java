@@ -0,0 +1,532 @@
+/**
+ * Copyright (c) 2016-2020, Mihai Emil Andronache
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ *  modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ *  list of conditions and the following disclaimer.
+ *  Redistributions in binary form must reproduce the above copyright notice,
+ *  this list of conditions and the following disclaimer in the documentation
+ *  and/or other materials provided with the distribution.
+ * Neither the name of the copyright holder nor the names of its
+ *  contributors may be used to endorse or promote products derived from
+ *  this software without specific prior written permission.
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT
+ * LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY
+ * OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF
+ * SUCH DAMAGE.
+ */
+package com.amihaiemil.eoyaml;
+
+import java.io.IOException;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Set;
+
+/**
+ * Implementation of {@link YamlPrinter}. "Rt" stands for "Runtime".<br><br>
+ * The printed mappings, sequences and streams never end with a new line:
+ * the last character of each one is held back and it is only written when
+ * something follows it. This way, the nested nodes are written directly
+ * to the destination, only once, without being built as Strings first.
+ * <br><br>
+ * This class is NOT thread-safe, use one instance per destination.
+ * @author Mihai Andronache (amihaiemil@gmail.com)
+ * @version $Id$
+ * @since 4.2.0
+ */
+final class RtYamlPrinter implements YamlPrinter {
+
+    /**
+     * Where the YAML is written.
+     */
+    private final Appendable destination;
+
+    /**
+     * Last character, which has not been written yet.
+     */
+    private char pending;
+
+    /**
+     * Is there a pending character?
+     */
+    private boolean held;
+
+    /**
+     * Number of printed characters, including the pending one.
+     */
+    private long printed;
+
+    /**
+     * Metrics of the print calls.
+     */
+    private final YamlMetrics metrics;
+
+    /**
+     * The scalars write their lines here, chunk by chunk.
+     */
+    private final Appendable chunks;
+
+    /**
+     * Anchored nodes printed so far, by identity. When they are met
+     * again, only an alias to their anchor is printed.
+     */
+    private final Set<YamlNode> anchored;
+
+    /**
+     * Constructor.
+     * @param destination Where to write the YAML.
+     */
+    RtYamlPrinter(final Appendable destination) {
+        this(destination, Yaml.metrics());
+    }
+
+    /**
+     * Constructor.
+     * @param destination Where to write the YAML.
+     * @param metrics Metrics of the print calls.
+     */
+    RtYamlPrinter(final Appendable destination, final YamlMetrics metrics) {
+        this.destination = destination;
+        this.metrics = metrics;
+        this.chunks = new Chunks();
+        this.anchored = Collections.newSetFromMap(new IdentityHashMap<>());
+    }
+
+    @Override
+    public void print(final YamlNode node) throws IOException {
+        if(node instanceof Scalar) {
+            final long start = this.metrics.time();
+            final long before = this.printed;
+            this.write(node.toString());
+            this.release();
+            this.measured(before, start);
+        } else {
+            this.print(node, 0);
+        }
+    }
+
+    /**
+     * Print a mapping, sequence or stream, with the given indentation.
+     * @param node YamlNode to print.
+     * @param indentation Indentation of the node.
+     * @throws IOException If the node cannot be written.
+     */
+    void print(final YamlNode node, final int indentation)
+        throws IOException {
+        final long start = this.metrics.time();
+        final long before = this.printed;
+        this.anchored.clear();
+        if(node instanceof Anchored
+            && !((Anchored) node).anchor().isEmpty()) {
+            for(int spaces = 0; spaces < indentation; ++spaces) {
+                this.write(" ");
+            }
+            this.printAnchor(node, "");
+            this.write(System.lineSeparator());
+        }
+        this.printNode(node, indentation);
+        this.release();
+        this.measured(before, start);
+    }
+
+    /**
+     * Print a document of a stream, after its start marker, just like
+     * a printed YamlStream does: the anchor of the document, if any,
+     * goes on the marker's line.
+     * @param document YamlNode to print.
+     * @throws IOException If the document cannot be written.
+     */
+    void printDocument(final YamlNode document) throws IOException {
+        final long start = this.metrics.time();
+        final long before = this.printed;
+        this.anchored.clear();
+        this.write("---");
+        this.printAnchor(document, " ");
+        this.write(System.lineSeparator());
+        this.printNode(document, 2);
+        this.release();
+        this.measured(before, start);
+    }
+
+    /**
+     * Report a print call to the metrics.
+     * @param before Number of characters printed before the call.
+     * @param start When the call started.
+     */
+    private void measured(final long before, final long start) {
+        this.metrics.printed(
+            this.printed - before, this.metrics.time() - start
+        );
+    }
+
+    /**
+     * Print a mapping, sequence or stream, with the given indentation.
+     * Its last character is trimmed. A scalar (e.g. a document of a
+     * stream) is printed as its indented lines.
+     * @param node YamlNode to print.
+     * @param indentation Indentation of the node.
+     * @throws IOException If the node cannot be written.
+     */
+    private void printNode(final YamlNode node, final int indentation)
+        throws IOException {
+        if(indentation < 0) {
+            throw new IllegalArgumentException(
+                "Indentation level has to be >=0"
+            );
+        }
+        if(node instanceof Scalar) {
+            this.indented((Scalar) node, indentation);
+        } else {
+            this.printCollection(node, indentation);
+        }
+    }
+
+    /**
+     * Print a mapping, sequence or stream, with the given indentation.
+     * Its last character is trimmed.
+     * @param node YamlNode to print.
+     * @param indentation Indentation of the node.
+     * @throws IOException If the node cannot be written.
+     */
+    private void printCollection(final YamlNode node, final int indentation)
+        throws IOException {
+        final StringBuilder alignment = new StringBuilder(indentation);
+        for(int spaces = 0; spaces < indentation; ++spaces) {
+            alignment.append(' ');
+        }
+        final long start = this.printed;
+        if(node instanceof YamlMapping) {
+            this.printMapping(
+                (YamlMapping) node, alignment.toString(), indentation
+            );
+        } else if(node instanceof YamlSequence) {
+            this.printSequence(
+                (YamlSequence) node, alignment.toString(), indentation
+            );
+        } else if(node instanceof YamlStream) {
+            this.printStream(
+                (YamlStream) node, alignment.toString(), indentation
+            );
+        }
+        if(this.printed > start && this.held) {
+            this.held = false;
+            this.printed = this.printed - 1;
+        }
+    }
+
+    /**
+     * Print a YamlMapping.
+     * @param mapping YamlMapping to print.
+     * @param alignment Spaces in front of each key.
+     * @param indentation Indentation of the mapping.
+     * @throws IOException If the mapping cannot be written.
+     */
+    private void printMapping(
+        final YamlMapping mapping,
+        final String alignment,
+        final int indentation
+    ) throws IOException {
+        final String newLine = System.lineSeparator();
+        this.printComment(mapping.comment(), alignment);
+        for(final YamlNode key : mapping.keys()) {
+            this.printComment(
+                mapping.comments().referringTo(key), alignment
+            );
+            this.write(alignment);
+            if(key instanceof Scalar) {
+                this.indented((Scalar) key, 0);
+            } else {
+                this.write("?");
+                this.write(newLine);
+                this.printNode(key, indentation + 2);
+                this.write(newLine);
+                this.write(alignment);
+            }
+            this.write(":");
+            this.printValue(mapping.value(key), indentation);
+        }
+    }
+
+    /**
+     * Print the value of a mapping key, after the colon.
+     * @param value YamlNode value.
+     * @param indentation Indentation of the mapping.
+     * @throws IOException If the value cannot be written.
+     */
+    private void printValue(final YamlNode value, final int indentation)
+        throws IOException {
+        if(value instanceof Scalar) {
+            this.write(" ");
+            this.printScalar((Scalar) value, "", indentation);
+        } else if(this.anchored.contains(value)) {
+            this.printAlias(value);
+        } else {
+            final String newLine = System.lineSeparator();
+            this.printAnchor(value, " ");
+            this.write(newLine);
+            this.printNode(value, indentation + 2);
+            this.write(newLine);
+        }
+    }
+
+    /**
+     * Print a YamlSequence.
+     * @param sequence YamlSequence to print.
+     * @param alignment Spaces in front of each element.
+     * @param indentation Indentation of the sequence.
+     * @throws IOException If the sequence cannot be written.
+     */
+    private void printSequence(
+        final YamlSequence sequence,
+        final String alignment,
+        final int indentation
+    ) throws IOException {
+        final String newLine = System.lineSeparator();
+        this.printComment(sequence.comment(), alignment);
+        for(final YamlNode node : sequence.values()) {
+            this.printComment(
+                sequence.comments().referringTo(node), alignment
+            );
+            this.write(alignment);
+            this.write("-");
+            if(node instanceof Scalar) {
+                this.printScalar((Scalar) node, " ", indentation);
+            } else if(this.anchored.contains(node)) {
+                this.printAlias(node);
+            } else {
+                this.printAnchor(node, " ");
+                this.write(newLine);
+                this.printNode(node, indentation + 2);
+                this.write(newLine);
+            }
+        }
+    }
+
+    /**
+     * Print a YamlStream. All the documents start with "---".
+     * An empty stream is printed as "---" followed by "...".
+     * @param stream YamlStream to print.
+     * @param alignment Spaces in front of each document start.
+     * @param indentation Indentation of the stream.
+     * @throws IOException If the stream cannot be written.
+     */
+    private void printStream(
+        final YamlStream stream,
+        final String alignment,
+        final int indentation
+    ) throws IOException {
+        final String newLine = System.lineSeparator();
+        final Collection<YamlNode> documents = stream.values();
+        if(documents.isEmpty()) {
+            this.write(alignment);
+            this.write("---");
+            this.write(newLine);
+            this.write(alignment);
+            this.write("...");
+            this.release();
+        } else {
+            for(final YamlNode document : documents) {
+                this.write(alignment);
+                this.write("---");
+                this.printAnchor(document, " ");
+                this.write(newLine);
+                this.printNode(document, indentation + 2);
+                this.write(newLine);
+            }
+        }
+    }
+
+    /**
+     * Print an alias to the anchor of a node which was printed before.
+     * @param node Anchored YamlNode.
+     * @throws IOException If the alias cannot be written.
+     */
+    private void printAlias(final YamlNode node) throws IOException {
+        this.write(" *");
+        this.write(((Anchored) node).anchor());
+        this.write(System.lineSeparator());
+    }
+
+    /**
+     * Print the anchor of a node, if it has one. The node is remembered,
+     * so the next times it is met only an alias is printed.
+     * @param node YamlNode.
+     * @param prefix What to print before the anchor.
+     * @throws IOException If the anchor cannot be written.
+     */
+    private void printAnchor(final YamlNode node, final String prefix)
+        throws IOException {
+        if(node instanceof Anchored) {
+            final String anchor = ((Anchored) node).anchor();
+            if(!anchor.isEmpty()) {
+                this.write(prefix);
+                this.write("&");
+                this.write(anchor);
+                this.anchored.add(node);
+            }
+        }
+    }
+
+    /**
+     * Print a comment. Make sure to split the lines if there are more
+     * lines separated by NewLine and also add a '# ' in front of each
+     * line.
+     * @param comment Comment.
+     * @param alignment Indentation.
+     * @throws IOException If the comment cannot be written.
+     */
+    private void printComment(final Comment comment, final String alignment)
+        throws IOException {
+        final String com = comment.value();
+        if(com.trim().length() != 0) {
+            for(final String line : com.split(System.lineSeparator())) {
+                this.write(alignment);
+                this.write("# ");
+                this.write(line);
+                this.write(System.lineSeparator());
+            }
+        }
+    }
+
+    /**
+     * Print a Scalar. If it's a plain scalar, we print it on the same line.
+     * If it's a folded or literal scalar, we must first print a line
+     * containing '>' or '|', then print the Scalar's lines bellow, with
+     * a +2 indentation.
+     * @checkstyle LineLength (50 lines)
+     * @param scalar Scalar to print.
+     * @param prefix What to print before the scalar, on the same line.
+     * @param indentation Indentation of the scalar's parent.
+     * @throws IOException If the scalar cannot be written.
+     */
+    private void printScalar(
+        final Scalar scalar,
+        final String prefix,
+        final int indentation
+    ) throws IOException {
+        if (scalar instanceof PlainStringScalar
+            || scalar instanceof ReadPlainScalar
+            || scalar instanceof AliasScalar
+        ) {
+            this.write(prefix);
+            this.indented(scalar, 0);
+            this.write(System.lineSeparator());
+        } else if (scalar instanceof RtYamlScalarBuilder.BuiltFoldedBlockScalar
+            || scalar instanceof ReadFoldedBlockScalar
+        ) {
+            this.write(prefix);
+            this.write(">");
+            this.write(System.lineSeparator());
+            this.indented(scalar, indentation + 2);
+            this.write(System.lineSeparator());
+        } else if (scalar instanceof RtYamlScalarBuilder.BuiltLiteralBlockScalar
+            || scalar instanceof ReadLiteralBlockScalar
+        ) {
+            this.write(prefix);
+            this.write("|");
+            this.write(System.lineSeparator());
+            this.indented(scalar, indentation + 2);
+            this.write(System.lineSeparator());
+        }
+    }
+
+    /**
+     * Print an indented Scalar, line by line.
+     * @param scalar Scalar to indent.
+     * @param indentation Number of preceding spaces of each line.
+     * @throws IOException If the scalar cannot be written.
+     */
+    private void indented(final Scalar scalar, final int indentation)
+        throws IOException {
+        if(scalar instanceof BaseScalar) {
+            ((BaseScalar) scalar).indent(indentation, this.chunks);
+        } else {
+            this.write(scalar.value());
+        }
+    }
+
+    /**
+     * Write some text. Its last character is held back.
+     * @param text Text to write.
+     * @throws IOException If the text cannot be written.
+     */
+    private void write(final CharSequence text) throws IOException {
+        final int length = text.length();
+        if(length > 0) {
+            if(this.held) {
+                this.destination.append(this.pending);
+            }
+            this.destination.append(text, 0, length - 1);
+            this.pending = text.charAt(length - 1);
+            this.held = true;
+            this.printed = this.printed + length;
+        }
+    }
+
+    /**
+     * Write a character. It is held back.
+     * @param character Character to write.
+     * @throws IOException If the character cannot be written.
+     */
+    private void write(final char character) throws IOException {
+        if(this.held) {
+            this.destination.append(this.pending);
+        }
+        this.pending = character;
+        this.held = true;
+        this.printed = this.printed + 1;
+    }
+
+    /**
+     * Write the pending character, if any.
+     * @throws IOException If the character cannot be written.
+     */
+    private void release() throws IOException {
+        if(this.held) {
+            this.destination.append(this.pending);
+            this.held = false;
+        }
+    }
+
+    /**
+     * Appendable which writes the chunks through this printer, so their
+     * last character is held back too.
+     * @author Mihai Andronache (amihaiemil@gmail.com)
+     * @version $Id$
+     * @since 4.2.0
+     */
+    private final class Chunks implements Appendable {
+
+        @Override
+        public Appendable append(final CharSequence chunk)
+            throws IOException {
+            RtYamlPrinter.this.write(chunk);
+            return this;
+        }
+
+        @Override
+        public Appendable append(
+            final CharSequence chunk, final int start, final int end
+        ) throws IOException {
+            RtYamlPrinter.this.write(chunk.subSequence(start, end));
+            return this;
+        }
+
+        @Override
+        public Appendable append(final char character) throws IOException {
+            RtYamlPrinter.this.write(character);
+            return this;
+        }
+    }
+}
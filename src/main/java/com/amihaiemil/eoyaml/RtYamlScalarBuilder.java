@@ -27,13 +27,14 @@
  */
 package com.amihaiemil.eoyaml;
 
-import java.util.LinkedList;
+import java.io.IOException;
 import java.util.List;
-import java.util.stream.Collectors;
 
 /**
  * Implementation for {@link YamlScalarBuilder}. "Rt" stands for "Runtime.
- * This class is immutable and thread-safe.
+ * This class is immutable and thread-safe.<br><br>
+ * The added lines are kept in a persistent {@link Chain}, so adding a line
+ * is O(1), no matter how big the scalar is.
  * @author Mihai Andronache (amihaiemil@gmail.com)
  * @version $Id$
  * @since 4.0.0
@@ -43,47 +44,88 @@ final class RtYamlScalarBuilder implements YamlScalarBuilder {
     /**
      * Added lines.
      */
-    private final List<String> lines;
+    private final Chain<String> lines;
 
     /**
      * Default ctor.
      */
     RtYamlScalarBuilder() {
-        this(new LinkedList<>());
+        this(new Chain<>());
     }
 
     /**
      * Constructor.
      * @param lines String lines of the Scalar.
      */
-    RtYamlScalarBuilder(final List<String> lines) {
+    RtYamlScalarBuilder(final Chain<String> lines) {
         this.lines = lines;
     }
 
     @Override
     public YamlScalarBuilder addLine(final String value) {
-        final List<String> all = new LinkedList<>();
-        all.addAll(this.lines);
-        all.add(value);
-        return new RtYamlScalarBuilder(all);
+        return new RtYamlScalarBuilder(this.lines.with(value));
     }
 
     @Override
     public Scalar buildPlainScalar(final String comment) {
-        final String plain = this.lines.stream().filter(line -> line!=null).map(
-            line -> line.replaceAll(System.lineSeparator(), " ")
-        ).collect(Collectors.joining(" "));
-        return new PlainStringScalar(plain, comment);
+        final StringBuilder plain = new StringBuilder();
+        boolean first = true;
+        for(final String line : this.lines) {
+            if(line != null) {
+                if(!first) {
+                    plain.append(' ');
+                }
+                first = false;
+                plain.append(line.replace(System.lineSeparator(), " "));
+            }
+        }
+        return new PlainStringScalar(plain.toString(), comment);
     }
 
     @Override
     public Scalar buildFoldedBlockScalar(final String comment) {
-        return new BuiltFoldedBlockScalar(this.lines, comment);
+        return new BuiltFoldedBlockScalar(this.lines.toList(), comment);
     }
 
     @Override
     public Scalar buildLiteralBlockScalar(final String comment) {
-        return new BuiltLiteralBlockScalar(this.lines, comment);
+        return new BuiltLiteralBlockScalar(this.lines.toList(), comment);
+    }
+
+    /**
+     * Write the lines of a block scalar, indented. Lines which contain
+     * NEW_LINE chars are split and each of their sub-lines is indented too.
+     * @param lines Lines of the block scalar.
+     * @param indentation Number of preceding spaces of each line.
+     * @param destination Where to write the lines.
+     * @throws IOException If the lines cannot be written.
+     */
+    private static void indent(
+        final List<String> lines,
+        final int indentation,
+        final Appendable destination
+    ) throws IOException {
+        final String newLine = System.lineSeparator();
+        final StringBuilder alignment = new StringBuilder(indentation);
+        for(int spaces = 0; spaces < indentation; ++spaces) {
+            alignment.append(' ');
+        }
+        for(int idx = 0; idx < lines.size(); idx++) {
+            final String line = lines.get(idx);
+            if(line.contains(newLine)) {
+                for(final String subline : line.split(newLine)) {
+                    destination
+                        .append(alignment)
+                        .append(subline)
+                        .append(newLine);
+                }
+            } else {
+                destination.append(alignment).append(line);
+                if (idx < lines.size() - 1) {
+                    destination.append(newLine);
+                }
+            }
+        }
     }
 
     /**
@@ -104,6 +146,13 @@ final class RtYamlScalarBuilder implements YamlScalarBuilder {
          */
         private final List<String> lines;
 
+        /**
+         * Cached value of this scalar. The lines never change, so
+         * it is computed only once. Threads racing to compute it get
+         * equal Strings, so the race is harmless.
+         */
+        private String value;
+
         /**
          * Ctor.
          * @param lines Given string lines.
@@ -135,9 +184,20 @@ final class RtYamlScalarBuilder implements YamlScalarBuilder {
          */
         @Override
         public String value() {
-            return this.lines.stream().map(
-                line -> line.replaceAll(System.lineSeparator(), " ")
-            ).collect(Collectors.joining(" "));
+            String found = this.value;
+            if(found == null) {
+                final String newLine = System.lineSeparator();
+                final StringBuilder folded = new StringBuilder();
+                for(int idx = 0; idx < this.lines.size(); ++idx) {
+                    if(idx > 0) {
+                        folded.append(' ');
+                    }
+                    folded.append(this.lines.get(idx).replace(newLine, " "));
+                }
+                found = folded.toString();
+                this.value = found;
+            }
+            return found;
         }
 
         @Override
@@ -149,39 +209,13 @@ final class RtYamlScalarBuilder implements YamlScalarBuilder {
          * Indent this block scalar. When indenting/printing, we're going to
          * separate the lines.
          * @param indentation Number of preceding spaces of each line.
-         * @return Indented Scalar.
+         * @param destination Where to write the lines.
+         * @throws IOException If the lines cannot be written.
          */
         @Override
-        String indent(final int indentation) {
-            int spaces = indentation;
-            StringBuilder print = new StringBuilder();
-            StringBuilder alignment = new StringBuilder();
-            while (spaces > 0) {
-                alignment.append(" ");
-                spaces--;
-            }
-            for(int idx = 0; idx < this.lines.size(); idx++) {
-                final String line = this.lines.get(idx);
-                if(line.contains(System.lineSeparator())) {
-                    final String[] hardcodedNewLines = line.split(
-                        System.lineSeparator()
-                    );
-                    for(final String subline : hardcodedNewLines) {
-                        print
-                            .append(alignment)
-                            .append(subline)
-                            .append(System.lineSeparator());
-                    }
-                } else {
-                    print
-                        .append(alignment)
-                        .append(line);
-                    if (idx < this.lines.size() - 1) {
-                        print.append(System.lineSeparator());
-                    }
-                }
-            }
-            return print.toString();
+        void indent(final int indentation, final Appendable destination)
+            throws IOException {
+            RtYamlScalarBuilder.indent(this.lines, indentation, destination);
         }
 
         /**
@@ -230,6 +264,13 @@ final class RtYamlScalarBuilder implements YamlScalarBuilder {
          */
         private final List<String> lines;
 
+        /**
+         * Cached value of this scalar. The lines never change, so
+         * it is computed only once. Threads racing to compute it get
+         * equal Strings, so the race is harmless.
+         */
+        private String value;
+
         /**
          * Ctor.
          * @param lines Given string lines.
@@ -257,9 +298,12 @@ final class RtYamlScalarBuilder implements YamlScalarBuilder {
          */
         @Override
         public String value() {
-            return this.lines.stream().collect(
-                Collectors.joining(System.lineSeparator())
-            );
+            String found = this.value;
+            if(found == null) {
+                found = String.join(System.lineSeparator(), this.lines);
+                this.value = found;
+            }
+            return found;
         }
 
         @Override
@@ -271,39 +315,13 @@ final class RtYamlScalarBuilder implements YamlScalarBuilder {
          * Indent this block scalar. When indenting/printing, we're going to
          * separate the lines.
          * @param indentation Number of preceding spaces of each line.
-         * @return Indented Scalar.
+         * @param destination Where to write the lines.
+         * @throws IOException If the lines cannot be written.
          */
         @Override
-        String indent(final int indentation) {
-            int spaces = indentation;
-            StringBuilder print = new StringBuilder();
-            StringBuilder alignment = new StringBuilder();
-            while (spaces > 0) {
-                alignment.append(" ");
-                spaces--;
-            }
-            for(int idx = 0; idx < this.lines.size(); idx++) {
-                final String line = this.lines.get(idx);
-                if(line.contains(System.lineSeparator())) {
-                    final String[] hardcodedNewLines = line.split(
-                        System.lineSeparator()
-                    );
-                    for(final String subline : hardcodedNewLines) {
-                        print
-                            .append(alignment)
-                            .append(subline)
-                            .append(System.lineSeparator());
-                    }
-                } else {
-                    print
-                        .append(alignment)
-                        .append(line);
-                    if (idx < this.lines.size() - 1) {
-                        print.append(System.lineSeparator());
-                    }
-                }
-            }
-            return print.toString();
+        void indent(final int indentation, final Appendable destination)
+            throws IOException {
+            RtYamlScalarBuilder.indent(this.lines, indentation, destination);
         }
 
         /**
@@ -30,7 +30,8 @@ package com.amihaiemil.eoyaml;
 import java.util.*;
 
 /**
- * YAML sequence implementation (rt means runtime).
+ * YAML sequence implementation (rt means runtime). The elements are kept
+ * in an array-backed List, so indexed access is O(1).
  * @author Mihai Andronache (amihaiemil@gmail.com)
  * @version $Id$
  * @since 1.0.0
@@ -41,34 +42,35 @@ final class RtYamlSequence extends BaseYamlSequence {
     /**
      * Comments referring to this sequence.
      */
-    private Comment comment;
+    private final Comment comment;
 
     /**
-     * Nodes in this sequence.
+     * Nodes in this sequence, as an unmodifiable List backed by an array.
      */
-    private final List<YamlNode> nodes = new LinkedList<>();
+    private final List<YamlNode> nodes;
 
     /**
      * Ctor.
      * @param elements Elements of this sequence.
      */
     RtYamlSequence(final Collection<YamlNode> elements) {
-        this(elements, new ArrayList<>(), "");
+        this(new ArrayList<>(elements), new ArrayList<>(), "");
     }
 
     /**
-     * Constructor.
+     * Constructor. The given elements are not copied, this sequence owns
+     * them from now on, so they must not be modified afterwards.
      * @param elements Elements of this sequence.
      * @param comments Comments referring to the elements of this sequence.
      * @param comment Comment referring to this sequence itself.
      */
     RtYamlSequence(
-        final Collection<YamlNode> elements,
+        final List<YamlNode> elements,
         final List<Comment> comments,
         final String comment
     ) {
         super(new BuiltComments(comments));
-        this.nodes.addAll(elements);
+        this.nodes = Collections.unmodifiableList(elements);
         this.comment = new BuiltComment(this, comment);
     }
 
@@ -100,8 +102,10 @@ final class RtYamlSequence extends BaseYamlSequence {
     public String string(final int index) {
         final YamlNode value = this.nodes.get(index);
         final String found;
-        if (value instanceof PlainStringScalar) {
-            found = ((PlainStringScalar) value).value();
+        if (value instanceof PlainStringScalar
+            || value instanceof ReadPlainScalar
+        ) {
+            found = ((Scalar) value).value();
         } else {
             found = null;
         }
@@ -112,9 +116,10 @@ final class RtYamlSequence extends BaseYamlSequence {
     public String foldedBlockScalar(final int index) {
         final YamlNode value = this.nodes.get(index);
         final String found;
-        if (value instanceof RtYamlScalarBuilder.BuiltFoldedBlockScalar) {
-            found = ((RtYamlScalarBuilder.BuiltFoldedBlockScalar) value)
-                .value();
+        if (value instanceof RtYamlScalarBuilder.BuiltFoldedBlockScalar
+            || value instanceof ReadFoldedBlockScalar
+        ) {
+            found = ((Scalar) value).value();
         } else {
             found = null;
         }
@@ -125,9 +130,11 @@ final class RtYamlSequence extends BaseYamlSequence {
     public Collection<String> literalBlockScalar(final int index) {
         final YamlNode value = this.nodes.get(index);
         final Collection<String> found;
-        if (value instanceof RtYamlScalarBuilder.BuiltLiteralBlockScalar) {
+        if (value instanceof RtYamlScalarBuilder.BuiltLiteralBlockScalar
+            || value instanceof ReadLiteralBlockScalar
+        ) {
             found = Arrays.asList(
-                ((RtYamlScalarBuilder.BuiltLiteralBlockScalar) value)
+                ((Scalar) value)
                     .value()
                     .split(System.lineSeparator())
             );
@@ -139,9 +146,7 @@ final class RtYamlSequence extends BaseYamlSequence {
 
     @Override
     public Collection<YamlNode> values() {
-        final List<YamlNode> children = new LinkedList<>();
-        children.addAll(this.nodes);
-        return children;
+        return this.nodes;
     }
 
     @Override
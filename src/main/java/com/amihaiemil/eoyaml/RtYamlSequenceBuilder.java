@@ -27,12 +27,12 @@
  */
 package com.amihaiemil.eoyaml;
 
-import java.util.LinkedList;
-import java.util.List;
-
 /**
  * YamlSequenceBuilder implementation. "Rt" stands for "Runtime".
- * This class is immutable and thread-safe.
+ * This class is immutable and thread-safe.<br><br>
+ * The added nodes and comments are kept in persistent {@link Chain}s,
+ * so adding a node is O(1) and shares everything that was added before
+ * with the previous builder.
  * @author Salavat.Yalalov (s.yalalov@gmail.com)
  * @version $Id$
  * @since 1.0.0
@@ -41,18 +41,18 @@ final class RtYamlSequenceBuilder implements YamlSequenceBuilder {
     /**
      * Added nodes.
      */
-    private final List<YamlNode> nodes;
+    private final Chain<YamlNode> nodes;
 
     /**
      * Comments referring to the elements of the YamlSequence.
      */
-    private final List<Comment> comments;
+    private final Chain<Comment> comments;
 
     /**
      * Default ctor.
      */
     RtYamlSequenceBuilder() {
-        this(new LinkedList<>(), new LinkedList<>());
+        this(new Chain<>(), new Chain<>());
     }
 
     /**
@@ -61,8 +61,8 @@ final class RtYamlSequenceBuilder implements YamlSequenceBuilder {
      * @param comments Comments referring to the elements of the YamlSequence.
      */
     RtYamlSequenceBuilder(
-        final List<YamlNode> nodes,
-        final List<Comment> comments
+        final Chain<YamlNode> nodes,
+        final Chain<Comment> comments
     ) {
         this.nodes = nodes;
         this.comments = comments;
@@ -70,19 +70,16 @@ final class RtYamlSequenceBuilder implements YamlSequenceBuilder {
 
     @Override
     public YamlSequenceBuilder add(final YamlNode node, final String comment) {
-        final List<YamlNode> elements = new LinkedList<>();
-        elements.addAll(this.nodes);
-        elements.add(node);
-
-        final List<Comment> withComments = new LinkedList<>();
-        withComments.addAll(this.comments);
-        withComments.add(new BuiltComment(node, comment));
-
-        return new RtYamlSequenceBuilder(elements, withComments);
+        return new RtYamlSequenceBuilder(
+            this.nodes.with(node),
+            this.comments.with(new BuiltComment(node, comment))
+        );
     }
 
     @Override
     public YamlSequence build(final String comment) {
-        return new RtYamlSequence(this.nodes, this.comments, comment);
+        return new RtYamlSequence(
+            this.nodes.toList(), this.comments.toList(), comment
+        );
     }
 }
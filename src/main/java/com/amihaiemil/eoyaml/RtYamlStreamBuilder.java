@@ -28,12 +28,13 @@
 package com.amihaiemil.eoyaml;
 
 import java.util.Collection;
-import java.util.LinkedList;
-import java.util.List;
 
 /**
  * YamlStreamBuilder implementation. "Rt" stands for "Runtime".
- * This class is immutable and thread-safe.
+ * This class is immutable and thread-safe.<br><br>
+ * The added documents are kept in a persistent {@link Chain}, so adding
+ * a document is O(1). To write documents as they come, without keeping
+ * them, use a {@link YamlStreamWriter}.
  * @author Mihai Andronache (amihaiemil@gmail.com)
  * @version $Id$
  * @since 3.1.1
@@ -43,34 +44,31 @@ final class RtYamlStreamBuilder implements YamlStreamBuilder {
     /**
      * Added nodes.
      */
-    private final List<YamlNode> documents;
+    private final Chain<YamlNode> documents;
 
     /**
      * Default ctor.
      */
     RtYamlStreamBuilder() {
-        this(new LinkedList<YamlNode>());
+        this(new Chain<>());
     }
 
     /**
      * Constructor.
      * @param documents YAML documents used in building the YamlStream.
      */
-    RtYamlStreamBuilder(final List<YamlNode> documents) {
+    RtYamlStreamBuilder(final Chain<YamlNode> documents) {
         this.documents = documents;
     }
 
     @Override
     public YamlStreamBuilder add(final YamlNode document) {
-        final List<YamlNode> list = new LinkedList<>();
-        list.addAll(this.documents);
-        list.add(document);
-        return new RtYamlStreamBuilder(list);
+        return new RtYamlStreamBuilder(this.documents.with(document));
     }
 
     @Override
     public YamlStream build() {
-        return new BuiltYamlStream(this.documents);
+        return new BuiltYamlStream(this.documents.toList());
     }
 
     /**
@@ -84,7 +82,7 @@ final class RtYamlStreamBuilder implements YamlStreamBuilder {
         /**
          * Documents as a List.
          */
-        private Collection<YamlNode> documents;
+        private final Collection<YamlNode> documents;
 
         /**
          * Constructor.
@@ -0,0 +1,110 @@
+/**
+ * Copyright (c) 2016-2020, Mihai Emil Andronache
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ *  modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ *  list of conditions and the following disclaimer.
+ *  Redistributions in binary form must reproduce the above copyright notice,
+ *  this list of conditions and the following disclaimer in the documentation
+ *  and/or other materials provided with the distribution.
+ * Neither the name of the copyright holder nor the names of its
+ *  contributors may be used to endorse or promote products derived from
+ *  this software without specific prior written permission.
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT
+ * LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY
+ * OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF
+ * SUCH DAMAGE.
+ */
+package com.amihaiemil.eoyaml;
+
+import java.io.Flushable;
+import java.io.IOException;
+
+/**
+ * Implementation of {@link YamlStreamWriter}. "Rt" stands for "Runtime".
+ * Each document is printed by the same {@link RtYamlPrinter}, with the
+ * indentation of a document in a printed YamlStream. This class is NOT
+ * thread-safe.
+ * @author Mihai Andronache (amihaiemil@gmail.com)
+ * @version $Id$
+ * @since 4.2.0
+ */
+final class RtYamlStreamWriter implements YamlStreamWriter {
+
+    /**
+     * Where the documents are written.
+     */
+    private final Appendable destination;
+
+    /**
+     * Printer of the documents.
+     */
+    private final RtYamlPrinter printer;
+
+    /**
+     * Flush the destination after this many documents. 0 means never.
+     */
+    private final int every;
+
+    /**
+     * Number of written documents.
+     */
+    private long written;
+
+    /**
+     * Constructor. The destination is never flushed by this writer, only
+     * when flush() is called.
+     * @param destination Where to write the documents.
+     */
+    RtYamlStreamWriter(final Appendable destination) {
+        this(destination, 0);
+    }
+
+    /**
+     * Constructor.
+     * @param destination Where to write the documents.
+     * @param every Flush the destination after this many documents.
+     *  0 means never.
+     */
+    RtYamlStreamWriter(final Appendable destination, final int every) {
+        if(every < 0) {
+            throw new IllegalArgumentException(
+                "The flush interval has to be >=0"
+            );
+        }
+        this.destination = destination;
+        this.printer = new RtYamlPrinter(destination);
+        this.every = every;
+    }
+
+    @Override
+    public YamlStreamWriter write(final YamlNode document)
+        throws IOException {
+        if(this.written > 0) {
+            this.destination.append(System.lineSeparator());
+        }
+        this.printer.printDocument(document);
+        this.written = this.written + 1;
+        if(this.every > 0 && this.written % this.every == 0) {
+            this.flush();
+        }
+        return this;
+    }
+
+    @Override
+    public void flush() throws IOException {
+        if(this.destination instanceof Flushable) {
+            ((Flushable) this.destination).flush();
+        }
+    }
+}
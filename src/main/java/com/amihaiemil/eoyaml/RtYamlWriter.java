@@ -0,0 +1,397 @@
+/**
+ * Copyright (c) 2016-2020, Mihai Emil Andronache
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ *  modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ *  list of conditions and the following disclaimer.
+ *  Redistributions in binary form must reproduce the above copyright notice,
+ *  this list of conditions and the following disclaimer in the documentation
+ *  and/or other materials provided with the distribution.
+ * Neither the name of the copyright holder nor the names of its
+ *  contributors may be used to endorse or promote products derived from
+ *  this software without specific prior written permission.
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT
+ * LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY
+ * OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF
+ * SUCH DAMAGE.
+ */
+package com.amihaiemil.eoyaml;
+
+import java.io.Flushable;
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+
+/**
+ * Implementation of {@link YamlWriter}. "Rt" stands for "Runtime".<br><br>
+ * It keeps a stack with the open mappings, sequences and documents,
+ * which knows the indentation and what event is expected next.
+ * Every line is preceded by a new line, except the first one, so the
+ * output never ends with a new line, just like the printed YamlNodes.
+ * <br><br>
+ * This class is NOT thread-safe.
+ * @author Mihai Andronache (amihaiemil@gmail.com)
+ * @version $Id$
+ * @since 4.2.0
+ */
+final class RtYamlWriter implements YamlWriter {
+
+    /**
+     * Where the YAML is written.
+     */
+    private final Appendable destination;
+
+    /**
+     * Open nodes, the current one on top.
+     */
+    private final Deque<Open> opened;
+
+    /**
+     * Kind of the root: null if nothing was written yet, DOCUMENT if
+     * documents are written, MAPPING or SEQUENCE otherwise.
+     */
+    private Kind root;
+
+    /**
+     * Was any line written?
+     */
+    private boolean started;
+
+    /**
+     * Constructor.
+     * @param destination Where to write the YAML.
+     */
+    RtYamlWriter(final Appendable destination) {
+        this.destination = destination;
+        this.opened = new ArrayDeque<>();
+    }
+
+    @Override
+    public YamlWriter startDocument() throws IOException {
+        if(!this.opened.isEmpty()
+            || this.root != null && this.root != Kind.DOCUMENT) {
+            throw new IllegalStateException(
+                "A document can only be started at the top level, "
+                + "instead of a single root node."
+            );
+        }
+        this.root = Kind.DOCUMENT;
+        this.line("---");
+        this.opened.push(new Open(Kind.DOCUMENT, 2));
+        return this;
+    }
+
+    @Override
+    public YamlWriter endDocument() throws IOException {
+        if(!this.close(Kind.DOCUMENT).filled) {
+            throw new IllegalStateException("A document cannot be empty.");
+        }
+        return this;
+    }
+
+    @Override
+    public YamlWriter startMapping() throws IOException {
+        this.opened.push(new Open(Kind.MAPPING, this.nested(Kind.MAPPING)));
+        return this;
+    }
+
+    @Override
+    public YamlWriter endMapping() throws IOException {
+        if(this.close(Kind.MAPPING).filled) {
+            throw new IllegalStateException(
+                "The last key of the mapping has no value."
+            );
+        }
+        return this;
+    }
+
+    @Override
+    public YamlWriter startSequence() throws IOException {
+        this.opened.push(
+            new Open(Kind.SEQUENCE, this.nested(Kind.SEQUENCE))
+        );
+        return this;
+    }
+
+    @Override
+    public YamlWriter endSequence() throws IOException {
+        this.close(Kind.SEQUENCE);
+        return this;
+    }
+
+    @Override
+    public YamlWriter key(final String key) throws IOException {
+        final Open current = this.opened.peek();
+        if(current == null || current.kind != Kind.MAPPING
+            || current.filled) {
+            throw new IllegalStateException(
+                "A key can only be written in a mapping, after the value "
+                + "of the previous key."
+            );
+        }
+        this.line(
+            current.alignment
+            + key.replace(System.lineSeparator(), " ")
+            + ":"
+        );
+        current.filled = true;
+        return this;
+    }
+
+    @Override
+    public YamlWriter scalar(final String value) throws IOException {
+        this.inline(value.replace(System.lineSeparator(), " "));
+        return this;
+    }
+
+    @Override
+    public YamlWriter foldedBlockScalar(final List<String> lines)
+        throws IOException {
+        return this.block(">", lines);
+    }
+
+    @Override
+    public YamlWriter literalBlockScalar(final List<String> lines)
+        throws IOException {
+        return this.block("|", lines);
+    }
+
+    @Override
+    public YamlWriter comment(final String comment) throws IOException {
+        final Open current = this.opened.peek();
+        String alignment = "";
+        if(current != null) {
+            if(current.kind == Kind.MAPPING && current.filled) {
+                throw new IllegalStateException(
+                    "A comment cannot be written between a key and its value."
+                );
+            }
+            alignment = current.alignment;
+        }
+        if(comment.trim().length() != 0) {
+            for(final String line : comment.split(System.lineSeparator())) {
+                this.line(alignment + "# " + line);
+            }
+        }
+        return this;
+    }
+
+    @Override
+    public void end() throws IOException {
+        if(!this.opened.isEmpty()) {
+            throw new IllegalStateException(
+                "Not all mappings, sequences and documents were ended."
+            );
+        }
+        if(this.destination instanceof Flushable) {
+            ((Flushable) this.destination).flush();
+        }
+    }
+
+    /**
+     * Write a block scalar.
+     * @param indicator Indicator of the block scalar, '>' or '|'.
+     * @param lines Lines of the block scalar.
+     * @return This writer.
+     * @throws IOException If the scalar cannot be written.
+     */
+    private YamlWriter block(final String indicator, final List<String> lines)
+        throws IOException {
+        final Open current = this.inline(indicator);
+        final StringBuilder alignment = new StringBuilder(current.alignment);
+        alignment.append("  ");
+        for(final String line : lines) {
+            for(final String subline : line.split(System.lineSeparator())) {
+                this.line(alignment + subline);
+            }
+        }
+        return this;
+    }
+
+    /**
+     * Write a value which stays on the line of its key or dash.
+     * @param text Text of the value.
+     * @return The node which contains the value.
+     * @throws IOException If the value cannot be written.
+     */
+    private Open inline(final String text) throws IOException {
+        final Open current = this.opened.peek();
+        if(current == null) {
+            throw new IllegalStateException(
+                "A scalar must be inside a mapping, sequence or document."
+            );
+        }
+        current.take();
+        if(current.kind == Kind.MAPPING) {
+            this.write(" " + text);
+        } else if(current.kind == Kind.SEQUENCE) {
+            this.line(current.alignment + "- " + text);
+        } else {
+            this.line(current.alignment + text);
+        }
+        return current;
+    }
+
+    /**
+     * Start writing a mapping or a sequence.
+     * @param kind Kind of the started node.
+     * @return Indentation of the started node.
+     * @throws IOException If the node cannot be written.
+     */
+    private int nested(final Kind kind) throws IOException {
+        final Open current = this.opened.peek();
+        final int indentation;
+        if(current == null) {
+            if(this.root != null) {
+                throw new IllegalStateException(
+                    "There can be only one root node. "
+                    + "Use documents to write more."
+                );
+            }
+            this.root = kind;
+            indentation = 0;
+        } else {
+            current.take();
+            if(current.kind == Kind.SEQUENCE) {
+                this.line(current.alignment + "-");
+            }
+            indentation = current.child;
+        }
+        return indentation;
+    }
+
+    /**
+     * End the current node.
+     * @param kind Expected kind of the current node.
+     * @return The ended node.
+     */
+    private Open close(final Kind kind) {
+        final Open current = this.opened.peek();
+        if(current == null || current.kind != kind) {
+            throw new IllegalStateException(
+                "There is no " + kind.name().toLowerCase() + " to end."
+            );
+        }
+        return this.opened.pop();
+    }
+
+    /**
+     * Write a new line.
+     * @param text Text of the line.
+     * @throws IOException If the line cannot be written.
+     */
+    private void line(final String text) throws IOException {
+        if(this.started) {
+            this.destination.append(System.lineSeparator());
+        }
+        this.write(text);
+    }
+
+    /**
+     * Write some text on the current line.
+     * @param text Text to write.
+     * @throws IOException If the text cannot be written.
+     */
+    private void write(final String text) throws IOException {
+        this.destination.append(text);
+        this.started = true;
+    }
+
+    /**
+     * Kinds of open nodes.
+     */
+    private enum Kind {
+        /**
+         * A YAML document.
+         */
+        DOCUMENT,
+
+        /**
+         * A YamlMapping.
+         */
+        MAPPING,
+
+        /**
+         * A YamlSequence.
+         */
+        SEQUENCE
+    }
+
+    /**
+     * A node which was started, but not ended yet.
+     */
+    private static final class Open {
+
+        /**
+         * Kind of the node.
+         */
+        private final Kind kind;
+
+        /**
+         * Spaces in front of each line of the node.
+         */
+        private final String alignment;
+
+        /**
+         * Indentation of the nodes nested in this one.
+         */
+        private final int child;
+
+        /**
+         * A mapping is filled while its last key has no value yet.
+         * A document is filled once it has its node.
+         */
+        private boolean filled;
+
+        /**
+         * Constructor.
+         * @param kind Kind of the node.
+         * @param indentation Indentation of the node.
+         */
+        Open(final Kind kind, final int indentation) {
+            this.kind = kind;
+            final StringBuilder spaces = new StringBuilder(indentation);
+            for(int idx = 0; idx < indentation; ++idx) {
+                spaces.append(' ');
+            }
+            this.alignment = spaces.toString();
+            if(kind == Kind.DOCUMENT) {
+                this.child = indentation;
+            } else {
+                this.child = indentation + 2;
+            }
+        }
+
+        /**
+         * Take a value: check that this node can have it now.
+         */
+        void take() {
+            if(this.kind == Kind.MAPPING) {
+                if(!this.filled) {
+                    throw new IllegalStateException(
+                        "A value in a mapping must come after its key."
+                    );
+                }
+                this.filled = false;
+            } else if(this.kind == Kind.DOCUMENT) {
+                if(this.filled) {
+                    throw new IllegalStateException(
+                        "A document can have only one node."
+                    );
+                }
+                this.filled = true;
+            }
+        }
+    }
+}
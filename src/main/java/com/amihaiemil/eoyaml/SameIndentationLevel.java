@@ -27,10 +27,9 @@
  */
 package com.amihaiemil.eoyaml;
 
-import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Iterator;
-import java.util.List;
+import java.util.NoSuchElementException;
 
 /**
  * SameIndentationLevel. Decorates some YamlLines
@@ -66,27 +65,12 @@ final class SameIndentationLevel implements YamlLines {
      * It <b>only</b> iterates over the lines which are at the same
      * level of indentation with the first! It breaks iteration
      * when a line with smaller indentation is met since that is the
-     * beginning of another YAML object.
+     * beginning of another YAML object, without reading any further.
      * @return Iterator over these yaml lines.
      */
     @Override
     public Iterator<YamlLine> iterator() {
-        Iterator<YamlLine> iterator = this.yamlLines.iterator();
-        if (iterator.hasNext()) {
-            final List<YamlLine> sameIndentation = new ArrayList<>();
-            final YamlLine first = iterator.next();
-            sameIndentation.add(first);
-            while (iterator.hasNext()) {
-                YamlLine current = iterator.next();
-                if(current.indentation() == first.indentation()) {
-                    sameIndentation.add(current);
-                } else if (current.indentation() < first.indentation()) {
-                    break;
-                }
-            }
-            iterator = sameIndentation.iterator();
-        }
-        return iterator;
+        return new Same(this.yamlLines.iterator());
     }
 
     @Override
@@ -99,4 +83,67 @@ final class SameIndentationLevel implements YamlLines {
         return this.yamlLines.toYamlNode(prev);
     }
 
+    /**
+     * Iterator over the lines at the same level of indentation with the
+     * first one. It looks only one line ahead, so an iteration does not go
+     * past the first line with a smaller indentation.
+     * @author Mihai Andronache (amihaiemil@gmail.com)
+     * @version $Id$
+     * @since 4.2.0
+     */
+    private static final class Same implements Iterator<YamlLine> {
+
+        /**
+         * All the lines.
+         */
+        private final Iterator<YamlLine> lines;
+
+        /**
+         * Indentation of the first line.
+         */
+        private final int indentation;
+
+        /**
+         * Next line to return, null if there is none.
+         */
+        private YamlLine ahead;
+
+        /**
+         * Ctor.
+         * @param lines All the lines.
+         */
+        Same(final Iterator<YamlLine> lines) {
+            this.lines = lines;
+            if(lines.hasNext()) {
+                this.ahead = lines.next();
+                this.indentation = this.ahead.indentation();
+            } else {
+                this.indentation = -1;
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            return this.ahead != null;
+        }
+
+        @Override
+        public YamlLine next() {
+            final YamlLine next = this.ahead;
+            if(next == null) {
+                throw new NoSuchElementException();
+            }
+            this.ahead = null;
+            while(this.ahead == null && this.lines.hasNext()) {
+                final YamlLine current = this.lines.next();
+                final int indent = current.indentation();
+                if(indent == this.indentation) {
+                    this.ahead = current;
+                } else if(indent < this.indentation) {
+                    break;
+                }
+            }
+            return next;
+        }
+    }
 }
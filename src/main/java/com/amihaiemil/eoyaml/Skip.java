@@ -27,15 +27,15 @@
  */
 package com.amihaiemil.eoyaml;
 
-import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Iterator;
-import java.util.List;
+import java.util.stream.StreamSupport;
 
 /**
  * Decorator over some YamlLines which makes sure that lines
  * which satisfy one of the given conditions are ignored from
- * iteration.
+ * iteration. The lines are skipped lazily, while iterating, so an
+ * iteration which stops early does not go through all of them.
  * @author Mihai Andronache (amihaiemil@gmail.com)
  * @version $Id$
  * @since 4.2.0
@@ -64,25 +64,9 @@ final class Skip implements YamlLines {
 
     @Override
     public Iterator<YamlLine> iterator() {
-        Iterator<YamlLine> iterator = this.yamlLines.iterator();
-        if (iterator.hasNext()) {
-            final List<YamlLine> notSkipped = new ArrayList<>();
-            while (iterator.hasNext()) {
-                boolean skip = false;
-                final YamlLine current = iterator.next();
-                for(int idx = 0; idx < this.conditions.length; idx++) {
-                    if(this.conditions[idx].isMet(current)) {
-                        skip = true;
-                        break;
-                    }
-                }
-                if(!skip) {
-                    notSkipped.add(current);
-                }
-            }
-            iterator = notSkipped.iterator();
-        }
-        return iterator;
+        return StreamSupport.stream(this.yamlLines.spliterator(), false)
+            .filter(line -> !this.skipped(line))
+            .iterator();
     }
 
     @Override
@@ -95,6 +79,19 @@ final class Skip implements YamlLines {
         return this.yamlLines.toYamlNode(prev);
     }
 
+    /**
+     * Does the line meet any of the conditions?
+     * @param line YamlLine.
+     * @return True if it should be skipped.
+     */
+    private boolean skipped(final YamlLine line) {
+        boolean skip = false;
+        for(int idx = 0; idx < this.conditions.length && !skip; idx++) {
+            skip = this.conditions[idx].isMet(line);
+        }
+        return skip;
+    }
+
     /**
      * Condition that a YamlLine has to satisfy in order to be
      * skipped/ignored from iteration.
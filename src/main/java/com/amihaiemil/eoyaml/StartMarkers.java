@@ -45,7 +45,7 @@ final class StartMarkers implements YamlLines {
     /**
      * Yaml lines.
      */
-    private YamlLines yamlLines;
+    private final YamlLines yamlLines;
 
     /**
      * Constructor.
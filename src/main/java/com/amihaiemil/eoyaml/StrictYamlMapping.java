@@ -50,7 +50,7 @@ public final class StrictYamlMapping extends BaseYamlMapping {
     /**
      * Original YamlMapping.
      */
-    private YamlMapping decorated;
+    private final YamlMapping decorated;
 
     /**
      * Ctor.
@@ -48,7 +48,7 @@ public final class StrictYamlSequence extends BaseYamlSequence {
     /**
      * Original YamlSequence.
      */
-    private YamlSequence decorated;
+    private final YamlSequence decorated;
 
     /**
      * Ctor.
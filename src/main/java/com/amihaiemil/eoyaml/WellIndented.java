@@ -28,10 +28,8 @@
 package com.amihaiemil.eoyaml;
 
 import com.amihaiemil.eoyaml.exceptions.YamlIndentationException;
-import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Iterator;
-import java.util.List;
 
 /**
  * YamlLines decorator which iterates over them and verifies
@@ -86,48 +84,13 @@ final class WellIndented implements YamlLines {
      * Returns an iterator over these Yaml lines.
      * It will verify that each line is properly indented in relation
      * to the previous one and will complain if the indentation is not
-     * correct.
-     * @checkstyle LineLength (50 lines)
+     * correct. Each line is verified when it is reached, so an iteration
+     * which stops early does not go through all the lines.
      * @return Iterator over these yaml lines.
      */
     @Override
     public Iterator<YamlLine> iterator() {
-        final Iterator<YamlLine> iterator = this.yamlLines.iterator();
-        final List<YamlLine> wellIndented = new ArrayList<>();
-        YamlLine previous;
-        if(iterator.hasNext()) {
-            previous = iterator.next();
-            wellIndented.add(previous);
-            while(iterator.hasNext()) {
-                YamlLine line = iterator.next();
-                if(!(previous instanceof YamlLine.NullYamlLine)) {
-                    int prevIndent = previous.indentation();
-                    int lineIndent = line.indentation();
-                    if(previous.requireNestedIndentation()) {
-                        if(lineIndent != prevIndent+2) {
-                            throw new YamlIndentationException(
-                                "Indentation of line " + (line.number() + 1)
-                                + " is not ok. It should be greater than the one"
-                                + " of line " + (previous.number() + 1)
-                                + " by 2 spaces."
-                            );
-                        }
-                    } else {
-                        if(!"---".equals(previous.trimmed()) && lineIndent > prevIndent) {
-                            throw new YamlIndentationException(
-                                "Indentation of line " + (line.number() +1) + " is "
-                                + "greater than the one of line "
-                                + (previous.number() + 1) + ". "
-                                + "It should be less or equal."
-                            );
-                        }
-                    }
-                }
-                previous = line;
-                wellIndented.add(line);
-            }
-        }
-        return wellIndented.iterator();
+        return new Verified(this.yamlLines.iterator());
     }
 
     @Override
@@ -140,4 +103,76 @@ final class WellIndented implements YamlLines {
         return this.yamlLines.toYamlNode(prev);
     }
 
+    /**
+     * Verify the indentation of a line, in relation to the previous one.
+     * @checkstyle LineLength (50 lines)
+     * @param previous Previous line.
+     * @param line Line to verify.
+     */
+    private static void verify(final YamlLine previous, final YamlLine line) {
+        final int prevIndent = previous.indentation();
+        final int lineIndent = line.indentation();
+        if(previous.requireNestedIndentation()) {
+            if(lineIndent != prevIndent+2) {
+                throw new YamlIndentationException(
+                    "Indentation of line " + (line.number() + 1)
+                    + " is not ok. It should be greater than the one"
+                    + " of line " + (previous.number() + 1)
+                    + " by 2 spaces."
+                );
+            }
+        } else {
+            if(!"---".equals(previous.trimmed()) && lineIndent > prevIndent) {
+                throw new YamlIndentationException(
+                    "Indentation of line " + (line.number() +1) + " is "
+                    + "greater than the one of line "
+                    + (previous.number() + 1) + ". "
+                    + "It should be less or equal."
+                );
+            }
+        }
+    }
+
+    /**
+     * Iterator which verifies each line, when it is reached.
+     * @author Mihai Andronache (amihaiemil@gmail.com)
+     * @version $Id$
+     * @since 4.2.0
+     */
+    private static final class Verified implements Iterator<YamlLine> {
+
+        /**
+         * Lines to verify.
+         */
+        private final Iterator<YamlLine> lines;
+
+        /**
+         * Previously returned line, null at first.
+         */
+        private YamlLine previous;
+
+        /**
+         * Ctor.
+         * @param lines Lines to verify.
+         */
+        Verified(final Iterator<YamlLine> lines) {
+            this.lines = lines;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return this.lines.hasNext();
+        }
+
+        @Override
+        public YamlLine next() {
+            final YamlLine line = this.lines.next();
+            if(this.previous != null
+                && !(this.previous instanceof YamlLine.NullYamlLine)) {
+                WellIndented.verify(this.previous, line);
+            }
+            this.previous = line;
+            return line;
+        }
+    }
 }
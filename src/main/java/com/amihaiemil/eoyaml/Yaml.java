@@ -31,17 +31,31 @@ import java.io.ByteArrayInputStream;
 import java.io.File;
 import java.io.FileInputStream;
 import java.io.FileNotFoundException;
+import java.io.IOException;
 import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.Writer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.Charset;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
 
 /**
  * Yaml.
  * @author Mihai Andronache (amihaiemil@gmail.com)
  * @version $Id$
  * @since 1.0.0
- *
+ * @checkstyle ClassFanOutComplexity (3 lines)
  */
 public final class Yaml {
 
+    /**
+     * Metrics of the inputs and printers which are not given their own.
+     */
+    private static volatile YamlMetrics shared = YamlMetrics.NONE;
+
     /**
      * Hidden ctor.
      */
@@ -63,6 +77,52 @@ public final class Yaml {
         return new RtYamlSequenceBuilder();
     }
 
+    /**
+     * Create a mutable {@link YamlMappingBuilder}, which adds the pairs
+     * in place and returns itself from every add. It is NOT thread-safe
+     * and cannot be used anymore after the YamlMapping is built.
+     * @return Mutable builder of YamlMapping.
+     */
+    public static YamlMappingBuilder createMutableYamlMappingBuilder() {
+        return new MutableYamlMappingBuilder();
+    }
+
+    /**
+     * Create a mutable {@link YamlMappingBuilder}, sized for the expected
+     * number of pairs.
+     * @param expected Expected number of pairs.
+     * @return Mutable builder of YamlMapping.
+     * @see #createMutableYamlMappingBuilder()
+     */
+    public static YamlMappingBuilder createMutableYamlMappingBuilder(
+        final int expected
+    ) {
+        return new MutableYamlMappingBuilder(expected);
+    }
+
+    /**
+     * Create a mutable {@link YamlSequenceBuilder}, which adds the nodes
+     * in place and returns itself from every add. It is NOT thread-safe
+     * and cannot be used anymore after the YamlSequence is built.
+     * @return Mutable builder of YamlSequence.
+     */
+    public static YamlSequenceBuilder createMutableYamlSequenceBuilder() {
+        return new MutableYamlSequenceBuilder();
+    }
+
+    /**
+     * Create a mutable {@link YamlSequenceBuilder}, sized for the expected
+     * number of nodes.
+     * @param expected Expected number of nodes.
+     * @return Mutable builder of YamlSequence.
+     * @see #createMutableYamlSequenceBuilder()
+     */
+    public static YamlSequenceBuilder createMutableYamlSequenceBuilder(
+        final int expected
+    ) {
+        return new MutableYamlSequenceBuilder(expected);
+    }
+
     /**
      * Create a {@link YamlScalarBuilder}.
      * @return Builder of Yaml Scalars.
@@ -79,6 +139,107 @@ public final class Yaml {
         return new RtYamlStreamBuilder();
     }
 
+    /**
+     * Create a {@link YamlPrinter}, which writes YAML directly to the
+     * given destination (e.g. a {@link java.io.Writer}).
+     * @param destination Where to write the YAML.
+     * @return YamlPrinter.
+     */
+    public static YamlPrinter createYamlPrinter(final Appendable destination) {
+        return new RtYamlPrinter(destination);
+    }
+
+    /**
+     * Create a {@link YamlWriter}, which writes YAML events directly to
+     * the given destination (e.g. a {@link java.io.Writer}).
+     * @param destination Where to write the YAML.
+     * @return YamlWriter.
+     */
+    public static YamlWriter createYamlWriter(final Appendable destination) {
+        return new RtYamlWriter(destination);
+    }
+
+    /**
+     * Create a {@link YamlStreamWriter}, which writes each document
+     * directly to the given destination (e.g. a {@link java.io.Writer}).
+     * @param destination Where to write the documents.
+     * @return YamlStreamWriter.
+     */
+    public static YamlStreamWriter createYamlStreamWriter(
+        final Appendable destination
+    ) {
+        return new RtYamlStreamWriter(destination);
+    }
+
+    /**
+     * Create a {@link YamlStreamWriter}, which writes each document
+     * directly to the given destination and flushes it periodically.
+     * @param destination Where to write the documents.
+     * @param every Flush the destination after this many documents.
+     * @return YamlStreamWriter.
+     */
+    public static YamlStreamWriter createYamlStreamWriter(
+        final Appendable destination, final int every
+    ) {
+        return new RtYamlStreamWriter(destination, every);
+    }
+
+    /**
+     * Write a YamlNode to a file. The file is created if it does not
+     * exist, otherwise it is overwritten.
+     * @param node YamlNode to write.
+     * @param path Path of the file.
+     * @param charset Charset of the file.
+     * @throws IOException If the file cannot be written.
+     */
+    public static void write(
+        final YamlNode node, final Path path, final Charset charset
+    ) throws IOException {
+        try (
+            WritableByteChannel channel = FileChannel.open(
+                path,
+                StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING,
+                StandardOpenOption.WRITE
+            )
+        ) {
+            Yaml.write(node, channel, charset);
+        }
+    }
+
+    /**
+     * Write a YamlNode to an OutputStream. The stream is not closed.
+     * @param node YamlNode to write.
+     * @param output Where to write the YamlNode.
+     * @param charset Charset of the output.
+     * @throws IOException If the node cannot be written.
+     */
+    public static void write(
+        final YamlNode node, final OutputStream output, final Charset charset
+    ) throws IOException {
+        Yaml.write(node, Channels.newChannel(output), charset);
+        output.flush();
+    }
+
+    /**
+     * Write a YamlNode to a WritableByteChannel. The YAML is encoded
+     * through a small, reused buffer, while it is printed, so it is never
+     * held in memory as a whole. The channel is not closed.
+     * @param node YamlNode to write.
+     * @param channel Where to write the YamlNode.
+     * @param charset Charset of the output.
+     * @throws IOException If the node cannot be written.
+     */
+    public static void write(
+        final YamlNode node,
+        final WritableByteChannel channel,
+        final Charset charset
+    ) throws IOException {
+        try (Writer writer = new ChannelWriter(channel, charset)) {
+            Yaml.createYamlPrinter(writer).print(node);
+        }
+    }
+
     /**
      * Create a {@link YamlInput} from a File.
      * @return YamlInput, reader of Yaml.
@@ -110,4 +271,56 @@ public final class Yaml {
         return new RtYamlInput(input);
     }
 
+    /**
+     * Create a {@link YamlInput} from an InputStream, limiting the aliases.
+     * Aliases (e.g. {@code *name}) are read as the same node instance as
+     * their anchor (e.g. {@code &name}), so they are cheap to read, but
+     * walking the document (e.g. printing it) walks the aliased nodes every
+     * time. Reading an alias fails with YamlReadingException if all the
+     * aliases of the document, expanded, would add more than the given
+     * number of lines. The other createYamlInput methods allow 1,000,000.
+     * @param input InputStream.
+     * @param expansion Maximum number of lines added by expanding
+     *  the aliases of a document.
+     * @return YamlInput, reader of Yaml.
+     */
+    public static YamlInput createYamlInput(
+        final InputStream input, final long expansion
+    ) {
+        return new RtYamlInput(input, expansion);
+    }
+
+    /**
+     * Create a {@link YamlInput} from an InputStream, reporting what
+     * reading it, and looking up and printing the read nodes, costs
+     * to the given metrics.
+     * @param input InputStream.
+     * @param metrics YamlMetrics.
+     * @return YamlInput, reader of Yaml.
+     */
+    public static YamlInput createYamlInput(
+        final InputStream input, final YamlMetrics metrics
+    ) {
+        return new RtYamlInput(input, Anchors.EXPANSION_LIMIT, metrics);
+    }
+
+    /**
+     * Use the given metrics for all the inputs and printers created from
+     * now on, except the inputs given their own. The default is
+     * {@link YamlMetrics#NONE}.
+     * @param global YamlMetrics.
+     */
+    public static void useMetrics(final YamlMetrics global) {
+        Yaml.shared = global;
+    }
+
+    /**
+     * The metrics used by the inputs and printers which are not given
+     * their own.
+     * @return YamlMetrics.
+     */
+    static YamlMetrics metrics() {
+        return Yaml.shared;
+    }
+
 }
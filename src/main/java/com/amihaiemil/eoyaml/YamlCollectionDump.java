@@ -30,7 +30,9 @@ package com.amihaiemil.eoyaml;
 import java.util.Collection;
 
 /**
- * A collection represented as YamlNode.
+ * A collection represented as YamlNode. Objects (Maps, Collections, beans)
+ * which appear more times are dumped only once, with an anchor, and
+ * referred to by aliases afterwards.
  * @author Sherif Waly (sherifwaly95@gmail.com)
  * @version $Id$
  * @since 1.0.0
@@ -40,7 +42,7 @@ public final class YamlCollectionDump extends AbstractYamlDump {
     /**
      * Collection<Object> to dump.
      */
-    private Collection<Object> collection;
+    private final Collection<Object> collection;
 
     /**
      * Ctor.
@@ -52,13 +54,22 @@ public final class YamlCollectionDump extends AbstractYamlDump {
 
     @Override
     public YamlSequence represent() {
-        YamlSequenceBuilder builder = new RtYamlSequenceBuilder();
+        return (YamlSequence) DumpedObjects.root(
+            this.collection, false, this::representation
+        );
+    }
+
+    /**
+     * Represent the elements of the collection, as part of the object graph
+     * which is being dumped.
+     * @return YamlSequence.
+     */
+    YamlSequence representation() {
+        final YamlSequenceBuilder builder = new MutableYamlSequenceBuilder(
+            this.collection.size()
+        );
         for(final Object element: this.collection) {
-            if(super.leafProperty(element)) {
-                builder = builder.add(element.toString());
-            } else {
-                builder = builder.add(new YamlObjectDump(element).represent());
-            }
+            builder.add(YamlObjectDump.yamlNode(element));
         }
         return builder.build();
     }
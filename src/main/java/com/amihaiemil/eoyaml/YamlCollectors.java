@@ -0,0 +1,105 @@
+/**
+ * Copyright (c) 2016-2020, Mihai Emil Andronache
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ *  modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ *  list of conditions and the following disclaimer.
+ *  Redistributions in binary form must reproduce the above copyright notice,
+ *  this list of conditions and the following disclaimer in the documentation
+ *  and/or other materials provided with the distribution.
+ * Neither the name of the copyright holder nor the names of its
+ *  contributors may be used to endorse or promote products derived from
+ *  this software without specific prior written permission.
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT
+ * LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY
+ * OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF
+ * SUCH DAMAGE.
+ */
+package com.amihaiemil.eoyaml;
+
+import java.util.function.Function;
+import java.util.stream.Collector;
+
+/**
+ * {@link Collector}s which gather the elements of a Stream into YAML.
+ * They work with the mutable builders, so the nodes are added in place.
+ * Keys and values which are not YamlNodes are turned into plain scalars,
+ * using their String representation. Example:
+ * <pre>
+ *     final YamlMapping ages = people.stream().collect(
+ *         YamlCollectors.toYamlMapping(Person::name, Person::age)
+ *     );
+ * </pre>
+ * @author Mihai Andronache (amihaiemil@gmail.com)
+ * @version $Id$
+ * @since 4.2.0
+ */
+public final class YamlCollectors {
+
+    /**
+     * Hidden ctor.
+     */
+    private YamlCollectors(){}
+
+    /**
+     * Collect the elements into a YamlMapping. If more elements have
+     * the same key, the last one wins.
+     * @param keys Function giving the key of an element.
+     * @param values Function giving the value of an element.
+     * @param <T> Type of the elements.
+     * @return Collector of YamlMapping.
+     */
+    public static <T> Collector<T, ?, YamlMapping> toYamlMapping(
+        final Function<? super T, ?> keys,
+        final Function<? super T, ?> values
+    ) {
+        return Collector.of(
+            MutableYamlMappingBuilder::new,
+            (builder, element) -> builder.add(
+                YamlCollectors.node(keys.apply(element)),
+                YamlCollectors.node(values.apply(element))
+            ),
+            MutableYamlMappingBuilder::addAll,
+            MutableYamlMappingBuilder::build
+        );
+    }
+
+    /**
+     * Collect the elements into a YamlSequence.
+     * @param <T> Type of the elements.
+     * @return Collector of YamlSequence.
+     */
+    public static <T> Collector<T, ?, YamlSequence> toYamlSequence() {
+        return Collector.of(
+            MutableYamlSequenceBuilder::new,
+            (builder, element) -> builder.add(YamlCollectors.node(element)),
+            MutableYamlSequenceBuilder::addAll,
+            MutableYamlSequenceBuilder::build
+        );
+    }
+
+    /**
+     * Turn an Object into a YamlNode.
+     * @param value Object which may be a YamlNode already.
+     * @return YamlNode.
+     */
+    private static YamlNode node(final Object value) {
+        final YamlNode node;
+        if(value instanceof YamlNode) {
+            node = (YamlNode) value;
+        } else {
+            node = new PlainStringScalar(String.valueOf(value));
+        }
+        return node;
+    }
+}
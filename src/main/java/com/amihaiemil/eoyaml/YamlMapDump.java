@@ -28,10 +28,11 @@
 package com.amihaiemil.eoyaml;
 
 import java.util.Map;
-import java.util.Set;
 
 /**
- * A Map represented as YamlNode.
+ * A Map represented as YamlNode. Objects (Maps, Collections, beans)
+ * which appear more times are dumped only once, with an anchor, and
+ * referred to by aliases afterwards.
  * @author Sherif Waly (sherifwaly95@gmail.com)
  * @version $Id$
  * @since 1.0.0
@@ -42,7 +43,7 @@ public final class YamlMapDump extends AbstractYamlDump {
     /**
      * Map<Object, Object> to dump.
      */
-    private Map<Object, Object> map;
+    private final Map<Object, Object> map;
 
     /**
      * Ctor.
@@ -54,34 +55,26 @@ public final class YamlMapDump extends AbstractYamlDump {
 
     @Override
     public YamlMapping represent() {
-        YamlMappingBuilder mapBuilder = new RtYamlMappingBuilder();
-        Set<Map.Entry<Object, Object>> entries = this.map.entrySet();
-        for (final Map.Entry<Object, Object> entry : entries) {
-            Object key = entry.getKey();
-            Object value = entry.getValue();
-            if (super.leafProperty(key) && super.leafProperty(value)) {
-                mapBuilder = mapBuilder.add(
-                    key.toString(),
-                    value.toString()
-                );
-            } else if (super.leafProperty(key)) {
-                mapBuilder = mapBuilder.add(
-                    key.toString(),
-                    new YamlObjectDump(value).represent()
-                );
-            } else if (super.leafProperty(value)) {
-                mapBuilder = mapBuilder.add(
-                    new YamlObjectDump(key).represent(),
-                    value.toString()
-                );
-            } else {
-                mapBuilder = mapBuilder.add(
-                    new YamlObjectDump(key).represent(),
-                    new YamlObjectDump(value).represent()
-                );
-            }
-        }
-        return mapBuilder.build();
+        return (YamlMapping) DumpedObjects.root(
+            this.map, false, this::representation
+        );
     }
 
+    /**
+     * Represent the entries of the map, as part of the object graph
+     * which is being dumped.
+     * @return YamlMapping.
+     */
+    YamlMapping representation() {
+        final YamlMappingBuilder builder = new MutableYamlMappingBuilder(
+            this.map.size()
+        );
+        for (final Map.Entry<Object, Object> entry : this.map.entrySet()) {
+            builder.add(
+                YamlObjectDump.yamlNode(entry.getKey()),
+                YamlObjectDump.yamlNode(entry.getValue())
+            );
+        }
+        return builder.build();
+    }
 }
@@ -28,7 +28,10 @@
 package com.amihaiemil.eoyaml;
 
 /**
- * Builder of YamlMapping. Implementations should be immutable and thread-safe.
+ * Builder of YamlMapping. Implementations should be immutable and thread-safe,
+ * with the exception of the mutable builder given by
+ * {@link Yaml#createMutableYamlMappingBuilder()}, which adds in place
+ * and cannot be used anymore after building.
  * @author Mihai Andronache (amihaiemil@gmail.com)
  * @version $Id$
  * @since 1.0.0
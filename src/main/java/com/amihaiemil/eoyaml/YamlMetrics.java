@@ -0,0 +1,271 @@
+/**
+ * Copyright (c) 2016-2020, Mihai Emil Andronache
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ *  modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ *  list of conditions and the following disclaimer.
+ *  Redistributions in binary form must reproduce the above copyright notice,
+ *  this list of conditions and the following disclaimer in the documentation
+ *  and/or other materials provided with the distribution.
+ * Neither the name of the copyright holder nor the names of its
+ *  contributors may be used to endorse or promote products derived from
+ *  this software without specific prior written permission.
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT
+ * LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY
+ * OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF
+ * SUCH DAMAGE.
+ */
+package com.amihaiemil.eoyaml;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Listener of what reading, looking up and printing YAML costs: lines read,
+ * bytes decoded, lines iterated by the nodes, nodes materialized, key
+ * lookups, cache hits and misses and print calls, with their timings.
+ * Configure it on a YamlInput, with
+ * {@link Yaml#createYamlInput(java.io.InputStream, YamlMetrics)}, or
+ * globally, with {@link Yaml#useMetrics(YamlMetrics)}.<br><br>
+ * The default is {@link #NONE}, which does nothing and never reads the
+ * clock. {@link Counter} simply counts, so it can be polled and bridged
+ * into any metrics system. Implementations are called concurrently from
+ * every thread which reads YAML, so they have to be thread-safe and fast.
+ * @author Mihai Andronache (amihaiemil@gmail.com)
+ * @version $Id$
+ * @since 4.2.0
+ */
+public interface YamlMetrics {
+
+    /**
+     * Metrics which do nothing.
+     */
+    YamlMetrics NONE = new YamlMetrics.None();
+
+    /**
+     * Current time, used to measure the timings below.
+     * @return Time in nanoseconds, e.g. System.nanoTime().
+     */
+    long time();
+
+    /**
+     * An input was read.
+     * @param lines Number of read lines.
+     * @param bytes Number of decoded bytes.
+     * @param nanos Time it took.
+     */
+    void read(final long lines, final long bytes, final long nanos);
+
+    /**
+     * A line was iterated over by a read node (e.g. while looking for its
+     * children or for its comment).
+     */
+    void iterated();
+
+    /**
+     * A read node (mapping, sequence or scalar) was created.
+     */
+    void materialized();
+
+    /**
+     * A key was looked up in a read mapping.
+     * @param found Whether the key was found.
+     * @param nanos Time it took.
+     */
+    void lookedUp(final boolean found, final long nanos);
+
+    /**
+     * Lazily cached state (e.g. the index of a mapping's keys) was asked
+     * for.
+     * @param hit True if it was already cached, false if it was built.
+     */
+    void cached(final boolean hit);
+
+    /**
+     * A node was printed.
+     * @param chars Number of printed characters.
+     * @param nanos Time it took.
+     */
+    void printed(final long chars, final long nanos);
+
+    /**
+     * Metrics which do nothing.
+     * @author Mihai Andronache (amihaiemil@gmail.com)
+     * @version $Id$
+     * @since 4.2.0
+     */
+    final class None implements YamlMetrics {
+
+        @Override
+        public long time() {
+            return 0;
+        }
+
+        @Override
+        public void read(final long lines, final long bytes, final long nanos) {
+            //nothing to do
+        }
+
+        @Override
+        public void iterated() {
+            //nothing to do
+        }
+
+        @Override
+        public void materialized() {
+            //nothing to do
+        }
+
+        @Override
+        public void lookedUp(final boolean found, final long nanos) {
+            //nothing to do
+        }
+
+        @Override
+        public void cached(final boolean hit) {
+            //nothing to do
+        }
+
+        @Override
+        public void printed(final long chars, final long nanos) {
+            //nothing to do
+        }
+    }
+
+    /**
+     * Metrics which count everything, timings included, in nanoseconds.
+     * The counts are named "inputs", "lines", "bytes", "readNanos",
+     * "iterations", "nodes", "lookups", "found", "lookupNanos", "hits",
+     * "misses", "prints", "chars" and "printNanos".
+     * @author Mihai Andronache (amihaiemil@gmail.com)
+     * @version $Id$
+     * @since 4.2.0
+     */
+    final class Counter implements YamlMetrics {
+
+        /**
+         * The counters, by name.
+         */
+        private final Map<String, LongAdder> counters;
+
+        /**
+         * Ctor.
+         */
+        public Counter() {
+            final Map<String, LongAdder> named = new LinkedHashMap<>();
+            for(final String name : new String[] {
+                "inputs", "lines", "bytes", "readNanos", "iterations",
+                "nodes", "lookups", "found", "lookupNanos", "hits",
+                "misses", "prints", "chars", "printNanos",
+            }) {
+                named.put(name, new LongAdder());
+            }
+            this.counters = Collections.unmodifiableMap(named);
+        }
+
+        @Override
+        public long time() {
+            return System.nanoTime();
+        }
+
+        @Override
+        public void read(final long lines, final long bytes, final long nanos) {
+            this.counters.get("inputs").increment();
+            this.counters.get("lines").add(lines);
+            this.counters.get("bytes").add(bytes);
+            this.counters.get("readNanos").add(nanos);
+        }
+
+        @Override
+        public void iterated() {
+            this.counters.get("iterations").increment();
+        }
+
+        @Override
+        public void materialized() {
+            this.counters.get("nodes").increment();
+        }
+
+        @Override
+        public void lookedUp(final boolean found, final long nanos) {
+            this.counters.get("lookups").increment();
+            if(found) {
+                this.counters.get("found").increment();
+            }
+            this.counters.get("lookupNanos").add(nanos);
+        }
+
+        @Override
+        public void cached(final boolean hit) {
+            if(hit) {
+                this.counters.get("hits").increment();
+            } else {
+                this.counters.get("misses").increment();
+            }
+        }
+
+        @Override
+        public void printed(final long chars, final long nanos) {
+            this.counters.get("prints").increment();
+            this.counters.get("chars").add(chars);
+            this.counters.get("printNanos").add(nanos);
+        }
+
+        /**
+         * The current value of a count.
+         * @param name Name of the count, e.g. "lookups".
+         * @return Value.
+         * @throws IllegalArgumentException If there is no such count.
+         */
+        public long count(final String name) {
+            final LongAdder counter = this.counters.get(name);
+            if(counter == null) {
+                throw new IllegalArgumentException(
+                    "There is no count named " + name
+                    + ", only " + this.counters.keySet()
+                );
+            }
+            return counter.sum();
+        }
+
+        /**
+         * The current values of all the counts, in the order documented
+         * above.
+         * @return Map of names to values.
+         */
+        public Map<String, Long> counts() {
+            final Map<String, Long> counts = new LinkedHashMap<>();
+            for(final Map.Entry<String, LongAdder> counter
+                : this.counters.entrySet()) {
+                counts.put(counter.getKey(), counter.getValue().sum());
+            }
+            return counts;
+        }
+
+        /**
+         * Reset all the counts to zero.
+         */
+        public void reset() {
+            for(final LongAdder counter : this.counters.values()) {
+                counter.reset();
+            }
+        }
+
+        @Override
+        public String toString() {
+            return this.counts().toString();
+        }
+    }
+}
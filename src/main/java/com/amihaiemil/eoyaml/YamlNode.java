@@ -28,7 +28,15 @@
 package com.amihaiemil.eoyaml;
 
 /**
- * YAML node.
+ * YAML node.<br><br>
+ * The nodes of this library, read or built, are immutable and can be
+ * shared between threads without synchronization. Read nodes compute some
+ * things lazily (e.g. anchors, merged mappings); these are published
+ * without locks and, if threads race to compute them, they all get
+ * equivalent values. So are the builders, except for the mutable ones
+ * (see {@link Yaml#createMutableYamlMappingBuilder()} and
+ * {@link Yaml#createMutableYamlSequenceBuilder()}), which are not meant
+ * to be shared.
  * @author Mihai Andronache (amihaiemil@gmail.com)
  * @version $Id$
  * @since 1.0.0
@@ -29,12 +29,19 @@ package com.amihaiemil.eoyaml;
 
 import java.util.Collection;
 import java.util.Map;
-import java.util.Set;
-
-import org.apache.commons.beanutils.BeanMap;
+import java.util.Optional;
 
 /**
- * An Object represented as a YamlMapping.
+ * An Object represented as a YamlMapping. Its readable properties become
+ * the keys, sorted by name. The properties of each class are introspected
+ * only once, see {@link BeanProperties}.<br><br>
+ * If the object's class is annotated with {@link YamlDumpable} and its
+ * {@link YamlDumper} was generated at build time, the dumper is used
+ * instead of reflection.<br><br>
+ * Every object of the graph is dumped only once: if it is met again, it is
+ * dumped as an alias (e.g. {@code *id1}) of its first occurrence, which gets
+ * an anchor (e.g. {@code &id1}). This is how cycles are dumped, too, unless
+ * the dump is told to refuse them.
  * @author Mihai Andronache (amihaiemil@gmail.com)
  * @version $Id$
  * @since 1.0.0
@@ -42,54 +49,162 @@ import org.apache.commons.beanutils.BeanMap;
  */
 public final class YamlObjectDump extends AbstractYamlDump {
 
+    /**
+     * Generated dumper of each class, looked up only once.
+     */
+    private static final ClassValue<Optional<YamlDumper<Object>>> DUMPERS =
+        new ClassValue<Optional<YamlDumper<Object>>>() {
+            @Override
+            protected Optional<YamlDumper<Object>> computeValue(
+                final Class<?> type
+            ) {
+                return YamlObjectDump.generated(type);
+            }
+        };
+
     /**
      * Object to dump.
      */
-    private Object obj;
+    private final Object obj;
+
+    /**
+     * Should cycles be refused?
+     */
+    private final boolean refuseCycles;
 
     /**
      * Ctor.
      * @param obj Object to dump.
      */
     public YamlObjectDump(final Object obj) {
+        this(obj, false);
+    }
+
+    /**
+     * Ctor.
+     * @param obj Object to dump.
+     * @param refuseCycles If true, represent() will throw
+     *  IllegalStateException if the object graph has a cycle, instead of
+     *  dumping it with an anchor and an alias. Shared objects are still
+     *  dumped with anchors and aliases.
+     */
+    public YamlObjectDump(final Object obj, final boolean refuseCycles) {
         this.obj = obj;
+        this.refuseCycles = refuseCycles;
     }
 
     @Override
     public YamlMapping represent() {
-        YamlMappingBuilder builder = new RtYamlMappingBuilder();
-        Set<Map.Entry<Object, Object>> entries = new BeanMap(this.obj)
-            .entrySet();
-        for (final Map.Entry<Object, Object> entry : entries) {
-            String key = (String) entry.getKey();
-            if(!"class".equals(key)) {
-                Object value = entry.getValue();
-                if(super.leafProperty(value)) {
-                    builder = builder
-                        .add((String) entry.getKey(), value.toString());
-                } else {
-                    builder = builder
-                        .add((String) entry.getKey(), this.yamlNode(value));
-                }
-            }
+        return (YamlMapping) DumpedObjects.root(
+            this.obj, this.refuseCycles, this::representation
+        );
+    }
+
+    /**
+     * Represent the object, as part of the object graph which is
+     * being dumped.
+     * @return YamlMapping.
+     */
+    YamlMapping representation() {
+        final Optional<YamlDumper<Object>> dumper = DUMPERS.get(
+            this.obj.getClass()
+        );
+        final YamlMapping represented;
+        if(dumper.isPresent()) {
+            represented = dumper.get().dump(this.obj);
+        } else {
+            represented = this.reflected();
+        }
+        return represented;
+    }
+
+    /**
+     * Represent the object by reading its properties through reflection.
+     * @return YamlMapping.
+     */
+    private YamlMapping reflected() {
+        final BeanProperties properties = BeanProperties.forClass(
+            this.obj.getClass()
+        );
+        final YamlMappingBuilder builder = new MutableYamlMappingBuilder(
+            properties.size()
+        );
+        for (final BeanProperties.Property property : properties) {
+            builder.add(
+                property.name(),
+                YamlObjectDump.yamlNode(property.value(this.obj))
+            );
         }
         return builder.build();
     }
 
+    /**
+     * Find the generated dumper of the given class.
+     * @param type Class of the dumped objects.
+     * @return The generated YamlDumper, if any.
+     */
+    @SuppressWarnings("unchecked")
+    private static Optional<YamlDumper<Object>> generated(
+        final Class<?> type
+    ) {
+        Optional<YamlDumper<Object>> dumper = Optional.empty();
+        if(type.isAnnotationPresent(YamlDumpable.class)) {
+            final String binary = type.getName();
+            final int simple = binary.lastIndexOf('.') + 1;
+            final String name = binary.substring(0, simple)
+                + binary.substring(simple).replace('$', '_')
+                + "YamlDumper";
+            try {
+                dumper = Optional.of(
+                    (YamlDumper<Object>) Class
+                        .forName(name, true, type.getClassLoader())
+                        .getDeclaredConstructor()
+                        .newInstance()
+                );
+            } catch (final ClassNotFoundException ex) {
+                dumper = Optional.empty();
+            } catch (final ReflectiveOperationException ex) {
+                throw new IllegalStateException(
+                    "Could not instantiate the dumper " + name, ex
+                );
+            }
+        }
+        return dumper;
+    }
 
     /**
-     * Convert a complex property to a Yaml node.
+     * Convert a property to a Yaml node. Enums are represented by
+     * their names, so {@link YamlObjectLoad} can read them back.
      * @param property The property to represent as a YamlNode
-     * @return YamlNode representation of
+     * @return YamlNode representation of the property.
      */
-    private YamlNode yamlNode(final Object property) {
-        YamlNode node;
-        if (property instanceof Map) {
-            node = new YamlMapDump((Map) property).represent();
+    static YamlNode yamlNode(final Object property) {
+        final YamlNode node;
+        if (property == null) {
+            node = Yaml.createYamlScalarBuilder()
+                .addLine("null")
+                .buildPlainScalar();
+        } else if (property instanceof Enum) {
+            node = Yaml.createYamlScalarBuilder()
+                .addLine(((Enum<?>) property).name())
+                .buildPlainScalar();
+        } else if (AbstractYamlDump.leafValue(property)) {
+            node = Yaml.createYamlScalarBuilder()
+                .addLine(property.toString())
+                .buildPlainScalar();
+        } else if (property instanceof Map) {
+            node = DumpedObjects.nested(
+                property, new YamlMapDump((Map) property)::representation
+            );
         } else if (property instanceof Collection<?>) {
-            node = new YamlCollectionDump((Collection) property).represent();
+            node = DumpedObjects.nested(
+                property,
+                new YamlCollectionDump((Collection) property)::representation
+            );
         } else {
-            node = new YamlObjectDump(property).represent();
+            node = DumpedObjects.nested(
+                property, new YamlObjectDump(property)::representation
+            );
         }
         return node;
     }
@@ -0,0 +1,110 @@
+/**
+ * Copyright (c) 2016-2020, Mihai Emil Andronache
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ *  modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ *  list of conditions and the following disclaimer.
+ *  Redistributions in binary form must reproduce the above copyright notice,
+ *  this list of conditions and the following disclaimer in the documentation
+ *  and/or other materials provided with the distribution.
+ * Neither the name of the copyright holder nor the names of its
+ *  contributors may be used to endorse or promote products derived from
+ *  this software without specific prior written permission.
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT
+ * LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY
+ * OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF
+ * SUCH DAMAGE.
+ */
+package com.amihaiemil.eoyaml;
+
+import com.amihaiemil.eoyaml.exceptions.YamlReadingException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A YamlMapping loaded into a Java object, the reverse of
+ * {@link YamlObjectDump}. Example:
+ * <pre>
+ *     final Server server = new YamlObjectLoad&lt;&gt;(Server.class).load(
+ *         Yaml.createYamlInput(file).readYamlMapping()
+ *     );
+ * </pre>
+ * The object can be a Java Bean (public no-args constructor and setters),
+ * a record or have a constructor annotated with
+ * {@code java.beans.ConstructorProperties}. Scalars are converted to
+ * Strings, primitives and their wrappers, BigInteger, BigDecimal, enums,
+ * LocalDate and LocalDateTime (just like {@link YamlMapping#integer(String)}
+ * or {@link YamlMapping#date(String)} do it), sequences to Lists and Sets,
+ * mappings to Maps with String keys or to nested objects. Properties which
+ * are missing from the mapping keep their default values.<br><br>
+ * How to bind each class is figured out only once and cached, so loading
+ * many objects of the same class, e.g. with {@link #loadAll(YamlSequence)},
+ * only reads the values and calls the constructors and setters.
+ * @param <T> Type of the loaded objects.
+ * @author Mihai Andronache (amihaiemil@gmail.com)
+ * @version $Id$
+ * @since 4.2.0
+ */
+public final class YamlObjectLoad<T> {
+
+    /**
+     * Type of the loaded objects.
+     */
+    private final Class<T> type;
+
+    /**
+     * How to bind the objects.
+     */
+    private final BindingPlan plan;
+
+    /**
+     * Ctor.
+     * @param type Type of the loaded objects.
+     * @throws IllegalArgumentException If the objects cannot be created.
+     */
+    public YamlObjectLoad(final Class<T> type) {
+        this.type = type;
+        this.plan = BindingPlan.forClass(type);
+    }
+
+    /**
+     * Load the mapping into a new object.
+     * @param mapping YamlMapping.
+     * @return The loaded object.
+     * @throws YamlReadingException If a value does not fit the type of
+     *  its property (e.g. a sequence given for an int).
+     */
+    public T load(final YamlMapping mapping) {
+        return this.type.cast(this.plan.bind(mapping));
+    }
+
+    /**
+     * Load each mapping of the sequence into a new object.
+     * @param sequence YamlSequence of mappings.
+     * @return The loaded objects, in order.
+     * @throws YamlReadingException If an element is not a mapping or
+     *  a value does not fit the type of its property.
+     */
+    public List<T> loadAll(final YamlSequence sequence) {
+        final List<T> loaded = new ArrayList<>();
+        for(final YamlNode node : sequence) {
+            if(!(node instanceof YamlMapping)) {
+                throw new YamlReadingException(
+                    "Expected a sequence of mappings, but found: " + node
+                );
+            }
+            loaded.add(this.load((YamlMapping) node));
+        }
+        return loaded;
+    }
+}
@@ -0,0 +1,296 @@
+/**
+ * Copyright (c) 2016-2020, Mihai Emil Andronache
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ *  modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ *  list of conditions and the following disclaimer.
+ *  Redistributions in binary form must reproduce the above copyright notice,
+ *  this list of conditions and the following disclaimer in the documentation
+ *  and/or other materials provided with the distribution.
+ * Neither the name of the copyright holder nor the names of its
+ *  contributors may be used to endorse or promote products derived from
+ *  this software without specific prior written permission.
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT
+ * LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY
+ * OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF
+ * SUCH DAMAGE.
+ */
+package com.amihaiemil.eoyaml;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A revision of a YAML document (a block mapping), which can be revised
+ * cheaply. Use it like this:
+ * <pre>
+ *     YamlRevision config = new YamlRevision(text);
+ *     YamlMapping mapping = config.mapping();
+ *     //later, when the text changed:
+ *     config = config.revised(newText);
+ *     mapping = config.mapping();
+ * </pre>
+ * The new text is compared line by line with the previous one. The
+ * key:value pairs whose lines did not change keep the very same value
+ * nodes they had in the previous revision; a pair whose key line did not
+ * change, but whose nested mapping did, is assembled again from its own
+ * pairs, and so on, down to the smallest pairs touched by the edit, which
+ * are the only ones read again. Besides splitting the new text into
+ * lines, the work is proportional to the size of the edit and to the
+ * number of pairs around it.<br><br>
+ * The mapping of a plain block mapping is built: an immutable mapping of
+ * the (read or assembled) values, like the one of a
+ * {@link YamlMappingBuilder}. Documents which are not plain block
+ * mappings, or which use anchors, aliases or merge keys, are read
+ * entirely, every time: their mapping is read lazily, like the one of
+ * {@link YamlInput#readYamlMapping()}. Either way, the mapping is equal
+ * to, and printed the same as, the one read from the whole text.<br><br>
+ * This class is immutable and thread-safe.
+ * @author Mihai Andronache (amihaiemil@gmail.com)
+ * @version $Id$
+ * @since 4.2.0
+ */
+public final class YamlRevision {
+
+    /**
+     * Lines of this revision.
+     */
+    private final List<YamlLine> lines;
+
+    /**
+     * Top-level pairs of this revision, with their values, null if the
+     * document was read entirely.
+     */
+    private final List<LineBlock> blocks;
+
+    /**
+     * The YamlMapping of this revision.
+     */
+    private final YamlMapping mapping;
+
+    /**
+     * Ctor.
+     * @param yaml First revision of the YAML text.
+     */
+    public YamlRevision(final String yaml) {
+        this(YamlRevision.split(yaml), null);
+    }
+
+    /**
+     * Ctor.
+     * @param lines Lines of this revision.
+     * @param previous Previous revision, null if there is none.
+     */
+    private YamlRevision(
+        final List<YamlLine> lines, final YamlRevision previous
+    ) {
+        this.lines = lines;
+        List<LineBlock> top = null;
+        if(YamlRevision.plain(lines)) {
+            top = LineBlock.blocks(lines, 0, lines.size());
+        }
+        if(top == null) {
+            this.blocks = null;
+            this.mapping = new ReadYamlMapping(
+                new AllYamlLines(Anchors.decorate(lines))
+            );
+        } else if(previous == null || previous.blocks == null) {
+            this.blocks = new Revised(
+                Collections.emptyList(), new ChangedLines(lines)
+            ).resolved(top);
+            this.mapping = Revised.mapping(
+                this.blocks, LineBlock.comment(lines, 0)
+            );
+        } else {
+            final ChangedLines diff = new ChangedLines(previous.lines, lines);
+            if(diff.none()) {
+                this.blocks = previous.blocks;
+                this.mapping = previous.mapping;
+            } else {
+                this.blocks = new Revised(previous.blocks, diff).resolved(top);
+                this.mapping = Revised.mapping(
+                    this.blocks, LineBlock.comment(lines, 0)
+                );
+            }
+        }
+    }
+
+    /**
+     * The YamlMapping of this revision.
+     * @return YamlMapping.
+     */
+    public YamlMapping mapping() {
+        return this.mapping;
+    }
+
+    /**
+     * A new revision of the text.
+     * @param yaml New revision of the YAML text.
+     * @return YamlRevision.
+     */
+    public YamlRevision revised(final String yaml) {
+        return new YamlRevision(YamlRevision.split(yaml), this);
+    }
+
+    /**
+     * Split the text into lines, like {@link RtYamlInput} does.
+     * @param yaml Text.
+     * @return Lines which are not empty.
+     */
+    private static List<YamlLine> split(final String yaml) {
+        final List<YamlLine> lines = new ArrayList<>();
+        try (BufferedReader reader = new BufferedReader(
+            new StringReader(yaml)
+        )) {
+            String line;
+            int number = 0;
+            while ((line = reader.readLine()) != null) {
+                final YamlLine current = new RtYamlLine(line, number);
+                if(!current.trimmed().isEmpty()) {
+                    lines.add(current);
+                }
+                number = number + 1;
+            }
+        } catch (final IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+        return lines;
+    }
+
+    /**
+     * Are the lines free of anchors, aliases and merge keys?
+     * @param lines Lines.
+     * @return True or false.
+     */
+    private static boolean plain(final List<YamlLine> lines) {
+        boolean plain = true;
+        for(final YamlLine line : lines) {
+            final String trimmed = line.trimmed();
+            if(trimmed.startsWith("<<")) {
+                plain = false;
+            } else if(trimmed.indexOf('&') >= 0 || trimmed.indexOf('*') >= 0) {
+                final List<YamlLine> decorated = Anchors.decorate(
+                    Collections.singletonList(line)
+                );
+                plain = decorated.size() == 1 && decorated.get(0) == line;
+            }
+            if(!plain) {
+                break;
+            }
+        }
+        return plain;
+    }
+
+    /**
+     * Pairs of a mapping from the new revision, matched with the pairs
+     * of the same mapping from the previous revision.
+     * @author Mihai Andronache (amihaiemil@gmail.com)
+     * @version $Id$
+     * @since 4.2.0
+     */
+    private static final class Revised {
+
+        /**
+         * Pairs of the previous revision, by first line.
+         */
+        private final Map<Integer, LineBlock> previous;
+
+        /**
+         * Changed lines.
+         */
+        private final ChangedLines diff;
+
+        /**
+         * Ctor.
+         * @param previous Pairs of the mapping, in the previous revision.
+         * @param diff Changed lines.
+         */
+        Revised(final List<LineBlock> previous, final ChangedLines diff) {
+            this.previous = LineBlock.byStart(previous);
+            this.diff = diff;
+        }
+
+        /**
+         * Give the pairs of the new revision their values.
+         * @param blocks Pairs of the new revision, without values.
+         * @return New pairs, with values.
+         */
+        List<LineBlock> resolved(final List<LineBlock> blocks) {
+            final List<LineBlock> resolved = new ArrayList<>(blocks.size());
+            for(final LineBlock block : blocks) {
+                resolved.add(this.revised(block));
+            }
+            return resolved;
+        }
+
+        /**
+         * Assemble the mapping of the given pairs. As when the whole
+         * document is read, the keys have no comments: the comment above
+         * a key belongs to its value.
+         * @param blocks Pairs, with values.
+         * @param comment Comment of the mapping.
+         * @return YamlMapping.
+         */
+        static YamlMapping mapping(
+            final List<LineBlock> blocks, final String comment
+        ) {
+            final YamlMappingBuilder builder = new MutableYamlMappingBuilder(
+                blocks.size()
+            );
+            for(final LineBlock block : blocks) {
+                builder.add(block.key(), block.value());
+            }
+            return builder.build(comment);
+        }
+
+        /**
+         * Give the pair its value from the previous revision, if its lines
+         * did not change, or assemble its nested mapping, if only that
+         * changed. Otherwise, its value is read from its lines.
+         * @param block Pair of the new revision, without value.
+         * @return New pair, with value.
+         */
+        private LineBlock revised(final LineBlock block) {
+            final LineBlock old = this.previous.get(
+                this.diff.old(block.start())
+            );
+            LineBlock revised = null;
+            if(old != null && old.keyLine() == this.diff.old(block.keyLine())) {
+                final List<LineBlock> children = block.children();
+                final List<LineBlock> before = old.children();
+                List<LineBlock> nested = null;
+                if(children != null && before != null) {
+                    nested = new Revised(before, this.diff).resolved(children);
+                }
+                if(this.diff.unchanged(block.start(), block.end())
+                    && old.end() == this.diff.old(block.end() - 1) + 1) {
+                    revised = block.with(old.value(), nested);
+                } else if(nested != null) {
+                    revised = block.with(
+                        Revised.mapping(nested, block.comment()), nested
+                    );
+                }
+            }
+            if(revised == null) {
+                revised = block.read();
+            }
+            return revised;
+        }
+    }
+}
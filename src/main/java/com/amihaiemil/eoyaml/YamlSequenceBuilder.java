@@ -28,7 +28,10 @@
 package com.amihaiemil.eoyaml;
 
 /**
- * Builder of YamlSequence. Implementations should be immutable and thread-safe.
+ * Builder of YamlSequence. Implementations should be immutable and
+ * thread-safe, with the exception of the mutable builder given by
+ * {@link Yaml#createMutableYamlSequenceBuilder()}, which adds in place
+ * and cannot be used anymore after building.
  * @author Salavat.Yalalov (s.yalalov@gmail.com)
  * @version $Id$
  * @since 1.0.0
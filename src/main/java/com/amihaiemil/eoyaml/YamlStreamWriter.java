@@ -0,0 +1,86 @@
+/**
+ * Copyright (c) 2016-2020, Mihai Emil Andronache
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ *  modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ *  list of conditions and the following disclaimer.
+ *  Redistributions in binary form must reproduce the above copyright notice,
+ *  this list of conditions and the following disclaimer in the documentation
+ *  and/or other materials provided with the distribution.
+ * Neither the name of the copyright holder nor the names of its
+ *  contributors may be used to endorse or promote products derived from
+ *  this software without specific prior written permission.
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT
+ * LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY
+ * OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF
+ * SUCH DAMAGE.
+ */
+package com.amihaiemil.eoyaml;
+
+import java.io.IOException;
+import java.util.Iterator;
+import java.util.stream.Stream;
+
+/**
+ * Writer of a YamlStream, document by document. Each document is
+ * written as soon as it is given, starting with "---", so an unbounded
+ * number of documents can be written in bounded memory. The output is
+ * the same as the one of the equivalent YamlStream's toString(), except
+ * for an empty stream, which is not written at all.
+ * @author Mihai Andronache (amihaiemil@gmail.com)
+ * @version $Id$
+ * @since 4.2.0
+ */
+public interface YamlStreamWriter {
+
+    /**
+     * Write a document.
+     * @param document YamlNode (mapping or sequence).
+     * @return This writer.
+     * @throws IOException If the document cannot be written.
+     */
+    YamlStreamWriter write(final YamlNode document) throws IOException;
+
+    /**
+     * Write all the given documents.
+     * @param documents Iterator of YamlNodes.
+     * @return This writer.
+     * @throws IOException If a document cannot be written.
+     */
+    default YamlStreamWriter write(
+        final Iterator<? extends YamlNode> documents
+    ) throws IOException {
+        while(documents.hasNext()) {
+            this.write(documents.next());
+        }
+        return this;
+    }
+
+    /**
+     * Write all the given documents.
+     * @param documents Stream of YamlNodes.
+     * @return This writer.
+     * @throws IOException If a document cannot be written.
+     */
+    default YamlStreamWriter write(
+        final Stream<? extends YamlNode> documents
+    ) throws IOException {
+        return this.write(documents.iterator());
+    }
+
+    /**
+     * Flush the destination, if it is Flushable.
+     * @throws IOException If the destination cannot be flushed.
+     */
+    void flush() throws IOException;
+}
@@ -0,0 +1,150 @@
+/**
+ * Copyright (c) 2016-2020, Mihai Emil Andronache
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ *  modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ *  list of conditions and the following disclaimer.
+ *  Redistributions in binary form must reproduce the above copyright notice,
+ *  this list of conditions and the following disclaimer in the documentation
+ *  and/or other materials provided with the distribution.
+ * Neither the name of the copyright holder nor the names of its
+ *  contributors may be used to endorse or promote products derived from
+ *  this software without specific prior written permission.
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT
+ * LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY
+ * OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF
+ * SUCH DAMAGE.
+ */
+package com.amihaiemil.eoyaml;
+
+import java.io.IOException;
+import java.util.List;
+
+/**
+ * Writer of YAML events. Use it to write big YAML documents
+ * incrementally, without building the YamlNodes first. Example:
+ * <pre>
+ *     Yaml.createYamlWriter(writer)
+ *         .startMapping()
+ *         .key("architect").scalar("amihaiemil")
+ *         .key("developers")
+ *         .startSequence()
+ *         .scalar("rultor")
+ *         .endSequence()
+ *         .endMapping()
+ *         .end();
+ * </pre>
+ * The output is the same as the one of the equivalent YamlNode's toString().
+ * An empty mapping or sequence is written as nothing at all. If the events
+ * come in the wrong order (e.g. a scalar where a key is expected), an
+ * {@link IllegalStateException} is thrown.
+ * @author Mihai Andronache (amihaiemil@gmail.com)
+ * @version $Id$
+ * @since 4.2.0
+ */
+public interface YamlWriter {
+
+    /**
+     * Start a YAML document. Only top-level documents are allowed, they
+     * are written as a YamlStream.
+     * @return This writer.
+     * @throws IOException If the start marker cannot be written.
+     */
+    YamlWriter startDocument() throws IOException;
+
+    /**
+     * End the current YAML document. A document must contain a node.
+     * @return This writer.
+     * @throws IOException If the document cannot be written.
+     */
+    YamlWriter endDocument() throws IOException;
+
+    /**
+     * Start a YamlMapping.
+     * @return This writer.
+     * @throws IOException If the mapping cannot be written.
+     */
+    YamlWriter startMapping() throws IOException;
+
+    /**
+     * End the current YamlMapping.
+     * @return This writer.
+     * @throws IOException If the mapping cannot be written.
+     */
+    YamlWriter endMapping() throws IOException;
+
+    /**
+     * Start a YamlSequence.
+     * @return This writer.
+     * @throws IOException If the sequence cannot be written.
+     */
+    YamlWriter startSequence() throws IOException;
+
+    /**
+     * End the current YamlSequence.
+     * @return This writer.
+     * @throws IOException If the sequence cannot be written.
+     */
+    YamlWriter endSequence() throws IOException;
+
+    /**
+     * Write a key of the current YamlMapping. It has to be followed by
+     * its value: a scalar, a mapping or a sequence.
+     * @param key Key.
+     * @return This writer.
+     * @throws IOException If the key cannot be written.
+     */
+    YamlWriter key(final String key) throws IOException;
+
+    /**
+     * Write a plain scalar. Any new lines are replaced with spaces.
+     * @param value Value of the scalar.
+     * @return This writer.
+     * @throws IOException If the scalar cannot be written.
+     */
+    YamlWriter scalar(final String value) throws IOException;
+
+    /**
+     * Write a folded block scalar.
+     * @param lines Lines of the scalar.
+     * @return This writer.
+     * @throws IOException If the scalar cannot be written.
+     */
+    YamlWriter foldedBlockScalar(final List<String> lines) throws IOException;
+
+    /**
+     * Write a literal block scalar.
+     * @param lines Lines of the scalar.
+     * @return This writer.
+     * @throws IOException If the scalar cannot be written.
+     */
+    YamlWriter literalBlockScalar(final List<String> lines)
+        throws IOException;
+
+    /**
+     * Write a comment. It refers to whatever is written next.
+     * Blank comments are ignored.
+     * @param comment Comment.
+     * @return This writer.
+     * @throws IOException If the comment cannot be written.
+     */
+    YamlWriter comment(final String comment) throws IOException;
+
+    /**
+     * Finish writing. All the mappings, sequences and documents must be
+     * ended. The destination is flushed, if it is Flushable, but it is
+     * not closed.
+     * @throws IOException If the destination cannot be flushed.
+     */
+    void end() throws IOException;
+}
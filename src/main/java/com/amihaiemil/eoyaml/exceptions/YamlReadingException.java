@@ -49,4 +49,13 @@ public final class YamlReadingException extends RuntimeException {
     public YamlReadingException(final String message) {
         super(message); 
     }
+
+    /**
+     * Constructor with parameters.
+     * @param message Exception message.
+     * @param cause What caused this exception.
+    */
+    public YamlReadingException(final String message, final Throwable cause) {
+        super(message, cause);
+    }
 }
@@ -0,0 +1,320 @@
+/**
+ * Copyright (c) 2016-2020, Mihai Emil Andronache
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ *  modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ *  list of conditions and the following disclaimer.
+ *  Redistributions in binary form must reproduce the above copyright notice,
+ *  this list of conditions and the following disclaimer in the documentation
+ *  and/or other materials provided with the distribution.
+ * Neither the name of the copyright holder nor the names of its
+ *  contributors may be used to endorse or promote products derived from
+ *  this software without specific prior written permission.
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT
+ * LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY
+ * OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF
+ * SUCH DAMAGE.
+ */
+package com.amihaiemil.eoyaml.extensions;
+
+import com.amihaiemil.eoyaml.BaseYamlMapping;
+import com.amihaiemil.eoyaml.Comment;
+import com.amihaiemil.eoyaml.Comments;
+import com.amihaiemil.eoyaml.YamlMapping;
+import com.amihaiemil.eoyaml.YamlNode;
+import com.amihaiemil.eoyaml.YamlSequence;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Several YAML Mappings seen as one, each layer overriding the ones
+ * before it. Nothing is copied: a key is looked up in the layers, from
+ * the last one to the first one. Use it like this:
+ * <pre>
+ *     final YamlMapping config = new LayeredYamlMapping(
+ *         defaults, environment, overrides
+ *     );
+ *     //or, merging the nested mappings too:
+ *     final YamlMapping config = new LayeredYamlMapping(
+ *         Arrays.asList(defaults, environment, overrides), true
+ *     );
+ * </pre>
+ * The keys are those of the first layer, followed by the new ones of each
+ * next layer. They are found once, so the layers are expected not to
+ * change. The comment of a key is taken from the layer its value
+ * comes from or, if it has none there, from the layers below.
+ * @author Mihai Andronache (amihaiemil@gmail.com)
+ * @version $Id$
+ * @since 4.2.0
+ */
+public final class LayeredYamlMapping extends BaseYamlMapping {
+
+    /**
+     * Layers, from the one with the lowest precedence to the one with
+     * the highest.
+     */
+    private final List<YamlMapping> layers;
+
+    /**
+     * Should the nested mappings be layered too?
+     */
+    private final boolean deep;
+
+    /**
+     * Keys of all the layers, found when first needed.
+     */
+    private volatile Set<YamlNode> merged;
+
+    /**
+     * Layered nested mappings, by key.
+     */
+    private final Map<YamlNode, YamlMapping> nested;
+
+    /**
+     * Constructor. Only the keys are layered: the value of a key is taken
+     * whole from the last layer which has it.
+     * @param layers Layers, from the one with the lowest precedence to the
+     *  one with the highest.
+     */
+    public LayeredYamlMapping(final YamlMapping... layers) {
+        this(Arrays.asList(layers), false);
+    }
+
+    /**
+     * Constructor.
+     * @param layers Layers, from the one with the lowest precedence to the
+     *  one with the highest. Null layers are ignored.
+     * @param deep If true, the nested mappings under the same key are
+     *  layered too, until a layer has something else than a mapping under
+     *  that key.
+     */
+    public LayeredYamlMapping(
+        final List<YamlMapping> layers,
+        final boolean deep
+    ) {
+        super(new KeyComments(layers));
+        this.layers = new ArrayList<>(layers.size());
+        for(final YamlMapping layer : layers) {
+            if(layer != null) {
+                this.layers.add(layer);
+            }
+        }
+        if(this.layers.isEmpty()) {
+            throw new IllegalArgumentException(
+                "At least one layer should not be null!"
+            );
+        }
+        this.deep = deep;
+        this.nested = new ConcurrentHashMap<>();
+    }
+
+    @Override
+    public Set<YamlNode> keys() {
+        Set<YamlNode> keys = this.merged;
+        if(keys == null) {
+            keys = new LinkedHashSet<>();
+            for(final YamlMapping layer : this.layers) {
+                keys.addAll(layer.keys());
+            }
+            keys = Collections.unmodifiableSet(keys);
+            this.merged = keys;
+        }
+        return keys;
+    }
+
+    @Override
+    public Collection<YamlNode> values() {
+        final List<YamlNode> values = new ArrayList<>();
+        for(final YamlNode key : this.keys()) {
+            values.add(this.value(key));
+        }
+        return values;
+    }
+
+    @Override
+    public YamlNode value(final YamlNode key) {
+        YamlNode value = null;
+        for(int idx = this.layers.size() - 1; idx >= 0; --idx) {
+            value = this.layers.get(idx).value(key);
+            if(value != null) {
+                if(this.deep && value instanceof YamlMapping && idx > 0) {
+                    value = this.nested.computeIfAbsent(
+                        key, name -> this.layered(name)
+                    );
+                }
+                break;
+            }
+        }
+        return value;
+    }
+
+    @Override
+    public Comment comment() {
+        return this.layers.get(0).comment();
+    }
+
+    @Override
+    public YamlMapping yamlMapping(final YamlNode key) {
+        final YamlMapping found;
+        final YamlNode value = this.value(key);
+        if(value instanceof YamlMapping) {
+            found = (YamlMapping) value;
+        } else {
+            found = null;
+        }
+        return found;
+    }
+
+    @Override
+    public YamlSequence yamlSequence(final YamlNode key) {
+        return this.owner(key).yamlSequence(key);
+    }
+
+    @Override
+    public String string(final YamlNode key) {
+        return this.owner(key).string(key);
+    }
+
+    @Override
+    public String foldedBlockScalar(final YamlNode key) {
+        return this.owner(key).foldedBlockScalar(key);
+    }
+
+    @Override
+    public Collection<String> literalBlockScalar(final YamlNode key) {
+        return this.owner(key).literalBlockScalar(key);
+    }
+
+    /**
+     * The last layer which has the given key.
+     * @param key Key.
+     * @return YamlMapping, the first layer if none has the key.
+     */
+    private YamlMapping owner(final YamlNode key) {
+        return LayeredYamlMapping.owner(this.layers, key);
+    }
+
+    /**
+     * The last of the given layers which has the given key.
+     * @param layers Layers, from the one with the lowest precedence to the
+     *  one with the highest.
+     * @param key Key.
+     * @return YamlMapping, the first layer if none has the key.
+     */
+    private static YamlMapping owner(
+        final List<YamlMapping> layers, final YamlNode key
+    ) {
+        YamlMapping owner = layers.get(0);
+        for(int idx = layers.size() - 1; idx > 0; --idx) {
+            if(layers.get(idx).value(key) != null) {
+                owner = layers.get(idx);
+                break;
+            }
+        }
+        return owner;
+    }
+
+    /**
+     * Layer the nested mappings under the given key, from the last layer
+     * down to the first one which has something else under the key.
+     * @param key Key.
+     * @return YamlMapping.
+     */
+    private YamlMapping layered(final YamlNode key) {
+        final List<YamlMapping> mappings = new ArrayList<>();
+        for(int idx = this.layers.size() - 1; idx >= 0; --idx) {
+            final YamlNode value = this.layers.get(idx).value(key);
+            if(value instanceof YamlMapping) {
+                mappings.add(0, (YamlMapping) value);
+            } else if(value != null) {
+                break;
+            }
+        }
+        final YamlMapping layered;
+        if(mappings.size() == 1) {
+            layered = mappings.get(0);
+        } else {
+            layered = new LayeredYamlMapping(mappings, true);
+        }
+        return layered;
+    }
+
+    /**
+     * Comments of the keys, each taken from the last layer which has
+     * the key with a comment.
+     * @author Mihai Andronache (amihaiemil@gmail.com)
+     * @version $Id$
+     * @since 4.2.0
+     */
+    private static final class KeyComments implements Comments {
+
+        /**
+         * Layers, from the one with the lowest precedence to the one with
+         * the highest.
+         */
+        private final List<YamlMapping> layers;
+
+        /**
+         * Constructor.
+         * @param layers Layers, from the one with the lowest precedence to
+         *  the one with the highest. Null layers are ignored.
+         */
+        KeyComments(final List<YamlMapping> layers) {
+            this.layers = new ArrayList<>(layers.size());
+            for(final YamlMapping layer : layers) {
+                if(layer != null) {
+                    this.layers.add(layer);
+                }
+            }
+        }
+
+        @Override
+        public Comment referringTo(final YamlNode key) {
+            Comment found = LayeredYamlMapping.owner(this.layers, key)
+                .comments().referringTo(key);
+            for(int idx = this.layers.size() - 1; idx >= 0; --idx) {
+                final YamlMapping layer = this.layers.get(idx);
+                final Comment comment = layer.comments().referringTo(key);
+                if(layer.value(key) != null && !comment.value().isEmpty()) {
+                    found = comment;
+                    break;
+                }
+            }
+            return found;
+        }
+
+        @Override
+        public Iterator<Comment> iterator() {
+            final Set<YamlNode> keys = new LinkedHashSet<>();
+            for(final YamlMapping layer : this.layers) {
+                keys.addAll(layer.keys());
+            }
+            final List<Comment> comments = new ArrayList<>();
+            for(final YamlNode key : keys) {
+                final Comment comment = this.referringTo(key);
+                if(!comment.value().isEmpty()) {
+                    comments.add(comment);
+                }
+            }
+            return comments.iterator();
+        }
+    }
+}
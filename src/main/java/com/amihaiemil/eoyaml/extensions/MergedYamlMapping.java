@@ -29,7 +29,9 @@ package com.amihaiemil.eoyaml.extensions;
 
 import com.amihaiemil.eoyaml.*;
 
+import java.util.Arrays;
 import java.util.Collection;
+import java.util.List;
 import java.util.Set;
 import java.util.function.Supplier;
 
@@ -51,10 +53,8 @@ import java.util.function.Supplier;
  *         true|false
  *     );
  * </pre>
- * @todo #261:30min Find a way to also "merge" the comments from the mappings'
- *  key:value pairs. The comment referring to the YamlMapping itself will
- *  either be taken from the original YamlMapping or a new one can be accepted
- *  via the constructor.
+ * The mappings are not copied, see {@link LayeredYamlMapping}. The comments
+ * of the keys are merged the same way as their values.
  * @author Mihai Andronache (amihaiemil@gmail.com)
  * @version $Id$
  * @since 4.1.0
@@ -64,7 +64,7 @@ public final class MergedYamlMapping extends BaseYamlMapping {
     /**
      * The merged YamlMapping.
      */
-    private YamlMapping merged;
+    private final YamlMapping merged;
 
     /**
      * Constructor. By default, conflicting keys will not be overriden.
@@ -117,13 +117,16 @@ public final class MergedYamlMapping extends BaseYamlMapping {
         final YamlMapping changed,
         final boolean overrideConflicts
     ) {
-        if(original == null && changed == null) {
-            throw new IllegalArgumentException(
-                "Both mappings cannot be null!"
-            );
-        } else {
-            this.merged = merge(original, changed, overrideConflicts);
-        }
+        this(MergedYamlMapping.merge(original, changed, overrideConflicts));
+    }
+
+    /**
+     * Constructor.
+     * @param merged The merged YamlMapping.
+     */
+    private MergedYamlMapping(final YamlMapping merged) {
+        super(merged.comments());
+        this.merged = merged;
     }
 
     @Override
@@ -172,43 +175,32 @@ public final class MergedYamlMapping extends BaseYamlMapping {
     }
 
     /**
-     * Merge the two mappings.
+     * Merge the two mappings. If conflicts are not overriden, the original
+     * mapping is also the last layer: its values win, while its keys
+     * still come first.
      * @param original Original mapping.
      * @param changed Changed mapping.
      * @param overrideConflicts Should conflicting keys be overriden or not?
      * @return Merged mapping.
+     * @throws IllegalArgumentException If both mappings are null.
      */
     private static YamlMapping merge(
         final YamlMapping original,
         final YamlMapping changed,
         final boolean overrideConflicts
     ) {
-        final YamlMapping merged;
-        if(original == null || original.keys().isEmpty()) {
-            merged = changed;
-        } else if (changed == null || changed.keys().isEmpty()) {
-            merged = original;
+        if(original == null && changed == null) {
+            throw new IllegalArgumentException(
+                "Both mappings cannot be null!"
+            );
+        }
+        final List<YamlMapping> layers;
+        if(overrideConflicts) {
+            layers = Arrays.asList(original, changed);
         } else {
-            YamlMappingBuilder builder = Yaml.createYamlMappingBuilder();
-            final Set<YamlNode> changedKeys = changed.keys();
-            for (final YamlNode key : original.keys()) {
-                if(changedKeys.contains(key)) {
-                    if(overrideConflicts) {
-                        builder = builder.add(key, changed.value(key));
-                    } else {
-                        builder = builder.add(key, original.value(key));
-                    }
-                    changedKeys.remove(key);
-                } else {
-                    builder = builder.add(key, original.value(key));
-                }
-            }
-            for(final YamlNode key : changedKeys) {
-                builder = builder.add(key, changed.value(key));
-            }
-            merged = builder.build();
+            layers = Arrays.asList(original, changed, original);
         }
-        return merged;
+        return new LayeredYamlMapping(layers, false);
     }
 
 }
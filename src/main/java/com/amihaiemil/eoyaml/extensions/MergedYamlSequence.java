@@ -59,7 +59,7 @@ public final class MergedYamlSequence extends BaseYamlSequence {
     /**
      * The merged YamlSequence.
      */
-    private YamlSequence merged;
+    private final YamlSequence merged;
 
     /**
      * Constructor. By default, it's simply going to add the elements
@@ -195,7 +195,7 @@ public final class MergedYamlSequence extends BaseYamlSequence {
                     merged = changed;
                 } else {
                     YamlSequenceBuilder builder = Yaml
-                        .createYamlSequenceBuilder();
+                        .createMutableYamlSequenceBuilder(original.size());
                     int continueFrom = -1;
                     for(final YamlNode node : changed) {
                         builder = builder.add(node);
@@ -215,7 +215,9 @@ public final class MergedYamlSequence extends BaseYamlSequence {
                 }
             } else {
                 YamlSequenceBuilder builder = Yaml
-                    .createYamlSequenceBuilder();
+                    .createMutableYamlSequenceBuilder(
+                        original.size() + changed.size()
+                    );
                 for(final YamlNode node : original) {
                     builder = builder.add(node);
                 }
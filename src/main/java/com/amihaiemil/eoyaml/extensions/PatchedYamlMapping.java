@@ -0,0 +1,145 @@
+/**
+ * Copyright (c) 2016-2020, Mihai Emil Andronache
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ *  modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ *  list of conditions and the following disclaimer.
+ *  Redistributions in binary form must reproduce the above copyright notice,
+ *  this list of conditions and the following disclaimer in the documentation
+ *  and/or other materials provided with the distribution.
+ * Neither the name of the copyright holder nor the names of its
+ *  contributors may be used to endorse or promote products derived from
+ *  this software without specific prior written permission.
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT
+ * LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY
+ * OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF
+ * SUCH DAMAGE.
+ */
+package com.amihaiemil.eoyaml.extensions;
+
+import com.amihaiemil.eoyaml.BaseYamlMapping;
+import com.amihaiemil.eoyaml.Comment;
+import com.amihaiemil.eoyaml.YamlMapping;
+import com.amihaiemil.eoyaml.YamlNode;
+import com.amihaiemil.eoyaml.YamlSequence;
+import java.util.Collection;
+import java.util.Set;
+
+/**
+ * A YamlMapping with a {@link YamlPatch} applied to it. Only the nodes
+ * on the patched paths are rebuilt, the rest of the tree is shared with
+ * the original mapping. Use it like this:
+ * <pre>
+ *     final YamlMapping original = ...;
+ *     final YamlMapping patched = new PatchedYamlMapping(
+ *         original,
+ *         new YamlPatch()
+ *             .set("server/port", "8081")
+ *             .remove("server/debug")
+ *     );
+ * </pre>
+ * @author Mihai Andronache (amihaiemil@gmail.com)
+ * @version $Id$
+ * @since 4.2.0
+ */
+public final class PatchedYamlMapping extends BaseYamlMapping {
+
+    /**
+     * The patched YamlMapping.
+     */
+    private final YamlMapping patched;
+
+    /**
+     * Constructor.
+     * @param original YamlMapping to which the patch is applied.
+     * @param patch Patch to apply.
+     */
+    public PatchedYamlMapping(
+        final YamlMapping original,
+        final YamlPatch patch
+    ) {
+        this(PatchedYamlMapping.apply(original, patch));
+    }
+
+    /**
+     * Constructor.
+     * @param patched The patched YamlMapping.
+     */
+    private PatchedYamlMapping(final YamlMapping patched) {
+        super(patched.comments());
+        this.patched = patched;
+    }
+
+    @Override
+    public Set<YamlNode> keys() {
+        return this.patched.keys();
+    }
+
+    @Override
+    public Collection<YamlNode> values() {
+        return this.patched.values();
+    }
+
+    @Override
+    public YamlNode value(final YamlNode key) {
+        return this.patched.value(key);
+    }
+
+    @Override
+    public Comment comment() {
+        return this.patched.comment();
+    }
+
+    @Override
+    public YamlMapping yamlMapping(final YamlNode key) {
+        return this.patched.yamlMapping(key);
+    }
+
+    @Override
+    public YamlSequence yamlSequence(final YamlNode key) {
+        return this.patched.yamlSequence(key);
+    }
+
+    @Override
+    public String string(final YamlNode key) {
+        return this.patched.string(key);
+    }
+
+    @Override
+    public String foldedBlockScalar(final YamlNode key) {
+        return this.patched.foldedBlockScalar(key);
+    }
+
+    @Override
+    public Collection<String> literalBlockScalar(final YamlNode key) {
+        return this.patched.literalBlockScalar(key);
+    }
+
+    /**
+     * Apply the patch.
+     * @param original Original mapping.
+     * @param patch Patch to apply.
+     * @return Patched mapping.
+     */
+    private static YamlMapping apply(
+        final YamlMapping original,
+        final YamlPatch patch
+    ) {
+        if(original == null) {
+            throw new IllegalArgumentException(
+                "Cannot patch a null mapping!"
+            );
+        }
+        return patch.apply(original);
+    }
+}
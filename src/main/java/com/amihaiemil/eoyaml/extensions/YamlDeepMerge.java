@@ -0,0 +1,430 @@
+/**
+ * Copyright (c) 2016-2020, Mihai Emil Andronache
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ *  modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ *  list of conditions and the following disclaimer.
+ *  Redistributions in binary form must reproduce the above copyright notice,
+ *  this list of conditions and the following disclaimer in the documentation
+ *  and/or other materials provided with the distribution.
+ * Neither the name of the copyright holder nor the names of its
+ *  contributors may be used to endorse or promote products derived from
+ *  this software without specific prior written permission.
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT
+ * LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY
+ * OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF
+ * SUCH DAMAGE.
+ */
+package com.amihaiemil.eoyaml.extensions;
+
+import com.amihaiemil.eoyaml.Comments;
+import com.amihaiemil.eoyaml.Scalar;
+import com.amihaiemil.eoyaml.Yaml;
+import com.amihaiemil.eoyaml.YamlMapping;
+import com.amihaiemil.eoyaml.YamlMappingBuilder;
+import com.amihaiemil.eoyaml.YamlNode;
+import com.amihaiemil.eoyaml.YamlSequence;
+import com.amihaiemil.eoyaml.YamlSequenceBuilder;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Deep merge of two YAML Mappings, with a strategy for each path. By
+ * default, nested mappings are merged recursively and any other value
+ * (scalar or sequence) of the changes overrides the base one. Use it like
+ * this:
+ * <pre>
+ *     final YamlMapping base = ...;
+ *     final YamlMapping changes = ...;
+ *     final YamlMapping merged = new YamlDeepMerge()
+ *         .keep("metadata/name")
+ *         .override("spec/selector")
+ *         .append("spec/args")
+ *         .unionBy("spec/containers", "name")
+ *         .apply(base, changes);
+ * </pre>
+ * A path is made of mapping keys separated by '/', escaped like in
+ * {@link YamlPatch}. The elements of a sequence merged by key are merged
+ * as mappings under the same path as the sequence: in the above example,
+ * "spec/containers/ports" is the path of the ports of every container.
+ * <br><br>
+ * Only the changes are walked: the merged mappings are layered over the
+ * base ones (see {@link LayeredYamlMapping}) and the untouched nodes are
+ * reused by reference, so the cost depends on the size of the changes, not
+ * on the size of the base. Sequences which are appended to or merged by
+ * key are rebuilt, reusing their elements. The result is immutable, as
+ * long as the given mappings are.<br><br>
+ * This class is immutable and thread-safe: each strategy returns a new
+ * merge.
+ * @author Mihai Andronache (amihaiemil@gmail.com)
+ * @version $Id$
+ * @since 4.2.0
+ */
+public final class YamlDeepMerge {
+
+    /**
+     * Rule of the paths without a strategy.
+     */
+    private static final Rule DEFAULT = new Rule(Strategy.MERGE, null);
+
+    /**
+     * Rules, by path.
+     */
+    private final Map<String, Rule> rules;
+
+    /**
+     * Constructor. A merge with the default strategy everywhere.
+     */
+    public YamlDeepMerge() {
+        this(Collections.emptyMap());
+    }
+
+    /**
+     * Constructor.
+     * @param rules Rules, by path.
+     */
+    private YamlDeepMerge(final Map<String, Rule> rules) {
+        this.rules = rules;
+    }
+
+    /**
+     * The value of the changes replaces the base one whole,
+     * even if both are mappings.
+     * @param path Path of the value.
+     * @return Merge with the added strategy.
+     */
+    public YamlDeepMerge override(final String path) {
+        return this.with(path, new Rule(Strategy.OVERRIDE, null));
+    }
+
+    /**
+     * The base value is kept, if there is one.
+     * @param path Path of the value.
+     * @return Merge with the added strategy.
+     */
+    public YamlDeepMerge keep(final String path) {
+        return this.with(path, new Rule(Strategy.KEEP, null));
+    }
+
+    /**
+     * The elements of the changed sequence are added after the
+     * base ones.
+     * @param path Path of the sequence.
+     * @return Merge with the added strategy.
+     */
+    public YamlDeepMerge append(final String path) {
+        return this.with(path, new Rule(Strategy.APPEND, null));
+    }
+
+    /**
+     * The mappings of the changed sequence are merged with the base ones
+     * which have the same value under the given key. The others are added
+     * after the base elements.
+     * @param path Path of the sequence.
+     * @param key Key identifying the mappings in the sequence.
+     * @return Merge with the added strategy.
+     */
+    public YamlDeepMerge unionBy(final String path, final String key) {
+        return this.with(path, new Rule(Strategy.UNION, key));
+    }
+
+    /**
+     * Merge the changes into the base mapping.
+     * @param base Base mapping. It is not changed.
+     * @param changes Changes to merge. They are not changed.
+     * @return Merged YamlMapping. If nothing changed, the base itself is
+     *  returned.
+     */
+    public YamlMapping apply(
+        final YamlMapping base, final YamlMapping changes
+    ) {
+        if(base == null && changes == null) {
+            throw new IllegalArgumentException(
+                "Both mappings cannot be null!"
+            );
+        }
+        return this.mapping(base, changes, "");
+    }
+
+    /**
+     * This merge, with one more rule.
+     * @param path Path of the rule.
+     * @param rule Rule.
+     * @return New YamlDeepMerge.
+     */
+    private YamlDeepMerge with(final String path, final Rule rule) {
+        if(path == null || path.isEmpty()) {
+            throw new IllegalArgumentException("The path cannot be empty!");
+        }
+        final Map<String, Rule> added = new HashMap<>(this.rules);
+        added.put(path, rule);
+        return new YamlDeepMerge(Collections.unmodifiableMap(added));
+    }
+
+    /**
+     * Merge two mappings found at the given path.
+     * @param base Base mapping, may be null.
+     * @param changes Changed mapping, may be null.
+     * @param path Path of the mappings.
+     * @return Merged mapping.
+     */
+    private YamlMapping mapping(
+        final YamlMapping base, final YamlMapping changes, final String path
+    ) {
+        YamlMapping merged = base;
+        if(base == null) {
+            merged = changes;
+        } else if(changes != null) {
+            final Comments comments = changes.comments();
+            final YamlMappingBuilder delta = Yaml
+                .createMutableYamlMappingBuilder();
+            boolean changed = false;
+            final Iterator<YamlNode> values = changes.values().iterator();
+            for(final YamlNode key : changes.keys()) {
+                final YamlNode old = base.value(key);
+                final YamlNode value = this.node(
+                    old, values.next(), YamlDeepMerge.path(path, key)
+                );
+                if(value != old) {
+                    delta.add(key, value, comments.referringTo(key).value());
+                    changed = true;
+                }
+            }
+            if(changed) {
+                merged = new LayeredYamlMapping(
+                    Arrays.asList(base, delta.build()), false
+                );
+            }
+        }
+        return merged;
+    }
+
+    /**
+     * Merge two values found at the given path.
+     * @param base Base value, may be null.
+     * @param changes Changed value.
+     * @param path Path of the values.
+     * @return Merged value or the base one if nothing changed.
+     */
+    private YamlNode node(
+        final YamlNode base, final YamlNode changes, final String path
+    ) {
+        final Rule rule = this.rules.getOrDefault(path, DEFAULT);
+        final YamlNode merged;
+        if(rule.strategy == Strategy.KEEP && base != null) {
+            merged = base;
+        } else if(rule.strategy == Strategy.MERGE
+            && base instanceof YamlMapping && changes instanceof YamlMapping) {
+            merged = this.mapping(
+                (YamlMapping) base, (YamlMapping) changes, path
+            );
+        } else if(base instanceof YamlSequence
+            && changes instanceof YamlSequence) {
+            merged = this.sequence(
+                (YamlSequence) base, (YamlSequence) changes, path
+            );
+        } else {
+            merged = changes;
+        }
+        return merged;
+    }
+
+    /**
+     * Merge two sequences found at the given path.
+     * @param base Base sequence.
+     * @param changes Changed sequence.
+     * @param path Path of the sequences.
+     * @return Merged sequence.
+     */
+    private YamlSequence sequence(
+        final YamlSequence base, final YamlSequence changes, final String path
+    ) {
+        final Rule rule = this.rules.getOrDefault(path, DEFAULT);
+        final YamlSequence merged;
+        if(rule.strategy == Strategy.APPEND) {
+            merged = YamlDeepMerge.appended(base, changes);
+        } else if(rule.strategy == Strategy.UNION) {
+            merged = this.union(base, changes, path, rule.key);
+        } else {
+            merged = changes;
+        }
+        return merged;
+    }
+
+    /**
+     * Merge the mappings of two sequences by the value of a key.
+     * @param base Base sequence.
+     * @param changes Changed sequence.
+     * @param path Path of the sequences.
+     * @param key Key identifying the mappings.
+     * @return Merged sequence.
+     * @checkstyle ParameterNumber (5 lines)
+     */
+    private YamlSequence union(
+        final YamlSequence base, final YamlSequence changes,
+        final String path, final String key
+    ) {
+        final List<YamlNode> elements = new ArrayList<>(base.size());
+        final Map<String, Integer> positions = new HashMap<>();
+        for(final YamlNode node : base) {
+            final String identity = YamlDeepMerge.identity(node, key);
+            if(identity != null) {
+                positions.putIfAbsent(identity, elements.size());
+            }
+            elements.add(node);
+        }
+        for(final YamlNode node : changes) {
+            final Integer position = positions.get(
+                YamlDeepMerge.identity(node, key)
+            );
+            if(position == null) {
+                elements.add(node);
+            } else {
+                elements.set(
+                    position,
+                    this.mapping(
+                        (YamlMapping) elements.get(position),
+                        (YamlMapping) node,
+                        path
+                    )
+                );
+            }
+        }
+        final Comments comments = base.comments();
+        final YamlSequenceBuilder builder = Yaml
+            .createMutableYamlSequenceBuilder(elements.size());
+        for(final YamlNode node : elements) {
+            builder.add(node, comments.referringTo(node).value());
+        }
+        return builder.build(base.comment().value());
+    }
+
+    /**
+     * Sequence with the changed elements added after the base ones.
+     * @param base Base sequence.
+     * @param changes Changed sequence.
+     * @return Appended sequence.
+     */
+    private static YamlSequence appended(
+        final YamlSequence base, final YamlSequence changes
+    ) {
+        final YamlSequenceBuilder builder = Yaml
+            .createMutableYamlSequenceBuilder(base.size() + changes.size());
+        for(final YamlSequence sequence : Arrays.asList(base, changes)) {
+            final Comments comments = sequence.comments();
+            for(final YamlNode node : sequence) {
+                builder.add(node, comments.referringTo(node).value());
+            }
+        }
+        return builder.build(base.comment().value());
+    }
+
+    /**
+     * The value identifying a mapping in a sequence merged by key.
+     * @param node Element of the sequence.
+     * @param key Key identifying the mappings.
+     * @return Identity or null if the element has none.
+     */
+    private static String identity(final YamlNode node, final String key) {
+        String identity = null;
+        if(node instanceof YamlMapping) {
+            identity = ((YamlMapping) node).string(key);
+        }
+        return identity;
+    }
+
+    /**
+     * Path of a key in the mapping at the given path.
+     * @param parent Path of the mapping.
+     * @param key Key.
+     * @return Path of the key's value.
+     */
+    private static String path(final String parent, final YamlNode key) {
+        String segment = "?";
+        if(key instanceof Scalar) {
+            segment = ((Scalar) key).value()
+                .replace("~", "~0").replace("/", "~1");
+        }
+        final String path;
+        if(parent.isEmpty()) {
+            path = segment;
+        } else {
+            path = parent + "/" + segment;
+        }
+        return path;
+    }
+
+    /**
+     * Merge strategies.
+     */
+    private enum Strategy {
+        /**
+         * Merge mappings recursively, override anything else.
+         */
+        MERGE,
+
+        /**
+         * Override the base value.
+         */
+        OVERRIDE,
+
+        /**
+         * Keep the base value.
+         */
+        KEEP,
+
+        /**
+         * Append to the base sequence.
+         */
+        APPEND,
+
+        /**
+         * Merge the mappings of the sequences by key.
+         */
+        UNION
+    }
+
+    /**
+     * Strategy to use at a path.
+     * @author Mihai Andronache (amihaiemil@gmail.com)
+     * @version $Id$
+     * @since 4.2.0
+     */
+    private static final class Rule {
+
+        /**
+         * Strategy.
+         */
+        private final Strategy strategy;
+
+        /**
+         * Key identifying the mappings, in the case of a union.
+         */
+        private final String key;
+
+        /**
+         * Constructor.
+         * @param strategy Strategy.
+         * @param key Key identifying the mappings, in the case of a union.
+         */
+        Rule(final Strategy strategy, final String key) {
+            this.strategy = strategy;
+            this.key = key;
+        }
+    }
+}
@@ -0,0 +1,497 @@
+/**
+ * Copyright (c) 2016-2020, Mihai Emil Andronache
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ *  modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ *  list of conditions and the following disclaimer.
+ *  Redistributions in binary form must reproduce the above copyright notice,
+ *  this list of conditions and the following disclaimer in the documentation
+ *  and/or other materials provided with the distribution.
+ * Neither the name of the copyright holder nor the names of its
+ *  contributors may be used to endorse or promote products derived from
+ *  this software without specific prior written permission.
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT
+ * LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY
+ * OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF
+ * SUCH DAMAGE.
+ */
+package com.amihaiemil.eoyaml.extensions;
+
+import com.amihaiemil.eoyaml.Comment;
+import com.amihaiemil.eoyaml.Comments;
+import com.amihaiemil.eoyaml.Yaml;
+import com.amihaiemil.eoyaml.YamlMapping;
+import com.amihaiemil.eoyaml.YamlMappingBuilder;
+import com.amihaiemil.eoyaml.YamlNode;
+import com.amihaiemil.eoyaml.YamlSequence;
+import com.amihaiemil.eoyaml.YamlSequenceBuilder;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedList;
+import java.util.List;
+
+/**
+ * A set of path-based changes (set, remove, append) which can be applied
+ * to a YamlMapping. The result is a new YamlMapping: only the mappings and
+ * sequences on the changed paths are rebuilt, all the other nodes are
+ * reused by reference, not copied. Use it like this:
+ * <pre>
+ *     final YamlMapping original = ...;
+ *     final YamlMapping patched = new YamlPatch()
+ *         .set("spec/replicas", "3")
+ *         .set("spec/containers/0/image", "nginx:1.19")
+ *         .append("spec/containers/0/ports", "8080")
+ *         .remove("metadata/annotations")
+ *         .apply(original);
+ * </pre>
+ * A path is made of mapping keys and sequence indexes, separated by '/'.
+ * Since keys may contain the '/' character, it has to be escaped as "~1"
+ * and '~' has to be escaped as "~0", just like in a JSON Pointer.<br><br>
+ * The operations are applied in the order in which they were added.
+ * Missing mappings on the path of a set or append operation are created,
+ * while removing a missing path changes nothing.<br><br>
+ * This class is immutable and thread-safe: each operation returns a new
+ * patch which shares the previously added operations.
+ * @author Mihai Andronache (amihaiemil@gmail.com)
+ * @version $Id$
+ * @since 4.2.0
+ */
+public final class YamlPatch {
+
+    /**
+     * Patch containing the operations added before this one's.
+     */
+    private final YamlPatch previous;
+
+    /**
+     * Last operation of this patch.
+     */
+    private final Operation operation;
+
+    /**
+     * Constructor. An empty patch, which changes nothing.
+     */
+    public YamlPatch() {
+        this(null, null);
+    }
+
+    /**
+     * Constructor.
+     * @param previous Previous operations.
+     * @param operation Last operation.
+     */
+    private YamlPatch(final YamlPatch previous, final Operation operation) {
+        this.previous = previous;
+        this.operation = operation;
+    }
+
+    /**
+     * Set the plain scalar found at the given path.
+     * @param path Path of the value.
+     * @param value Plain scalar value.
+     * @return Patch containing the added operation.
+     */
+    public YamlPatch set(final String path, final String value) {
+        return this.set(
+            path,
+            Yaml.createYamlScalarBuilder().addLine(value).buildPlainScalar()
+        );
+    }
+
+    /**
+     * Set the YamlNode found at the given path. If the key already exists,
+     * its value is replaced in place, otherwise the pair is added at the end
+     * of the mapping.
+     * @param path Path of the value.
+     * @param value YamlNode value.
+     * @return Patch containing the added operation.
+     */
+    public YamlPatch set(final String path, final YamlNode value) {
+        return new YamlPatch(
+            this, new Operation(Kind.SET, YamlPatch.segments(path), value)
+        );
+    }
+
+    /**
+     * Remove the node found at the given path.
+     * @param path Path of the node to remove.
+     * @return Patch containing the added operation.
+     */
+    public YamlPatch remove(final String path) {
+        return new YamlPatch(
+            this, new Operation(Kind.REMOVE, YamlPatch.segments(path), null)
+        );
+    }
+
+    /**
+     * Append a plain scalar to the sequence found at the given path.
+     * @param path Path of the sequence.
+     * @param value Plain scalar to append.
+     * @return Patch containing the added operation.
+     */
+    public YamlPatch append(final String path, final String value) {
+        return this.append(
+            path,
+            Yaml.createYamlScalarBuilder().addLine(value).buildPlainScalar()
+        );
+    }
+
+    /**
+     * Append a YamlNode to the sequence found at the given path. If there
+     * is no sequence at that path, one is created.
+     * @param path Path of the sequence.
+     * @param value YamlNode to append.
+     * @return Patch containing the added operation.
+     */
+    public YamlPatch append(final String path, final YamlNode value) {
+        return new YamlPatch(
+            this, new Operation(Kind.APPEND, YamlPatch.segments(path), value)
+        );
+    }
+
+    /**
+     * Apply this patch to the given mapping.
+     * @param mapping YamlMapping to patch. It is not changed.
+     * @return Patched YamlMapping. If no operation had any effect, the given
+     *  mapping itself is returned.
+     * @throws IllegalArgumentException If a path crosses a scalar, or an
+     *  index is out of the bounds of a sequence, or an append does not
+     *  point to a sequence.
+     */
+    public YamlMapping apply(final YamlMapping mapping) {
+        final LinkedList<Operation> operations = new LinkedList<>();
+        YamlPatch patch = this;
+        while (patch.operation != null) {
+            operations.addFirst(patch.operation);
+            patch = patch.previous;
+        }
+        YamlMapping patched = mapping;
+        for(final Operation oper : operations) {
+            patched = oper.applyOn(patched, 0);
+        }
+        return patched;
+    }
+
+    /**
+     * Split a path into its segments.
+     * @param path Path separated by '/'.
+     * @return List of unescaped segments.
+     */
+    private static List<String> segments(final String path) {
+        if(path == null || path.isEmpty()) {
+            throw new IllegalArgumentException("The path cannot be empty!");
+        }
+        final List<String> segments = new ArrayList<>();
+        for(final String segment : path.split("/", -1)) {
+            segments.add(segment.replace("~1", "/").replace("~0", "~"));
+        }
+        return Collections.unmodifiableList(segments);
+    }
+
+    /**
+     * Kinds of operations.
+     */
+    private enum Kind {
+        /**
+         * Set a value.
+         */
+        SET,
+
+        /**
+         * Remove a value.
+         */
+        REMOVE,
+
+        /**
+         * Append a value to a sequence.
+         */
+        APPEND
+    }
+
+    /**
+     * One operation of the patch. It walks down the path and rebuilds
+     * only the nodes on it, on the way back.
+     * @author Mihai Andronache (amihaiemil@gmail.com)
+     * @version $Id$
+     * @since 4.2.0
+     */
+    private static final class Operation {
+
+        /**
+         * Kind of operation.
+         */
+        private final Kind kind;
+
+        /**
+         * Segments of the path.
+         */
+        private final List<String> path;
+
+        /**
+         * Value to set or append; null in the case of a remove.
+         */
+        private final YamlNode value;
+
+        /**
+         * Constructor.
+         * @param kind Kind of operation.
+         * @param path Segments of the path.
+         * @param value Value to set or append.
+         */
+        Operation(
+            final Kind kind, final List<String> path, final YamlNode value
+        ) {
+            this.kind = kind;
+            this.path = path;
+            this.value = value;
+        }
+
+        /**
+         * Apply this operation on the given mapping.
+         * @param mapping Mapping.
+         * @param depth Index of the path segment to look for in the mapping.
+         * @return Patched mapping or the same mapping if nothing changed.
+         */
+        YamlMapping applyOn(final YamlMapping mapping, final int depth) {
+            final YamlNode key = Yaml.createYamlScalarBuilder()
+                .addLine(this.path.get(depth))
+                .buildPlainScalar();
+            final YamlNode current = mapping.value(key);
+            final YamlNode changed;
+            if(depth == this.path.size() - 1) {
+                changed = this.last(current);
+            } else {
+                changed = this.descend(current, depth + 1);
+            }
+            final YamlMapping patched;
+            if(changed == current) {
+                patched = mapping;
+            } else {
+                patched = Operation.replaced(mapping, key, changed);
+            }
+            return patched;
+        }
+
+        /**
+         * Apply this operation on the given sequence.
+         * @param sequence Sequence.
+         * @param depth Index of the path segment to look for in the sequence.
+         * @return Patched sequence or the same sequence if nothing changed.
+         */
+        private YamlSequence applyOn(
+            final YamlSequence sequence, final int depth
+        ) {
+            final int index = this.index(sequence, depth);
+            YamlNode current = null;
+            final Iterator<YamlNode> nodes = sequence.iterator();
+            for(int idx = 0; idx <= index; ++idx) {
+                current = nodes.next();
+            }
+            final YamlNode changed;
+            if(depth == this.path.size() - 1) {
+                changed = this.last(current);
+            } else {
+                changed = this.descend(current, depth + 1);
+            }
+            final YamlSequence patched;
+            if(changed == current) {
+                patched = sequence;
+            } else {
+                patched = Operation.replaced(sequence, index, changed);
+            }
+            return patched;
+        }
+
+        /**
+         * Continue walking the path in the given node.
+         * @param node Node found at the previous segment, may be null.
+         * @param depth Index of the next segment.
+         * @return Changed node, null if it should be removed, or the same
+         *  node if nothing changed.
+         */
+        private YamlNode descend(final YamlNode node, final int depth) {
+            final YamlNode changed;
+            if(node == null) {
+                if(this.kind == Kind.REMOVE) {
+                    changed = null;
+                } else {
+                    changed = this.applyOn(
+                        Yaml.createYamlMappingBuilder().build(), depth
+                    );
+                }
+            } else if(node instanceof YamlMapping) {
+                changed = this.applyOn((YamlMapping) node, depth);
+            } else if(node instanceof YamlSequence) {
+                changed = this.applyOn((YamlSequence) node, depth);
+            } else {
+                throw new IllegalArgumentException(
+                    "Cannot apply patch, path "
+                    + String.join("/", this.path.subList(0, depth))
+                    + " points to a scalar."
+                );
+            }
+            return changed;
+        }
+
+        /**
+         * Apply this operation on the node found at the last segment.
+         * @param node Node found at the last segment, may be null.
+         * @return New node, null if the node should be removed or the
+         *  same node if nothing changed.
+         */
+        private YamlNode last(final YamlNode node) {
+            final YamlNode changed;
+            if(this.kind == Kind.SET) {
+                changed = this.value;
+            } else if(this.kind == Kind.REMOVE) {
+                changed = null;
+            } else if(node == null) {
+                changed = Yaml.createYamlSequenceBuilder()
+                    .add(this.value).build();
+            } else if(node instanceof YamlSequence) {
+                changed = Operation.appended((YamlSequence) node, this.value);
+            } else {
+                throw new IllegalArgumentException(
+                    "Cannot append to path " + String.join("/", this.path)
+                    + ", it does not point to a sequence."
+                );
+            }
+            return changed;
+        }
+
+        /**
+         * Index in the sequence, read from the path.
+         * @param sequence Sequence.
+         * @param depth Index of the path segment.
+         * @return Integer index.
+         */
+        private int index(final YamlSequence sequence, final int depth) {
+            final String segment = this.path.get(depth);
+            int index = -1;
+            if(segment.matches("[0-9]+")) {
+                index = Integer.parseInt(segment);
+            }
+            if(index < 0 || index >= sequence.size()) {
+                throw new IllegalArgumentException(
+                    "Cannot apply patch, path "
+                    + String.join("/", this.path.subList(0, depth + 1))
+                    + " is not a valid index of a sequence with "
+                    + sequence.size() + " elements."
+                );
+            }
+            return index;
+        }
+
+        /**
+         * Mapping with the value of a key replaced. The other values are
+         * reused as they are.
+         * @param mapping Original mapping.
+         * @param key Key whose value changes.
+         * @param value New value or null if the key should be removed.
+         * @return New YamlMapping.
+         */
+        private static YamlMapping replaced(
+            final YamlMapping mapping, final YamlNode key, final YamlNode value
+        ) {
+            final Comments comments = mapping.comments();
+            YamlMappingBuilder builder = Yaml.createYamlMappingBuilder();
+            boolean found = false;
+            final Iterator<YamlNode> values = mapping.values().iterator();
+            for(final YamlNode existing : mapping.keys()) {
+                final YamlNode val = values.next();
+                final String comment = comments.referringTo(existing).value();
+                final boolean same = existing.equals(key);
+                if(!same) {
+                    builder = builder.add(existing, val, comment);
+                } else if(value != null) {
+                    builder = builder.add(existing, value, comment);
+                }
+                found = found || same;
+            }
+            if(!found && value != null) {
+                builder = builder.add(key, value);
+            }
+            return builder.build(mapping.comment().value());
+        }
+
+        /**
+         * Sequence with the element at the given index replaced. The other
+         * elements are reused as they are.
+         * @param sequence Original sequence.
+         * @param index Index of the element.
+         * @param value New element or null if it should be removed.
+         * @return New YamlSequence.
+         */
+        private static YamlSequence replaced(
+            final YamlSequence sequence, final int index, final YamlNode value
+        ) {
+            final List<String> comments = Operation.comments(sequence);
+            YamlSequenceBuilder builder = Yaml.createYamlSequenceBuilder();
+            int idx = 0;
+            for(final YamlNode node : sequence) {
+                final String comment = comments.get(idx);
+                if(idx != index) {
+                    builder = builder.add(node, comment);
+                } else if(value != null) {
+                    builder = builder.add(value, comment);
+                }
+                ++idx;
+            }
+            return builder.build(sequence.comment().value());
+        }
+
+        /**
+         * Sequence with one more element at the end.
+         * @param sequence Original sequence.
+         * @param value Appended element.
+         * @return New YamlSequence.
+         */
+        private static YamlSequence appended(
+            final YamlSequence sequence, final YamlNode value
+        ) {
+            final Iterator<String> comments = Operation.comments(sequence)
+                .iterator();
+            YamlSequenceBuilder builder = Yaml.createYamlSequenceBuilder();
+            for(final YamlNode node : sequence) {
+                builder = builder.add(node, comments.next());
+            }
+            return builder.add(value).build(sequence.comment().value());
+        }
+
+        /**
+         * The comments of a sequence's elements, by position. Equal
+         * elements may have different comments, so a comment is looked up
+         * by its node only if it is not the one at the element's position.
+         * @param sequence YamlSequence.
+         * @return Comments of the elements, in order.
+         */
+        private static List<String> comments(final YamlSequence sequence) {
+            final Comments comments = sequence.comments();
+            final List<Comment> positional = new ArrayList<>();
+            comments.forEach(positional::add);
+            final List<String> found = new ArrayList<>();
+            int idx = 0;
+            for(final YamlNode node : sequence) {
+                if(idx < positional.size()
+                    && positional.get(idx).yamlNode() == node) {
+                    found.add(positional.get(idx).value());
+                } else {
+                    found.add(comments.referringTo(node).value());
+                }
+                ++idx;
+            }
+            return found;
+        }
+    }
+}
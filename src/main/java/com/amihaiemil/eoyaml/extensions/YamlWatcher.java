@@ -0,0 +1,537 @@
+/**
+ * Copyright (c) 2016-2020, Mihai Emil Andronache
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ *  modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ *  list of conditions and the following disclaimer.
+ *  Redistributions in binary form must reproduce the above copyright notice,
+ *  this list of conditions and the following disclaimer in the documentation
+ *  and/or other materials provided with the distribution.
+ * Neither the name of the copyright holder nor the names of its
+ *  contributors may be used to endorse or promote products derived from
+ *  this software without specific prior written permission.
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT
+ * LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY
+ * OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF
+ * SUCH DAMAGE.
+ */
+package com.amihaiemil.eoyaml.extensions;
+
+import com.amihaiemil.eoyaml.Yaml;
+import com.amihaiemil.eoyaml.YamlMapping;
+import com.amihaiemil.eoyaml.exceptions.YamlIndentationException;
+import com.amihaiemil.eoyaml.exceptions.YamlReadingException;
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+
+/**
+ * Watches YAML files and reads them again when they change. Use it like
+ * this:
+ * <pre>
+ *     final YamlWatcher watcher = new YamlWatcher(
+ *         Arrays.asList(Paths.get("app.yml"), Paths.get("db.yml"))
+ *     ).listen(changed -&gt; System.out.println("Changed: " + changed))
+ *      .start();
+ *     //from any thread, as often as needed:
+ *     final YamlMapping app = watcher.mapping(Paths.get("app.yml"));
+ *     //when done:
+ *     watcher.close();
+ * </pre>
+ * The files are read on a background thread and the new snapshot (a map
+ * of all the files) is published at once, so readers never wait and never
+ * see a file which is only partly read. Changes are debounced: the files
+ * are read again only after no change was seen for the debounce period,
+ * so a burst of writes (e.g. from an editor) results in one reading and
+ * one notification, with all the changed files.<br><br>
+ * Changes are watched with a {@link WatchService}, or by polling the
+ * files' modification time and size, if the file system does not support
+ * watching. A file which cannot be read (e.g. it is being written, or has
+ * a bad indentation) keeps its previous version in the snapshot.
+ * @author Mihai Andronache (amihaiemil@gmail.com)
+ * @version $Id$
+ * @since 4.2.0
+ */
+public final class YamlWatcher implements Closeable {
+
+    /**
+     * Default debounce period, in milliseconds.
+     */
+    private static final long DEBOUNCE = 100;
+
+    /**
+     * Watched files.
+     */
+    private final Set<Path> files;
+
+    /**
+     * Debounce period, in milliseconds.
+     */
+    private final long debounce;
+
+    /**
+     * Should the files be polled, even if they could be watched?
+     */
+    private final boolean polling;
+
+    /**
+     * Current snapshot.
+     */
+    private final AtomicReference<Map<Path, YamlMapping>> snapshot;
+
+    /**
+     * Listeners of changes.
+     */
+    private final List<Consumer<Set<Path>>> listeners;
+
+    /**
+     * Background thread, null if the watcher is not started.
+     */
+    private final AtomicReference<Thread> thread;
+
+    /**
+     * Constructor.
+     * @param files Files to watch.
+     */
+    public YamlWatcher(final Collection<Path> files) {
+        this(files, YamlWatcher.DEBOUNCE, false);
+    }
+
+    /**
+     * Constructor.
+     * @param files Files to watch.
+     * @param debounce Debounce period, in milliseconds.
+     */
+    public YamlWatcher(final Collection<Path> files, final long debounce) {
+        this(files, debounce, false);
+    }
+
+    /**
+     * Constructor.
+     * @param files Files to watch.
+     * @param debounce Debounce period, in milliseconds.
+     * @param polling Should the files be polled, even if they could be
+     *  watched?
+     */
+    YamlWatcher(
+        final Collection<Path> files, final long debounce,
+        final boolean polling
+    ) {
+        if(files.isEmpty()) {
+            throw new IllegalArgumentException("Nothing to watch!");
+        }
+        this.files = new LinkedHashSet<>();
+        for(final Path file : files) {
+            this.files.add(file.toAbsolutePath().normalize());
+        }
+        this.debounce = debounce;
+        this.polling = polling;
+        this.snapshot = new AtomicReference<>(Collections.emptyMap());
+        this.listeners = new CopyOnWriteArrayList<>();
+        this.thread = new AtomicReference<>();
+    }
+
+    /**
+     * Add a listener, which is called on the watcher's thread with the
+     * files read again, after the new snapshot is published.
+     * @param listener Listener of changed files.
+     * @return This watcher.
+     */
+    public YamlWatcher listen(final Consumer<Set<Path>> listener) {
+        this.listeners.add(listener);
+        return this;
+    }
+
+    /**
+     * Start watching the files and read them. The files are watched before
+     * they are read, so a change made while they are read is not missed.
+     * A file which is not valid YAML makes it fail with a
+     * YamlReadingException.
+     * @return This watcher.
+     * @throws IOException If a file cannot be read or watched.
+     * @throws IllegalStateException If the watcher was already started.
+     */
+    public YamlWatcher start() throws IOException {
+        final AtomicReference<Changes> changes = new AtomicReference<>();
+        final Thread watching = new Thread(
+            () -> this.watch(changes.get()), "YamlWatcher"
+        );
+        watching.setDaemon(true);
+        if(!this.thread.compareAndSet(null, watching)) {
+            throw new IllegalStateException("Already started!");
+        }
+        boolean ready = false;
+        try {
+            changes.set(this.changes());
+            final Map<Path, YamlMapping> read = new LinkedHashMap<>();
+            for(final Path file : this.files) {
+                read.put(file, YamlWatcher.read(file));
+            }
+            this.snapshot.set(Collections.unmodifiableMap(read));
+            ready = true;
+        } finally {
+            if(!ready) {
+                if(changes.get() != null) {
+                    changes.get().close();
+                }
+                this.thread.compareAndSet(watching, null);
+            }
+        }
+        watching.start();
+        return this;
+    }
+
+    /**
+     * The current snapshot of all the files.
+     * @return Unmodifiable map of the files' mappings.
+     */
+    public Map<Path, YamlMapping> snapshot() {
+        return this.snapshot.get();
+    }
+
+    /**
+     * The current version of a file.
+     * @param file Watched file.
+     * @return YamlMapping or null if the file is not watched.
+     */
+    public YamlMapping mapping(final Path file) {
+        return this.snapshot.get().get(file.toAbsolutePath().normalize());
+    }
+
+    /**
+     * Stop watching the files. The last snapshot is still available.
+     */
+    @Override
+    public void close() {
+        final Thread watching = this.thread.get();
+        if(watching != null) {
+            watching.interrupt();
+        }
+    }
+
+    /**
+     * Watch the changes until the thread is interrupted.
+     * @param changes Changes of the files.
+     */
+    private void watch(final Changes changes) {
+        try {
+            while (!Thread.currentThread().isInterrupted()) {
+                final Set<Path> changed = changes.next(Long.MAX_VALUE);
+                Set<Path> more = changes.next(this.debounce);
+                while (!more.isEmpty()) {
+                    changed.addAll(more);
+                    more = changes.next(this.debounce);
+                }
+                this.reload(changed);
+            }
+        } catch (final InterruptedException | ClosedWatchServiceException ex) {
+            Thread.currentThread().interrupt();
+        } finally {
+            changes.close();
+        }
+    }
+
+    /**
+     * Read the changed files again, publish the new snapshot and notify
+     * the listeners.
+     * @param changed Changed files.
+     * @checkstyle IllegalCatch (30 lines)
+     */
+    private void reload(final Set<Path> changed) {
+        final Map<Path, YamlMapping> next = new LinkedHashMap<>(
+            this.snapshot.get()
+        );
+        final Set<Path> reloaded = new LinkedHashSet<>();
+        for(final Path file : changed) {
+            try {
+                next.put(file, YamlWatcher.read(file));
+                reloaded.add(file);
+            } catch (final IOException | YamlReadingException
+                | YamlIndentationException ex) {
+                continue;
+            }
+        }
+        if(!reloaded.isEmpty()) {
+            this.snapshot.set(Collections.unmodifiableMap(next));
+            final Set<Path> notified = Collections.unmodifiableSet(reloaded);
+            for(final Consumer<Set<Path>> listener : this.listeners) {
+                try {
+                    listener.accept(notified);
+                } catch (final RuntimeException ex) {
+                    continue;
+                }
+            }
+        }
+    }
+
+    /**
+     * The changes of the files, watched if possible, polled otherwise.
+     * @return Changes.
+     */
+    private Changes changes() {
+        Changes changes = null;
+        if(!this.polling) {
+            try {
+                changes = new Watched(this.files);
+            } catch (final UnsupportedOperationException | IOException ex) {
+                changes = null;
+            }
+        }
+        if(changes == null) {
+            changes = new Polled(this.files, this.debounce);
+        }
+        return changes;
+    }
+
+    /**
+     * Read a file entirely. Printing the mapping reads all its lines, so
+     * any indentation error surfaces here, not later, on the readers'
+     * threads.
+     * @param file File.
+     * @return YamlMapping.
+     * @throws IOException If the file cannot be read.
+     */
+    private static YamlMapping read(final Path file) throws IOException {
+        final YamlMapping read = Yaml.createYamlInput(file.toFile())
+            .readYamlMapping();
+        read.toString();
+        return read;
+    }
+
+    /**
+     * Changes of the watched files.
+     * @author Mihai Andronache (amihaiemil@gmail.com)
+     * @version $Id$
+     * @since 4.2.0
+     */
+    private interface Changes extends Closeable {
+
+        /**
+         * Wait for changes of the watched files.
+         * @param millis Maximum time to wait, in milliseconds.
+         * @return Changed files, empty if none changed in time.
+         * @throws InterruptedException If the thread is interrupted.
+         */
+        Set<Path> next(long millis) throws InterruptedException;
+
+        @Override
+        void close();
+    }
+
+    /**
+     * Changes of the files, from a WatchService.
+     * @author Mihai Andronache (amihaiemil@gmail.com)
+     * @version $Id$
+     * @since 4.2.0
+     */
+    private static final class Watched implements Changes {
+
+        /**
+         * Watched files.
+         */
+        private final Set<Path> files;
+
+        /**
+         * Watch service of the files' directories.
+         */
+        private final WatchService service;
+
+        /**
+         * Constructor.
+         * @param files Watched files.
+         * @throws IOException If the directories cannot be watched.
+         */
+        Watched(final Set<Path> files) throws IOException {
+            this.files = files;
+            this.service = FileSystems.getDefault().newWatchService();
+            final Set<Path> dirs = new LinkedHashSet<>();
+            for(final Path file : files) {
+                dirs.add(file.getParent());
+            }
+            try {
+                for(final Path dir : dirs) {
+                    dir.register(
+                        this.service,
+                        StandardWatchEventKinds.ENTRY_CREATE,
+                        StandardWatchEventKinds.ENTRY_MODIFY
+                    );
+                }
+            } catch (final IOException ex) {
+                this.service.close();
+                throw ex;
+            }
+        }
+
+        @Override
+        public Set<Path> next(final long millis) throws InterruptedException {
+            final long start = System.nanoTime();
+            final Set<Path> changed = new LinkedHashSet<>();
+            long left = millis;
+            while (changed.isEmpty() && left > 0) {
+                final WatchKey key = this.service.poll(
+                    left, TimeUnit.MILLISECONDS
+                );
+                if(key == null) {
+                    left = 0;
+                } else {
+                    final Path dir = (Path) key.watchable();
+                    for(final WatchEvent<?> event : key.pollEvents()) {
+                        this.changed(dir, event, changed);
+                    }
+                    key.reset();
+                    left = millis - TimeUnit.NANOSECONDS.toMillis(
+                        System.nanoTime() - start
+                    );
+                }
+            }
+            return changed;
+        }
+
+        @Override
+        public void close() {
+            try {
+                this.service.close();
+            } catch (final IOException ex) {
+                throw new IllegalStateException(ex);
+            }
+        }
+
+        /**
+         * Add the watched files changed by an event.
+         * @param dir Directory of the event.
+         * @param event Event.
+         * @param changed Changed files.
+         */
+        private void changed(
+            final Path dir, final WatchEvent<?> event, final Set<Path> changed
+        ) {
+            if(event.kind() == StandardWatchEventKinds.OVERFLOW) {
+                for(final Path file : this.files) {
+                    if(file.getParent().equals(dir)) {
+                        changed.add(file);
+                    }
+                }
+            } else {
+                final Path file = dir.resolve((Path) event.context());
+                if(this.files.contains(file)) {
+                    changed.add(file);
+                }
+            }
+        }
+    }
+
+    /**
+     * Changes of the files, found by polling their modification time
+     * and size.
+     * @author Mihai Andronache (amihaiemil@gmail.com)
+     * @version $Id$
+     * @since 4.2.0
+     */
+    private static final class Polled implements Changes {
+
+        /**
+         * Last seen versions of the files.
+         */
+        private final Map<Path, String> versions;
+
+        /**
+         * Polling interval, in milliseconds.
+         */
+        private final long interval;
+
+        /**
+         * Constructor.
+         * @param files Watched files.
+         * @param interval Polling interval, in milliseconds.
+         */
+        Polled(final Set<Path> files, final long interval) {
+            this.versions = new LinkedHashMap<>();
+            this.interval = Math.max(interval, 1);
+            for(final Path file : files) {
+                this.versions.put(file, Polled.version(file));
+            }
+        }
+
+        @Override
+        public Set<Path> next(final long millis) throws InterruptedException {
+            final long start = System.nanoTime();
+            Set<Path> changed = this.changed();
+            long waited = 0;
+            while (changed.isEmpty() && waited < millis) {
+                TimeUnit.MILLISECONDS.sleep(
+                    Math.min(this.interval, millis - waited)
+                );
+                changed = this.changed();
+                waited = TimeUnit.NANOSECONDS.toMillis(
+                    System.nanoTime() - start
+                );
+            }
+            return changed;
+        }
+
+        @Override
+        public void close() {
+            this.versions.clear();
+        }
+
+        /**
+         * The files changed since they were last polled.
+         * @return Changed files.
+         */
+        private Set<Path> changed() {
+            final Set<Path> changed = new LinkedHashSet<>();
+            for(final Map.Entry<Path, String> file : this.versions.entrySet()) {
+                final String version = Polled.version(file.getKey());
+                if(!version.equals(file.getValue())) {
+                    file.setValue(version);
+                    changed.add(file.getKey());
+                }
+            }
+            return changed;
+        }
+
+        /**
+         * Version of a file: its modification time and size.
+         * @param file File.
+         * @return Version, empty if the file cannot be read.
+         */
+        private static String version(final Path file) {
+            String version;
+            try {
+                version = Files.getLastModifiedTime(file).toMillis()
+                    + ":" + Files.size(file);
+            } catch (final IOException ex) {
+                version = "";
+            }
+            return version;
+        }
+    }
+}
@@ -0,0 +1,212 @@
+/**
+ * Copyright (c) 2016-2020, Mihai Emil Andronache
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ *  modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ *  list of conditions and the following disclaimer.
+ *  Redistributions in binary form must reproduce the above copyright notice,
+ *  this list of conditions and the following disclaimer in the documentation
+ *  and/or other materials provided with the distribution.
+ * Neither the name of the copyright holder nor the names of its
+ *  contributors may be used to endorse or promote products derived from
+ *  this software without specific prior written permission.
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT
+ * LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY
+ * OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF
+ * SUCH DAMAGE.
+ */
+package com.amihaiemil.eoyaml;
+
+import com.amihaiemil.eoyaml.exceptions.YamlReadingException;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.Test;
+
+/**
+ * Unit tests for {@link Anchors}.
+ * @author Mihai Andronache (amihaiemil@gmail.com)
+ * @version $Id$
+ * @since 4.2.0
+ */
+public final class AnchorsTest {
+
+    /**
+     * Anchors are taken out of the lines' content.
+     */
+    @Test
+    public void decoratesAnchors() {
+        final List<YamlLine> lines = Anchors.decorate(
+            AnchorsTest.lines("key: &one value", "- &two", "  a: b")
+        );
+        MatcherAssert.assertThat(
+            lines.get(0), Matchers.instanceOf(AnchoredYamlLine.class)
+        );
+        MatcherAssert.assertThat(
+            lines.get(0).trimmed(), Matchers.equalTo("key: value")
+        );
+        MatcherAssert.assertThat(
+            ((AnchoredYamlLine) lines.get(0)).anchor(),
+            Matchers.equalTo("one")
+        );
+        MatcherAssert.assertThat(
+            lines.get(1).trimmed(), Matchers.equalTo("-")
+        );
+        MatcherAssert.assertThat(
+            lines.get(2), Matchers.instanceOf(RtYamlLine.class)
+        );
+    }
+
+    /**
+     * Aliases are recognized.
+     */
+    @Test
+    public void decoratesAliases() {
+        final List<YamlLine> lines = Anchors.decorate(
+            AnchorsTest.lines("key: &one value", "other: *one", "- *one")
+        );
+        MatcherAssert.assertThat(
+            ((AliasYamlLine) lines.get(1)).alias(), Matchers.equalTo("one")
+        );
+        MatcherAssert.assertThat(
+            ((AliasYamlLine) lines.get(2)).alias(), Matchers.equalTo("one")
+        );
+    }
+
+    /**
+     * A lone anchor at the beginning belongs to the whole document.
+     */
+    @Test
+    public void decoratesLeadingAnchor() {
+        final List<YamlLine> lines = Anchors.decorate(
+            AnchorsTest.lines("&root", "key: value")
+        );
+        MatcherAssert.assertThat(lines.size(), Matchers.is(1));
+        MatcherAssert.assertThat(
+            ((AnchoredYamlLine) lines.get(0)).leading(), Matchers.is(true)
+        );
+    }
+
+    /**
+     * An alias refers to the closest anchor before it.
+     */
+    @Test
+    public void findsClosestDefinition() {
+        final List<YamlLine> lines = Anchors.decorate(
+            AnchorsTest.lines(
+                "first: &name one", "second: *name",
+                "third: &name two", "fourth: *name"
+            )
+        );
+        final Anchors anchors = new Anchors(lines, Anchors.EXPANSION_LIMIT);
+        MatcherAssert.assertThat(
+            anchors.definition((AliasYamlLine) lines.get(1)).number(),
+            Matchers.is(0)
+        );
+        MatcherAssert.assertThat(
+            anchors.definition((AliasYamlLine) lines.get(3)).number(),
+            Matchers.is(2)
+        );
+    }
+
+    /**
+     * An alias in a trailing comment is not an alias.
+     * @throws IOException If something goes wrong.
+     */
+    @Test
+    public void ignoresAliasInComment() throws IOException {
+        MatcherAssert.assertThat(
+            Yaml.createYamlInput("key: value # see: *other")
+                .readYamlMapping().string("key"),
+            Matchers.startsWith("value")
+        );
+    }
+
+    /**
+     * An alias in a quoted scalar is not an alias.
+     * @throws IOException If something goes wrong.
+     */
+    @Test
+    public void ignoresAliasInQuotedScalar() throws IOException {
+        MatcherAssert.assertThat(
+            Yaml.createYamlInput("key: \"value: *x\"")
+                .readYamlMapping().string("key"),
+            Matchers.equalTo("value: *x")
+        );
+    }
+
+    /**
+     * An anchor in a comment line is not an anchor.
+     * @throws IOException If something goes wrong.
+     */
+    @Test
+    public void ignoresAnchorInCommentLine() throws IOException {
+        final YamlMapping read = Yaml.createYamlInput(
+            String.join(
+                System.lineSeparator(),
+                "base: &b", "  x: 1", "# copy: &b", "other: *b"
+            )
+        ).readYamlMapping();
+        MatcherAssert.assertThat(
+            read.yamlMapping("other").string("x"), Matchers.equalTo("1")
+        );
+        MatcherAssert.assertThat(
+            Anchors.decorate(AnchorsTest.lines("# copy: &b")).get(0),
+            Matchers.instanceOf(RtYamlLine.class)
+        );
+    }
+
+    /**
+     * An alias inside the node it refers to is not allowed.
+     */
+    @Test(expected = YamlReadingException.class)
+    public void complainsAboutRecursiveAlias() {
+        new Anchors(
+            Anchors.decorate(
+                AnchorsTest.lines("node: &self", "  child: *self")
+            ),
+            Anchors.EXPANSION_LIMIT
+        );
+    }
+
+    /**
+     * The limit counts the lines of the expanded aliases.
+     */
+    @Test(expected = YamlReadingException.class)
+    public void complainsAboutExceededLimit() {
+        new Anchors(
+            Anchors.decorate(
+                AnchorsTest.lines(
+                    "node: &big", "  a: b", "  c: d",
+                    "one: *big", "two: *big"
+                )
+            ),
+            3
+        );
+    }
+
+    /**
+     * Read lines.
+     * @param lines Content of the lines.
+     * @return List of YamlLine.
+     */
+    private static List<YamlLine> lines(final String... lines) {
+        final List<YamlLine> read = new ArrayList<>();
+        for(int idx = 0; idx < lines.length; ++idx) {
+            read.add(new RtYamlLine(lines[idx], idx));
+        }
+        return read;
+    }
+}
@@ -0,0 +1,102 @@
+/**
+ * Copyright (c) 2016-2020, Mihai Emil Andronache
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ *  modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ *  list of conditions and the following disclaimer.
+ *  Redistributions in binary form must reproduce the above copyright notice,
+ *  this list of conditions and the following disclaimer in the documentation
+ *  and/or other materials provided with the distribution.
+ * Neither the name of the copyright holder nor the names of its
+ *  contributors may be used to endorse or promote products derived from
+ *  this software without specific prior written permission.
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT
+ * LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY
+ * OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF
+ * SUCH DAMAGE.
+ */
+package com.amihaiemil.eoyaml;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.Test;
+
+/**
+ * Unit tests for {@link BeanProperties}.
+ * @author Mihai Andronache (amihaiemil@gmail.com)
+ * @version $Id$
+ * @since 4.2.0
+ */
+public final class BeanPropertiesTest {
+
+    /**
+     * BeanProperties are computed only once per class.
+     */
+    @Test
+    public void cachesPropertiesOfClass() {
+        MatcherAssert.assertThat(
+            BeanProperties.forClass(Point.class),
+            Matchers.sameInstance(BeanProperties.forClass(Point.class))
+        );
+    }
+
+    /**
+     * BeanProperties has the readable properties, sorted by name,
+     * without "class".
+     */
+    @Test
+    public void findsReadableProperties() {
+        final List<String> names = new ArrayList<>();
+        for(final BeanProperties.Property prop
+            : BeanProperties.forClass(Point.class)) {
+            names.add(prop.name());
+        }
+        MatcherAssert.assertThat(
+            names, Matchers.contains("label", "x", "y")
+        );
+    }
+
+    /**
+     * BeanProperties can read the properties of a non-public class.
+     */
+    @Test
+    public void readsPropertiesOfNonPublicClass() {
+        final Point point = new Point();
+        final List<Object> values = new ArrayList<>();
+        for(final BeanProperties.Property prop
+            : BeanProperties.forClass(Point.class)) {
+            values.add(prop.value(point));
+        }
+        MatcherAssert.assertThat(
+            values, Matchers.contains(null, 1, 2)
+        );
+    }
+
+    /**
+     * A point, for test.
+     * @checkstyle JavadocMethod (30 lines)
+     */
+    private static final class Point {
+        public int getX() {
+            return 1;
+        }
+        public int getY() {
+            return 2;
+        }
+        public String getLabel() {
+            return null;
+        }
+    }
+}
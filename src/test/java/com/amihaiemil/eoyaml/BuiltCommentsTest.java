@@ -95,4 +95,69 @@ public final class BuiltCommentsTest {
         );
     }
 
+    /**
+     * BuiltComments returns the first Comment referring to a node.
+     */
+    @Test
+    public void returnsFirstCommentReferringToNode() {
+        final YamlNode node = new PlainStringScalar("node");
+        final List<Comment> all = new ArrayList<>();
+        all.add(new BuiltComment(node, "first"));
+        all.add(new BuiltComment(node, "second"));
+        all.add(new BuiltComment(new PlainStringScalar("node"), "third"));
+        final Comments comments = new BuiltComments(all);
+        MatcherAssert.assertThat(
+            comments.referringTo(node).value(),
+            Matchers.equalTo("first")
+        );
+        MatcherAssert.assertThat(
+            comments.referringTo(new PlainStringScalar("node")).value(),
+            Matchers.equalTo("first")
+        );
+    }
+
+    /**
+     * BuiltComments can find the Comment referring to an equal mapping,
+     * not only to the same instance.
+     */
+    @Test
+    public void returnsCommentReferringToEqualMapping() {
+        final List<Comment> all = new ArrayList<>();
+        all.add(
+            new BuiltComment(
+                Yaml.createYamlMappingBuilder().add("key", "value").build(),
+                "mapping comment"
+            )
+        );
+        final Comments comments = new BuiltComments(all);
+        MatcherAssert.assertThat(
+            comments.referringTo(
+                Yaml.createYamlMappingBuilder().add("key", "value").build()
+            ).value(),
+            Matchers.equalTo("mapping comment")
+        );
+    }
+
+    /**
+     * BuiltComments can find the comments of many mapping keys.
+     */
+    @Test
+    public void findsCommentsOfManyNodes() {
+        final List<Comment> all = new ArrayList<>();
+        final List<YamlNode> keys = new ArrayList<>();
+        for(int idx = 0; idx < 30_000; ++idx) {
+            final YamlNode key = Yaml.createYamlMappingBuilder()
+                .add("id", String.valueOf(idx))
+                .build();
+            keys.add(key);
+            all.add(new BuiltComment(key, "comment" + idx));
+        }
+        final Comments comments = new BuiltComments(all);
+        for(int idx = 0; idx < keys.size(); ++idx) {
+            MatcherAssert.assertThat(
+                comments.referringTo(keys.get(idx)).value(),
+                Matchers.equalTo("comment" + idx)
+            );
+        }
+    }
 }
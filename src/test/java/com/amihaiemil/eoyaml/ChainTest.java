@@ -0,0 +1,109 @@
+/**
+ * Copyright (c) 2016-2020, Mihai Emil Andronache
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ *  modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ *  list of conditions and the following disclaimer.
+ *  Redistributions in binary form must reproduce the above copyright notice,
+ *  this list of conditions and the following disclaimer in the documentation
+ *  and/or other materials provided with the distribution.
+ * Neither the name of the copyright holder nor the names of its
+ *  contributors may be used to endorse or promote products derived from
+ *  this software without specific prior written permission.
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT
+ * LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY
+ * OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF
+ * SUCH DAMAGE.
+ */
+package com.amihaiemil.eoyaml;
+
+import java.util.List;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.Test;
+
+/**
+ * Unit tests for {@link Chain}.
+ * @author Mihai Andronache (amihaiemil@gmail.com)
+ * @version $Id$
+ * @since 4.2.0
+ */
+public final class ChainTest {
+
+    /**
+     * An empty Chain has no items.
+     */
+    @Test
+    public void emptyChainHasNoItems() {
+        final Chain<String> empty = new Chain<>();
+        MatcherAssert.assertThat(empty.size(), Matchers.equalTo(0));
+        MatcherAssert.assertThat(empty.toList(), Matchers.emptyIterable());
+        MatcherAssert.assertThat(empty, Matchers.emptyIterable());
+    }
+
+    /**
+     * Chain keeps the items in the order of appending.
+     */
+    @Test
+    public void keepsOrderOfAppending() {
+        final Chain<String> chain = new Chain<String>()
+            .with("first").with("second").with("third");
+        MatcherAssert.assertThat(chain.size(), Matchers.equalTo(3));
+        MatcherAssert.assertThat(
+            chain.toList(),
+            Matchers.contains("first", "second", "third")
+        );
+        MatcherAssert.assertThat(
+            chain,
+            Matchers.contains("first", "second", "third")
+        );
+    }
+
+    /**
+     * Appending does not change the previous chain, even if we append
+     * different items to it more times.
+     */
+    @Test
+    public void appendingDoesNotChangePrevious() {
+        final Chain<String> common = new Chain<String>().with("common");
+        final Chain<String> left = common.with("left");
+        final Chain<String> right = common.with("right");
+        MatcherAssert.assertThat(common, Matchers.contains("common"));
+        MatcherAssert.assertThat(left, Matchers.contains("common", "left"));
+        MatcherAssert.assertThat(right, Matchers.contains("common", "right"));
+    }
+
+    /**
+     * The returned list cannot be modified.
+     */
+    @Test(expected = UnsupportedOperationException.class)
+    public void listIsUnmodifiable() {
+        final List<String> list = new Chain<String>().with("item").toList();
+        list.add("other");
+    }
+
+    /**
+     * Chain can hold many items without copying them.
+     */
+    @Test
+    public void holdsManyItems() {
+        Chain<Integer> chain = new Chain<>();
+        for(int idx = 0; idx < 100000; ++idx) {
+            chain = chain.with(idx);
+        }
+        final List<Integer> items = chain.toList();
+        MatcherAssert.assertThat(items.size(), Matchers.equalTo(100000));
+        MatcherAssert.assertThat(items.get(0), Matchers.equalTo(0));
+        MatcherAssert.assertThat(items.get(99999), Matchers.equalTo(99999));
+    }
+}
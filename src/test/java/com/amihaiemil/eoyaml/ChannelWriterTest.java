@@ -0,0 +1,132 @@
+/**
+ * Copyright (c) 2016-2020, Mihai Emil Andronache
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ *  modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ *  list of conditions and the following disclaimer.
+ *  Redistributions in binary form must reproduce the above copyright notice,
+ *  this list of conditions and the following disclaimer in the documentation
+ *  and/or other materials provided with the distribution.
+ * Neither the name of the copyright holder nor the names of its
+ *  contributors may be used to endorse or promote products derived from
+ *  this software without specific prior written permission.
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT
+ * LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY
+ * OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF
+ * SUCH DAMAGE.
+ */
+package com.amihaiemil.eoyaml;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.Test;
+
+/**
+ * Unit tests for {@link ChannelWriter}.
+ * @author Mihai Andronache (amihaiemil@gmail.com)
+ * @version $Id$
+ * @since 4.2.0
+ */
+public final class ChannelWriterTest {
+
+    /**
+     * ChannelWriter writes ASCII text as UTF-8.
+     * @throws IOException If something goes wrong.
+     */
+    @Test
+    public void writesAscii() throws IOException {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (
+            Writer writer = new ChannelWriter(
+                Channels.newChannel(out), StandardCharsets.UTF_8
+            )
+        ) {
+            writer.write("key: value");
+            writer.append('\n');
+        }
+        MatcherAssert.assertThat(
+            new String(out.toByteArray(), StandardCharsets.UTF_8),
+            Matchers.equalTo("key: value\n")
+        );
+    }
+
+    /**
+     * ChannelWriter writes mixed text, bigger than its buffer, with
+     * surrogate pairs split between two writes.
+     * @throws IOException If something goes wrong.
+     */
+    @Test
+    public void writesMixedText() throws IOException {
+        final StringBuilder text = new StringBuilder();
+        for(int idx = 0; idx < 5000; ++idx) {
+            text.append("ascii ăîșț 😀 ");
+        }
+        final String expected = text.toString();
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (
+            Writer writer = new ChannelWriter(
+                Channels.newChannel(out), StandardCharsets.UTF_8
+            )
+        ) {
+            int idx = 0;
+            while(idx < expected.length()) {
+                final int end = Math.min(idx + 7, expected.length());
+                writer.append(expected, idx, end);
+                idx = end;
+            }
+        }
+        MatcherAssert.assertThat(
+            new String(out.toByteArray(), StandardCharsets.UTF_8),
+            Matchers.equalTo(expected)
+        );
+    }
+
+    /**
+     * ChannelWriter can encode with a charset which is not ASCII-compatible.
+     * @throws IOException If something goes wrong.
+     */
+    @Test
+    public void writesUtfSixteen() throws IOException {
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (
+            Writer writer = new ChannelWriter(
+                Channels.newChannel(out), StandardCharsets.UTF_16BE
+            )
+        ) {
+            writer.write("key: välue".toCharArray());
+        }
+        MatcherAssert.assertThat(
+            new String(out.toByteArray(), StandardCharsets.UTF_16BE),
+            Matchers.equalTo("key: välue")
+        );
+    }
+
+    /**
+     * ChannelWriter complains if it is used after closing.
+     * @throws IOException If something goes wrong.
+     */
+    @Test(expected = IOException.class)
+    public void complainsWhenClosed() throws IOException {
+        final Writer writer = new ChannelWriter(
+            Channels.newChannel(new ByteArrayOutputStream()),
+            StandardCharsets.UTF_8
+        );
+        writer.close();
+        writer.write("text");
+    }
+}
@@ -0,0 +1,381 @@
+/**
+ * Copyright (c) 2016-2020, Mihai Emil Andronache
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ *  modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ *  list of conditions and the following disclaimer.
+ *  Redistributions in binary form must reproduce the above copyright notice,
+ *  this list of conditions and the following disclaimer in the documentation
+ *  and/or other materials provided with the distribution.
+ * Neither the name of the copyright holder nor the names of its
+ *  contributors may be used to endorse or promote products derived from
+ *  this software without specific prior written permission.
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT
+ * LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY
+ * OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF
+ * SUCH DAMAGE.
+ */
+package com.amihaiemil.eoyaml;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import org.hamcrest.MatcherAssert;
+import org.junit.Test;
+
+/**
+ * Algorithmic complexity of the public operations. Each operation is run
+ * at the sizes n, 2n, 4n and 8n and its cost is counted in {@link Visits}
+ * to the lines or scalars, not in time. A test fails if the cost grows
+ * faster than the declared bound, e.g. if an O(n) operation becomes
+ * O(n^2).
+ * @author Mihai Andronache (amihaiemil@gmail.com)
+ * @version $Id$
+ * @since 4.2.0
+ * @checkstyle ClassDataAbstractionCoupling (500 lines)
+ */
+public final class ComplexityTest {
+
+    /**
+     * Smallest measured size.
+     */
+    private static final int SIZE = 64;
+
+    /**
+     * Reading all the pairs of a flat mapping is O(n).
+     */
+    @Test
+    public void walksFlatMappings() {
+        MatcherAssert.assertThat(
+            new Growth(
+                SIZE,
+                size -> ComplexityTest.cost(
+                    ComplexityTest.pairs(size, false),
+                    input -> ComplexityTest.walk(input.readYamlMapping())
+                )
+            ),
+            Growth.atMost("O(n)", Growth.LINEAR)
+        );
+    }
+
+    /**
+     * Reading a whole document, with nested mappings, sequences and
+     * block scalars, is O(n).
+     */
+    @Test
+    public void walksNestedMappings() {
+        MatcherAssert.assertThat(
+            new Growth(
+                SIZE,
+                size -> ComplexityTest.cost(
+                    ComplexityTest.nested(size),
+                    input -> ComplexityTest.walk(input.readYamlMapping())
+                )
+            ),
+            Growth.atMost("O(n)", Growth.LINEAR)
+        );
+    }
+
+    /**
+     * Reading the comment of every value is O(n).
+     */
+    @Test
+    public void readsComments() {
+        MatcherAssert.assertThat(
+            new Growth(
+                SIZE,
+                size -> ComplexityTest.cost(
+                    ComplexityTest.pairs(size, true),
+                    input -> {
+                        final YamlMapping read = input.readYamlMapping();
+                        read.comment().value();
+                        for(final YamlNode key : read.keys()) {
+                            ((Scalar) read.value(key)).comment().value();
+                        }
+                    }
+                )
+            ),
+            Growth.atMost("O(n)", Growth.LINEAR)
+        );
+    }
+
+    /**
+     * Looking up as many missing keys as there are pairs is O(n).
+     */
+    @Test
+    public void looksUpMissingKeys() {
+        MatcherAssert.assertThat(
+            new Growth(
+                SIZE,
+                size -> ComplexityTest.cost(
+                    ComplexityTest.pairs(size, false),
+                    input -> {
+                        final YamlMapping read = input.readYamlMapping();
+                        for(int idx = 0; idx < size; ++idx) {
+                            read.value("missing" + idx);
+                        }
+                    }
+                )
+            ),
+            Growth.atMost("O(n)", Growth.LINEAR)
+        );
+    }
+
+    /**
+     * Accessing every item of a sequence by its index is O(n).
+     */
+    @Test
+    public void indexesSequences() {
+        MatcherAssert.assertThat(
+            new Growth(
+                SIZE,
+                size -> ComplexityTest.cost(
+                    ComplexityTest.items(size),
+                    input -> {
+                        final YamlSequence read = input.readYamlSequence();
+                        for(int idx = 0; idx < read.size(); ++idx) {
+                            read.yamlMapping(idx).string("key");
+                        }
+                    }
+                )
+            ),
+            Growth.atMost("O(n)", Growth.LINEAR)
+        );
+    }
+
+    /**
+     * Reading every document of a stream is O(n).
+     */
+    @Test
+    public void walksStreams() {
+        MatcherAssert.assertThat(
+            new Growth(
+                SIZE,
+                size -> ComplexityTest.cost(
+                    ComplexityTest.documents(size),
+                    input -> {
+                        final YamlStream read = input.readYamlStream();
+                        for(final YamlNode doc : read.values()) {
+                            ComplexityTest.walk(doc);
+                        }
+                    }
+                )
+            ),
+            Growth.atMost("O(n)", Growth.LINEAR)
+        );
+    }
+
+    /**
+     * Printing a read document is O(n).
+     */
+    @Test
+    public void printsReadMappings() {
+        MatcherAssert.assertThat(
+            new Growth(
+                SIZE,
+                size -> ComplexityTest.cost(
+                    ComplexityTest.nested(size),
+                    input -> input.readYamlMapping().toString()
+                )
+            ),
+            Growth.atMost("O(n)", Growth.LINEAR)
+        );
+    }
+
+    /**
+     * Adding n pairs to the immutable builder, then looking all of them
+     * (and their comments) up in the built mapping, is O(n).
+     */
+    @Test
+    public void buildsMappings() {
+        MatcherAssert.assertThat(
+            new Growth(SIZE, ComplexityTest::built),
+            Growth.atMost("O(n)", Growth.LINEAR)
+        );
+    }
+
+    /**
+     * Adding n items to the immutable builder, then printing the built
+     * sequence, is O(n).
+     */
+    @Test
+    public void buildsSequences() {
+        MatcherAssert.assertThat(
+            new Growth(
+                SIZE,
+                size -> {
+                    final Visits visits = new Visits();
+                    YamlSequenceBuilder builder = Yaml
+                        .createYamlSequenceBuilder();
+                    for(int idx = 0; idx < size; ++idx) {
+                        builder = builder.add(visits.scalar("item" + idx));
+                    }
+                    builder.build().toString();
+                    return visits.count();
+                }
+            ),
+            Growth.atMost("O(n)", Growth.LINEAR)
+        );
+    }
+
+    /**
+     * Cost of reading some YAML.
+     * @param yaml The YAML.
+     * @param operation What is done with it.
+     * @return Number of visits to its lines.
+     */
+    private static long cost(final String yaml, final Read operation) {
+        final Visits visits = new Visits();
+        try {
+            operation.apply(visits.input(yaml));
+        } catch (final IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+        return visits.count();
+    }
+
+    /**
+     * Cost of building a mapping of the given size, then looking up all
+     * of its values and comments.
+     * @param size Number of pairs.
+     * @return Number of visits to the keys.
+     */
+    private static long built(final int size) {
+        final Visits visits = new Visits();
+        YamlMappingBuilder builder = Yaml.createYamlMappingBuilder();
+        for(int idx = 0; idx < size; ++idx) {
+            builder = builder.add(
+                visits.scalar("key" + idx),
+                Yaml.createYamlScalarBuilder()
+                    .addLine("value")
+                    .buildPlainScalar(),
+                "comment " + idx
+            );
+        }
+        final YamlMapping built = builder.build();
+        for(final YamlNode key : built.keys()) {
+            built.value(key);
+            built.comments().referringTo(key).value();
+        }
+        return visits.count();
+    }
+
+    /**
+     * Read every node of a document.
+     * @param node The document.
+     * @return Number of read nodes.
+     */
+    private static int walk(final YamlNode node) {
+        int walked = 1;
+        if(node instanceof YamlMapping) {
+            final YamlMapping mapping = (YamlMapping) node;
+            for(final YamlNode key : mapping.keys()) {
+                walked = walked + ComplexityTest.walk(mapping.value(key));
+            }
+        } else if(node instanceof YamlSequence) {
+            for(final YamlNode item : (YamlSequence) node) {
+                walked = walked + ComplexityTest.walk(item);
+            }
+        } else {
+            ((Scalar) node).value();
+        }
+        return walked;
+    }
+
+    /**
+     * Flat mapping.
+     * @param size Number of pairs.
+     * @param comments Should each pair have a comment?
+     * @return YAML.
+     */
+    private static String pairs(final int size, final boolean comments) {
+        final StringBuilder yaml = new StringBuilder();
+        for(int idx = 0; idx < size; ++idx) {
+            if(comments) {
+                yaml.append("# comment of key").append(idx).append('\n');
+            }
+            yaml.append("key").append(idx).append(": value\n");
+        }
+        return yaml.toString();
+    }
+
+    /**
+     * Mapping with nested mappings, sequences and block scalars.
+     * @param size Number of top-level pairs.
+     * @return YAML.
+     */
+    private static String nested(final int size) {
+        final StringBuilder yaml = new StringBuilder();
+        for(int idx = 0; idx < size; ++idx) {
+            yaml.append("key").append(idx).append(":\n")
+                .append("  name: value\n")
+                .append("  text: |\n")
+                .append("    first line\n")
+                .append("    second line\n")
+                .append("  items:\n")
+                .append("    - first\n")
+                .append("    -\n")
+                .append("      key: value\n");
+        }
+        return yaml.toString();
+    }
+
+    /**
+     * Sequence of mappings.
+     * @param size Number of items.
+     * @return YAML.
+     */
+    private static String items(final int size) {
+        final StringBuilder yaml = new StringBuilder();
+        for(int idx = 0; idx < size; ++idx) {
+            yaml.append("-\n  key: value\n  other: value\n");
+        }
+        return yaml.toString();
+    }
+
+    /**
+     * Stream of generated documents.
+     * @param size Number of documents.
+     * @return YAML.
+     */
+    private static String documents(final int size) {
+        final StringBuilder yaml = new StringBuilder();
+        try {
+            new YamlCorpus(42L)
+                .depth(2)
+                .fanout(3)
+                .comments(0.2)
+                .blockScalars(0.2)
+                .sequences(0.3)
+                .stream(size, yaml);
+        } catch (final IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+        return yaml.toString();
+    }
+
+    /**
+     * Operation on read YAML.
+     * @author Mihai Andronache (amihaiemil@gmail.com)
+     * @version $Id$
+     * @since 4.2.0
+     */
+    private interface Read {
+
+        /**
+         * Apply it.
+         * @param input The read YAML.
+         * @throws IOException If the YAML cannot be read.
+         */
+        void apply(YamlInput input) throws IOException;
+    }
+}
@@ -0,0 +1,242 @@
+/**
+ * Copyright (c) 2016-2020, Mihai Emil Andronache
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ *  modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ *  list of conditions and the following disclaimer.
+ *  Redistributions in binary form must reproduce the above copyright notice,
+ *  this list of conditions and the following disclaimer in the documentation
+ *  and/or other materials provided with the distribution.
+ * Neither the name of the copyright holder nor the names of its
+ *  contributors may be used to endorse or promote products derived from
+ *  this software without specific prior written permission.
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT
+ * LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY
+ * OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF
+ * SUCH DAMAGE.
+ */
+package com.amihaiemil.eoyaml;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.Test;
+
+/**
+ * Stress tests, sharing one read YAML tree between many threads.
+ * @author Mihai Andronache (amihaiemil@gmail.com)
+ * @version $Id$
+ * @since 4.2.0
+ */
+public final class ConcurrentReadingTest {
+
+    /**
+     * Number of threads.
+     */
+    private static final int THREADS = 16;
+
+    /**
+     * Number of times each thread walks the tree.
+     */
+    private static final int WALKS = 200;
+
+    /**
+     * A YAML document using most of what is cached lazily: aliases,
+     * merge keys, block scalars and comments.
+     */
+    private static final String YAML = String.join(
+        "\n",
+        "# shared configuration",
+        "defaults: &defaults",
+        "  image: nginx",
+        "  replicas: 2",
+        "services:",
+        "  web:",
+        "    <<: *defaults",
+        "    replicas: 5",
+        "  api:",
+        "    <<: *defaults",
+        "    image: api",
+        "hosts:",
+        "  - &main alpha.example.com",
+        "  - beta.example.com",
+        "  - *main",
+        "script: |",
+        "  echo start",
+        "  echo stop",
+        "summary: >",
+        "  one",
+        "  line"
+    );
+
+    /**
+     * One read YamlMapping gives the same answers to many threads.
+     * @throws Exception If something goes wrong.
+     */
+    @Test
+    public void sharesReadMapping() throws Exception {
+        final String expected = ConcurrentReadingTest.walk(
+            Yaml.createYamlInput(YAML).readYamlMapping()
+        );
+        final YamlMapping shared = Yaml.createYamlInput(YAML).readYamlMapping();
+        for(final String walked : ConcurrentReadingTest.race(
+            () -> ConcurrentReadingTest.walk(shared)
+        )) {
+            MatcherAssert.assertThat(walked, Matchers.equalTo(expected));
+        }
+    }
+
+    /**
+     * One built YamlMapping, with lazily computed scalars and comments,
+     * gives the same answers to many threads.
+     * @throws Exception If something goes wrong.
+     */
+    @Test
+    public void sharesBuiltMapping() throws Exception {
+        final YamlMapping shared = Yaml.createYamlMappingBuilder()
+            .add("name", "eo-yaml", "the name")
+            .add(
+                "description",
+                Yaml.createYamlScalarBuilder()
+                    .addLine("a YAML library")
+                    .addLine("for Java")
+                    .buildFoldedBlockScalar()
+            )
+            .add(
+                "script",
+                Yaml.createYamlScalarBuilder()
+                    .addLine("mvn clean")
+                    .addLine("mvn install")
+                    .buildLiteralBlockScalar()
+            )
+            .build();
+        final String expected = shared.toString();
+        for(final String walked : ConcurrentReadingTest.race(
+            () -> shared.toString()
+                + shared.comments().referringTo("name").value()
+        )) {
+            MatcherAssert.assertThat(
+                walked, Matchers.equalTo(expected + "the name")
+            );
+        }
+    }
+
+    /**
+     * Lines cached lazily give the same answers to many threads.
+     * @throws Exception If something goes wrong.
+     */
+    @Test
+    public void sharesCachedLines() throws Exception {
+        final String expected = ConcurrentReadingTest.walk(
+            ConcurrentReadingTest.lines()
+        );
+        final List<YamlLine> shared = ConcurrentReadingTest.lines();
+        for(final String walked : ConcurrentReadingTest.race(
+            () -> ConcurrentReadingTest.walk(shared)
+        )) {
+            MatcherAssert.assertThat(walked, Matchers.equalTo(expected));
+        }
+    }
+
+    /**
+     * Lines which cache what they compute.
+     * @return List of CachedYamlLine.
+     */
+    private static List<YamlLine> lines() {
+        final List<YamlLine> lines = new ArrayList<>();
+        for(int idx = 0; idx < 1000; ++idx) {
+            lines.add(
+                new CachedYamlLine(new RtYamlLine("  key" + idx + ":", idx))
+            );
+        }
+        return lines;
+    }
+
+    /**
+     * Walk the given lines, reading what each of them caches.
+     * @param lines Lines.
+     * @return What was read.
+     */
+    private static String walk(final List<YamlLine> lines) {
+        final StringBuilder read = new StringBuilder();
+        for(final YamlLine line : lines) {
+            read.append(line.trimmed())
+                .append(line.indentation())
+                .append(line.requireNestedIndentation());
+        }
+        return read.toString();
+    }
+
+    /**
+     * Walk the whole mapping, through the typed accessors and printing.
+     * @param mapping YamlMapping.
+     * @return What was read.
+     */
+    private static String walk(final YamlMapping mapping) {
+        final StringBuilder read = new StringBuilder();
+        for(int idx = 0; idx < WALKS; ++idx) {
+            read.setLength(0);
+            final YamlMapping services = mapping.yamlMapping("services");
+            read.append(services.yamlMapping("web").string("image"))
+                .append(services.yamlMapping("web").integer("replicas"))
+                .append(services.yamlMapping("api").string("image"))
+                .append(services.yamlMapping("api").integer("replicas"))
+                .append(mapping.yamlSequence("hosts").string(2))
+                .append(mapping.literalBlockScalar("script"))
+                .append(mapping.foldedBlockScalar("summary"))
+                .append(mapping.keys())
+                .append(mapping);
+        }
+        return read.toString();
+    }
+
+    /**
+     * Run the same task on many threads at once.
+     * @param task Task.
+     * @return Results of all the threads.
+     * @throws Exception If a task fails.
+     */
+    private static List<String> race(final Callable<String> task)
+        throws Exception {
+        final ExecutorService pool = Executors.newFixedThreadPool(THREADS);
+        final CountDownLatch start = new CountDownLatch(1);
+        final List<Future<String>> futures = new ArrayList<>();
+        try {
+            for(int idx = 0; idx < THREADS; ++idx) {
+                futures.add(
+                    pool.submit(
+                        () -> {
+                            start.await();
+                            return task.call();
+                        }
+                    )
+                );
+            }
+            start.countDown();
+            final List<String> results = new ArrayList<>();
+            for(final Future<String> future : futures) {
+                results.add(future.get(1, TimeUnit.MINUTES));
+            }
+            return results;
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,137 @@
+/**
+ * Copyright (c) 2016-2020, Mihai Emil Andronache
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ *  modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ *  list of conditions and the following disclaimer.
+ *  Redistributions in binary form must reproduce the above copyright notice,
+ *  this list of conditions and the following disclaimer in the documentation
+ *  and/or other materials provided with the distribution.
+ * Neither the name of the copyright holder nor the names of its
+ *  contributors may be used to endorse or promote products derived from
+ *  this software without specific prior written permission.
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT
+ * LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY
+ * OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF
+ * SUCH DAMAGE.
+ */
+package com.amihaiemil.eoyaml;
+
+import java.util.ArrayList;
+import java.util.List;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.Test;
+
+/**
+ * Unit tests for {@link DumpedObjects}.
+ * @author Mihai Andronache (amihaiemil@gmail.com)
+ * @version $Id$
+ * @since 4.2.0
+ */
+public final class DumpedObjectsTest {
+
+    /**
+     * The first time an object is met, it is represented with an anchor,
+     * which is named only when the object is met again. The next times,
+     * the same node is used.
+     */
+    @Test
+    public void namesAnchorOnlyWhenReferred() {
+        final Object shared = new Object();
+        final List<YamlNode> nodes = new ArrayList<>();
+        DumpedObjects.root(
+            new Object(), false,
+            () -> {
+                nodes.add(DumpedObjects.nested(shared, this::sequence));
+                MatcherAssert.assertThat(
+                    ((Anchored) nodes.get(0)).anchor(), Matchers.isEmptyString()
+                );
+                nodes.add(DumpedObjects.nested(shared, this::sequence));
+                return this.sequence();
+            }
+        );
+        MatcherAssert.assertThat(
+            ((Anchored) nodes.get(0)).anchor(), Matchers.equalTo("id1")
+        );
+        MatcherAssert.assertThat(
+            nodes.get(1), Matchers.sameInstance(nodes.get(0))
+        );
+    }
+
+    /**
+     * An object met again while it is still being dumped is represented
+     * with an alias to its anchor.
+     */
+    @Test
+    public void aliasesCycle() {
+        final Object looped = new Object();
+        final List<YamlNode> nodes = new ArrayList<>();
+        final YamlNode root = DumpedObjects.root(
+            looped, false,
+            () -> {
+                nodes.add(DumpedObjects.nested(looped, this::sequence));
+                return this.sequence();
+            }
+        );
+        MatcherAssert.assertThat(
+            ((Anchored) root).anchor(), Matchers.equalTo("id1")
+        );
+        MatcherAssert.assertThat(
+            ((Scalar) nodes.get(0)).value(), Matchers.equalTo("*id1")
+        );
+    }
+
+    /**
+     * Separate dumps do not share objects.
+     */
+    @Test
+    public void separatesRootDumps() {
+        final Object shared = new Object();
+        final List<YamlNode> nodes = new ArrayList<>();
+        DumpedObjects.root(
+            shared, false,
+            () -> {
+                nodes.add(DumpedObjects.root(shared, false, this::sequence));
+                return this.sequence();
+            }
+        );
+        MatcherAssert.assertThat(
+            nodes.get(0), Matchers.instanceOf(AnchoredYamlSequence.class)
+        );
+        MatcherAssert.assertThat(
+            DumpedObjects.nested(shared, this::sequence),
+            Matchers.instanceOf(AnchoredYamlSequence.class)
+        );
+    }
+
+    /**
+     * Cycles can be refused.
+     */
+    @Test(expected = IllegalStateException.class)
+    public void refusesCycle() {
+        final Object looped = new Object();
+        DumpedObjects.root(
+            looped, true,
+            () -> DumpedObjects.nested(looped, this::sequence)
+        );
+    }
+
+    /**
+     * An empty sequence.
+     * @return YamlSequence.
+     */
+    private YamlSequence sequence() {
+        return Yaml.createYamlSequenceBuilder().build();
+    }
+}
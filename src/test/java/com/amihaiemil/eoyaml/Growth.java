@@ -0,0 +1,206 @@
+/**
+ * Copyright (c) 2016-2020, Mihai Emil Andronache
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ *  modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ *  list of conditions and the following disclaimer.
+ *  Redistributions in binary form must reproduce the above copyright notice,
+ *  this list of conditions and the following disclaimer in the documentation
+ *  and/or other materials provided with the distribution.
+ * Neither the name of the copyright holder nor the names of its
+ *  contributors may be used to endorse or promote products derived from
+ *  this software without specific prior written permission.
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT
+ * LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY
+ * OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF
+ * SUCH DAMAGE.
+ */
+package com.amihaiemil.eoyaml;
+
+import java.util.function.DoubleUnaryOperator;
+import java.util.function.IntToLongFunction;
+import org.hamcrest.Description;
+import org.hamcrest.Matcher;
+import org.hamcrest.TypeSafeMatcher;
+
+/**
+ * Growth of the cost of an operation, measured at the sizes n, 2n, 4n and
+ * 8n. The growth rate is the slope of the least squares line through the
+ * points (log size, log cost): about 1 for a linear operation, about 2
+ * for a quadratic one.
+ * @author Mihai Andronache (amihaiemil@gmail.com)
+ * @version $Id$
+ * @since 4.2.0
+ */
+final class Growth {
+
+    /**
+     * O(n).
+     */
+    static final DoubleUnaryOperator LINEAR = size -> size;
+
+    /**
+     * O(n log n).
+     */
+    static final DoubleUnaryOperator LINEARITHMIC = size -> size
+        * Math.log(size);
+
+    /**
+     * How much faster than its bound an operation may grow, since
+     * lower-order terms bend the measured slope a little.
+     */
+    private static final double TOLERANCE = 0.25;
+
+    /**
+     * Measured sizes.
+     */
+    private final int[] sizes;
+
+    /**
+     * Measured costs.
+     */
+    private final long[] costs;
+
+    /**
+     * Ctor.
+     * @param size Smallest size, n.
+     * @param cost Cost of the operation at a given size.
+     */
+    Growth(final int size, final IntToLongFunction cost) {
+        this.sizes = new int[] {size, size * 2, size * 4, size * 8};
+        this.costs = new long[this.sizes.length];
+        for(int idx = 0; idx < this.sizes.length; ++idx) {
+            this.costs[idx] = cost.applyAsLong(this.sizes[idx]);
+        }
+    }
+
+    /**
+     * Matcher of a Growth which is at most the given bound.
+     * @param name Name of the bound, e.g. "O(n)".
+     * @param bound The bound, as a function of the size.
+     * @return Matcher.
+     */
+    static Matcher<Growth> atMost(
+        final String name, final DoubleUnaryOperator bound
+    ) {
+        return new AtMost(name, bound);
+    }
+
+    /**
+     * Measured growth rate.
+     * @return Slope of log cost over log size.
+     */
+    double rate() {
+        final double[] logs = new double[this.costs.length];
+        for(int idx = 0; idx < logs.length; ++idx) {
+            logs[idx] = Math.log(Math.max(1, this.costs[idx]));
+        }
+        return this.slope(logs);
+    }
+
+    /**
+     * Growth rate of a bound, over the measured sizes.
+     * @param bound The bound.
+     * @return Slope of log bound over log size.
+     */
+    double rate(final DoubleUnaryOperator bound) {
+        final double[] logs = new double[this.sizes.length];
+        for(int idx = 0; idx < logs.length; ++idx) {
+            logs[idx] = Math.log(bound.applyAsDouble(this.sizes[idx]));
+        }
+        return this.slope(logs);
+    }
+
+    @Override
+    public String toString() {
+        final StringBuilder string = new StringBuilder();
+        for(int idx = 0; idx < this.sizes.length; ++idx) {
+            string.append(this.sizes[idx]).append('=')
+                .append(this.costs[idx]).append(' ');
+        }
+        return string.toString().trim();
+    }
+
+    /**
+     * Slope of the least squares line through (log size, value).
+     * @param values Values at each size.
+     * @return Slope.
+     */
+    private double slope(final double[] values) {
+        double meanx = 0;
+        double meany = 0;
+        for(int idx = 0; idx < values.length; ++idx) {
+            meanx = meanx + Math.log(this.sizes[idx]) / values.length;
+            meany = meany + values[idx] / values.length;
+        }
+        double covariance = 0;
+        double variance = 0;
+        for(int idx = 0; idx < values.length; ++idx) {
+            final double diff = Math.log(this.sizes[idx]) - meanx;
+            covariance = covariance + diff * (values[idx] - meany);
+            variance = variance + diff * diff;
+        }
+        return covariance / variance;
+    }
+
+    /**
+     * Matcher of a Growth which is at most a bound.
+     * @author Mihai Andronache (amihaiemil@gmail.com)
+     * @version $Id$
+     * @since 4.2.0
+     */
+    private static final class AtMost extends TypeSafeMatcher<Growth> {
+
+        /**
+         * Name of the bound.
+         */
+        private final String name;
+
+        /**
+         * The bound.
+         */
+        private final DoubleUnaryOperator bound;
+
+        /**
+         * Ctor.
+         * @param name Name of the bound.
+         * @param bound The bound.
+         */
+        AtMost(final String name, final DoubleUnaryOperator bound) {
+            this.name = name;
+            this.bound = bound;
+        }
+
+        @Override
+        public void describeTo(final Description description) {
+            description.appendText("growth at most ").appendText(this.name);
+        }
+
+        @Override
+        protected boolean matchesSafely(final Growth growth) {
+            return growth.rate() <= growth.rate(this.bound) + TOLERANCE;
+        }
+
+        @Override
+        protected void describeMismatchSafely(
+            final Growth growth, final Description description
+        ) {
+            description.appendText(
+                String.format(
+                    "rate %.2f, while %s has rate %.2f; costs %s",
+                    growth.rate(), this.name, growth.rate(this.bound), growth
+                )
+            );
+        }
+    }
+}
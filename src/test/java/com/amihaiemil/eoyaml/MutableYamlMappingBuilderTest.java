@@ -0,0 +1,119 @@
+/**
+ * Copyright (c) 2016-2020, Mihai Emil Andronache
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ *  modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ *  list of conditions and the following disclaimer.
+ *  Redistributions in binary form must reproduce the above copyright notice,
+ *  this list of conditions and the following disclaimer in the documentation
+ *  and/or other materials provided with the distribution.
+ * Neither the name of the copyright holder nor the names of its
+ *  contributors may be used to endorse or promote products derived from
+ *  this software without specific prior written permission.
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT
+ * LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY
+ * OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF
+ * SUCH DAMAGE.
+ */
+package com.amihaiemil.eoyaml;
+
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.Test;
+
+/**
+ * Unit tests for {@link MutableYamlMappingBuilder}.
+ * @author Mihai Andronache (amihaiemil@gmail.com)
+ * @version $Id$
+ * @since 4.2.0
+ */
+public final class MutableYamlMappingBuilderTest {
+
+    /**
+     * MutableYamlMappingBuilder adds in place and returns itself.
+     */
+    @Test
+    public void addsInPlace() {
+        final YamlMappingBuilder builder = new MutableYamlMappingBuilder();
+        MatcherAssert.assertThat(
+            builder.add("key", "value"), Matchers.sameInstance(builder)
+        );
+    }
+
+    /**
+     * MutableYamlMappingBuilder builds the same mapping as the
+     * immutable builder.
+     */
+    @Test
+    public void buildsSameAsImmutableBuilder() {
+        final YamlMapping mutable = new MutableYamlMappingBuilder(2)
+            .add("architect", "mihai", "the architect")
+            .add(
+                "developers",
+                Yaml.createYamlSequenceBuilder().add("rultor").build()
+            )
+            .build("a project");
+        final YamlMapping immutable = new RtYamlMappingBuilder()
+            .add("architect", "mihai", "the architect")
+            .add(
+                "developers",
+                Yaml.createYamlSequenceBuilder().add("rultor").build()
+            )
+            .build("a project");
+        MatcherAssert.assertThat(mutable, Matchers.equalTo(immutable));
+        MatcherAssert.assertThat(
+            mutable.toString(), Matchers.equalTo(immutable.toString())
+        );
+    }
+
+    /**
+     * MutableYamlMappingBuilder keeps the first position and the last
+     * value of a key which is added more times.
+     */
+    @Test
+    public void keepsFirstPositionAndLastValueOfSameKey() {
+        final YamlMapping mapping = new MutableYamlMappingBuilder()
+            .add("first", "one")
+            .add("second", "two")
+            .add("first", "three")
+            .build();
+        MatcherAssert.assertThat(
+            mapping.keys().iterator().next(),
+            Matchers.equalTo(new PlainStringScalar("first"))
+        );
+        MatcherAssert.assertThat(
+            mapping.string("first"), Matchers.equalTo("three")
+        );
+    }
+
+    /**
+     * MutableYamlMappingBuilder refuses to add after the mapping was built.
+     */
+    @Test(expected = IllegalStateException.class)
+    public void refusesToAddAfterBuild() {
+        final YamlMappingBuilder builder = new MutableYamlMappingBuilder()
+            .add("key", "value");
+        builder.build();
+        builder.add("other", "value");
+    }
+
+    /**
+     * MutableYamlMappingBuilder refuses to build the mapping twice.
+     */
+    @Test(expected = IllegalStateException.class)
+    public void refusesToBuildTwice() {
+        final YamlMappingBuilder builder = new MutableYamlMappingBuilder();
+        builder.build();
+        builder.build();
+    }
+}
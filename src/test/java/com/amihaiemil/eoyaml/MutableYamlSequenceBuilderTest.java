@@ -0,0 +1,110 @@
+/**
+ * Copyright (c) 2016-2020, Mihai Emil Andronache
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ *  modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ *  list of conditions and the following disclaimer.
+ *  Redistributions in binary form must reproduce the above copyright notice,
+ *  this list of conditions and the following disclaimer in the documentation
+ *  and/or other materials provided with the distribution.
+ * Neither the name of the copyright holder nor the names of its
+ *  contributors may be used to endorse or promote products derived from
+ *  this software without specific prior written permission.
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT
+ * LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY
+ * OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF
+ * SUCH DAMAGE.
+ */
+package com.amihaiemil.eoyaml;
+
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.Test;
+
+/**
+ * Unit tests for {@link MutableYamlSequenceBuilder}.
+ * @author Mihai Andronache (amihaiemil@gmail.com)
+ * @version $Id$
+ * @since 4.2.0
+ */
+public final class MutableYamlSequenceBuilderTest {
+
+    /**
+     * MutableYamlSequenceBuilder adds in place and returns itself.
+     */
+    @Test
+    public void addsInPlace() {
+        final YamlSequenceBuilder builder = new MutableYamlSequenceBuilder();
+        MatcherAssert.assertThat(
+            builder.add("value"), Matchers.sameInstance(builder)
+        );
+    }
+
+    /**
+     * MutableYamlSequenceBuilder builds the same sequence as the
+     * immutable builder.
+     */
+    @Test
+    public void buildsSameAsImmutableBuilder() {
+        final YamlSequence mutable = new MutableYamlSequenceBuilder(2)
+            .add("amihaiemil", "the architect")
+            .add(Yaml.createYamlMappingBuilder().add("key", "value").build())
+            .build("developers");
+        final YamlSequence immutable = new RtYamlSequenceBuilder()
+            .add("amihaiemil", "the architect")
+            .add(Yaml.createYamlMappingBuilder().add("key", "value").build())
+            .build("developers");
+        MatcherAssert.assertThat(mutable, Matchers.equalTo(immutable));
+        MatcherAssert.assertThat(
+            mutable.toString(), Matchers.equalTo(immutable.toString())
+        );
+    }
+
+    /**
+     * MutableYamlSequenceBuilder can build a big sequence.
+     */
+    @Test
+    public void buildsBigSequence() {
+        final YamlSequenceBuilder builder =
+            new MutableYamlSequenceBuilder(100_000);
+        for(int idx = 0; idx < 100_000; ++idx) {
+            builder.add("value" + idx);
+        }
+        final YamlSequence sequence = builder.build();
+        MatcherAssert.assertThat(sequence.size(), Matchers.is(100_000));
+        MatcherAssert.assertThat(
+            sequence.string(99_999), Matchers.equalTo("value99999")
+        );
+    }
+
+    /**
+     * MutableYamlSequenceBuilder refuses to add after the sequence was
+     * built.
+     */
+    @Test(expected = IllegalStateException.class)
+    public void refusesToAddAfterBuild() {
+        final YamlSequenceBuilder builder = new MutableYamlSequenceBuilder()
+            .add("value");
+        builder.build();
+        builder.add("other");
+    }
+
+    /**
+     * The built sequence cannot be changed through its values.
+     */
+    @Test(expected = UnsupportedOperationException.class)
+    public void builtSequenceCannotBeModified() {
+        new MutableYamlSequenceBuilder().add("value").build()
+            .values().clear();
+    }
+}
@@ -27,6 +27,7 @@
  */
 package com.amihaiemil.eoyaml;
 
+import com.amihaiemil.eoyaml.exceptions.YamlReadingException;
 import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Iterator;
@@ -1048,4 +1049,85 @@ public final class ReadYamlMappingTest {
 
         MatcherAssert.assertThat(map.yamlSequence(key), Matchers.nullValue());
     }
+
+    /**
+     * ReadYamlMapping merges the mapping of the merge key, without
+     * overriding its own keys.
+     * @throws Exception If something goes wrong.
+     */
+    @Test
+    public void mergesMappingOfMergeKey() throws Exception {
+        final YamlMapping read = Yaml.createYamlInput(
+            "defaults: &defaults\n"
+            + "  replicas: 2\n"
+            + "  image: nginx\n"
+            + "web:\n"
+            + "  <<: *defaults\n"
+            + "  replicas: 5\n"
+        ).readYamlMapping();
+        final YamlMapping web = read.yamlMapping("web");
+        MatcherAssert.assertThat(web.integer("replicas"), Matchers.is(5));
+        MatcherAssert.assertThat(
+            web.string("image"), Matchers.equalTo("nginx")
+        );
+        MatcherAssert.assertThat(
+            web.keys(),
+            Matchers.contains(
+                new PlainStringScalar("replicas"),
+                new PlainStringScalar("image")
+            )
+        );
+    }
+
+    /**
+     * ReadYamlMapping merges a sequence of mappings, the first ones taking
+     * precedence. The merged values are not copied.
+     * @throws Exception If something goes wrong.
+     */
+    @Test
+    public void mergesSequenceOfMappings() throws Exception {
+        final YamlMapping read = Yaml.createYamlInput(
+            "base: &base\n"
+            + "  image: nginx\n"
+            + "  port: 80\n"
+            + "  limits:\n"
+            + "    cpu: 1\n"
+            + "tls: &tls\n"
+            + "  port: 443\n"
+            + "  cert: site.pem\n"
+            + "secure:\n"
+            + "  <<:\n"
+            + "    - *tls\n"
+            + "    - *base\n"
+        ).readYamlMapping();
+        final YamlMapping secure = read.yamlMapping("secure");
+        MatcherAssert.assertThat(secure.integer("port"), Matchers.is(443));
+        MatcherAssert.assertThat(
+            secure.string("cert"), Matchers.equalTo("site.pem")
+        );
+        MatcherAssert.assertThat(
+            secure.string("image"), Matchers.equalTo("nginx")
+        );
+        MatcherAssert.assertThat(
+            secure.yamlMapping("limits").integer("cpu"), Matchers.is(1)
+        );
+        MatcherAssert.assertThat(
+            secure.yamlSequence("<<").yamlMapping(1),
+            Matchers.sameInstance(read.yamlMapping("base"))
+        );
+        MatcherAssert.assertThat(secure.keys(), Matchers.iterableWithSize(4));
+    }
+
+    /**
+     * ReadYamlMapping complains if the merge key has a scalar.
+     * @throws Exception If something goes wrong.
+     */
+    @Test(expected = YamlReadingException.class)
+    public void complainsAboutMergedScalar() throws Exception {
+        Yaml.createYamlInput(
+            "web:\n"
+            + "  <<: defaults\n"
+            + "  replicas: 5\n"
+        ).readYamlMapping().yamlMapping("web").string("image");
+    }
 }
@@ -0,0 +1,126 @@
+/**
+ * Copyright (c) 2016-2020, Mihai Emil Andronache
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ *  modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ *  list of conditions and the following disclaimer.
+ *  Redistributions in binary form must reproduce the above copyright notice,
+ *  this list of conditions and the following disclaimer in the documentation
+ *  and/or other materials provided with the distribution.
+ * Neither the name of the copyright holder nor the names of its
+ *  contributors may be used to endorse or promote products derived from
+ *  this software without specific prior written permission.
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT
+ * LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY
+ * OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF
+ * SUCH DAMAGE.
+ */
+package com.amihaiemil.eoyaml;
+
+import java.io.File;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
+import javax.tools.ToolProvider;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.Assume;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * Unit tests for {@link Records}. The library is built for Java 8, so the
+ * record is compiled during the test, if the JDK supports records.
+ * @author Mihai Andronache (amihaiemil@gmail.com)
+ * @version $Id$
+ * @since 4.2.0
+ */
+public final class RecordsTest {
+
+    /**
+     * Folder for the compiled record.
+     */
+    @Rule
+    public final TemporaryFolder folder = new TemporaryFolder();
+
+    /**
+     * A regular class is not a record.
+     */
+    @Test
+    public void classIsNotRecord() {
+        MatcherAssert.assertThat(
+            Records.componentNames(String.class), Matchers.nullValue()
+        );
+        MatcherAssert.assertThat(
+            Records.canonicalConstructor(String.class), Matchers.nullValue()
+        );
+    }
+
+    /**
+     * A record can be loaded with YamlObjectLoad, through its canonical
+     * constructor.
+     * @throws Exception If something goes wrong.
+     */
+    @Test
+    public void loadsRecord() throws Exception {
+        Assume.assumeTrue(RecordsTest.recordsSupported());
+        final File source = this.folder.newFile("Point.java");
+        Files.write(
+            source.toPath(),
+            "public record Point(int x, String label) { }"
+                .getBytes(StandardCharsets.UTF_8)
+        );
+        final File out = this.folder.newFolder("out");
+        MatcherAssert.assertThat(
+            ToolProvider.getSystemJavaCompiler().run(
+                null, null, null,
+                "-d", out.getAbsolutePath(), source.getAbsolutePath()
+            ),
+            Matchers.is(0)
+        );
+        final Class<?> point = new URLClassLoader(
+            new URL[] {out.toURI().toURL()}
+        ).loadClass("Point");
+        MatcherAssert.assertThat(
+            Arrays.asList(Records.componentNames(point)),
+            Matchers.contains("x", "label")
+        );
+        MatcherAssert.assertThat(
+            new YamlObjectLoad<>(point).load(
+                Yaml.createYamlMappingBuilder()
+                    .add("x", "7")
+                    .add("label", "seven")
+                    .build()
+            ).toString(),
+            Matchers.equalTo("Point[x=7, label=seven]")
+        );
+    }
+
+    /**
+     * Does the JVM support records?
+     * @return True or false.
+     */
+    private static boolean recordsSupported() {
+        boolean supported;
+        try {
+            Class.class.getMethod("isRecord");
+            supported = ToolProvider.getSystemJavaCompiler() != null;
+        } catch (final NoSuchMethodException ex) {
+            supported = false;
+        }
+        return supported;
+    }
+}
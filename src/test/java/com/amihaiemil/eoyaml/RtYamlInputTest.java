@@ -27,6 +27,7 @@
  */
 package com.amihaiemil.eoyaml;
 
+import com.amihaiemil.eoyaml.exceptions.YamlReadingException;
 import java.io.*;
 import java.util.Collection;
 import java.util.Iterator;
@@ -605,6 +606,147 @@ public final class RtYamlInputTest {
         );
     }
 
+    /**
+     * An alias is read as the same node as its anchored mapping.
+     * @throws Exception If something goes wrong.
+     */
+    @Test
+    public void readsAliasOfMappingAsSameNode() throws Exception {
+        final YamlMapping read = Yaml.createYamlInput(
+            "defaults: &base\n"
+            + "  adapter: postgres\n"
+            + "  host: localhost\n"
+            + "development:\n"
+            + "  database: dev\n"
+            + "test: *base\n"
+        ).readYamlMapping();
+        MatcherAssert.assertThat(
+            read.yamlMapping("test"),
+            Matchers.sameInstance(read.yamlMapping("defaults"))
+        );
+        MatcherAssert.assertThat(
+            read.yamlMapping("test").string("adapter"),
+            Matchers.equalTo("postgres")
+        );
+        MatcherAssert.assertThat(
+            read.yamlMapping("development").string("database"),
+            Matchers.equalTo("dev")
+        );
+    }
+
+    /**
+     * Anchored scalars and aliases of them are read, in mappings
+     * and in sequences.
+     * @throws Exception If something goes wrong.
+     */
+    @Test
+    public void readsAliasOfScalars() throws Exception {
+        final YamlMapping read = Yaml.createYamlInput(
+            "name: &who amihaiemil\n"
+            + "owner: *who\n"
+            + "contributors:\n"
+            + "  - &bot rultor\n"
+            + "  - *who\n"
+            + "  - *bot\n"
+        ).readYamlMapping();
+        MatcherAssert.assertThat(
+            read.string("name"), Matchers.equalTo("amihaiemil")
+        );
+        MatcherAssert.assertThat(
+            read.string("owner"), Matchers.equalTo("amihaiemil")
+        );
+        final YamlSequence contributors = read.yamlSequence("contributors");
+        MatcherAssert.assertThat(
+            contributors.string(0), Matchers.equalTo("rultor")
+        );
+        MatcherAssert.assertThat(
+            contributors.string(1), Matchers.equalTo("amihaiemil")
+        );
+        MatcherAssert.assertThat(
+            contributors.string(2), Matchers.equalTo("rultor")
+        );
+    }
+
+    /**
+     * An anchor on a line of its own belongs to the node after it and
+     * aliases of sequences are read as the same node.
+     * @throws Exception If something goes wrong.
+     */
+    @Test
+    public void readsAnchorOnItsOwnLine() throws Exception {
+        final YamlMapping read = Yaml.createYamlInput(
+            "developers:\n"
+            + "  &devs\n"
+            + "  - rultor\n"
+            + "  - salikjan\n"
+            + "reviewers: *devs\n"
+        ).readYamlMapping();
+        MatcherAssert.assertThat(
+            read.yamlSequence("reviewers"),
+            Matchers.sameInstance(read.yamlSequence("developers"))
+        );
+        MatcherAssert.assertThat(
+            read.yamlSequence("reviewers").string(1),
+            Matchers.equalTo("salikjan")
+        );
+    }
+
+    /**
+     * An alias of an unknown anchor cannot be read.
+     * @throws Exception If something goes wrong.
+     */
+    @Test(expected = YamlReadingException.class)
+    public void complainsAboutUnknownAlias() throws Exception {
+        Yaml.createYamlInput(
+            "name: &who amihaiemil\n"
+            + "owner: *nobody\n"
+        ).readYamlMapping().string("owner");
+    }
+
+    /**
+     * Aliases expanding to more lines than allowed cannot be read.
+     * @throws Exception If something goes wrong.
+     */
+    @Test(expected = YamlReadingException.class)
+    public void complainsAboutAliasBomb() throws Exception {
+        final StringBuilder yaml = new StringBuilder("one: &one\n");
+        for(int i = 0; i < 10; ++i) {
+            yaml.append("  - lol\n");
+        }
+        yaml.append("two: &two\n");
+        for(int i = 0; i < 10; ++i) {
+            yaml.append("  - *one\n");
+        }
+        yaml.append("three:\n");
+        for(int i = 0; i < 10; ++i) {
+            yaml.append("  - *two\n");
+        }
+        Yaml.createYamlInput(
+            new ByteArrayInputStream(yaml.toString().getBytes("UTF-8")), 500
+        ).readYamlMapping().yamlSequence("three").yamlSequence(0);
+    }
+
+    /**
+     * Anchors and aliases are not looked for in block scalars.
+     * @throws Exception If something goes wrong.
+     */
+    @Test
+    public void ignoresAnchorsInBlockScalars() throws Exception {
+        final YamlMapping read = Yaml.createYamlInput(
+            "script: |\n"
+            + "  - &notanchor\n"
+            + "  x: *notalias\n"
+            + "name: eo-yaml\n"
+        ).readYamlMapping();
+        MatcherAssert.assertThat(
+            read.literalBlockScalar("script"),
+            Matchers.contains("- &notanchor", "x: *notalias")
+        );
+        MatcherAssert.assertThat(
+            read.string("name"), Matchers.equalTo("eo-yaml")
+        );
+    }
+
     /**
      * Read a test resource file's contents.
      * @param fileName File to read.
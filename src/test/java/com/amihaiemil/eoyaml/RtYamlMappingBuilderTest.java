@@ -140,4 +140,67 @@ public final class RtYamlMappingBuilderTest {
             Matchers.equalTo("some test mapping")
         );
     }
+
+    /**
+     * Adding to a builder does not change it, so the same builder can be
+     * the base of more mappings.
+     */
+    @Test
+    public void addingDoesNotChangePreviousBuilder() {
+        final YamlMappingBuilder common = new RtYamlMappingBuilder()
+            .add("architect", "amihaiemil");
+        final YamlMapping first = common.add("developer", "salikjan").build();
+        final YamlMapping second = common.add("tester", "sherif").build();
+        MatcherAssert.assertThat(common.build().keys(), Matchers.hasSize(1));
+        MatcherAssert.assertThat(
+            first.string("developer"), Matchers.equalTo("salikjan")
+        );
+        MatcherAssert.assertThat(first.string("tester"), Matchers.nullValue());
+        MatcherAssert.assertThat(
+            second.string("tester"), Matchers.equalTo("sherif")
+        );
+        MatcherAssert.assertThat(
+            second.string("developer"), Matchers.nullValue()
+        );
+    }
+
+    /**
+     * A key which is added more times keeps its first position and
+     * its last value.
+     */
+    @Test
+    public void keepsFirstPositionAndLastValueOfSameKey() {
+        final YamlMapping mapping = new RtYamlMappingBuilder()
+            .add("key1", "value1")
+            .add("key2", "value2")
+            .add("key1", "changed")
+            .build();
+        MatcherAssert.assertThat(
+            mapping.toString(),
+            Matchers.equalTo(
+                "key1: changed" + System.lineSeparator() + "key2: value2"
+            )
+        );
+    }
+
+    /**
+     * RtYamlMappingBuilder can build a big mapping, keeping the order
+     * of the keys.
+     */
+    @Test
+    public void buildsBigMapping() {
+        YamlMappingBuilder builder = new RtYamlMappingBuilder();
+        for(int idx = 0; idx < 50000; ++idx) {
+            builder = builder.add("key" + idx, "value" + idx);
+        }
+        final YamlMapping mapping = builder.build();
+        MatcherAssert.assertThat(mapping.keys(), Matchers.hasSize(50000));
+        MatcherAssert.assertThat(
+            mapping.keys().iterator().next(),
+            Matchers.equalTo(new PlainStringScalar("key0"))
+        );
+        MatcherAssert.assertThat(
+            mapping.string("key49999"), Matchers.equalTo("value49999")
+        );
+    }
 }
@@ -0,0 +1,260 @@
+/**
+ * Copyright (c) 2016-2020, Mihai Emil Andronache
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ *  modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ *  list of conditions and the following disclaimer.
+ *  Redistributions in binary form must reproduce the above copyright notice,
+ *  this list of conditions and the following disclaimer in the documentation
+ *  and/or other materials provided with the distribution.
+ * Neither the name of the copyright holder nor the names of its
+ *  contributors may be used to endorse or promote products derived from
+ *  this software without specific prior written permission.
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT
+ * LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY
+ * OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF
+ * SUCH DAMAGE.
+ */
+package com.amihaiemil.eoyaml;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.StringWriter;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.Test;
+
+/**
+ * Unit tests for {@link RtYamlPrinter}.
+ * @author Mihai Andronache (amihaiemil@gmail.com)
+ * @version $Id$
+ * @since 4.2.0
+ */
+public final class RtYamlPrinterTest {
+
+    /**
+     * RtYamlPrinter prints a built mapping just like its toString().
+     * @throws IOException If something goes wrong.
+     */
+    @Test
+    public void printsBuiltMapping() throws IOException {
+        final YamlMapping mapping = Yaml.createYamlMappingBuilder()
+            .add("architect", "amihaiemil", "the architect")
+            .add(
+                "developers",
+                Yaml.createYamlSequenceBuilder()
+                    .add("rultor")
+                    .add(
+                        Yaml.createYamlMappingBuilder()
+                            .add("name", "salikjan")
+                            .build()
+                    )
+                    .build("all the developers")
+            )
+            .add(
+                Yaml.createYamlSequenceBuilder().add("key").build(),
+                Yaml.createYamlScalarBuilder()
+                    .addLine("literal")
+                    .addLine("scalar")
+                    .buildLiteralBlockScalar()
+            )
+            .build("a mapping");
+        MatcherAssert.assertThat(
+            this.print(mapping), Matchers.equalTo(mapping.toString())
+        );
+    }
+
+    /**
+     * RtYamlPrinter prints read YAML just like its toString().
+     * @throws IOException If something goes wrong.
+     */
+    @Test
+    public void printsReadYaml() throws IOException {
+        final YamlMapping mapping = Yaml.createYamlInput(
+            new File("src/test/resources/complexMapping.yml")
+        ).readYamlMapping();
+        MatcherAssert.assertThat(
+            this.print(mapping), Matchers.equalTo(mapping.toString())
+        );
+        final YamlSequence sequence = Yaml.createYamlInput(
+            new File("src/test/resources/commentedSequence.yml")
+        ).readYamlSequence();
+        MatcherAssert.assertThat(
+            this.print(sequence), Matchers.equalTo(sequence.toString())
+        );
+        final YamlStream stream = Yaml.createYamlInput(
+            new File("src/test/resources/streamOfMappings.yml")
+        ).readYamlStream();
+        MatcherAssert.assertThat(
+            this.print(stream), Matchers.equalTo(stream.toString())
+        );
+    }
+
+    /**
+     * RtYamlPrinter prints the scalar documents of a stream, indented.
+     * @throws IOException If something goes wrong.
+     */
+    @Test
+    public void printsStreamWithScalar() throws IOException {
+        final String newLine = System.lineSeparator();
+        final YamlStream stream = Yaml.createYamlStreamBuilder()
+            .add(
+                Yaml.createYamlScalarBuilder()
+                    .addLine("hello")
+                    .buildPlainScalar()
+            )
+            .add(Yaml.createYamlMappingBuilder().add("k", "v").build())
+            .build();
+        MatcherAssert.assertThat(
+            this.print(stream),
+            Matchers.equalTo(
+                "---" + newLine + "  hello" + newLine
+                + "---" + newLine + "  k: v"
+            )
+        );
+        MatcherAssert.assertThat(
+            stream.toString(), Matchers.equalTo(this.print(stream))
+        );
+    }
+
+    /**
+     * RtYamlPrinter writes the lines of a block scalar directly to the
+     * destination, without building the whole scalar first.
+     * @throws IOException If something goes wrong.
+     */
+    @Test
+    public void printsScalarLinesDirectly() throws IOException {
+        YamlScalarBuilder lines = Yaml.createYamlScalarBuilder();
+        for(int idx = 0; idx < 1000; ++idx) {
+            lines = lines.addLine("line number " + idx);
+        }
+        final YamlMapping mapping = Yaml.createYamlMappingBuilder()
+            .add("literal", lines.buildLiteralBlockScalar())
+            .add("folded", lines.buildFoldedBlockScalar())
+            .build();
+        final Chunked printed = new Chunked();
+        Yaml.createYamlPrinter(printed).print(mapping);
+        MatcherAssert.assertThat(
+            printed.toString(), Matchers.equalTo(mapping.toString())
+        );
+        MatcherAssert.assertThat(printed.longest, Matchers.lessThan(50));
+    }
+
+    /**
+     * RtYamlPrinter prints an empty stream.
+     * @throws IOException If something goes wrong.
+     */
+    @Test
+    public void printsEmptyStream() throws IOException {
+        MatcherAssert.assertThat(
+            this.print(Yaml.createYamlStreamBuilder().build()),
+            Matchers.equalTo(
+                "---" + System.lineSeparator() + "..."
+            )
+        );
+    }
+
+    /**
+     * RtYamlPrinter prints a Scalar as a YAML document.
+     * @throws IOException If something goes wrong.
+     */
+    @Test
+    public void printsScalar() throws IOException {
+        final Scalar scalar = Yaml.createYamlScalarBuilder()
+            .addLine("folded")
+            .addLine("scalar")
+            .buildFoldedBlockScalar();
+        MatcherAssert.assertThat(
+            this.print(scalar), Matchers.equalTo(scalar.toString())
+        );
+    }
+
+    /**
+     * RtYamlPrinter prints an empty mapping as an empty String.
+     * @throws IOException If something goes wrong.
+     */
+    @Test
+    public void printsEmptyMapping() throws IOException {
+        MatcherAssert.assertThat(
+            this.print(Yaml.createYamlMappingBuilder().build()),
+            Matchers.isEmptyString()
+        );
+    }
+
+    /**
+     * RtYamlPrinter complains about negative indentation.
+     * @throws IOException If something goes wrong.
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void complainsAboutNegativeIndentation() throws IOException {
+        new RtYamlPrinter(new StringBuilder()).print(
+            Yaml.createYamlMappingBuilder().add("key", "value").build(), -1
+        );
+    }
+
+    /**
+     * Print a YamlNode to a StringWriter.
+     * @param node YamlNode to print.
+     * @return Printed YAML.
+     * @throws IOException If something goes wrong.
+     */
+    private String print(final YamlNode node) throws IOException {
+        final StringWriter writer = new StringWriter();
+        Yaml.createYamlPrinter(writer).print(node);
+        return writer.toString();
+    }
+
+    /**
+     * Appendable which remembers its longest appended chunk.
+     * @author Mihai Andronache (amihaiemil@gmail.com)
+     * @version $Id$
+     * @since 4.2.0
+     */
+    private static final class Chunked implements Appendable {
+
+        /**
+         * Appended characters.
+         */
+        private final StringBuilder printed = new StringBuilder();
+
+        /**
+         * Length of the longest chunk.
+         */
+        private int longest;
+
+        @Override
+        public Appendable append(final CharSequence chars) {
+            this.longest = Math.max(this.longest, chars.length());
+            this.printed.append(chars);
+            return this;
+        }
+
+        @Override
+        public Appendable append(
+            final CharSequence chars, final int start, final int end
+        ) {
+            return this.append(chars.subSequence(start, end));
+        }
+
+        @Override
+        public Appendable append(final char character) {
+            this.printed.append(character);
+            return this;
+        }
+
+        @Override
+        public String toString() {
+            return this.printed.toString();
+        }
+    }
+}
@@ -197,4 +197,59 @@ public final class RtYamlScalarBuilderTest {
             )
         );
     }
+
+    /**
+     * RtYamlScalarBuilder does not change the previous builder
+     * when adding a line.
+     */
+    @Test
+    public void addingDoesNotChangePreviousBuilder() {
+        final YamlScalarBuilder first = new RtYamlScalarBuilder()
+            .addLine("first");
+        first.addLine("second");
+        MatcherAssert.assertThat(
+            first.buildLiteralBlockScalar().value(),
+            Matchers.equalTo("first")
+        );
+    }
+
+    /**
+     * RtYamlScalarBuilder keeps empty lines when building a plain scalar.
+     */
+    @Test
+    public void keepsEmptyLinesOfPlainScalar() {
+        final Scalar scalar = new RtYamlScalarBuilder()
+            .addLine("")
+            .addLine("value")
+            .buildPlainScalar();
+        MatcherAssert.assertThat(
+            scalar.value(),
+            Matchers.equalTo(" value")
+        );
+    }
+
+    /**
+     * RtYamlScalarBuilder can build a big literal block scalar.
+     */
+    @Test
+    public void buildsBigLiteralBlockScalar() {
+        YamlScalarBuilder builder = new RtYamlScalarBuilder();
+        final StringBuilder expected = new StringBuilder();
+        for(int idx = 0; idx < 100_000; ++idx) {
+            builder = builder.addLine("line" + idx);
+            if(idx > 0) {
+                expected.append(System.lineSeparator());
+            }
+            expected.append("line").append(idx);
+        }
+        final Scalar scalar = builder.buildLiteralBlockScalar();
+        MatcherAssert.assertThat(
+            scalar.value(),
+            Matchers.equalTo(expected.toString())
+        );
+        MatcherAssert.assertThat(
+            scalar.value(),
+            Matchers.sameInstance(scalar.value())
+        );
+    }
 }
@@ -109,4 +109,41 @@ public final class RtYamlSequenceBuilderTest {
             Matchers.equalTo("some test sequence")
         );
     }
+
+    /**
+     * Adding to a builder does not change it, so the same builder can be
+     * the base of more sequences.
+     */
+    @Test
+    public void addingDoesNotChangePreviousBuilder() {
+        final YamlSequenceBuilder common = new RtYamlSequenceBuilder()
+            .add("amihaiemil");
+        final YamlSequence first = common.add("salikjan").build();
+        final YamlSequence second = common.add("sherif").build();
+        MatcherAssert.assertThat(common.build().size(), Matchers.equalTo(1));
+        MatcherAssert.assertThat(first.size(), Matchers.equalTo(2));
+        MatcherAssert.assertThat(first.string(1), Matchers.equalTo("salikjan"));
+        MatcherAssert.assertThat(second.size(), Matchers.equalTo(2));
+        MatcherAssert.assertThat(second.string(1), Matchers.equalTo("sherif"));
+    }
+
+    /**
+     * RtYamlSequenceBuilder can build a big sequence, keeping the order
+     * of the elements.
+     */
+    @Test
+    public void buildsBigSequence() {
+        YamlSequenceBuilder builder = new RtYamlSequenceBuilder();
+        for(int idx = 0; idx < 50000; ++idx) {
+            builder = builder.add("element" + idx);
+        }
+        final YamlSequence sequence = builder.build();
+        MatcherAssert.assertThat(sequence.size(), Matchers.equalTo(50000));
+        MatcherAssert.assertThat(
+            sequence.string(0), Matchers.equalTo("element0")
+        );
+        MatcherAssert.assertThat(
+            sequence.string(49999), Matchers.equalTo("element49999")
+        );
+    }
 }
@@ -353,4 +353,17 @@ public final class RtYamlSequenceTest {
             )
         );
     }
+
+    /**
+     * The values of an RtYamlSequence cannot be changed from outside.
+     */
+    @Test(expected = UnsupportedOperationException.class)
+    public void valuesCannotBeModified() {
+        final List<YamlNode> elements = new LinkedList<>();
+        elements.add(new PlainStringScalar("amihaiemil"));
+        final YamlSequence sequence = new RtYamlSequence(elements);
+        elements.add(new PlainStringScalar("salikjan"));
+        MatcherAssert.assertThat(sequence.size(), Matchers.equalTo(1));
+        sequence.values().clear();
+    }
 }
@@ -120,4 +120,17 @@ public final class RtYamlStreamBuilderTest {
         );
     }
 
+    /**
+     * RtYamlStreamBuilder does not change the previous builder
+     * when adding a document.
+     */
+    @Test
+    public void addingDoesNotChangePreviousBuilder() {
+        final YamlStreamBuilder first = new RtYamlStreamBuilder()
+            .add(Mockito.mock(YamlMapping.class));
+        first.add(Mockito.mock(YamlMapping.class));
+        MatcherAssert.assertThat(
+            first.build().values(), Matchers.iterableWithSize(1)
+        );
+    }
 }
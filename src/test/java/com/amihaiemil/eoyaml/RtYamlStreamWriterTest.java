@@ -0,0 +1,186 @@
+/**
+ * Copyright (c) 2016-2020, Mihai Emil Andronache
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ *  modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ *  list of conditions and the following disclaimer.
+ *  Redistributions in binary form must reproduce the above copyright notice,
+ *  this list of conditions and the following disclaimer in the documentation
+ *  and/or other materials provided with the distribution.
+ * Neither the name of the copyright holder nor the names of its
+ *  contributors may be used to endorse or promote products derived from
+ *  this software without specific prior written permission.
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT
+ * LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY
+ * OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF
+ * SUCH DAMAGE.
+ */
+package com.amihaiemil.eoyaml;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.stream.IntStream;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.Test;
+
+/**
+ * Unit tests for {@link RtYamlStreamWriter}.
+ * @author Mihai Andronache (amihaiemil@gmail.com)
+ * @version $Id$
+ * @since 4.2.0
+ */
+public final class RtYamlStreamWriterTest {
+
+    /**
+     * RtYamlStreamWriter writes the documents just like a printed
+     * YamlStream.
+     * @throws IOException If something goes wrong.
+     */
+    @Test
+    public void writesLikePrintedStream() throws IOException {
+        final YamlMapping first = Yaml.createYamlMappingBuilder()
+            .add("architect", "amihaiemil")
+            .add(
+                "developers",
+                Yaml.createYamlSequenceBuilder().add("rultor").build()
+            )
+            .build("first document");
+        final YamlSequence second = Yaml.createYamlSequenceBuilder()
+            .add("one")
+            .add("two")
+            .build();
+        final StringWriter out = new StringWriter();
+        new RtYamlStreamWriter(out).write(first).write(second);
+        MatcherAssert.assertThat(
+            out.toString(),
+            Matchers.equalTo(
+                Yaml.createYamlStreamBuilder()
+                    .add(first)
+                    .add(second)
+                    .build()
+                    .toString()
+            )
+        );
+    }
+
+    /**
+     * RtYamlStreamWriter writes the anchor of a document after its start
+     * marker, just like a printed YamlStream.
+     * @throws IOException If something goes wrong.
+     */
+    @Test
+    public void writesAnchoredDocument() throws IOException {
+        final Map<Object, Object> looped = new LinkedHashMap<>();
+        looped.put("name", "x");
+        looped.put("self", looped);
+        final YamlMapping first = new YamlMapDump(looped).represent();
+        final YamlMapping second = Yaml.createYamlMappingBuilder()
+            .add("k", "v")
+            .build();
+        final StringWriter out = new StringWriter();
+        new RtYamlStreamWriter(out).write(first).write(second);
+        MatcherAssert.assertThat(
+            out.toString(),
+            Matchers.allOf(
+                Matchers.startsWith("--- &id1" + System.lineSeparator()),
+                Matchers.equalTo(
+                    Yaml.createYamlStreamBuilder()
+                        .add(first)
+                        .add(second)
+                        .build()
+                        .toString()
+                )
+            )
+        );
+    }
+
+    /**
+     * RtYamlStreamWriter writes scalar documents, indented.
+     * @throws IOException If something goes wrong.
+     */
+    @Test
+    public void writesScalarDocuments() throws IOException {
+        final String newLine = System.lineSeparator();
+        final StringWriter out = new StringWriter();
+        Yaml.createYamlStreamWriter(out)
+            .write(
+                Yaml.createYamlScalarBuilder()
+                    .addLine("hello")
+                    .buildPlainScalar()
+            )
+            .write(Yaml.createYamlMappingBuilder().add("k", "v").build());
+        MatcherAssert.assertThat(
+            out.toString(),
+            Matchers.equalTo(
+                "---" + newLine + "  hello" + newLine
+                + "---" + newLine + "  k: v"
+            )
+        );
+    }
+
+    /**
+     * RtYamlStreamWriter writes a Stream of documents, which can be
+     * read back.
+     * @throws IOException If something goes wrong.
+     */
+    @Test
+    public void writesStreamOfDocuments() throws IOException {
+        final StringWriter out = new StringWriter();
+        new RtYamlStreamWriter(out).write(
+            IntStream.range(0, 100).mapToObj(
+                idx -> Yaml.createYamlMappingBuilder()
+                    .add("id", String.valueOf(idx))
+                    .build()
+            )
+        );
+        final YamlStream read = Yaml.createYamlInput(out.toString())
+            .readYamlStream();
+        MatcherAssert.assertThat(
+            read.values(), Matchers.iterableWithSize(100)
+        );
+    }
+
+    /**
+     * RtYamlStreamWriter flushes the destination periodically.
+     * @throws IOException If something goes wrong.
+     */
+    @Test
+    public void flushesPeriodically() throws IOException {
+        final int[] flushes = new int[1];
+        final StringWriter out = new StringWriter() {
+            @Override
+            public void flush() {
+                flushes[0] = flushes[0] + 1;
+            }
+        };
+        final YamlMapping doc = Yaml.createYamlMappingBuilder()
+            .add("key", "value")
+            .build();
+        new RtYamlStreamWriter(out, 2).write(
+            Arrays.asList(doc, doc, doc, doc, doc).iterator()
+        );
+        MatcherAssert.assertThat(flushes[0], Matchers.is(2));
+    }
+
+    /**
+     * RtYamlStreamWriter refuses a negative flush interval.
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void refusesNegativeFlushInterval() {
+        new RtYamlStreamWriter(new StringWriter(), -1);
+    }
+}
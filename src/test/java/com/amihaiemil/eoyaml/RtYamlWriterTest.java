@@ -0,0 +1,206 @@
+/**
+ * Copyright (c) 2016-2020, Mihai Emil Andronache
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ *  modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ *  list of conditions and the following disclaimer.
+ *  Redistributions in binary form must reproduce the above copyright notice,
+ *  this list of conditions and the following disclaimer in the documentation
+ *  and/or other materials provided with the distribution.
+ * Neither the name of the copyright holder nor the names of its
+ *  contributors may be used to endorse or promote products derived from
+ *  this software without specific prior written permission.
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT
+ * LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY
+ * OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF
+ * SUCH DAMAGE.
+ */
+package com.amihaiemil.eoyaml;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.Arrays;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.Test;
+
+/**
+ * Unit tests for {@link RtYamlWriter}.
+ * @author Mihai Andronache (amihaiemil@gmail.com)
+ * @version $Id$
+ * @since 4.2.0
+ */
+public final class RtYamlWriterTest {
+
+    /**
+     * RtYamlWriter writes a mapping the same way it is printed.
+     * @throws IOException If something goes wrong.
+     */
+    @Test
+    public void writesMapping() throws IOException {
+        final StringWriter out = new StringWriter();
+        new RtYamlWriter(out)
+            .comment("a mapping")
+            .startMapping()
+            .comment("the architect")
+            .key("architect").scalar("amihaiemil")
+            .key("developers")
+            .startSequence()
+            .comment("first developer")
+            .scalar("rultor")
+            .startMapping()
+            .key("name").scalar("salikjan")
+            .key("roles")
+            .startSequence().scalar("dev").endSequence()
+            .endMapping()
+            .literalBlockScalar(Arrays.asList("line one", "line two"))
+            .endSequence()
+            .key("description")
+            .foldedBlockScalar(Arrays.asList("folded", "scalar"))
+            .endMapping()
+            .end();
+        final YamlMapping expected = Yaml.createYamlMappingBuilder()
+            .add("architect", "amihaiemil", "the architect")
+            .add(
+                "developers",
+                Yaml.createYamlSequenceBuilder()
+                    .add("rultor", "first developer")
+                    .add(
+                        Yaml.createYamlMappingBuilder()
+                            .add("name", "salikjan")
+                            .add(
+                                "roles",
+                                Yaml.createYamlSequenceBuilder()
+                                    .add("dev")
+                                    .build()
+                            )
+                            .build()
+                    )
+                    .add(
+                        Yaml.createYamlScalarBuilder()
+                            .addLine("line one")
+                            .addLine("line two")
+                            .buildLiteralBlockScalar()
+                    )
+                    .build()
+            )
+            .add(
+                "description",
+                Yaml.createYamlScalarBuilder()
+                    .addLine("folded")
+                    .addLine("scalar")
+                    .buildFoldedBlockScalar()
+            )
+            .build("a mapping");
+        MatcherAssert.assertThat(
+            out.toString(), Matchers.equalTo(expected.toString())
+        );
+    }
+
+    /**
+     * RtYamlWriter writes documents the same way a YamlStream is printed.
+     * @throws IOException If something goes wrong.
+     */
+    @Test
+    public void writesDocuments() throws IOException {
+        final StringWriter out = new StringWriter();
+        final YamlWriter writer = new RtYamlWriter(out);
+        YamlStreamBuilder expected = Yaml.createYamlStreamBuilder();
+        for(int idx = 0; idx < 3; ++idx) {
+            writer.startDocument()
+                .startMapping()
+                .key("id").scalar(String.valueOf(idx))
+                .endMapping()
+                .endDocument();
+            expected = expected.add(
+                Yaml.createYamlMappingBuilder()
+                    .add("id", String.valueOf(idx))
+                    .build()
+            );
+        }
+        writer.end();
+        MatcherAssert.assertThat(
+            out.toString(), Matchers.equalTo(expected.build().toString())
+        );
+    }
+
+    /**
+     * RtYamlWriter output can be read back.
+     * @throws IOException If something goes wrong.
+     */
+    @Test
+    public void writesReadableYaml() throws IOException {
+        final StringWriter out = new StringWriter();
+        final YamlWriter writer = new RtYamlWriter(out).startSequence();
+        for(int idx = 0; idx < 1000; ++idx) {
+            writer.startMapping()
+                .key("id").scalar(String.valueOf(idx))
+                .endMapping();
+        }
+        writer.endSequence().end();
+        final YamlSequence read = Yaml.createYamlInput(out.toString())
+            .readYamlSequence();
+        MatcherAssert.assertThat(read.size(), Matchers.is(1000));
+        MatcherAssert.assertThat(
+            read.yamlMapping(999).string("id"), Matchers.equalTo("999")
+        );
+    }
+
+    /**
+     * RtYamlWriter refuses a value instead of a key.
+     * @throws IOException If something goes wrong.
+     */
+    @Test(expected = IllegalStateException.class)
+    public void refusesValueWithoutKey() throws IOException {
+        new RtYamlWriter(new StringWriter()).startMapping().scalar("value");
+    }
+
+    /**
+     * RtYamlWriter refuses to end a mapping with a key that has no value.
+     * @throws IOException If something goes wrong.
+     */
+    @Test(expected = IllegalStateException.class)
+    public void refusesKeyWithoutValue() throws IOException {
+        new RtYamlWriter(new StringWriter())
+            .startMapping().key("key").endMapping();
+    }
+
+    /**
+     * RtYamlWriter refuses to end the wrong node.
+     * @throws IOException If something goes wrong.
+     */
+    @Test(expected = IllegalStateException.class)
+    public void refusesToEndWrongNode() throws IOException {
+        new RtYamlWriter(new StringWriter()).startMapping().endSequence();
+    }
+
+    /**
+     * RtYamlWriter refuses a second root node.
+     * @throws IOException If something goes wrong.
+     */
+    @Test(expected = IllegalStateException.class)
+    public void refusesSecondRoot() throws IOException {
+        new RtYamlWriter(new StringWriter())
+            .startSequence().endSequence()
+            .startSequence();
+    }
+
+    /**
+     * RtYamlWriter refuses to end while nodes are still open.
+     * @throws IOException If something goes wrong.
+     */
+    @Test(expected = IllegalStateException.class)
+    public void refusesToEndWithOpenNodes() throws IOException {
+        new RtYamlWriter(new StringWriter()).startDocument().end();
+    }
+}
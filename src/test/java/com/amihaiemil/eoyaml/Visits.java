@@ -0,0 +1,128 @@
+/**
+ * Copyright (c) 2016-2020, Mihai Emil Andronache
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ *  modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ *  list of conditions and the following disclaimer.
+ *  Redistributions in binary form must reproduce the above copyright notice,
+ *  this list of conditions and the following disclaimer in the documentation
+ *  and/or other materials provided with the distribution.
+ * Neither the name of the copyright holder nor the names of its
+ *  contributors may be used to endorse or promote products derived from
+ *  this software without specific prior written permission.
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT
+ * LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY
+ * OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF
+ * SUCH DAMAGE.
+ */
+package com.amihaiemil.eoyaml;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Counter of the visits to the read lines and to the built scalars. It is
+ * the cost measured by {@link Growth}: unlike time, it is the same on every
+ * run and on every machine. The visits to the read lines are the lines
+ * iterated over by the read nodes, as counted by {@link YamlMetrics}.
+ * @author Mihai Andronache (amihaiemil@gmail.com)
+ * @version $Id$
+ * @since 4.2.0
+ */
+final class Visits {
+
+    /**
+     * Metrics of the read YAML.
+     */
+    private final YamlMetrics.Counter metrics = new YamlMetrics.Counter();
+
+    /**
+     * Number of visits to the built scalars so far.
+     */
+    private long count;
+
+    /**
+     * Read YAML, counting the visits to its lines.
+     * @param yaml The YAML.
+     * @return YamlInput.
+     */
+    YamlInput input(final String yaml) {
+        return Yaml.createYamlInput(
+            new ByteArrayInputStream(yaml.getBytes(StandardCharsets.UTF_8)),
+            this.metrics
+        );
+    }
+
+    /**
+     * A scalar which counts the visits to its value. Equality, hashing
+     * and comparison of scalars all go through the value.
+     * @param value Value of the scalar.
+     * @return Scalar.
+     */
+    Scalar scalar(final String value) {
+        return new Visited(value);
+    }
+
+    /**
+     * Number of visits so far.
+     * @return Long.
+     */
+    long count() {
+        return this.count + this.metrics.count("iterations");
+    }
+
+    /**
+     * Count one more visit.
+     */
+    private void visit() {
+        this.count = this.count + 1;
+    }
+
+    /**
+     * Scalar which counts the visits to its value.
+     * @author Mihai Andronache (amihaiemil@gmail.com)
+     * @version $Id$
+     * @since 4.2.0
+     */
+    private final class Visited extends BaseScalar {
+
+        /**
+         * Value of the scalar.
+         */
+        private final String text;
+
+        /**
+         * Ctor.
+         * @param text Value of the scalar.
+         */
+        Visited(final String text) {
+            this.text = text;
+        }
+
+        @Override
+        public String value() {
+            Visits.this.visit();
+            return this.text;
+        }
+
+        @Override
+        public Comment comment() {
+            return new BuiltComment(this, "");
+        }
+
+        @Override
+        public String toString() {
+            return this.indent(0);
+        }
+    }
+}
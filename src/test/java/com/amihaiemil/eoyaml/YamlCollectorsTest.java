@@ -0,0 +1,117 @@
+/**
+ * Copyright (c) 2016-2020, Mihai Emil Andronache
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ *  modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ *  list of conditions and the following disclaimer.
+ *  Redistributions in binary form must reproduce the above copyright notice,
+ *  this list of conditions and the following disclaimer in the documentation
+ *  and/or other materials provided with the distribution.
+ * Neither the name of the copyright holder nor the names of its
+ *  contributors may be used to endorse or promote products derived from
+ *  this software without specific prior written permission.
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT
+ * LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY
+ * OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF
+ * SUCH DAMAGE.
+ */
+package com.amihaiemil.eoyaml;
+
+import java.util.Arrays;
+import java.util.stream.IntStream;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.Test;
+
+/**
+ * Unit tests for {@link YamlCollectors}.
+ * @author Mihai Andronache (amihaiemil@gmail.com)
+ * @version $Id$
+ * @since 4.2.0
+ */
+public final class YamlCollectorsTest {
+
+    /**
+     * YamlCollectors can collect a Stream into a YamlMapping.
+     */
+    @Test
+    public void collectsMapping() {
+        final YamlMapping mapping = Arrays.asList("eo", "yaml").stream()
+            .collect(
+                YamlCollectors.toYamlMapping(
+                    word -> word,
+                    word -> word.length()
+                )
+            );
+        MatcherAssert.assertThat(
+            mapping,
+            Matchers.equalTo(
+                Yaml.createYamlMappingBuilder()
+                    .add("eo", "2")
+                    .add("yaml", "4")
+                    .build()
+            )
+        );
+    }
+
+    /**
+     * YamlCollectors keeps YamlNode values as they are.
+     */
+    @Test
+    public void keepsYamlNodes() {
+        final YamlSequence seq = Yaml.createYamlSequenceBuilder()
+            .add("value")
+            .build();
+        final YamlMapping mapping = Arrays.asList("key").stream().collect(
+            YamlCollectors.toYamlMapping(key -> key, key -> seq)
+        );
+        MatcherAssert.assertThat(
+            mapping.yamlSequence("key"), Matchers.sameInstance(seq)
+        );
+    }
+
+    /**
+     * YamlCollectors can collect a Stream into a YamlSequence.
+     */
+    @Test
+    public void collectsSequence() {
+        final YamlSequence sequence = IntStream.range(0, 3).boxed()
+            .collect(YamlCollectors.toYamlSequence());
+        MatcherAssert.assertThat(
+            sequence,
+            Matchers.equalTo(
+                Yaml.createYamlSequenceBuilder()
+                    .add("0")
+                    .add("1")
+                    .add("2")
+                    .build()
+            )
+        );
+    }
+
+    /**
+     * YamlCollectors keep the order of a parallel Stream.
+     */
+    @Test
+    public void collectsParallelStreamInOrder() {
+        final YamlSequence sequence = IntStream.range(0, 10_000).boxed()
+            .parallel()
+            .collect(YamlCollectors.toYamlSequence());
+        MatcherAssert.assertThat(sequence.size(), Matchers.is(10_000));
+        for(int idx = 0; idx < 10_000; ++idx) {
+            MatcherAssert.assertThat(
+                sequence.string(idx), Matchers.equalTo(String.valueOf(idx))
+            );
+        }
+    }
+}
@@ -0,0 +1,446 @@
+/**
+ * Copyright (c) 2016-2020, Mihai Emil Andronache
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ *  modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ *  list of conditions and the following disclaimer.
+ *  Redistributions in binary form must reproduce the above copyright notice,
+ *  this list of conditions and the following disclaimer in the documentation
+ *  and/or other materials provided with the distribution.
+ * Neither the name of the copyright holder nor the names of its
+ *  contributors may be used to endorse or promote products derived from
+ *  this software without specific prior written permission.
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT
+ * LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY
+ * OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF
+ * SUCH DAMAGE.
+ */
+package com.amihaiemil.eoyaml;
+
+import java.io.IOException;
+import java.util.Random;
+
+/**
+ * Generator of synthetic YAML, of a controlled shape. The same seed and
+ * shape always give the same YAML. The YAML is written line by line to the
+ * given Appendable and nothing is kept in memory, so very large documents
+ * or streams can be written straight to a file. Example:
+ * <pre>
+ *   new YamlCorpus(42L)
+ *       .depth(4)
+ *       .fanout(10)
+ *       .comments(0.2)
+ *       .stream(1000, Files.newBufferedWriter(path));
+ * </pre>
+ * Every document is a mapping. Each nested node is a mapping or a
+ * sequence, until the given depth is reached; the leaves are plain
+ * scalars or (literal or folded) block scalars.
+ * @author Mihai Andronache (amihaiemil@gmail.com)
+ * @version $Id$
+ * @since 4.2.0
+ */
+public final class YamlCorpus {
+
+    /**
+     * Letters of the generated words.
+     */
+    private static final String LETTERS = "abcdefghijklmnopqrstuvwxyz";
+
+    /**
+     * Seed of the generated YAML.
+     */
+    private final long seed;
+
+    /**
+     * Number of levels of each document.
+     */
+    private final int depth;
+
+    /**
+     * Number of children of each mapping or sequence.
+     */
+    private final int fanout;
+
+    /**
+     * Length of the scalars and comments.
+     */
+    private final int length;
+
+    /**
+     * Probability of a comment line before a pair or an item.
+     */
+    private final double comments;
+
+    /**
+     * Probability of a leaf being a block scalar.
+     */
+    private final double blocks;
+
+    /**
+     * Probability of a nested node being a sequence.
+     */
+    private final double sequences;
+
+    /**
+     * Ctor. Generates documents 3 levels deep, with 4 children per node,
+     * scalars of 12 characters and no comments, block scalars or
+     * sequences.
+     * @param seed Seed of the generated YAML.
+     */
+    public YamlCorpus(final long seed) {
+        this(seed, new int[] {3, 4, 12}, new double[] {0, 0, 0});
+    }
+
+    /**
+     * Ctor.
+     * @param seed Seed of the generated YAML.
+     * @param shape Depth, fanout and scalar length.
+     * @param ratios Comment density, block scalar ratio and sequence ratio.
+     */
+    private YamlCorpus(
+        final long seed, final int[] shape, final double[] ratios
+    ) {
+        this.seed = seed;
+        this.depth = YamlCorpus.positive(shape[0], "Depth");
+        this.fanout = YamlCorpus.positive(shape[1], "Fanout");
+        this.length = YamlCorpus.positive(shape[2], "Scalar length");
+        this.comments = YamlCorpus.ratio(ratios[0], "Comment density");
+        this.blocks = YamlCorpus.ratio(ratios[1], "Block scalar ratio");
+        this.sequences = YamlCorpus.ratio(ratios[2], "Sequence ratio");
+    }
+
+    /**
+     * Generate documents of the given depth. With depth 1, the documents
+     * are flat mappings of scalars.
+     * @param levels Number of levels, at least 1.
+     * @return YamlCorpus.
+     */
+    public YamlCorpus depth(final int levels) {
+        return new YamlCorpus(
+            this.seed,
+            new int[] {levels, this.fanout, this.length},
+            this.ratios()
+        );
+    }
+
+    /**
+     * Generate mappings and sequences with the given number of children.
+     * @param children Number of children, at least 1.
+     * @return YamlCorpus.
+     */
+    public YamlCorpus fanout(final int children) {
+        return new YamlCorpus(
+            this.seed,
+            new int[] {this.depth, children, this.length},
+            this.ratios()
+        );
+    }
+
+    /**
+     * Generate scalars (and comments, and block scalar lines) of the
+     * given length.
+     * @param characters Number of characters, at least 1.
+     * @return YamlCorpus.
+     */
+    public YamlCorpus scalars(final int characters) {
+        return new YamlCorpus(
+            this.seed,
+            new int[] {this.depth, this.fanout, characters},
+            this.ratios()
+        );
+    }
+
+    /**
+     * Generate a comment line before a pair or an item with the given
+     * probability.
+     * @param density Probability, between 0 and 1.
+     * @return YamlCorpus.
+     */
+    public YamlCorpus comments(final double density) {
+        return new YamlCorpus(
+            this.seed,
+            this.shape(),
+            new double[] {density, this.blocks, this.sequences}
+        );
+    }
+
+    /**
+     * Generate a block scalar, instead of a plain one, with the given
+     * probability.
+     * @param ratio Probability, between 0 and 1.
+     * @return YamlCorpus.
+     */
+    public YamlCorpus blockScalars(final double ratio) {
+        return new YamlCorpus(
+            this.seed,
+            this.shape(),
+            new double[] {this.comments, ratio, this.sequences}
+        );
+    }
+
+    /**
+     * Generate a nested sequence, instead of a nested mapping, with the
+     * given probability.
+     * @param ratio Probability, between 0 and 1.
+     * @return YamlCorpus.
+     */
+    public YamlCorpus sequences(final double ratio) {
+        return new YamlCorpus(
+            this.seed,
+            this.shape(),
+            new double[] {this.comments, this.blocks, ratio}
+        );
+    }
+
+    /**
+     * Write one document.
+     * @param output Where to write it.
+     * @throws IOException If it cannot be written.
+     */
+    public void document(final Appendable output) throws IOException {
+        new Generated(new Random(this.seed), output).mapping(0, 1);
+    }
+
+    /**
+     * Write a stream of documents, each of them starting with "---".
+     * @param documents Number of documents.
+     * @param output Where to write them.
+     * @throws IOException If they cannot be written.
+     */
+    public void stream(final int documents, final Appendable output)
+        throws IOException {
+        final Generated generated = new Generated(
+            new Random(this.seed), output
+        );
+        for(int idx = 0; idx < documents; ++idx) {
+            output.append("---\n");
+            generated.mapping(0, 1);
+        }
+    }
+
+    /**
+     * One document, in memory. Use it only for small documents.
+     * @return String.
+     */
+    public String document() {
+        final StringBuilder output = new StringBuilder();
+        try {
+            this.document(output);
+        } catch (final IOException ex) {
+            throw new IllegalStateException(
+                "StringBuilder should not throw IOException", ex
+            );
+        }
+        return output.toString();
+    }
+
+    /**
+     * The depth, fanout and scalar length.
+     * @return Array of 3 ints.
+     */
+    private int[] shape() {
+        return new int[] {this.depth, this.fanout, this.length};
+    }
+
+    /**
+     * The comment density, block scalar ratio and sequence ratio.
+     * @return Array of 3 doubles.
+     */
+    private double[] ratios() {
+        return new double[] {this.comments, this.blocks, this.sequences};
+    }
+
+    /**
+     * Check that a number is positive.
+     * @param number Number to check.
+     * @param name Name of the number.
+     * @return The number.
+     */
+    private static int positive(final int number, final String name) {
+        if(number < 1) {
+            throw new IllegalArgumentException(
+                name + " should be at least 1, but is " + number
+            );
+        }
+        return number;
+    }
+
+    /**
+     * Check that a number is a probability.
+     * @param number Number to check.
+     * @param name Name of the number.
+     * @return The number.
+     */
+    private static double ratio(final double number, final String name) {
+        if(number < 0 || number > 1) {
+            throw new IllegalArgumentException(
+                name + " should be between 0 and 1, but is " + number
+            );
+        }
+        return number;
+    }
+
+    /**
+     * YAML being generated, from a source of randomness to an output.
+     * @author Mihai Andronache (amihaiemil@gmail.com)
+     * @version $Id$
+     * @since 4.2.0
+     */
+    private final class Generated {
+
+        /**
+         * Source of randomness.
+         */
+        private final Random random;
+
+        /**
+         * Where the YAML is written.
+         */
+        private final Appendable output;
+
+        /**
+         * Ctor.
+         * @param random Source of randomness.
+         * @param output Where the YAML is written.
+         */
+        Generated(final Random random, final Appendable output) {
+            this.random = random;
+            this.output = output;
+        }
+
+        /**
+         * Write a mapping.
+         * @param indent Indentation level of its keys.
+         * @param level Level of the mapping, starting from 1.
+         * @throws IOException If it cannot be written.
+         */
+        void mapping(final int indent, final int level) throws IOException {
+            for(int idx = 0; idx < YamlCorpus.this.fanout; ++idx) {
+                this.comment(indent);
+                this.indentation(indent);
+                this.output
+                    .append(this.text(Math.min(YamlCorpus.this.length, 8)))
+                    .append(String.valueOf(idx))
+                    .append(':');
+                this.value(indent, level);
+            }
+        }
+
+        /**
+         * Write a sequence.
+         * @param indent Indentation level of its dashes.
+         * @param level Level of the sequence, starting from 1.
+         * @throws IOException If it cannot be written.
+         */
+        void sequence(final int indent, final int level) throws IOException {
+            for(int idx = 0; idx < YamlCorpus.this.fanout; ++idx) {
+                this.comment(indent);
+                this.indentation(indent);
+                this.output.append('-');
+                this.value(indent, level);
+            }
+        }
+
+        /**
+         * Write the value which follows a key or a dash.
+         * @param indent Indentation level of the key or dash.
+         * @param level Level of the node holding the value.
+         * @throws IOException If it cannot be written.
+         */
+        void value(final int indent, final int level) throws IOException {
+            if(level < YamlCorpus.this.depth) {
+                this.output.append('\n');
+                if(this.random.nextDouble() < YamlCorpus.this.sequences) {
+                    this.sequence(indent + 1, level + 1);
+                } else {
+                    this.mapping(indent + 1, level + 1);
+                }
+            } else if(this.random.nextDouble() < YamlCorpus.this.blocks) {
+                this.block(indent + 1);
+            } else {
+                this.output
+                    .append(' ')
+                    .append(this.text(YamlCorpus.this.length))
+                    .append('\n');
+            }
+        }
+
+        /**
+         * Write a literal or folded block scalar of 1 to 3 lines.
+         * @param indent Indentation level of its lines.
+         * @throws IOException If it cannot be written.
+         */
+        void block(final int indent) throws IOException {
+            if(this.random.nextBoolean()) {
+                this.output.append(" |\n");
+            } else {
+                this.output.append(" >\n");
+            }
+            final int lines = 1 + this.random.nextInt(3);
+            for(int idx = 0; idx < lines; ++idx) {
+                this.indentation(indent);
+                this.output
+                    .append(this.text(YamlCorpus.this.length))
+                    .append('\n');
+            }
+        }
+
+        /**
+         * Maybe write a comment line.
+         * @param indent Indentation level of the comment.
+         * @throws IOException If it cannot be written.
+         */
+        void comment(final int indent) throws IOException {
+            if(this.random.nextDouble() < YamlCorpus.this.comments) {
+                this.indentation(indent);
+                this.output
+                    .append("# ")
+                    .append(this.text(YamlCorpus.this.length))
+                    .append('\n');
+            }
+        }
+
+        /**
+         * Write the indentation of a line.
+         * @param indent Indentation level.
+         * @throws IOException If it cannot be written.
+         */
+        void indentation(final int indent) throws IOException {
+            for(int idx = 0; idx < indent; ++idx) {
+                this.output.append("  ");
+            }
+        }
+
+        /**
+         * Random text of lowercase words, which starts and ends with
+         * a letter.
+         * @param characters Number of characters.
+         * @return String.
+         */
+        String text(final int characters) {
+            final StringBuilder text = new StringBuilder(characters);
+            for(int idx = 0; idx < characters; ++idx) {
+                final boolean inner = idx > 0 && idx < characters - 1
+                    && text.charAt(idx - 1) != ' ';
+                if(inner && this.random.nextInt(6) == 0) {
+                    text.append(' ');
+                } else {
+                    text.append(
+                        LETTERS.charAt(this.random.nextInt(LETTERS.length()))
+                    );
+                }
+            }
+            return text.toString();
+        }
+    }
+}
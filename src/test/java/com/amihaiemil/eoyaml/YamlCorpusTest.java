@@ -0,0 +1,279 @@
+/**
+ * Copyright (c) 2016-2020, Mihai Emil Andronache
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ *  modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ *  list of conditions and the following disclaimer.
+ *  Redistributions in binary form must reproduce the above copyright notice,
+ *  this list of conditions and the following disclaimer in the documentation
+ *  and/or other materials provided with the distribution.
+ * Neither the name of the copyright holder nor the names of its
+ *  contributors may be used to endorse or promote products derived from
+ *  this software without specific prior written permission.
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT
+ * LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY
+ * OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF
+ * SUCH DAMAGE.
+ */
+package com.amihaiemil.eoyaml;
+
+import java.io.IOException;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.Test;
+
+/**
+ * Unit tests for {@link YamlCorpus}.
+ * @author Mihai Andronache (amihaiemil@gmail.com)
+ * @version $Id$
+ * @since 4.2.0
+ */
+public final class YamlCorpusTest {
+
+    /**
+     * The same seed and shape give the same YAML, another seed gives
+     * another YAML.
+     */
+    @Test
+    public void isDeterministic() {
+        final YamlCorpus corpus = new YamlCorpus(7L)
+            .comments(0.3)
+            .blockScalars(0.3)
+            .sequences(0.3);
+        MatcherAssert.assertThat(
+            corpus.document(),
+            Matchers.equalTo(
+                new YamlCorpus(7L)
+                    .comments(0.3)
+                    .blockScalars(0.3)
+                    .sequences(0.3)
+                    .document()
+            )
+        );
+        MatcherAssert.assertThat(
+            corpus.document(),
+            Matchers.not(
+                Matchers.equalTo(
+                    new YamlCorpus(8L)
+                        .comments(0.3)
+                        .blockScalars(0.3)
+                        .sequences(0.3)
+                        .document()
+                )
+            )
+        );
+    }
+
+    /**
+     * A document of nested mappings has the given depth and fanout.
+     * @throws Exception If something goes wrong.
+     */
+    @Test
+    public void generatesMappingsOfShape() throws Exception {
+        final YamlMapping read = Yaml.createYamlInput(
+            new YamlCorpus(1L).depth(3).fanout(4).document()
+        ).readYamlMapping();
+        MatcherAssert.assertThat(read.keys(), Matchers.iterableWithSize(4));
+        MatcherAssert.assertThat(YamlCorpusTest.leaves(read), Matchers.is(64));
+    }
+
+    /**
+     * With sequence ratio 1, all the nested nodes are sequences.
+     * @throws Exception If something goes wrong.
+     */
+    @Test
+    public void generatesSequences() throws Exception {
+        final YamlMapping read = Yaml.createYamlInput(
+            new YamlCorpus(2L).depth(3).fanout(2).sequences(1).document()
+        ).readYamlMapping();
+        for(final YamlNode value : read.values()) {
+            MatcherAssert.assertThat(
+                value, Matchers.instanceOf(YamlSequence.class)
+            );
+            MatcherAssert.assertThat(
+                ((YamlSequence) value).yamlSequence(1).size(),
+                Matchers.is(2)
+            );
+        }
+        MatcherAssert.assertThat(YamlCorpusTest.leaves(read), Matchers.is(8));
+    }
+
+    /**
+     * With comment density 1, every pair has a comment line, and the YAML
+     * can still be read.
+     * @throws Exception If something goes wrong.
+     */
+    @Test
+    public void generatesComments() throws Exception {
+        final String yaml = new YamlCorpus(3L)
+            .depth(2)
+            .fanout(3)
+            .comments(1)
+            .document();
+        MatcherAssert.assertThat(
+            yaml.split("\n"), Matchers.arrayWithSize(24)
+        );
+        MatcherAssert.assertThat(
+            YamlCorpusTest.leaves(Yaml.createYamlInput(yaml).readYamlMapping()),
+            Matchers.is(9)
+        );
+    }
+
+    /**
+     * With block scalar ratio 1, every leaf is a literal or folded block
+     * scalar of the given length.
+     * @throws Exception If something goes wrong.
+     */
+    @Test
+    public void generatesBlockScalars() throws Exception {
+        final String yaml = new YamlCorpus(4L)
+            .depth(1)
+            .fanout(5)
+            .scalars(20)
+            .blockScalars(1)
+            .document();
+        final YamlMapping read = Yaml.createYamlInput(yaml).readYamlMapping();
+        MatcherAssert.assertThat(read.keys(), Matchers.iterableWithSize(5));
+        for(final String line : yaml.split("\n")) {
+            if(line.startsWith(" ")) {
+                MatcherAssert.assertThat(line.trim().length(), Matchers.is(20));
+            } else {
+                MatcherAssert.assertThat(
+                    line, Matchers.either(Matchers.endsWith(": |"))
+                        .or(Matchers.endsWith(": >"))
+                );
+            }
+        }
+    }
+
+    /**
+     * A document mixing all of the above can be read back whole.
+     * @throws Exception If something goes wrong.
+     */
+    @Test
+    public void generatesMixedDocuments() throws Exception {
+        final YamlMapping read = Yaml.createYamlInput(
+            new YamlCorpus(9L)
+                .depth(4)
+                .fanout(3)
+                .comments(0.3)
+                .blockScalars(0.3)
+                .sequences(0.3)
+                .document()
+        ).readYamlMapping();
+        MatcherAssert.assertThat(YamlCorpusTest.leaves(read), Matchers.is(81));
+    }
+
+    /**
+     * A stream of documents can be read back, document by document.
+     * @throws Exception If something goes wrong.
+     */
+    @Test
+    public void generatesStreams() throws Exception {
+        final StringBuilder yaml = new StringBuilder();
+        new YamlCorpus(5L).depth(2).fanout(3).stream(10, yaml);
+        final YamlStream read = Yaml.createYamlInput(yaml.toString())
+            .readYamlStream();
+        MatcherAssert.assertThat(read.values(), Matchers.hasSize(10));
+        for(final YamlNode document : read.values()) {
+            MatcherAssert.assertThat(
+                YamlCorpusTest.leaves(document), Matchers.is(9)
+            );
+        }
+    }
+
+    /**
+     * The YAML is written to the output as it is generated, so a large
+     * stream needs no more memory than a small one.
+     * @throws IOException If something goes wrong.
+     */
+    @Test
+    public void writesLargeStreams() throws IOException {
+        final Counted output = new Counted();
+        new YamlCorpus(6L).depth(4).fanout(10).stream(20, output);
+        MatcherAssert.assertThat(
+            output.count, Matchers.greaterThan(4_000_000L)
+        );
+    }
+
+    /**
+     * An impossible shape is rejected.
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void rejectsZeroDepth() {
+        new YamlCorpus(1L).depth(0);
+    }
+
+    /**
+     * A ratio which is not a probability is rejected.
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void rejectsBadRatio() {
+        new YamlCorpus(1L).comments(1.5);
+    }
+
+    /**
+     * Count the scalar leaves of a node.
+     * @param node YamlNode.
+     * @return Number of scalars under it.
+     */
+    private static int leaves(final YamlNode node) {
+        int leaves = 0;
+        if(node instanceof YamlMapping) {
+            for(final YamlNode value : ((YamlMapping) node).values()) {
+                leaves = leaves + YamlCorpusTest.leaves(value);
+            }
+        } else if(node instanceof YamlSequence) {
+            for(final YamlNode value : (YamlSequence) node) {
+                leaves = leaves + YamlCorpusTest.leaves(value);
+            }
+        } else {
+            leaves = 1;
+        }
+        return leaves;
+    }
+
+    /**
+     * Appendable which only counts the characters.
+     * @author Mihai Andronache (amihaiemil@gmail.com)
+     * @version $Id$
+     * @since 4.2.0
+     */
+    private static final class Counted implements Appendable {
+
+        /**
+         * Appended characters.
+         */
+        private long count;
+
+        @Override
+        public Appendable append(final CharSequence chars) {
+            this.count = this.count + chars.length();
+            return this;
+        }
+
+        @Override
+        public Appendable append(
+            final CharSequence chars, final int start, final int end
+        ) {
+            this.count = this.count + end - start;
+            return this;
+        }
+
+        @Override
+        public Appendable append(final char character) {
+            this.count = this.count + 1;
+            return this;
+        }
+    }
+}
@@ -0,0 +1,225 @@
+/**
+ * Copyright (c) 2016-2020, Mihai Emil Andronache
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ *  modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ *  list of conditions and the following disclaimer.
+ *  Redistributions in binary form must reproduce the above copyright notice,
+ *  this list of conditions and the following disclaimer in the documentation
+ *  and/or other materials provided with the distribution.
+ * Neither the name of the copyright holder nor the names of its
+ *  contributors may be used to endorse or promote products derived from
+ *  this software without specific prior written permission.
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT
+ * LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY
+ * OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF
+ * SUCH DAMAGE.
+ */
+package com.amihaiemil.eoyaml;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.Test;
+
+/**
+ * Unit tests for {@link YamlMetrics}.
+ * @author Mihai Andronache (amihaiemil@gmail.com)
+ * @version $Id$
+ * @since 4.2.0
+ */
+public final class YamlMetricsTest {
+
+    /**
+     * The YAML read in these tests.
+     */
+    private static final String YAML = String.join(
+        "\n",
+        "# the architect",
+        "architect: amihaiemil",
+        "",
+        "developers:",
+        "  - rultor",
+        "  - salikjan",
+        "  - sherif"
+    );
+
+    /**
+     * Reading an input counts its lines, including the empty ones,
+     * and its bytes.
+     * @throws Exception If something goes wrong.
+     */
+    @Test
+    public void countsReadLinesAndBytes() throws Exception {
+        final YamlMetrics.Counter counter = new YamlMetrics.Counter();
+        YamlMetricsTest.input(counter).readYamlMapping();
+        MatcherAssert.assertThat(counter.count("inputs"), Matchers.is(1L));
+        MatcherAssert.assertThat(counter.count("lines"), Matchers.is(7L));
+        MatcherAssert.assertThat(
+            counter.count("bytes"),
+            Matchers.is((long) YamlMetricsTest.YAML.length())
+        );
+        MatcherAssert.assertThat(
+            counter.count("readNanos"), Matchers.greaterThan(0L)
+        );
+    }
+
+    /**
+     * Every read node is counted once, when it is created.
+     * @throws Exception If something goes wrong.
+     */
+    @Test
+    public void countsMaterializedNodes() throws Exception {
+        final YamlMetrics.Counter counter = new YamlMetrics.Counter();
+        final YamlMapping read = YamlMetricsTest.input(counter)
+            .readYamlMapping();
+        MatcherAssert.assertThat(counter.count("nodes"), Matchers.is(1L));
+        final YamlSequence developers = read.yamlSequence("developers");
+        MatcherAssert.assertThat(counter.count("nodes"), Matchers.is(2L));
+        MatcherAssert.assertThat(developers.size(), Matchers.is(3));
+        MatcherAssert.assertThat(counter.count("nodes"), Matchers.is(5L));
+        developers.string(1);
+        MatcherAssert.assertThat(counter.count("nodes"), Matchers.is(5L));
+    }
+
+    /**
+     * Key lookups are counted and timed; the index of the keys is a
+     * cache miss the first time and a hit afterwards: twice for a missing
+     * key, since it is then looked for in the merged mappings ("&lt;&lt;")
+     * too.
+     * @throws Exception If something goes wrong.
+     */
+    @Test
+    public void countsLookupsAndCacheHits() throws Exception {
+        final YamlMetrics.Counter counter = new YamlMetrics.Counter();
+        final YamlMapping read = YamlMetricsTest.input(counter)
+            .readYamlMapping();
+        MatcherAssert.assertThat(
+            read.string("architect"), Matchers.equalTo("amihaiemil")
+        );
+        MatcherAssert.assertThat(read.string("missing"), Matchers.nullValue());
+        MatcherAssert.assertThat(counter.count("lookups"), Matchers.is(2L));
+        MatcherAssert.assertThat(counter.count("found"), Matchers.is(1L));
+        MatcherAssert.assertThat(counter.count("misses"), Matchers.is(1L));
+        MatcherAssert.assertThat(counter.count("hits"), Matchers.is(2L));
+        MatcherAssert.assertThat(
+            counter.count("iterations"), Matchers.greaterThan(0L)
+        );
+    }
+
+    /**
+     * The global metrics count the print calls, including toString().
+     * @throws Exception If something goes wrong.
+     */
+    @Test
+    public void countsPrintsGlobally() throws Exception {
+        final YamlMetrics.Counter counter = new YamlMetrics.Counter();
+        Yaml.useMetrics(counter);
+        try {
+            final YamlMapping built = Yaml.createYamlMappingBuilder()
+                .add("architect", "amihaiemil")
+                .add("developers", "3")
+                .build();
+            final StringBuilder printed = new StringBuilder();
+            Yaml.createYamlPrinter(printed).print(built);
+            MatcherAssert.assertThat(counter.count("prints"), Matchers.is(1L));
+            MatcherAssert.assertThat(
+                counter.count("chars"), Matchers.is((long) printed.length())
+            );
+            MatcherAssert.assertThat(
+                built.toString(), Matchers.equalTo(printed.toString())
+            );
+            MatcherAssert.assertThat(counter.count("prints"), Matchers.is(2L));
+        } finally {
+            Yaml.useMetrics(YamlMetrics.NONE);
+        }
+    }
+
+    /**
+     * The metrics given to an input win over the global ones.
+     * @throws Exception If something goes wrong.
+     */
+    @Test
+    public void prefersInputMetrics() throws Exception {
+        final YamlMetrics.Counter global = new YamlMetrics.Counter();
+        final YamlMetrics.Counter own = new YamlMetrics.Counter();
+        Yaml.useMetrics(global);
+        try {
+            YamlMetricsTest.input(own).readYamlMapping().string("architect");
+            Yaml.createYamlInput(YamlMetricsTest.YAML).readYamlMapping();
+        } finally {
+            Yaml.useMetrics(YamlMetrics.NONE);
+        }
+        MatcherAssert.assertThat(own.count("inputs"), Matchers.is(1L));
+        MatcherAssert.assertThat(own.count("lookups"), Matchers.is(1L));
+        MatcherAssert.assertThat(global.count("inputs"), Matchers.is(1L));
+        MatcherAssert.assertThat(global.count("lookups"), Matchers.is(0L));
+    }
+
+    /**
+     * The counts can be listed and reset.
+     * @throws Exception If something goes wrong.
+     */
+    @Test
+    public void listsAndResetsCounts() throws Exception {
+        final YamlMetrics.Counter counter = new YamlMetrics.Counter();
+        YamlMetricsTest.input(counter).readYamlMapping();
+        MatcherAssert.assertThat(
+            counter.counts().keySet(),
+            Matchers.contains(
+                "inputs", "lines", "bytes", "readNanos", "iterations",
+                "nodes", "lookups", "found", "lookupNanos", "hits",
+                "misses", "prints", "chars", "printNanos"
+            )
+        );
+        MatcherAssert.assertThat(
+            counter.counts(), Matchers.hasEntry("lines", 7L)
+        );
+        counter.reset();
+        MatcherAssert.assertThat(
+            counter.counts().values(), Matchers.everyItem(Matchers.is(0L))
+        );
+    }
+
+    /**
+     * An unknown count is rejected.
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void rejectsUnknownCount() {
+        new YamlMetrics.Counter().count("unknown");
+    }
+
+    /**
+     * The default metrics never read the clock.
+     */
+    @Test
+    public void noneReadsNoClock() {
+        MatcherAssert.assertThat(YamlMetrics.NONE.time(), Matchers.is(0L));
+        MatcherAssert.assertThat(Yaml.metrics(), Matchers.is(YamlMetrics.NONE));
+    }
+
+    /**
+     * Input of the YAML above, with the given metrics.
+     * @param metrics YamlMetrics.
+     * @return YamlInput.
+     */
+    private static YamlInput input(final YamlMetrics metrics) {
+        return Yaml.createYamlInput(
+            new ByteArrayInputStream(
+                YamlMetricsTest.YAML.getBytes(StandardCharsets.UTF_8)
+            ),
+            metrics
+        );
+    }
+}
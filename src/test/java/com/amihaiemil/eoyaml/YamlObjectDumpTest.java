@@ -27,7 +27,9 @@
  */
 package com.amihaiemil.eoyaml;
 
+import java.util.ArrayList;
 import java.util.LinkedHashMap;
+import java.util.List;
 import java.util.Map;
 
 import org.hamcrest.MatcherAssert;
@@ -75,6 +77,225 @@ public final class YamlObjectDumpTest {
         );
     }
 
+    /**
+     * YamlObjectDump writes null properties as null.
+     */
+    @Test
+    public void representsNullProperty() {
+        final YamlMapping yaml = new YamlObjectDump(
+            new StudentSimplePojo(null, "Doe", 21, 3.7)
+        ).represent();
+        MatcherAssert.assertThat(
+            yaml.string("firstName"), Matchers.equalTo("null")
+        );
+    }
+
+    /**
+     * YamlObjectDump writes enums by their names.
+     */
+    @Test
+    public void representsEnumByName() {
+        MatcherAssert.assertThat(
+            YamlObjectDump.yamlNode(java.util.concurrent.TimeUnit.SECONDS),
+            Matchers.equalTo(new PlainStringScalar("SECONDS"))
+        );
+    }
+
+    /**
+     * YamlObjectDump writes the properties sorted by name.
+     */
+    @Test
+    public void representsPropertiesSortedByName() {
+        final YamlMapping yaml = new YamlObjectDump(
+            new StudentSimplePojo("John", "Doe", 21, 3.7)
+        ).represent();
+        MatcherAssert.assertThat(
+            yaml.keys(),
+            Matchers.contains(
+                new PlainStringScalar("age"),
+                new PlainStringScalar("firstName"),
+                new PlainStringScalar("gpa"),
+                new PlainStringScalar("grades"),
+                new PlainStringScalar("lastName")
+            )
+        );
+    }
+
+    /**
+     * YamlObjectDump uses the generated YamlDumper of a YamlDumpable class.
+     */
+    @Test
+    public void usesGeneratedDumper() {
+        final YamlMapping yaml = new YamlObjectDump(new DumpableStudent())
+            .represent();
+        MatcherAssert.assertThat(
+            yaml.string("dumper"), Matchers.equalTo("generated")
+        );
+        MatcherAssert.assertThat(
+            yaml.string("name"), Matchers.equalTo("John")
+        );
+    }
+
+    /**
+     * YamlObjectDump uses reflection for a YamlDumpable class without
+     * a generated YamlDumper.
+     */
+    @Test
+    public void fallsBackToReflection() {
+        final YamlMapping yaml = new YamlObjectDump(new NotGenerated())
+            .represent();
+        MatcherAssert.assertThat(
+            yaml.string("value"), Matchers.equalTo("reflected")
+        );
+    }
+
+    /**
+     * YamlObjectDump dumps a shared object only once, with an anchor,
+     * and refers to it with aliases afterwards.
+     */
+    @Test
+    public void representsSharedObjectWithAlias() {
+        final Link shared = new Link("shared");
+        final Link first = new Link("first");
+        first.setNext(shared);
+        final Link second = new Link("second");
+        second.setNext(shared);
+        final Map<String, Object> links = new LinkedHashMap<>();
+        links.put("first", first);
+        links.put("second", second);
+        links.put("third", shared);
+        MatcherAssert.assertThat(
+            new YamlMapDump((Map) links).represent().toString(),
+            Matchers.equalTo(
+                String.join(
+                    System.lineSeparator(),
+                    "first:",
+                    "  name: first",
+                    "  next: &id1",
+                    "    name: shared",
+                    "    next: null",
+                    "second:",
+                    "  name: second",
+                    "  next: *id1",
+                    "third: *id1"
+                )
+            )
+        );
+    }
+
+    /**
+     * The dumped tree holds the real node of a shared object, every time
+     * it is referred to; the alias is only printed.
+     */
+    @Test
+    public void keepsSharedObjectInTree() {
+        final Link shared = new Link("shared");
+        final YamlMapping dump = new YamlObjectDump(
+            new Pair(shared, shared)
+        ).represent();
+        final YamlMapping right = dump.yamlMapping("right");
+        MatcherAssert.assertThat(right, Matchers.notNullValue());
+        MatcherAssert.assertThat(
+            right.string("name"), Matchers.equalTo("shared")
+        );
+        MatcherAssert.assertThat(
+            right, Matchers.equalTo(dump.yamlMapping("left"))
+        );
+        MatcherAssert.assertThat(
+            dump.toString(), Matchers.endsWith("right: *id1")
+        );
+    }
+
+    /**
+     * YamlObjectDump dumps cycles with an anchor and an alias.
+     */
+    @Test
+    public void representsCycleWithAlias() {
+        final Link head = new Link("head");
+        final Link tail = new Link("tail");
+        head.setNext(tail);
+        tail.setNext(head);
+        MatcherAssert.assertThat(
+            new YamlObjectDump(head).represent().toString(),
+            Matchers.equalTo(
+                String.join(
+                    System.lineSeparator(),
+                    "&id1",
+                    "name: head",
+                    "next:",
+                    "  name: tail",
+                    "  next: *id1"
+                )
+            )
+        );
+    }
+
+    /**
+     * YamlObjectDump can refuse cycles.
+     */
+    @Test(expected = IllegalStateException.class)
+    public void refusesCycles() {
+        final Link link = new Link("loop");
+        link.setNext(link);
+        new YamlObjectDump(link, true).represent();
+    }
+
+    /**
+     * YamlObjectDump does not refuse shared objects which are not
+     * part of a cycle.
+     */
+    @Test
+    public void refusesOnlyCycles() {
+        final Link shared = new Link("shared");
+        MatcherAssert.assertThat(
+            new YamlObjectDump(new Pair(shared, shared), true)
+                .represent().toString(),
+            Matchers.equalTo(
+                String.join(
+                    System.lineSeparator(),
+                    "left: &id1",
+                    "  name: shared",
+                    "  next: null",
+                    "right: *id1"
+                )
+            )
+        );
+    }
+
+    /**
+     * The output grows linearly with the number of distinct objects,
+     * no matter how many times they are referred to.
+     */
+    @Test
+    public void representsManyReferencesOnce() {
+        final Link shared = new Link("shared");
+        final List<Object> references = new ArrayList<>();
+        for(int idx = 0; idx < 10_000; ++idx) {
+            references.add(shared);
+        }
+        final YamlSequence dumped = new YamlCollectionDump(references)
+            .represent();
+        MatcherAssert.assertThat(dumped.size(), Matchers.equalTo(10_000));
+        MatcherAssert.assertThat(
+            dumped.toString().length(),
+            Matchers.lessThan(
+                10_000 * ("- *id1".length() + System.lineSeparator().length())
+                + 100
+            )
+        );
+    }
+
+    /**
+     * YamlDumpable class without a generated dumper.
+     * @checkstyle JavadocMethod (10 lines)
+     */
+    @YamlDumpable
+    public static final class NotGenerated {
+        public String getValue() {
+            return "reflected";
+        }
+    }
+
     /**
      * Simple student pojo for test.
      * @checkstyle JavadocVariable (100 lines)
@@ -136,4 +357,56 @@ public final class YamlObjectDumpTest {
         }
 
     }
+
+    /**
+     * Linked bean, for the tests with shared objects and cycles.
+     * @checkstyle JavadocVariable (40 lines)
+     * @checkstyle JavadocMethod (40 lines)
+     * @checkstyle HiddenField (40 lines)
+     * @checkstyle FinalParameters (40 lines)
+     */
+    public static final class Link {
+
+        private final String name;
+        private Link next;
+
+        public Link(String name) {
+            this.name = name;
+        }
+
+        public String getName() {
+            return this.name;
+        }
+        public Link getNext() {
+            return this.next;
+        }
+        public void setNext(Link next) {
+            this.next = next;
+        }
+    }
+
+    /**
+     * Pair of objects, for the tests with shared objects.
+     * @checkstyle JavadocVariable (30 lines)
+     * @checkstyle JavadocMethod (30 lines)
+     * @checkstyle HiddenField (30 lines)
+     * @checkstyle FinalParameters (30 lines)
+     */
+    public static final class Pair {
+
+        private final Object left;
+        private final Object right;
+
+        public Pair(Object left, Object right) {
+            this.left = left;
+            this.right = right;
+        }
+
+        public Object getLeft() {
+            return this.left;
+        }
+        public Object getRight() {
+            return this.right;
+        }
+    }
 }
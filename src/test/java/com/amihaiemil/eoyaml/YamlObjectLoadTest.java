@@ -0,0 +1,386 @@
+/**
+ * Copyright (c) 2016-2020, Mihai Emil Andronache
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ *  modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ *  list of conditions and the following disclaimer.
+ *  Redistributions in binary form must reproduce the above copyright notice,
+ *  this list of conditions and the following disclaimer in the documentation
+ *  and/or other materials provided with the distribution.
+ * Neither the name of the copyright holder nor the names of its
+ *  contributors may be used to endorse or promote products derived from
+ *  this software without specific prior written permission.
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT
+ * LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY
+ * OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF
+ * SUCH DAMAGE.
+ */
+package com.amihaiemil.eoyaml;
+
+import com.amihaiemil.eoyaml.exceptions.YamlReadingException;
+import java.beans.ConstructorProperties;
+import java.io.IOException;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.Assert;
+import org.junit.Test;
+
+/**
+ * Unit tests for {@link YamlObjectLoad}.
+ * @author Mihai Andronache (amihaiemil@gmail.com)
+ * @version $Id$
+ * @since 4.2.0
+ */
+public final class YamlObjectLoadTest {
+
+    /**
+     * YamlObjectLoad can load a Java Bean, converting the values.
+     * @throws IOException If something goes wrong.
+     */
+    @Test
+    public void loadsBean() throws IOException {
+        final Server server = new YamlObjectLoad<>(Server.class).load(
+            Yaml.createYamlInput(
+                String.join(
+                    "\n",
+                    "name: web",
+                    "port: 8080",
+                    "enabled: true",
+                    "started: 2020-03-01",
+                    "mode: FAST",
+                    "tags:",
+                    "  - a",
+                    "  - b",
+                    "limits:",
+                    "  cpu: 2",
+                    "  memory: 512",
+                    "owner:",
+                    "  name: John"
+                )
+            ).readYamlMapping()
+        );
+        MatcherAssert.assertThat(server.getName(), Matchers.equalTo("web"));
+        MatcherAssert.assertThat(server.getPort(), Matchers.equalTo(8080));
+        MatcherAssert.assertThat(server.isEnabled(), Matchers.is(true));
+        MatcherAssert.assertThat(
+            server.getStarted(), Matchers.equalTo(LocalDate.of(2020, 3, 1))
+        );
+        MatcherAssert.assertThat(server.getMode(), Matchers.is(Mode.FAST));
+        MatcherAssert.assertThat(
+            server.getTags(), Matchers.contains("a", "b")
+        );
+        MatcherAssert.assertThat(
+            server.getLimits().get("memory"), Matchers.equalTo(512)
+        );
+        MatcherAssert.assertThat(
+            server.getOwner().getName(), Matchers.equalTo("John")
+        );
+    }
+
+    /**
+     * What YamlObjectDump writes, YamlObjectLoad reads back.
+     */
+    @Test
+    public void loadsWhatWasDumped() {
+        final Server server = new Server();
+        server.setName("db");
+        server.setPort(5432);
+        server.setMode(Mode.SAFE);
+        server.setTags(Arrays.asList("x", "y"));
+        final Server loaded = new YamlObjectLoad<>(Server.class).load(
+            new YamlObjectDump(server).represent()
+        );
+        MatcherAssert.assertThat(loaded.getName(), Matchers.equalTo("db"));
+        MatcherAssert.assertThat(loaded.getPort(), Matchers.equalTo(5432));
+        MatcherAssert.assertThat(loaded.getMode(), Matchers.is(Mode.SAFE));
+        MatcherAssert.assertThat(
+            loaded.getTags(), Matchers.contains("x", "y")
+        );
+        MatcherAssert.assertThat(loaded.getOwner(), Matchers.nullValue());
+        MatcherAssert.assertThat(loaded.getStarted(), Matchers.nullValue());
+    }
+
+    /**
+     * Missing properties keep their defaults.
+     */
+    @Test
+    public void keepsDefaultsOfMissingProperties() {
+        final Server server = new YamlObjectLoad<>(Server.class).load(
+            Yaml.createYamlMappingBuilder().add("name", "web").build()
+        );
+        MatcherAssert.assertThat(server.getPort(), Matchers.equalTo(80));
+        MatcherAssert.assertThat(server.getTags(), Matchers.nullValue());
+    }
+
+    /**
+     * YamlObjectLoad can use a constructor with ConstructorProperties,
+     * then the remaining setters.
+     */
+    @Test
+    public void loadsThroughConstructor() {
+        final Range range = new YamlObjectLoad<>(Range.class).load(
+            Yaml.createYamlMappingBuilder()
+                .add("low", "3")
+                .add("label", "origin")
+                .build()
+        );
+        MatcherAssert.assertThat(range.getLow(), Matchers.equalTo(3));
+        MatcherAssert.assertThat(range.getHigh(), Matchers.equalTo(0L));
+        MatcherAssert.assertThat(
+            range.getLabel(), Matchers.equalTo("origin")
+        );
+    }
+
+    /**
+     * YamlObjectLoad can load all the mappings of a sequence.
+     * @throws IOException If something goes wrong.
+     */
+    @Test
+    public void loadsAllMappingsOfSequence() throws IOException {
+        final List<Range> ranges = new YamlObjectLoad<>(Range.class).loadAll(
+            Yaml.createYamlInput(
+                String.join(
+                    "\n",
+                    "-",
+                    "  low: 1",
+                    "  high: 2",
+                    "-",
+                    "  low: 3",
+                    "  high: 4",
+                    "-",
+                    "  low: 5",
+                    "  high: 6"
+                )
+            ).readYamlSequence()
+        );
+        MatcherAssert.assertThat(ranges, Matchers.hasSize(3));
+        MatcherAssert.assertThat(ranges.get(2).getLow(), Matchers.equalTo(5));
+        MatcherAssert.assertThat(ranges.get(2).getHigh(), Matchers.equalTo(6L));
+    }
+
+    /**
+     * YamlObjectLoad complains if the sequence has other elements
+     * than mappings.
+     */
+    @Test(expected = YamlReadingException.class)
+    public void complainsAboutSequenceOfScalars() {
+        new YamlObjectLoad<>(Range.class).loadAll(
+            Yaml.createYamlSequenceBuilder().add("1").build()
+        );
+    }
+
+    /**
+     * YamlObjectLoad complains if a value does not fit its property.
+     */
+    @Test(expected = YamlReadingException.class)
+    public void complainsAboutWrongNode() {
+        new YamlObjectLoad<>(Server.class).load(
+            Yaml.createYamlMappingBuilder()
+                .add(
+                    "port",
+                    Yaml.createYamlSequenceBuilder().add("1").build()
+                ).build()
+        );
+    }
+
+    /**
+     * YamlObjectLoad complains with YamlReadingException about a number
+     * which cannot be parsed, naming the type.
+     */
+    @Test
+    public void complainsAboutBadNumber() {
+        try {
+            new YamlObjectLoad<>(Server.class).load(
+                Yaml.createYamlMappingBuilder().add("port", "eighty").build()
+            );
+            Assert.fail("YamlReadingException expected");
+        } catch (final YamlReadingException ex) {
+            MatcherAssert.assertThat(
+                ex.getMessage(),
+                Matchers.equalTo("Cannot bind \"eighty\" to int")
+            );
+            MatcherAssert.assertThat(
+                ex.getCause(), Matchers.instanceOf(NumberFormatException.class)
+            );
+        }
+    }
+
+    /**
+     * YamlObjectLoad complains with YamlReadingException about a date or
+     * an enum constant which cannot be parsed.
+     */
+    @Test
+    public void complainsAboutBadDateAndEnum() {
+        final YamlObjectLoad<Server> load = new YamlObjectLoad<>(Server.class);
+        for(final YamlMapping bad : new YamlMapping[] {
+            Yaml.createYamlMappingBuilder().add("started", "march").build(),
+            Yaml.createYamlMappingBuilder().add("mode", "SLOW").build(),
+        }) {
+            try {
+                load.load(bad);
+                Assert.fail("YamlReadingException expected");
+            } catch (final YamlReadingException ex) {
+                MatcherAssert.assertThat(
+                    ex.getMessage(), Matchers.startsWith("Cannot bind")
+                );
+            }
+        }
+    }
+
+    /**
+     * YamlObjectLoad complains if it cannot create the objects.
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void complainsAboutMissingConstructor() {
+        new YamlObjectLoad<>(YamlObjectDumpTest.StudentSimplePojo.class);
+    }
+
+    /**
+     * Mode of a server.
+     */
+    public enum Mode {
+        /**
+         * Fast.
+         */
+        FAST,
+        /**
+         * Safe.
+         */
+        SAFE
+    }
+
+    /**
+     * Java Bean for the tests.
+     * @checkstyle JavadocVariable (100 lines)
+     * @checkstyle JavadocMethod (100 lines)
+     * @checkstyle HiddenField (100 lines)
+     * @checkstyle FinalParameters (100 lines)
+     */
+    public static final class Server {
+
+        private String name;
+        private int port = 80;
+        private boolean enabled;
+        private LocalDate started;
+        private Mode mode;
+        private List<String> tags;
+        private Map<String, Integer> limits = new LinkedHashMap<>();
+        private Owner owner;
+
+        public String getName() {
+            return this.name;
+        }
+        public void setName(String name) {
+            this.name = name;
+        }
+        public int getPort() {
+            return this.port;
+        }
+        public void setPort(int port) {
+            this.port = port;
+        }
+        public boolean isEnabled() {
+            return this.enabled;
+        }
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+        public LocalDate getStarted() {
+            return this.started;
+        }
+        public void setStarted(LocalDate started) {
+            this.started = started;
+        }
+        public Mode getMode() {
+            return this.mode;
+        }
+        public void setMode(Mode mode) {
+            this.mode = mode;
+        }
+        public List<String> getTags() {
+            return this.tags;
+        }
+        public void setTags(List<String> tags) {
+            this.tags = tags;
+        }
+        public Map<String, Integer> getLimits() {
+            return this.limits;
+        }
+        public void setLimits(Map<String, Integer> limits) {
+            this.limits = limits;
+        }
+        public Owner getOwner() {
+            return this.owner;
+        }
+        public void setOwner(Owner owner) {
+            this.owner = owner;
+        }
+    }
+
+    /**
+     * Nested Java Bean for the tests.
+     * @checkstyle JavadocVariable (20 lines)
+     * @checkstyle JavadocMethod (20 lines)
+     * @checkstyle HiddenField (20 lines)
+     * @checkstyle FinalParameters (20 lines)
+     */
+    public static final class Owner {
+
+        private String name;
+
+        public String getName() {
+            return this.name;
+        }
+        public void setName(String name) {
+            this.name = name;
+        }
+    }
+
+    /**
+     * Immutable class with a ConstructorProperties constructor.
+     * @checkstyle JavadocVariable (40 lines)
+     * @checkstyle JavadocMethod (40 lines)
+     * @checkstyle HiddenField (40 lines)
+     * @checkstyle FinalParameters (40 lines)
+     */
+    public static final class Range {
+
+        private final int low;
+        private final long high;
+        private String label;
+
+        @ConstructorProperties({"low", "high"})
+        public Range(int low, long high) {
+            this.low = low;
+            this.high = high;
+        }
+
+        public int getLow() {
+            return this.low;
+        }
+        public long getHigh() {
+            return this.high;
+        }
+        public String getLabel() {
+            return this.label;
+        }
+        public void setLabel(String label) {
+            this.label = label;
+        }
+    }
+}
@@ -0,0 +1,319 @@
+/**
+ * Copyright (c) 2016-2020, Mihai Emil Andronache
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ *  modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ *  list of conditions and the following disclaimer.
+ *  Redistributions in binary form must reproduce the above copyright notice,
+ *  this list of conditions and the following disclaimer in the documentation
+ *  and/or other materials provided with the distribution.
+ * Neither the name of the copyright holder nor the names of its
+ *  contributors may be used to endorse or promote products derived from
+ *  this software without specific prior written permission.
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT
+ * LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY
+ * OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF
+ * SUCH DAMAGE.
+ */
+package com.amihaiemil.eoyaml;
+
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.Test;
+
+/**
+ * Unit tests for {@link YamlRevision}.
+ * @author Mihai Andronache (amihaiemil@gmail.com)
+ * @version $Id$
+ * @since 4.2.0
+ */
+public final class YamlRevisionTest {
+
+    /**
+     * Text of the first revision.
+     */
+    private static final String FIRST = String.join(
+        "\n",
+        "# the application",
+        "name: app",
+        "# the server",
+        "server:",
+        "  host: localhost",
+        "  ports:",
+        "    - 80",
+        "    - 443",
+        "  tls:",
+        "    cert: site.pem",
+        "    key: site.key",
+        "database:",
+        "  url: jdbc:postgresql://db/app",
+        "script: |",
+        "  echo start",
+        "  # not a comment",
+        "  echo stop",
+        "# the version",
+        "version: 1"
+    );
+
+    /**
+     * The first revision is read like the whole document.
+     * @throws Exception If something goes wrong.
+     */
+    @Test
+    public void readsFirstRevision() throws Exception {
+        YamlRevisionTest.assertRead(new YamlRevision(FIRST).mapping(), FIRST);
+        MatcherAssert.assertThat(
+            new YamlRevision(FIRST).mapping().yamlMapping("server")
+                .yamlMapping("tls").string("cert"),
+            Matchers.equalTo("site.pem")
+        );
+    }
+
+    /**
+     * An edited nested value is read again, the untouched values are
+     * the same as in the previous revision.
+     * @throws Exception If something goes wrong.
+     */
+    @Test
+    public void reusesUntouchedValues() throws Exception {
+        final YamlRevision first = new YamlRevision(FIRST);
+        final String text = FIRST.replace("cert: site.pem", "cert: new.pem");
+        final YamlMapping before = first.mapping();
+        final YamlMapping after = first.revised(text).mapping();
+        YamlRevisionTest.assertRead(after, text);
+        MatcherAssert.assertThat(
+            after.yamlMapping("server").yamlMapping("tls").string("cert"),
+            Matchers.equalTo("new.pem")
+        );
+        MatcherAssert.assertThat(
+            after.yamlMapping("database"),
+            Matchers.sameInstance(before.yamlMapping("database"))
+        );
+        MatcherAssert.assertThat(
+            after.value("script"),
+            Matchers.sameInstance(before.value("script"))
+        );
+        final String edited = text.replace("key: site.key", "key: new.key");
+        final YamlMapping again = first.revised(text).revised(edited)
+            .mapping();
+        YamlRevisionTest.assertRead(again, edited);
+        MatcherAssert.assertThat(
+            again.yamlMapping("server").yamlSequence("ports"),
+            Matchers.sameInstance(
+                after.yamlMapping("server").yamlSequence("ports")
+            )
+        );
+    }
+
+    /**
+     * Values after inserted lines are reused too.
+     * @throws Exception If something goes wrong.
+     */
+    @Test
+    public void reusesValuesAfterInsertedLines() throws Exception {
+        final YamlRevision first = new YamlRevision(FIRST);
+        final String text = FIRST.replace(
+            "  host: localhost",
+            "  host: localhost\n  timeout: 30\n  retries: 3"
+        );
+        final YamlMapping after = first.revised(text).mapping();
+        YamlRevisionTest.assertRead(after, text);
+        MatcherAssert.assertThat(
+            after.yamlMapping("server").integer("retries"), Matchers.is(3)
+        );
+        MatcherAssert.assertThat(
+            after.yamlMapping("database"),
+            Matchers.sameInstance(first.mapping().yamlMapping("database"))
+        );
+    }
+
+    /**
+     * Added and removed keys are seen in the new revision.
+     * @throws Exception If something goes wrong.
+     */
+    @Test
+    public void seesAddedAndRemovedKeys() throws Exception {
+        final YamlRevision first = new YamlRevision(FIRST);
+        final String text = FIRST
+            .replace("database:\n  url: jdbc:postgresql://db/app\n", "")
+            .replace("name: app", "name: app\nrelease: 2");
+        final YamlMapping after = first.revised(text).mapping();
+        YamlRevisionTest.assertRead(after, text);
+        MatcherAssert.assertThat(
+            after.yamlMapping("database"), Matchers.nullValue()
+        );
+        MatcherAssert.assertThat(after.integer("release"), Matchers.is(2));
+    }
+
+    /**
+     * If nothing changes, the mapping is the same.
+     * @throws Exception If something goes wrong.
+     */
+    @Test
+    public void reusesUnchangedMapping() throws Exception {
+        final YamlRevision first = new YamlRevision(FIRST);
+        YamlRevisionTest.assertRead(first.revised(FIRST).mapping(), FIRST);
+        MatcherAssert.assertThat(
+            first.revised(FIRST).mapping(),
+            Matchers.sameInstance(first.mapping())
+        );
+    }
+
+    /**
+     * Documents with aliases are read entirely, every time.
+     * @throws Exception If something goes wrong.
+     */
+    @Test
+    public void readsDocumentsWithAliasesEntirely() throws Exception {
+        final String text = String.join(
+            "\n",
+            "defaults: &defaults",
+            "  image: nginx",
+            "web: *defaults"
+        );
+        final YamlRevision first = new YamlRevision(text);
+        final String edited = text.replace("nginx", "httpd");
+        final YamlMapping after = first.revised(edited).mapping();
+        YamlRevisionTest.assertRead(after, edited);
+        MatcherAssert.assertThat(
+            after.yamlMapping("web").string("image"),
+            Matchers.equalTo("httpd")
+        );
+    }
+
+    /**
+     * Edits which add or remove anchors, aliases or merge keys switch
+     * between the built and the read mapping, which are both the same
+     * as the full read.
+     * @throws Exception If something goes wrong.
+     */
+    @Test
+    public void switchesBetweenBuiltAndReadMappings() throws Exception {
+        final String aliased = FIRST.replace(
+            "database:", "base: &base\n  pool: 5\ndatabase:\n  <<: *base"
+        );
+        YamlRevisionTest.assertRead(
+            new YamlRevision(aliased).mapping(), aliased
+        );
+        final YamlRevision first = new YamlRevision(FIRST);
+        final YamlRevision second = first.revised(aliased);
+        YamlRevisionTest.assertRead(second.mapping(), aliased);
+        MatcherAssert.assertThat(
+            second.mapping().yamlMapping("database").integer("pool"),
+            Matchers.is(5)
+        );
+        YamlRevisionTest.assertRead(second.revised(FIRST).mapping(), FIRST);
+    }
+
+    /**
+     * Revising a revision does not change it.
+     * @throws Exception If something goes wrong.
+     */
+    @Test
+    public void keepsPreviousRevision() throws Exception {
+        final YamlRevision first = new YamlRevision(FIRST);
+        final String printed = first.mapping().toString();
+        first.revised(FIRST.replace("host: localhost", "host: remote"));
+        first.revised(FIRST.replace("# the server", "# a server"));
+        YamlRevisionTest.assertRead(first.mapping(), FIRST);
+        MatcherAssert.assertThat(
+            first.mapping().toString(), Matchers.equalTo(printed)
+        );
+    }
+
+    /**
+     * In a big document, an edit reads again only the touched pair.
+     * @throws Exception If something goes wrong.
+     */
+    @Test
+    public void revisesBigDocument() throws Exception {
+        final StringBuilder text = new StringBuilder();
+        for(int idx = 0; idx < 10_000; ++idx) {
+            text.append("service").append(idx).append(":\n")
+                .append("  image: app:").append(idx).append('\n')
+                .append("  replicas: 1\n");
+        }
+        final YamlRevision first = new YamlRevision(text.toString());
+        final String edited = text.toString().replace(
+            "service5000:\n  image: app:5000\n  replicas: 1",
+            "service5000:\n  image: app:5000\n  replicas: 7"
+        );
+        final YamlRevision second = first.revised(edited);
+        final YamlMapping after = second.mapping();
+        YamlRevisionTest.assertRead(after, edited);
+        MatcherAssert.assertThat(
+            after.yamlMapping("service5000").integer("replicas"),
+            Matchers.is(7)
+        );
+        MatcherAssert.assertThat(
+            after.yamlMapping("service4999"),
+            Matchers.sameInstance(first.mapping().yamlMapping("service4999"))
+        );
+        MatcherAssert.assertThat(
+            second.revised(
+                text.toString().replace(
+                    "service5000:\n  image: app:5000\n  replicas: 1",
+                    "service5000:\n  image: app:5000\n  replicas: 8"
+                )
+            ).mapping().yamlMapping("service5000").value("image"),
+            Matchers.sameInstance(
+                after.yamlMapping("service5000").value("image")
+            )
+        );
+    }
+
+    /**
+     * The comments are where a full read puts them: above a nested
+     * value, they belong to it, above a scalar, they are dropped. The
+     * lines of a block scalar are not comments.
+     * @throws Exception If something goes wrong.
+     */
+    @Test
+    public void placesCommentsLikeFullRead() throws Exception {
+        final String text = String.join(
+            "\n",
+            "# about server",
+            "server:",
+            "  host: x",
+            "a: |",
+            "  line1",
+            "  # not comment",
+            "b: 2"
+        );
+        final YamlRevision first = new YamlRevision(text);
+        YamlRevisionTest.assertRead(first.mapping(), text);
+        final String edited = text.replace("# about server", "# the server");
+        YamlRevisionTest.assertRead(first.revised(edited).mapping(), edited);
+        MatcherAssert.assertThat(
+            first.revised(edited).mapping().yamlMapping("server")
+                .comment().value(),
+            Matchers.equalTo("the server")
+        );
+    }
+
+    /**
+     * Check that a revised mapping is the same as the full read of
+     * its text, comments included.
+     * @param revised Mapping of the revision.
+     * @param text Text of the revision.
+     * @throws Exception If something goes wrong.
+     */
+    private static void assertRead(final YamlMapping revised, final String text)
+        throws Exception {
+        final YamlMapping read = Yaml.createYamlInput(text).readYamlMapping();
+        MatcherAssert.assertThat(revised, Matchers.equalTo(read));
+        MatcherAssert.assertThat(
+            revised.toString(), Matchers.equalTo(read.toString())
+        );
+    }
+}
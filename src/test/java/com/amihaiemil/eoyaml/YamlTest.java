@@ -28,11 +28,19 @@
 package com.amihaiemil.eoyaml;
 
 import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
 import java.io.File;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
 
 import org.hamcrest.MatcherAssert;
 import org.hamcrest.Matchers;
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
 
 /**
  * Unit tests for {@link Yaml}.
@@ -42,6 +50,13 @@ import org.junit.Test;
  */
 public final class YamlTest {
 
+    /**
+     * Temporary folder for written files.
+     * @checkstyle VisibilityModifier (3 lines)
+     */
+    @Rule
+    public final TemporaryFolder folder = new TemporaryFolder();
+
     /**
      * Yaml can create a YamlMappingBuilder.
      */
@@ -118,4 +133,55 @@ public final class YamlTest {
             Yaml.createYamlInput("yaml: test"), Matchers.notNullValue()
         );
     }
+
+    /**
+     * Yaml can create a YamlPrinter.
+     * @throws IOException If something goes wrong.
+     */
+    @Test
+    public void createsYamlPrinter() throws IOException {
+        final StringWriter writer = new StringWriter();
+        Yaml.createYamlPrinter(writer).print(
+            Yaml.createYamlMappingBuilder().add("key", "value").build()
+        );
+        MatcherAssert.assertThat(
+            writer.toString(), Matchers.equalTo("key: value")
+        );
+    }
+
+    /**
+     * Yaml can write a YamlNode to a file, overwriting it.
+     * @throws IOException If something goes wrong.
+     */
+    @Test
+    public void writesToFile() throws IOException {
+        final Path path = this.folder.newFile("written.yml").toPath();
+        Files.write(path, "some longer content".getBytes());
+        final YamlMapping mapping = Yaml.createYamlMappingBuilder()
+            .add("key", "välue")
+            .build();
+        Yaml.write(mapping, path, StandardCharsets.UTF_8);
+        MatcherAssert.assertThat(
+            new String(Files.readAllBytes(path), StandardCharsets.UTF_8),
+            Matchers.equalTo(mapping.toString())
+        );
+    }
+
+    /**
+     * Yaml can write a YamlNode to an OutputStream.
+     * @throws IOException If something goes wrong.
+     */
+    @Test
+    public void writesToOutputStream() throws IOException {
+        final YamlSequence sequence = Yaml.createYamlSequenceBuilder()
+            .add("first")
+            .add("second")
+            .build("a sequence");
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+        Yaml.write(sequence, out, StandardCharsets.ISO_8859_1);
+        MatcherAssert.assertThat(
+            new String(out.toByteArray(), StandardCharsets.ISO_8859_1),
+            Matchers.equalTo(sequence.toString())
+        );
+    }
 }
@@ -0,0 +1,219 @@
+/**
+ * Copyright (c) 2016-2020, Mihai Emil Andronache
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ *  modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ *  list of conditions and the following disclaimer.
+ *  Redistributions in binary form must reproduce the above copyright notice,
+ *  this list of conditions and the following disclaimer in the documentation
+ *  and/or other materials provided with the distribution.
+ * Neither the name of the copyright holder nor the names of its
+ *  contributors may be used to endorse or promote products derived from
+ *  this software without specific prior written permission.
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT
+ * LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY
+ * OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF
+ * SUCH DAMAGE.
+ */
+package com.amihaiemil.eoyaml.extensions;
+
+import com.amihaiemil.eoyaml.Yaml;
+import com.amihaiemil.eoyaml.YamlMapping;
+import com.amihaiemil.eoyaml.YamlNode;
+import java.util.Arrays;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.Test;
+
+/**
+ * Unit tests for {@link LayeredYamlMapping}.
+ * @author Mihai Andronache (amihaiemil@gmail.com)
+ * @version $Id$
+ * @since 4.2.0
+ */
+public final class LayeredYamlMappingTest {
+
+    /**
+     * The last layer which has a key wins.
+     */
+    @Test
+    public void looksUpLayersTopDown() {
+        final YamlMapping layered = new LayeredYamlMapping(
+            Yaml.createYamlMappingBuilder()
+                .add("host", "localhost")
+                .add("port", "8080")
+                .add("debug", "false")
+                .build(),
+            Yaml.createYamlMappingBuilder()
+                .add("host", "staging.example.com")
+                .build(),
+            Yaml.createYamlMappingBuilder()
+                .add("debug", "true")
+                .add("verbose", "true")
+                .build()
+        );
+        MatcherAssert.assertThat(
+            layered.string("host"), Matchers.equalTo("staging.example.com")
+        );
+        MatcherAssert.assertThat(
+            layered.string("port"), Matchers.equalTo("8080")
+        );
+        MatcherAssert.assertThat(
+            layered.string("debug"), Matchers.equalTo("true")
+        );
+        MatcherAssert.assertThat(
+            layered.string("missing"), Matchers.nullValue()
+        );
+        MatcherAssert.assertThat(
+            layered,
+            Matchers.equalTo(
+                Yaml.createYamlMappingBuilder()
+                    .add("host", "staging.example.com")
+                    .add("port", "8080")
+                    .add("debug", "true")
+                    .add("verbose", "true")
+                    .build()
+            )
+        );
+    }
+
+    /**
+     * The values are not copied and the keys are found only once.
+     */
+    @Test
+    public void sharesValuesAndCachesKeys() {
+        final YamlMapping server = Yaml.createYamlMappingBuilder()
+            .add("port", "8080")
+            .build();
+        final YamlMapping layered = new LayeredYamlMapping(
+            Yaml.createYamlMappingBuilder().add("server", server).build(),
+            Yaml.createYamlMappingBuilder().add("name", "app").build()
+        );
+        MatcherAssert.assertThat(
+            layered.yamlMapping("server"), Matchers.sameInstance(server)
+        );
+        MatcherAssert.assertThat(
+            layered.keys(), Matchers.sameInstance(layered.keys())
+        );
+    }
+
+    /**
+     * The comment of a key comes from the last layer which has the key
+     * with a comment.
+     */
+    @Test
+    public void takesKeyCommentsFromLayers() {
+        final YamlMapping layered = new LayeredYamlMapping(
+            Yaml.createYamlMappingBuilder()
+                .add("host", "localhost", "the host")
+                .add("port", "8080", "the port")
+                .build(),
+            Yaml.createYamlMappingBuilder()
+                .add("host", "staging.example.com", "staging host")
+                .add("port", "9090")
+                .build()
+        );
+        MatcherAssert.assertThat(
+            layered.comments().referringTo("host").value(),
+            Matchers.equalTo("staging host")
+        );
+        MatcherAssert.assertThat(
+            layered.toString(),
+            Matchers.equalTo(
+                Yaml.createYamlMappingBuilder()
+                    .add("host", "staging.example.com", "staging host")
+                    .add("port", "9090", "the port")
+                    .build()
+                    .toString()
+            )
+        );
+    }
+
+    /**
+     * Without deep merging, a nested mapping is taken whole.
+     */
+    @Test
+    public void replacesNestedMappings() {
+        final YamlMapping layered = new LayeredYamlMapping(
+            LayeredYamlMappingTest.server("host", "localhost"),
+            LayeredYamlMappingTest.server("port", "9090")
+        );
+        MatcherAssert.assertThat(
+            layered.yamlMapping("server").string("host"),
+            Matchers.nullValue()
+        );
+    }
+
+    /**
+     * With deep merging, nested mappings are layered too, until a layer
+     * has something else under the key.
+     */
+    @Test
+    public void layersNestedMappings() {
+        final YamlMapping layered = new LayeredYamlMapping(
+            Arrays.asList(
+                LayeredYamlMappingTest.server("host", "localhost"),
+                LayeredYamlMappingTest.server("port", "9090"),
+                LayeredYamlMappingTest.server("tls", "on")
+            ),
+            true
+        );
+        final YamlMapping server = layered.yamlMapping("server");
+        MatcherAssert.assertThat(
+            server.string("host"), Matchers.equalTo("localhost")
+        );
+        MatcherAssert.assertThat(
+            server.string("port"), Matchers.equalTo("9090")
+        );
+        MatcherAssert.assertThat(server.string("tls"), Matchers.equalTo("on"));
+        MatcherAssert.assertThat(
+            layered.yamlMapping("server"), Matchers.sameInstance(server)
+        );
+        final YamlMapping shadowed = new LayeredYamlMapping(
+            Arrays.asList(
+                LayeredYamlMappingTest.server("host", "localhost"),
+                Yaml.createYamlMappingBuilder().add("server", "none").build(),
+                LayeredYamlMappingTest.server("port", "9090")
+            ),
+            true
+        );
+        MatcherAssert.assertThat(
+            shadowed.yamlMapping("server").keys(),
+            Matchers.contains((YamlNode) Yaml.createYamlScalarBuilder()
+                .addLine("port").buildPlainScalar())
+        );
+    }
+
+    /**
+     * Null layers are ignored, but there has to be at least one.
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void complainsIfAllLayersAreNull() {
+        new LayeredYamlMapping(Arrays.asList(null, null), false);
+    }
+
+    /**
+     * A mapping with a nested "server" mapping.
+     * @param key Key in the server mapping.
+     * @param value Value in the server mapping.
+     * @return YamlMapping.
+     */
+    private static YamlMapping server(final String key, final String value) {
+        return Yaml.createYamlMappingBuilder()
+            .add(
+                "server",
+                Yaml.createYamlMappingBuilder().add(key, value).build()
+            )
+            .build();
+    }
+}
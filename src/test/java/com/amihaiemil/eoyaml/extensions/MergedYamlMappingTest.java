@@ -229,4 +229,29 @@ public final class MergedYamlMappingTest {
             Matchers.equalTo(expected)
         );
     }
+
+    /**
+     * The comments of the keys are merged too.
+     */
+    @Test
+    public void mergesKeyComments() {
+        final YamlMapping merged = new MergedYamlMapping(
+            Yaml.createYamlMappingBuilder()
+                .add("name", "eo-yaml", "the name")
+                .build(),
+            Yaml.createYamlMappingBuilder()
+                .add("version", "4.2.0", "the version")
+                .build()
+        );
+        MatcherAssert.assertThat(
+            merged.toString(),
+            Matchers.equalTo(
+                Yaml.createYamlMappingBuilder()
+                    .add("name", "eo-yaml", "the name")
+                    .add("version", "4.2.0", "the version")
+                    .build()
+                    .toString()
+            )
+        );
+    }
 }
@@ -0,0 +1,80 @@
+/**
+ * Copyright (c) 2016-2020, Mihai Emil Andronache
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ *  modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ *  list of conditions and the following disclaimer.
+ *  Redistributions in binary form must reproduce the above copyright notice,
+ *  this list of conditions and the following disclaimer in the documentation
+ *  and/or other materials provided with the distribution.
+ * Neither the name of the copyright holder nor the names of its
+ *  contributors may be used to endorse or promote products derived from
+ *  this software without specific prior written permission.
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT
+ * LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY
+ * OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF
+ * SUCH DAMAGE.
+ */
+package com.amihaiemil.eoyaml.extensions;
+
+import com.amihaiemil.eoyaml.Yaml;
+import com.amihaiemil.eoyaml.YamlMapping;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.Test;
+
+/**
+ * Unit tests for {@link PatchedYamlMapping}.
+ * @author Mihai Andronache (amihaiemil@gmail.com)
+ * @version $Id$
+ * @since 4.2.0
+ */
+public final class PatchedYamlMappingTest {
+
+    /**
+     * It should complain when the original mapping is null.
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void complainsOnNullMapping() {
+        new PatchedYamlMapping(null, new YamlPatch().set("key", "value"));
+    }
+
+    /**
+     * It represents the patched mapping.
+     */
+    @Test
+    public void representsPatchedMapping() {
+        final YamlMapping original = Yaml.createYamlMappingBuilder()
+            .add("name", "eo-yaml", "project name")
+            .add("version", "4.1.0")
+            .add("debug", "true")
+            .build();
+        final YamlMapping patched = new PatchedYamlMapping(
+            original,
+            new YamlPatch().set("version", "4.2.0").remove("debug")
+        );
+        MatcherAssert.assertThat(
+            patched.string("version"), Matchers.equalTo("4.2.0")
+        );
+        MatcherAssert.assertThat(patched.string("debug"), Matchers.nullValue());
+        MatcherAssert.assertThat(patched.keys(), Matchers.hasSize(2));
+        MatcherAssert.assertThat(
+            patched.toString(),
+            Matchers.equalTo(
+                "# project name" + System.lineSeparator()
+                + "name: eo-yaml" + System.lineSeparator()
+                + "version: 4.2.0"
+            )
+        );
+    }
+}
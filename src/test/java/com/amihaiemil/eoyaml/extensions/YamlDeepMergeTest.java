@@ -0,0 +1,425 @@
+/**
+ * Copyright (c) 2016-2020, Mihai Emil Andronache
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ *  modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ *  list of conditions and the following disclaimer.
+ *  Redistributions in binary form must reproduce the above copyright notice,
+ *  this list of conditions and the following disclaimer in the documentation
+ *  and/or other materials provided with the distribution.
+ * Neither the name of the copyright holder nor the names of its
+ *  contributors may be used to endorse or promote products derived from
+ *  this software without specific prior written permission.
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT
+ * LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY
+ * OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF
+ * SUCH DAMAGE.
+ */
+package com.amihaiemil.eoyaml.extensions;
+
+import com.amihaiemil.eoyaml.BaseYamlMapping;
+import com.amihaiemil.eoyaml.Comment;
+import com.amihaiemil.eoyaml.Yaml;
+import com.amihaiemil.eoyaml.YamlMapping;
+import com.amihaiemil.eoyaml.YamlMappingBuilder;
+import com.amihaiemil.eoyaml.YamlNode;
+import com.amihaiemil.eoyaml.YamlSequence;
+import com.amihaiemil.eoyaml.YamlSequenceBuilder;
+import java.util.Collection;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.Test;
+
+/**
+ * Unit tests for {@link YamlDeepMerge}.
+ * @author Mihai Andronache (amihaiemil@gmail.com)
+ * @version $Id$
+ * @since 4.2.0
+ */
+public final class YamlDeepMergeTest {
+
+    /**
+     * Nested mappings are merged recursively, untouched nodes are reused.
+     */
+    @Test
+    public void mergesNestedMappings() {
+        final YamlMapping metadata = Yaml.createYamlMappingBuilder()
+            .add("name", "web")
+            .build();
+        final YamlMapping base = Yaml.createYamlMappingBuilder()
+            .add("metadata", metadata)
+            .add(
+                "spec",
+                Yaml.createYamlMappingBuilder()
+                    .add("replicas", "1")
+                    .add("image", "nginx")
+                    .build()
+            )
+            .build();
+        final YamlMapping merged = new YamlDeepMerge().apply(
+            base,
+            Yaml.createYamlMappingBuilder()
+                .add(
+                    "spec",
+                    Yaml.createYamlMappingBuilder()
+                        .add("replicas", "3")
+                        .build()
+                )
+                .build()
+        );
+        MatcherAssert.assertThat(
+            merged.yamlMapping("metadata"), Matchers.sameInstance(metadata)
+        );
+        MatcherAssert.assertThat(
+            merged.yamlMapping("spec"),
+            Matchers.equalTo(
+                Yaml.createYamlMappingBuilder()
+                    .add("replicas", "3")
+                    .add("image", "nginx")
+                    .build()
+            )
+        );
+        MatcherAssert.assertThat(
+            base.yamlMapping("spec").string("replicas"),
+            Matchers.equalTo("1")
+        );
+    }
+
+    /**
+     * If nothing changes, the base itself is returned.
+     */
+    @Test
+    public void returnsBaseIfNothingChanges() {
+        final YamlMapping spec = Yaml.createYamlMappingBuilder()
+            .add("image", "nginx")
+            .build();
+        final YamlMapping base = Yaml.createYamlMappingBuilder()
+            .add("spec", spec)
+            .build();
+        MatcherAssert.assertThat(
+            new YamlDeepMerge().apply(
+                base,
+                Yaml.createYamlMappingBuilder()
+                    .add("spec", Yaml.createYamlMappingBuilder().build())
+                    .build()
+            ),
+            Matchers.sameInstance(base)
+        );
+    }
+
+    /**
+     * The comments of the keys are kept from both mappings.
+     */
+    @Test
+    public void keepsKeyComments() {
+        final YamlMapping merged = new YamlDeepMerge().apply(
+            Yaml.createYamlMappingBuilder()
+                .add("name", "web", "the name")
+                .add(
+                    "spec",
+                    Yaml.createYamlMappingBuilder()
+                        .add("image", "nginx", "the image")
+                        .build(),
+                    "the spec"
+                )
+                .build(),
+            Yaml.createYamlMappingBuilder()
+                .add(
+                    "spec",
+                    Yaml.createYamlMappingBuilder()
+                        .add("replicas", "2", "the replicas")
+                        .build()
+                )
+                .build()
+        );
+        MatcherAssert.assertThat(
+            merged.toString(),
+            Matchers.equalTo(
+                Yaml.createYamlMappingBuilder()
+                    .add("name", "web", "the name")
+                    .add(
+                        "spec",
+                        Yaml.createYamlMappingBuilder()
+                            .add("image", "nginx", "the image")
+                            .add("replicas", "2", "the replicas")
+                            .build(),
+                        "the spec"
+                    )
+                    .build()
+                    .toString()
+            )
+        );
+    }
+
+    /**
+     * The keep and override strategies apply to their paths only.
+     */
+    @Test
+    public void keepsAndOverrides() {
+        final YamlMapping merged = new YamlDeepMerge()
+            .keep("spec/image")
+            .override("spec/limits")
+            .apply(
+                YamlDeepMergeTest.spec("nginx", "cpu"),
+                YamlDeepMergeTest.spec("httpd", "memory")
+            );
+        final YamlMapping spec = merged.yamlMapping("spec");
+        MatcherAssert.assertThat(
+            spec.string("image"), Matchers.equalTo("nginx")
+        );
+        MatcherAssert.assertThat(
+            spec.yamlMapping("limits").keys(), Matchers.iterableWithSize(1)
+        );
+        MatcherAssert.assertThat(
+            spec.yamlMapping("limits").string("memory"),
+            Matchers.equalTo("1")
+        );
+        MatcherAssert.assertThat(
+            new YamlDeepMerge().apply(
+                YamlDeepMergeTest.spec("nginx", "cpu"),
+                YamlDeepMergeTest.spec("httpd", "memory")
+            ).yamlMapping("spec").yamlMapping("limits").keys(),
+            Matchers.iterableWithSize(2)
+        );
+    }
+
+    /**
+     * Sequences are overridden by default, or appended to.
+     */
+    @Test
+    public void appendsSequences() {
+        final YamlMapping base = YamlDeepMergeTest.args("-v", "-x");
+        final YamlMapping changes = YamlDeepMergeTest.args("-q");
+        MatcherAssert.assertThat(
+            new YamlDeepMerge().apply(base, changes).yamlSequence("args"),
+            Matchers.iterableWithSize(1)
+        );
+        final YamlSequence appended = new YamlDeepMerge()
+            .append("args")
+            .apply(base, changes)
+            .yamlSequence("args");
+        MatcherAssert.assertThat(appended, Matchers.iterableWithSize(3));
+        MatcherAssert.assertThat(appended.string(2), Matchers.equalTo("-q"));
+    }
+
+    /**
+     * Sequences of mappings are merged by key, with the rules under the
+     * path of the sequence applying to their elements.
+     */
+    @Test
+    public void mergesSequencesByKey() {
+        final YamlMapping sidecar = YamlDeepMergeTest.container(
+            "sidecar", "envoy", "9901"
+        );
+        final YamlMapping base = Yaml.createYamlMappingBuilder()
+            .add(
+                "containers",
+                Yaml.createYamlSequenceBuilder()
+                    .add(YamlDeepMergeTest.container("app", "web:1", "80"))
+                    .add(sidecar)
+                    .build()
+            )
+            .build();
+        final YamlMapping changes = Yaml.createYamlMappingBuilder()
+            .add(
+                "containers",
+                Yaml.createYamlSequenceBuilder()
+                    .add(YamlDeepMergeTest.container("app", "web:2", "443"))
+                    .add(YamlDeepMergeTest.container("log", "fluentd", "24"))
+                    .build()
+            )
+            .build();
+        final YamlSequence containers = new YamlDeepMerge()
+            .unionBy("containers", "name")
+            .append("containers/ports")
+            .apply(base, changes)
+            .yamlSequence("containers");
+        MatcherAssert.assertThat(containers, Matchers.iterableWithSize(3));
+        MatcherAssert.assertThat(
+            containers.yamlMapping(0).string("image"),
+            Matchers.equalTo("web:2")
+        );
+        MatcherAssert.assertThat(
+            containers.yamlMapping(0).yamlSequence("ports"),
+            Matchers.iterableWithSize(2)
+        );
+        MatcherAssert.assertThat(
+            containers.yamlMapping(1), Matchers.sameInstance(sidecar)
+        );
+        MatcherAssert.assertThat(
+            containers.yamlMapping(2).string("name"),
+            Matchers.equalTo("log")
+        );
+    }
+
+    /**
+     * Merging a few changes into a big mapping only looks up the changed
+     * keys, it does not walk the base.
+     */
+    @Test
+    public void walksOnlyTheChanges() {
+        final YamlMappingBuilder builder = Yaml
+            .createMutableYamlMappingBuilder(100_000);
+        for(int idx = 0; idx < 100_000; ++idx) {
+            builder.add("key" + idx, "value" + idx);
+        }
+        final AtomicInteger walks = new AtomicInteger();
+        final YamlMapping base = new Walked(builder.build(), walks);
+        final YamlMappingBuilder changes = Yaml
+            .createMutableYamlMappingBuilder();
+        for(int idx = 0; idx < 100; ++idx) {
+            changes.add("key" + idx * 1000, "changed");
+        }
+        final YamlMapping merged = new YamlDeepMerge().apply(
+            base, changes.build()
+        );
+        MatcherAssert.assertThat(walks.get(), Matchers.is(0));
+        MatcherAssert.assertThat(
+            merged.string("key5000"), Matchers.equalTo("changed")
+        );
+        MatcherAssert.assertThat(
+            merged.string("key5001"), Matchers.equalTo("value5001")
+        );
+    }
+
+    /**
+     * A mapping with a nested "spec".
+     * @param image Image of the spec.
+     * @param limit Key of the limits of the spec.
+     * @return YamlMapping.
+     */
+    private static YamlMapping spec(final String image, final String limit) {
+        return Yaml.createYamlMappingBuilder()
+            .add(
+                "spec",
+                Yaml.createYamlMappingBuilder()
+                    .add("image", image)
+                    .add(
+                        "limits",
+                        Yaml.createYamlMappingBuilder().add(limit, "1").build()
+                    )
+                    .build()
+            )
+            .build();
+    }
+
+    /**
+     * A mapping with a sequence of args.
+     * @param args Args.
+     * @return YamlMapping.
+     */
+    private static YamlMapping args(final String... args) {
+        YamlSequenceBuilder seq = Yaml
+            .createYamlSequenceBuilder();
+        for(final String arg : args) {
+            seq = seq.add(arg);
+        }
+        return Yaml.createYamlMappingBuilder().add("args", seq.build()).build();
+    }
+
+    /**
+     * A container.
+     * @param name Name.
+     * @param image Image.
+     * @param port Port.
+     * @return YamlMapping.
+     */
+    private static YamlMapping container(
+        final String name, final String image, final String port
+    ) {
+        return Yaml.createYamlMappingBuilder()
+            .add("name", name)
+            .add("image", image)
+            .add("ports", Yaml.createYamlSequenceBuilder().add(port).build())
+            .build();
+    }
+
+    /**
+     * A mapping counting how many times its keys or values are walked.
+     * @author Mihai Andronache (amihaiemil@gmail.com)
+     * @version $Id$
+     * @since 4.2.0
+     * @checkstyle JavadocMethod (100 lines)
+     */
+    private static final class Walked extends BaseYamlMapping {
+
+        /**
+         * Decorated mapping.
+         */
+        private final YamlMapping mapping;
+
+        /**
+         * Walks.
+         */
+        private final AtomicInteger walks;
+
+        /**
+         * Constructor.
+         * @param mapping Decorated mapping.
+         * @param walks Walks.
+         */
+        Walked(final YamlMapping mapping, final AtomicInteger walks) {
+            this.mapping = mapping;
+            this.walks = walks;
+        }
+
+        @Override
+        public Set<YamlNode> keys() {
+            this.walks.incrementAndGet();
+            return this.mapping.keys();
+        }
+
+        @Override
+        public Collection<YamlNode> values() {
+            this.walks.incrementAndGet();
+            return this.mapping.values();
+        }
+
+        @Override
+        public YamlNode value(final YamlNode key) {
+            return this.mapping.value(key);
+        }
+
+        @Override
+        public Comment comment() {
+            return this.mapping.comment();
+        }
+
+        @Override
+        public YamlMapping yamlMapping(final YamlNode key) {
+            return this.mapping.yamlMapping(key);
+        }
+
+        @Override
+        public YamlSequence yamlSequence(final YamlNode key) {
+            return this.mapping.yamlSequence(key);
+        }
+
+        @Override
+        public String string(final YamlNode key) {
+            return this.mapping.string(key);
+        }
+
+        @Override
+        public String foldedBlockScalar(final YamlNode key) {
+            return this.mapping.foldedBlockScalar(key);
+        }
+
+        @Override
+        public Collection<String> literalBlockScalar(final YamlNode key) {
+            return this.mapping.literalBlockScalar(key);
+        }
+    }
+}
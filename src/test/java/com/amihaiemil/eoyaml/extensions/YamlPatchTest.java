@@ -0,0 +1,384 @@
+/**
+ * Copyright (c) 2016-2020, Mihai Emil Andronache
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ *  modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ *  list of conditions and the following disclaimer.
+ *  Redistributions in binary form must reproduce the above copyright notice,
+ *  this list of conditions and the following disclaimer in the documentation
+ *  and/or other materials provided with the distribution.
+ * Neither the name of the copyright holder nor the names of its
+ *  contributors may be used to endorse or promote products derived from
+ *  this software without specific prior written permission.
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT
+ * LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY
+ * OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF
+ * SUCH DAMAGE.
+ */
+package com.amihaiemil.eoyaml.extensions;
+
+import com.amihaiemil.eoyaml.Comment;
+import com.amihaiemil.eoyaml.Yaml;
+import com.amihaiemil.eoyaml.YamlMapping;
+import com.amihaiemil.eoyaml.YamlSequence;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.Test;
+
+/**
+ * Unit tests for {@link YamlPatch}.
+ * @author Mihai Andronache (amihaiemil@gmail.com)
+ * @version $Id$
+ * @since 4.2.0
+ */
+public final class YamlPatchTest {
+
+    /**
+     * An empty patch returns the same mapping.
+     */
+    @Test
+    public void emptyPatchChangesNothing() {
+        final YamlMapping original = Yaml.createYamlMappingBuilder()
+            .add("key", "value")
+            .build();
+        MatcherAssert.assertThat(
+            new YamlPatch().apply(original),
+            Matchers.sameInstance(original)
+        );
+    }
+
+    /**
+     * A new key is added at the end of the mapping.
+     */
+    @Test
+    public void setsNewKey() {
+        final YamlMapping original = Yaml.createYamlMappingBuilder()
+            .add("architect", "amihaiemil")
+            .build();
+        final YamlMapping patched = new YamlPatch()
+            .set("developer", "salikjan")
+            .apply(original);
+        MatcherAssert.assertThat(
+            patched,
+            Matchers.equalTo(
+                Yaml.createYamlMappingBuilder()
+                    .add("architect", "amihaiemil")
+                    .add("developer", "salikjan")
+                    .build()
+            )
+        );
+        MatcherAssert.assertThat(original.keys(), Matchers.hasSize(1));
+    }
+
+    /**
+     * An existing value is replaced in place, while the sibling nodes are
+     * reused by reference.
+     */
+    @Test
+    public void replacesValueAndSharesSiblings() {
+        final YamlMapping server = Yaml.createYamlMappingBuilder()
+            .add("port", "8080")
+            .add("host", "localhost")
+            .build();
+        final YamlSequence users = Yaml.createYamlSequenceBuilder()
+            .add("amihaiemil")
+            .build();
+        final YamlMapping original = Yaml.createYamlMappingBuilder()
+            .add("server", server)
+            .add("users", users)
+            .build();
+        final YamlMapping patched = new YamlPatch()
+            .set("server/port", "8081")
+            .apply(original);
+        MatcherAssert.assertThat(
+            patched.yamlMapping("server").string("port"),
+            Matchers.equalTo("8081")
+        );
+        MatcherAssert.assertThat(
+            patched.yamlMapping("server").string("host"),
+            Matchers.equalTo("localhost")
+        );
+        MatcherAssert.assertThat(
+            patched.yamlSequence("users"),
+            Matchers.sameInstance(users)
+        );
+        MatcherAssert.assertThat(
+            original.yamlMapping("server"),
+            Matchers.sameInstance(server)
+        );
+        MatcherAssert.assertThat(
+            server.string("port"),
+            Matchers.equalTo("8080")
+        );
+        MatcherAssert.assertThat(
+            patched.toString(),
+            Matchers.equalTo(
+                "server:" + System.lineSeparator()
+                + "  port: 8081" + System.lineSeparator()
+                + "  host: localhost" + System.lineSeparator()
+                + "users:" + System.lineSeparator()
+                + "  - amihaiemil"
+            )
+        );
+    }
+
+    /**
+     * Missing mappings on the path are created.
+     */
+    @Test
+    public void createsMissingMappings() {
+        final YamlMapping patched = new YamlPatch()
+            .set("spec/template/replicas", "3")
+            .apply(Yaml.createYamlMappingBuilder().build());
+        MatcherAssert.assertThat(
+            patched.yamlMapping("spec")
+                .yamlMapping("template")
+                .integer("replicas"),
+            Matchers.equalTo(3)
+        );
+    }
+
+    /**
+     * Keys can be removed, while removing a missing path returns the
+     * very same mapping.
+     */
+    @Test
+    public void removesKeys() {
+        final YamlMapping original = Yaml.createYamlMappingBuilder()
+            .add("key1", "value1")
+            .add(
+                "key2",
+                Yaml.createYamlMappingBuilder().add("nested", "value").build()
+            )
+            .build();
+        MatcherAssert.assertThat(
+            new YamlPatch().remove("key2/nested").remove("key1")
+                .apply(original),
+            Matchers.equalTo(
+                Yaml.createYamlMappingBuilder()
+                    .add("key2", Yaml.createYamlMappingBuilder().build())
+                    .build()
+            )
+        );
+        MatcherAssert.assertThat(
+            new YamlPatch().remove("missing/key").apply(original),
+            Matchers.sameInstance(original)
+        );
+    }
+
+    /**
+     * Values can be appended to a sequence, which is created if missing.
+     */
+    @Test
+    public void appendsToSequences() {
+        final YamlMapping original = Yaml.createYamlMappingBuilder()
+            .add(
+                "developers",
+                Yaml.createYamlSequenceBuilder().add("amihaiemil").build()
+            )
+            .build();
+        final YamlMapping patched = new YamlPatch()
+            .append("developers", "salikjan")
+            .append("architects", "yegor256")
+            .apply(original);
+        MatcherAssert.assertThat(
+            patched.yamlSequence("developers"),
+            Matchers.equalTo(
+                Yaml.createYamlSequenceBuilder()
+                    .add("amihaiemil")
+                    .add("salikjan")
+                    .build()
+            )
+        );
+        MatcherAssert.assertThat(
+            patched.yamlSequence("architects").string(0),
+            Matchers.equalTo("yegor256")
+        );
+        MatcherAssert.assertThat(
+            original.yamlSequence("developers").size(),
+            Matchers.equalTo(1)
+        );
+    }
+
+    /**
+     * Sequence elements can be addressed by their index.
+     */
+    @Test
+    public void patchesInsideSequences() {
+        final YamlMapping first = Yaml.createYamlMappingBuilder()
+            .add("image", "nginx:1.18")
+            .build();
+        final YamlMapping second = Yaml.createYamlMappingBuilder()
+            .add("image", "redis:6")
+            .build();
+        final YamlMapping original = Yaml.createYamlMappingBuilder()
+            .add(
+                "containers",
+                Yaml.createYamlSequenceBuilder().add(first).add(second).build()
+            )
+            .build();
+        final YamlMapping patched = new YamlPatch()
+            .set("containers/0/image", "nginx:1.19")
+            .apply(original);
+        final YamlSequence containers = patched.yamlSequence("containers");
+        MatcherAssert.assertThat(
+            containers.yamlMapping(0).string("image"),
+            Matchers.equalTo("nginx:1.19")
+        );
+        MatcherAssert.assertThat(
+            containers.yamlMapping(1),
+            Matchers.sameInstance(second)
+        );
+    }
+
+    /**
+     * Keys containing '/' or '~' can be escaped.
+     */
+    @Test
+    public void unescapesKeys() {
+        final YamlMapping patched = new YamlPatch()
+            .set("a~1b~0c", "value")
+            .apply(Yaml.createYamlMappingBuilder().build());
+        MatcherAssert.assertThat(
+            patched.string("a/b~c"),
+            Matchers.equalTo("value")
+        );
+    }
+
+    /**
+     * The comments of the rebuilt nodes are kept.
+     */
+    @Test
+    public void keepsComments() {
+        final YamlMapping original = Yaml.createYamlMappingBuilder()
+            .add("key1", "value1", "first key")
+            .add("key2", "value2", "second key")
+            .build("the mapping");
+        final YamlMapping patched = new YamlPatch()
+            .set("key2", "changed")
+            .apply(original);
+        MatcherAssert.assertThat(
+            patched.comment().value(),
+            Matchers.equalTo("the mapping")
+        );
+        MatcherAssert.assertThat(
+            patched.comments().referringTo("key1").value(),
+            Matchers.equalTo("first key")
+        );
+        MatcherAssert.assertThat(
+            patched.comments().referringTo("key2").value(),
+            Matchers.equalTo("second key")
+        );
+    }
+
+    /**
+     * Equal elements of a rebuilt sequence keep their own comments.
+     */
+    @Test
+    public void keepsCommentsOfEqualElements() {
+        final YamlMapping original = Yaml.createYamlMappingBuilder()
+            .add(
+                "list",
+                Yaml.createYamlSequenceBuilder()
+                    .add("same", "first")
+                    .add("same", "second")
+                    .add("other", "third")
+                    .build()
+            ).build();
+        final YamlMapping patched = new YamlPatch()
+            .set("list/2", "changed")
+            .append("list", "appended")
+            .apply(original);
+        final List<String> comments = new ArrayList<>();
+        for(final Comment comment
+            : patched.yamlSequence("list").comments()) {
+            comments.add(comment.value());
+        }
+        MatcherAssert.assertThat(
+            comments, Matchers.contains("first", "second", "third", "")
+        );
+    }
+
+    /**
+     * A patch can be applied on read YAML.
+     * @throws IOException If something goes wrong.
+     */
+    @Test
+    public void patchesReadMapping() throws IOException {
+        final YamlMapping read = Yaml.createYamlInput(
+            "name: eo-yaml" + System.lineSeparator()
+            + "deps:" + System.lineSeparator()
+            + "  junit: 4.12" + System.lineSeparator()
+            + "  hamcrest: 1.3"
+        ).readYamlMapping();
+        final YamlMapping patched = new YamlPatch()
+            .set("deps/junit", "4.13")
+            .apply(read);
+        MatcherAssert.assertThat(
+            patched.yamlMapping("deps").string("junit"),
+            Matchers.equalTo("4.13")
+        );
+        MatcherAssert.assertThat(
+            patched.yamlMapping("deps").string("hamcrest"),
+            Matchers.equalTo("1.3")
+        );
+        MatcherAssert.assertThat(
+            patched.string("name"),
+            Matchers.equalTo("eo-yaml")
+        );
+    }
+
+    /**
+     * It complains if the path crosses a scalar.
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void complainsOnScalarInPath() {
+        new YamlPatch().set("key/nested", "value").apply(
+            Yaml.createYamlMappingBuilder().add("key", "scalar").build()
+        );
+    }
+
+    /**
+     * It complains if the index is not valid.
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void complainsOnWrongIndex() {
+        new YamlPatch().set("seq/3", "value").apply(
+            Yaml.createYamlMappingBuilder()
+                .add("seq", Yaml.createYamlSequenceBuilder().add("a").build())
+                .build()
+        );
+    }
+
+    /**
+     * It complains if a value is appended to something else than
+     * a sequence.
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void complainsOnAppendToScalar() {
+        new YamlPatch().append("key", "value").apply(
+            Yaml.createYamlMappingBuilder().add("key", "scalar").build()
+        );
+    }
+
+    /**
+     * It complains if the path is empty.
+     */
+    @Test(expected = IllegalArgumentException.class)
+    public void complainsOnEmptyPath() {
+        new YamlPatch().remove("");
+    }
+}
@@ -0,0 +1,268 @@
+/**
+ * Copyright (c) 2016-2020, Mihai Emil Andronache
+ * All rights reserved.
+ *
+ * Redistribution and use in source and binary forms, with or without
+ *  modification, are permitted provided that the following conditions are met:
+ * Redistributions of source code must retain the above copyright notice, this
+ *  list of conditions and the following disclaimer.
+ *  Redistributions in binary form must reproduce the above copyright notice,
+ *  this list of conditions and the following disclaimer in the documentation
+ *  and/or other materials provided with the distribution.
+ * Neither the name of the copyright holder nor the names of its
+ *  contributors may be used to endorse or promote products derived from
+ *  this software without specific prior written permission.
+ * THIS SOFTWARE IS PROVIDED BY THE COPYRIGHT HOLDERS AND CONTRIBUTORS "AS IS"
+ * AND ANY EXPRESS OR IMPLIED WARRANTIES, INCLUDING, BUT NOT LIMITED TO, THE
+ * IMPLIED WARRANTIES OF MERCHANTABILITY AND FITNESS FOR A PARTICULAR PURPOSE
+ * ARE
+ * DISCLAIMED. IN NO EVENT SHALL THE COPYRIGHT HOLDER OR CONTRIBUTORS BE LIABLE
+ * FOR ANY DIRECT, INDIRECT, INCIDENTAL, SPECIAL, EXEMPLARY, OR CONSEQUENTIAL
+ * DAMAGES (INCLUDING, BUT NOT LIMITED TO, PROCUREMENT OF SUBSTITUTE GOODS OR
+ * SERVICES; LOSS OF USE, DATA, OR PROFITS; OR BUSINESS INTERRUPTION) HOWEVER
+ * CAUSED AND ON ANY THEORY OF LIABILITY, WHETHER IN CONTRACT, STRICT
+ * LIABILITY, OR TORT (INCLUDING NEGLIGENCE OR OTHERWISE) ARISING IN ANY WAY
+ * OUT OF THE USE OF THIS SOFTWARE, EVEN IF ADVISED OF THE POSSIBILITY OF
+ * SUCH DAMAGE.
+ */
+package com.amihaiemil.eoyaml.extensions;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.TimeUnit;
+import org.hamcrest.MatcherAssert;
+import org.hamcrest.Matchers;
+import org.junit.Assert;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+/**
+ * Unit tests for {@link YamlWatcher}.
+ * @author Mihai Andronache (amihaiemil@gmail.com)
+ * @version $Id$
+ * @since 4.2.0
+ */
+public final class YamlWatcherTest {
+
+    /**
+     * Temporary folder.
+     * @checkstyle VisibilityModifier (3 lines)
+     */
+    @Rule
+    public final TemporaryFolder folder = new TemporaryFolder();
+
+    /**
+     * The files are read when the watcher starts.
+     * @throws Exception If something goes wrong.
+     */
+    @Test
+    public void readsFilesOnStart() throws Exception {
+        final Path app = this.file("app.yml", "name: app");
+        final Path dbase = this.file("db.yml", "host: localhost");
+        try (YamlWatcher watcher = new YamlWatcher(Arrays.asList(app, dbase))) {
+            watcher.start();
+            MatcherAssert.assertThat(
+                watcher.mapping(app).string("name"), Matchers.equalTo("app")
+            );
+            MatcherAssert.assertThat(
+                watcher.snapshot().keySet(), Matchers.contains(app, dbase)
+            );
+        }
+    }
+
+    /**
+     * A changed file is read again and the listeners are notified.
+     * @throws Exception If something goes wrong.
+     */
+    @Test
+    public void reloadsWatchedFile() throws Exception {
+        this.reloads(false);
+    }
+
+    /**
+     * A changed file is read again and the listeners are notified,
+     * when the files are polled.
+     * @throws Exception If something goes wrong.
+     */
+    @Test
+    public void reloadsPolledFile() throws Exception {
+        this.reloads(true);
+    }
+
+    /**
+     * A burst of writes results in one notification, with the last
+     * version of the file.
+     * @throws Exception If something goes wrong.
+     */
+    @Test
+    public void coalescesBurstOfWrites() throws Exception {
+        final Path app = this.file("app.yml", "version: 0");
+        final List<Set<Path>> changes = new CopyOnWriteArrayList<>();
+        try (YamlWatcher watcher = new YamlWatcher(
+            Collections.singletonList(app), 500, true
+        )) {
+            watcher.listen(changes::add).start();
+            for(int idx = 1; idx <= 10; ++idx) {
+                YamlWatcherTest.write(app, "version: " + idx);
+                TimeUnit.MILLISECONDS.sleep(20);
+            }
+            YamlWatcherTest.await(changes, 1);
+            TimeUnit.MILLISECONDS.sleep(700);
+            MatcherAssert.assertThat(changes, Matchers.hasSize(1));
+            MatcherAssert.assertThat(
+                watcher.mapping(app).string("version"), Matchers.equalTo("10")
+            );
+        }
+    }
+
+    /**
+     * A file which cannot be read keeps its previous version.
+     * @throws Exception If something goes wrong.
+     */
+    @Test
+    public void keepsPreviousVersionOfBadFile() throws Exception {
+        final Path app = this.file("app.yml", "name: app");
+        final List<Set<Path>> changes = new CopyOnWriteArrayList<>();
+        try (YamlWatcher watcher = new YamlWatcher(
+            Collections.singletonList(app), 50, true
+        )) {
+            watcher.listen(changes::add).start();
+            YamlWatcherTest.write(app, "name: app\n   bad: indentation");
+            TimeUnit.MILLISECONDS.sleep(500);
+            MatcherAssert.assertThat(changes, Matchers.empty());
+            MatcherAssert.assertThat(
+                watcher.mapping(app).string("name"), Matchers.equalTo("app")
+            );
+        }
+    }
+
+    /**
+     * Changes of other files in the same directory do not end the
+     * debounce period early.
+     * @throws Exception If something goes wrong.
+     */
+    @Test
+    public void ignoresOtherFilesWhileDebouncing() throws Exception {
+        final Path app = this.file("app.yml", "version: 0");
+        final Path swap = this.folder.getRoot().toPath().resolve("app.swp");
+        final List<Set<Path>> changes = new CopyOnWriteArrayList<>();
+        try (YamlWatcher watcher = new YamlWatcher(
+            Collections.singletonList(app), 500, false
+        )) {
+            watcher.listen(changes::add).start();
+            TimeUnit.MILLISECONDS.sleep(100);
+            YamlWatcherTest.write(app, "version: 1");
+            for(int idx = 0; idx < 5; ++idx) {
+                TimeUnit.MILLISECONDS.sleep(20);
+                YamlWatcherTest.write(swap, "swap " + idx);
+            }
+            YamlWatcherTest.write(app, "version: 2");
+            YamlWatcherTest.await(changes, 1);
+            TimeUnit.MILLISECONDS.sleep(700);
+            MatcherAssert.assertThat(changes, Matchers.hasSize(1));
+            MatcherAssert.assertThat(
+                watcher.mapping(app).string("version"), Matchers.equalTo("2")
+            );
+        }
+    }
+
+    /**
+     * Starting the watcher again fails without reading the files again.
+     * @throws Exception If something goes wrong.
+     */
+    @Test
+    public void refusesSecondStart() throws Exception {
+        final Path app = this.file("app.yml", "name: app");
+        try (YamlWatcher watcher = new YamlWatcher(
+            Collections.singletonList(app), 60_000, true
+        )) {
+            watcher.start();
+            YamlWatcherTest.write(app, "name: changed");
+            try {
+                watcher.start();
+                Assert.fail("Expected IllegalStateException!");
+            } catch (final IllegalStateException ex) {
+                MatcherAssert.assertThat(
+                    ex.getMessage(), Matchers.equalTo("Already started!")
+                );
+            }
+            MatcherAssert.assertThat(
+                watcher.mapping(app).string("name"), Matchers.equalTo("app")
+            );
+        }
+    }
+
+    /**
+     * Check that a changed file is read again.
+     * @param polling Should the file be polled?
+     * @throws Exception If something goes wrong.
+     */
+    private void reloads(final boolean polling) throws Exception {
+        final Path app = this.file("app.yml", "name: app");
+        final Path dbase = this.file("db.yml", "host: localhost");
+        final List<Set<Path>> changes = new CopyOnWriteArrayList<>();
+        try (YamlWatcher watcher = new YamlWatcher(
+            Arrays.asList(app, dbase), 50, polling
+        )) {
+            watcher.listen(changes::add).start();
+            TimeUnit.MILLISECONDS.sleep(100);
+            YamlWatcherTest.write(dbase, "host: db.example.com");
+            YamlWatcherTest.await(changes, 1);
+            MatcherAssert.assertThat(changes.get(0), Matchers.contains(dbase));
+            MatcherAssert.assertThat(
+                watcher.mapping(dbase).string("host"),
+                Matchers.equalTo("db.example.com")
+            );
+            MatcherAssert.assertThat(
+                watcher.mapping(app).string("name"), Matchers.equalTo("app")
+            );
+        }
+    }
+
+    /**
+     * Create a file in the temporary folder.
+     * @param name Name of the file.
+     * @param yaml Content.
+     * @return Path.
+     * @throws IOException If something goes wrong.
+     */
+    private Path file(final String name, final String yaml)
+        throws IOException {
+        final Path file = this.folder.getRoot().toPath().resolve(name);
+        YamlWatcherTest.write(file, yaml);
+        return file;
+    }
+
+    /**
+     * Write a file.
+     * @param file File.
+     * @param yaml Content.
+     * @throws IOException If something goes wrong.
+     */
+    private static void write(final Path file, final String yaml)
+        throws IOException {
+        Files.write(file, yaml.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Wait, at most 10 seconds, for a number of changes.
+     * @param changes Changes.
+     * @param count Number of changes.
+     * @throws InterruptedException If interrupted.
+     */
+    private static void await(final List<Set<Path>> changes, final int count)
+        throws InterruptedException {
+        final long end = System.currentTimeMillis() + 10_000;
+        while (changes.size() < count && System.currentTimeMillis() < end) {
+            TimeUnit.MILLISECONDS.sleep(10);
+        }
+    }
+}